@@ -0,0 +1,31 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiErrorDTO {
+
+    private int status;
+
+    private String message;
+
+    /* rejected fields with their validation message, empty if the request body is valid */
+    private Map<String, String> fieldErrors;
+
+    @Override
+    public String toString() {
+        return "ApiErrorDTO{" +
+                "status=" + status +
+                ", message='" + message + '\'' +
+                ", fieldErrors=" + fieldErrors +
+                '}';
+    }
+}
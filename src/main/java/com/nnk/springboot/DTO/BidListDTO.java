@@ -1,14 +1,20 @@
 package com.nnk.springboot.DTO;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class BidListDTO {
     private Integer bidListId;
 
@@ -23,6 +29,31 @@ public class BidListDTO {
     @NotNull(message = "{bidList.bidQuantity.notNull}")
     private Double bidQuantity;
 
+    /* version read with the row, to be sent back with its update: an update of a row modified since is rejected */
+    private Integer version;
+
+    /* audit columns, set by the service: returned by the REST API but never read from a request */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime creationDate;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime revisionDate;
+
+    /**
+     * constructor used by the list view projection, the audit columns being never read for the list
+     *
+     * @param bidListId   id of the bidList
+     * @param account     account of the bidList
+     * @param type        type of the bidList
+     * @param bidQuantity quantity of the bidList
+     */
+    public BidListDTO(Integer bidListId, String account, String type, Double bidQuantity) {
+        this.bidListId = bidListId;
+        this.account = account;
+        this.type = type;
+        this.bidQuantity = bidQuantity;
+    }
+
     @Override
     public String toString() {
         return "BidListDTO{" +
@@ -30,6 +61,8 @@ public class BidListDTO {
                 ", account='" + account + '\'' +
                 ", type='" + type + '\'' +
                 ", bidQuantity=" + bidQuantity +
+                ", version=" + version +
+                ", revisionDate=" + revisionDate +
                 '}';
     }
 }
@@ -0,0 +1,43 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * outcome of one row of a bulk create/update/delete request
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultDTO {
+
+    /* position of the row in the bulk request */
+    private int index;
+
+    private Integer id;
+
+    private boolean success;
+
+    private String message;
+
+    public static BulkResultDTO ok(Integer id) {
+        return new BulkResultDTO(0, id, true, null);
+    }
+
+    public static BulkResultDTO ko(Integer id, String message) {
+        return new BulkResultDTO(0, id, false, message);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResultDTO{" +
+                "index=" + index +
+                ", id=" + id +
+                ", success=" + success +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
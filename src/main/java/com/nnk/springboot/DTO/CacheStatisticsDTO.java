@@ -0,0 +1,42 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * statistics of a cache since the application start
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsDTO {
+
+    private String name;
+
+    /* approximate number of entries currently in the cache */
+    private long size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    /* entries evicted because of the size or time bounds, explicit evictions on write are not counted */
+    private long evictionCount;
+
+    @Override
+    public String toString() {
+        return "CacheStatisticsDTO{" +
+                "name='" + name + '\'' +
+                ", size=" + size +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", hitRate=" + hitRate +
+                ", evictionCount=" + evictionCount +
+                '}';
+    }
+}
@@ -0,0 +1,56 @@
+package com.nnk.springboot.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * counters of the Hibernate statistics since the application start or the last reset,
+ * all at 0 when the statistics are not enabled (spring.jpa.properties.hibernate.generate_statistics)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class HibernateStatisticsDTO {
+
+    private boolean enabled;
+
+    private long sessionOpenCount;
+
+    private long transactionCount;
+
+    private long prepareStatementCount;
+
+    private long queryExecutionCount;
+
+    private long queryExecutionMaxMillis;
+
+    /* JPQL of the slowest query */
+    private String slowestQuery;
+
+    private long entityLoadCount;
+
+    /* entities and collections loaded lazily, each one with its own statement */
+    private long entityFetchCount;
+
+    private long collectionFetchCount;
+
+    private long flushCount;
+
+    @Override
+    public String toString() {
+        return "HibernateStatisticsDTO{" +
+                "enabled=" + enabled +
+                ", sessionOpenCount=" + sessionOpenCount +
+                ", transactionCount=" + transactionCount +
+                ", prepareStatementCount=" + prepareStatementCount +
+                ", queryExecutionCount=" + queryExecutionCount +
+                ", queryExecutionMaxMillis=" + queryExecutionMaxMillis +
+                ", slowestQuery='" + slowestQuery + '\'' +
+                ", entityLoadCount=" + entityLoadCount +
+                ", entityFetchCount=" + entityFetchCount +
+                ", collectionFetchCount=" + collectionFetchCount +
+                ", flushCount=" + flushCount +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * line of an imported file that has not been imported, with the reason why
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRejectionDTO {
+
+    /* line number in the imported file, the header being line 1 */
+    private long line;
+
+    private String reason;
+
+    @Override
+    public String toString() {
+        return "ImportRejectionDTO{" +
+                "line=" + line +
+                ", reason='" + reason + '\'' +
+                '}';
+    }
+}
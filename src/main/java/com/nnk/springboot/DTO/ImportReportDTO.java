@@ -0,0 +1,33 @@
+package com.nnk.springboot.DTO;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * outcome of the import of a file
+ */
+@Getter
+@Setter
+public class ImportReportDTO {
+
+    private long readLineCount;
+
+    private long importedLineCount;
+
+    private long rejectedLineCount;
+
+    /* only the first rejected lines are detailed, so that the report size stays bounded */
+    private List<ImportRejectionDTO> rejections = new ArrayList<>();
+
+    @Override
+    public String toString() {
+        return "ImportReportDTO{" +
+                "readLineCount=" + readLineCount +
+                ", importedLineCount=" + importedLineCount +
+                ", rejectedLineCount=" + rejectedLineCount +
+                '}';
+    }
+}
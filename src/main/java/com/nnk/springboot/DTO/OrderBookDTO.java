@@ -0,0 +1,35 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * best price levels of each side of the order book of a security
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBookDTO {
+
+    private String security;
+
+    /* highest bid first */
+    private List<PriceLevelDTO> bids;
+
+    /* lowest ask first */
+    private List<PriceLevelDTO> asks;
+
+    @Override
+    public String toString() {
+        return "OrderBookDTO{" +
+                "security='" + security + '\'' +
+                ", bids=" + bids +
+                ", asks=" + asks +
+                '}';
+    }
+}
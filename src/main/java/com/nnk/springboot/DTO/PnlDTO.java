@@ -0,0 +1,49 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * P&amp;L of the trades of an account on a security within a book
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PnlDTO {
+
+    private String account;
+
+    private String book;
+
+    private String security;
+
+    private int tradeCount;
+
+    /* quantity left open once the buys and sells are matched first in, first out: positive if long */
+    private double openQuantity;
+
+    /* P&L of the matched quantities */
+    private double realisedPnl;
+
+    /* P&L of the open quantity against the latest curve value of the benchmark of each trade */
+    private double unrealisedPnl;
+
+    private double totalPnl;
+
+    /* open quantity of the trades whose benchmark has no curve value, not counted in the unrealised P&L */
+    private double unmarkedQuantity;
+
+    @Override
+    public String toString() {
+        return "PnlDTO{" +
+                "account='" + account + '\'' +
+                ", book='" + book + '\'' +
+                ", security='" + security + '\'' +
+                ", openQuantity=" + openQuantity +
+                ", totalPnl=" + totalPnl +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * position of an account on a security within a book, aggregated from its trades
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionDTO {
+
+    private String account;
+
+    private String book;
+
+    private String security;
+
+    private int tradeCount;
+
+    private double buyQuantity;
+
+    private double sellQuantity;
+
+    /* bought minus sold quantity: positive for a long position, negative for a short one */
+    private double netQuantity;
+
+    /* weighted by the quantities, null if no quantity was traded with a price on this side */
+    private Double averageBuyPrice;
+
+    private Double averageSellPrice;
+
+    /* average price of the side the position is held on, null if the position is flat */
+    private Double averagePrice;
+
+    @Override
+    public String toString() {
+        return "PositionDTO{" +
+                "account='" + account + '\'' +
+                ", book='" + book + '\'' +
+                ", security='" + security + '\'' +
+                ", tradeCount=" + tradeCount +
+                ", netQuantity=" + netQuantity +
+                ", averagePrice=" + averagePrice +
+                '}';
+    }
+}
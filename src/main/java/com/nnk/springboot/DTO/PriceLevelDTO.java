@@ -0,0 +1,32 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * orders of one side of an order book at one price
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceLevelDTO {
+
+    private double price;
+
+    /* sum of the quantities of the orders at this price */
+    private double quantity;
+
+    private int orderCount;
+
+    @Override
+    public String toString() {
+        return "PriceLevelDTO{" +
+                "price=" + price +
+                ", quantity=" + quantity +
+                ", orderCount=" + orderCount +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.nnk.springboot.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * measures of the executions of a SQL statement since the application start or the last reset
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class QueryStatisticsDTO {
+
+    /* SQL with its bind markers, lists of bind markers reduced to (?...) */
+    private String sql;
+
+    /* a JDBC batch counts as one execution */
+    private long executionCount;
+
+    private long errorCount;
+
+    private double totalMillis;
+
+    private double meanMillis;
+
+    private double maxMillis;
+
+    private double meanBindCount;
+
+    @Override
+    public String toString() {
+        return "QueryStatisticsDTO{" +
+                "sql='" + sql + '\'' +
+                ", executionCount=" + executionCount +
+                ", errorCount=" + errorCount +
+                ", totalMillis=" + totalMillis +
+                ", meanMillis=" + meanMillis +
+                ", maxMillis=" + maxMillis +
+                ", meanBindCount=" + meanBindCount +
+                '}';
+    }
+}
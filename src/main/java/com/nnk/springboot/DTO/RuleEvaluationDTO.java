@@ -0,0 +1,50 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * trades and bidList evaluated against a ruleName, and how many of them it matched
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleEvaluationDTO {
+
+    private Integer ruleNameId;
+
+    private String name;
+
+    private boolean active;
+
+    /* why the json or the sqlPart of the rule does not compile, null if the rule is active */
+    private String error;
+
+    /* true if the trades have all the fields the rule tests */
+    private boolean appliesToTrades;
+
+    /* true if the bidList have all the fields the rule tests */
+    private boolean appliesToBidLists;
+
+    private long evaluatedTradeCount;
+
+    private long matchedTradeCount;
+
+    private long evaluatedBidListCount;
+
+    private long matchedBidListCount;
+
+    @Override
+    public String toString() {
+        return "RuleEvaluationDTO{" +
+                "ruleNameId=" + ruleNameId +
+                ", name='" + name + '\'' +
+                ", active=" + active +
+                ", matchedTradeCount=" + matchedTradeCount +
+                ", matchedBidListCount=" + matchedBidListCount +
+                '}';
+    }
+}
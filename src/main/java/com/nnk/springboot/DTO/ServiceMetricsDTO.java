@@ -0,0 +1,56 @@
+package com.nnk.springboot.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * measures of the calls to a service method since the application start
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ServiceMetricsDTO {
+
+    private String service;
+
+    private String method;
+
+    private long count;
+
+    private long errorCount;
+
+    private double totalMillis;
+
+    private double meanMillis;
+
+    private double maxMillis;
+
+    /* null if the percentiles of the service timer are not published */
+    private Double p95Millis;
+
+    /* mean time of the successful calls spent in the repositories, and outside of them */
+    private double meanQueryMillis;
+
+    private double meanMappingMillis;
+
+    /* null if the method does not return a list, a page or an optional */
+    private Double meanRows;
+
+    @Override
+    public String toString() {
+        return "ServiceMetricsDTO{" +
+                "service='" + service + '\'' +
+                ", method='" + method + '\'' +
+                ", count=" + count +
+                ", errorCount=" + errorCount +
+                ", totalMillis=" + totalMillis +
+                ", meanMillis=" + meanMillis +
+                ", maxMillis=" + maxMillis +
+                ", p95Millis=" + p95Millis +
+                ", meanQueryMillis=" + meanQueryMillis +
+                ", meanMappingMillis=" + meanMappingMillis +
+                ", meanRows=" + meanRows +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * execution of a SQL statement slower than the slow query threshold
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDTO {
+
+    private LocalDateTime executedAt;
+
+    private double elapsedMillis;
+
+    private String sql;
+
+    /* number of values bound, over all the rows of a batch */
+    private int bindCount;
+
+    /* 0 if the statement was not executed as a batch */
+    private int batchSize;
+
+    @Override
+    public String toString() {
+        return "SlowQueryDTO{" +
+                "executedAt=" + executedAt +
+                ", elapsedMillis=" + elapsedMillis +
+                ", sql='" + sql + '\'' +
+                ", bindCount=" + bindCount +
+                ", batchSize=" + batchSize +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.nnk.springboot.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * best bid and best ask of the order book of a security
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopOfBookDTO {
+
+    private String security;
+
+    /* highest bid, null if there is no bid */
+    private Double bid;
+
+    /* sum of the quantities bid at the highest bid */
+    private Double bidQuantity;
+
+    /* lowest ask, null if there is no ask */
+    private Double ask;
+
+    private Double askQuantity;
+
+    @Override
+    public String toString() {
+        return "TopOfBookDTO{" +
+                "security='" + security + '\'' +
+                ", bid=" + bid +
+                ", bidQuantity=" + bidQuantity +
+                ", ask=" + ask +
+                ", askQuantity=" + askQuantity +
+                '}';
+    }
+}
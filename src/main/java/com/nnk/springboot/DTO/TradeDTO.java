@@ -1,14 +1,20 @@
 package com.nnk.springboot.DTO;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class TradeDTO {
 
     private Integer tradeId;
@@ -24,6 +30,31 @@ public class TradeDTO {
     @NotNull(message = "{trade.buyQuantity.notNull}")
     private Double buyQuantity;
 
+    /* version read with the row, to be sent back with its update: an update of a row modified since is rejected */
+    private Integer version;
+
+    /* audit columns, set by the service: returned by the REST API but never read from a request */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime creationDate;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime revisionDate;
+
+    /**
+     * constructor used by the list view projection, the audit columns being never read for the list
+     *
+     * @param tradeId     id of the trade
+     * @param account     account of the trade
+     * @param type        type of the trade
+     * @param buyQuantity quantity of the trade
+     */
+    public TradeDTO(Integer tradeId, String account, String type, Double buyQuantity) {
+        this.tradeId = tradeId;
+        this.account = account;
+        this.type = type;
+        this.buyQuantity = buyQuantity;
+    }
+
     @Override
     public String toString() {
         return "TradeDTO{" +
@@ -31,6 +62,8 @@ public class TradeDTO {
                 ", account='" + account + '\'' +
                 ", type='" + type + '\'' +
                 ", buyQuantity=" + buyQuantity +
+                ", version=" + version +
+                ", revisionDate=" + revisionDate +
                 '}';
     }
 }
@@ -1,7 +1,9 @@
 package com.nnk.springboot.DTO;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.nnk.springboot.config.validation.ValidPassword;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.validation.constraints.NotBlank;
@@ -9,6 +11,7 @@ import javax.validation.constraints.Size;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class UserDTO {
 
     private Integer id;
@@ -20,6 +23,7 @@ public class UserDTO {
     @NotBlank(message = "{user.password.notBlank}")
     @Size(max = 125, message = "{user.password.size}")
     @ValidPassword
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     @NotBlank(message = "{user.fullname.notBlank}")
@@ -30,6 +34,21 @@ public class UserDTO {
     @Size(max = 125, message = "{user.role.size}")
     private String role;
 
+    /**
+     * constructor used by the list view projection, the password being never read for the list
+     *
+     * @param id       id of the user
+     * @param username username of the user
+     * @param fullname full name of the user
+     * @param role     role of the user
+     */
+    public UserDTO(Integer id, String username, String fullname, String role) {
+        this.id = id;
+        this.username = username;
+        this.fullname = fullname;
+        this.role = role;
+    }
+
     @Override
     public String toString() {
         return "UserDTO{" +
@@ -0,0 +1,46 @@
+package com.nnk.springboot.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nnk.springboot.constants.CacheConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/* the cache interceptor runs before the transaction one: a value served from the cache opens no transaction,
+ * and just after the ServiceMetricsAspect, so that the values served from the cache are measured */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+public class PoseidonCacheConfig {
+
+    /**
+     * builds the caches of the lists of reference data and of the users loaded at login,
+     * each bounded in size and time by its Caffeine specification.
+     * The caches are transaction aware: an eviction requested by a create/update/delete is applied
+     * once the transaction has committed, so that a concurrent read cannot cache the former rows again
+     *
+     * @param referenceDataSpecification Caffeine specification of the caches of reference data
+     *                                   (maximumSize, expireAfterWrite, recordStats...)
+     * @param userDetailsSpecification   Caffeine specification of the user details cache
+     * @return the cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${poseidon.cache.reference-data.spec:maximumSize=1000,expireAfterWrite=1h,recordStats}")
+                                             String referenceDataSpecification,
+                                     @Value("${poseidon.cache.user-details.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}")
+                                             String userDetailsSpecification) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(
+                CacheConstants.RATING_CACHE,
+                CacheConstants.RULE_NAME_CACHE,
+                CacheConstants.CURVE_POINT_CACHE);
+        caffeineCacheManager.setCacheSpecification(referenceDataSpecification);
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.registerCustomCache(CacheConstants.USER_DETAILS_CACHE,
+                Caffeine.from(userDetailsSpecification).build());
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,72 @@
+package com.nnk.springboot.config.mapping;
+
+import com.nnk.springboot.DTO.BidListDTO;
+import com.nnk.springboot.DTO.CurvePointDTO;
+import com.nnk.springboot.DTO.RatingDTO;
+import com.nnk.springboot.DTO.RuleNameDTO;
+import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.DTO.UserDTO;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
+import org.modelmapper.convention.MatchingStrategies;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ModelMapperConfig {
+
+    /**
+     * builds the single ModelMapper shared by all the services,
+     * with the entity/DTO type maps created and validated once at startup
+     * instead of being rebuilt by reflection on each service call
+     *
+     * @return the configured ModelMapper
+     */
+    @Bean
+    public ModelMapper modelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+
+        /* audit and version columns are set by the services and Hibernate, a DTO never overwrites them */
+        registerTypeMaps(modelMapper, BidList.class, BidListDTO.class)
+                .addMappings(mapping -> {
+                    mapping.skip(BidList::setCreationDate);
+                    mapping.skip(BidList::setRevisionDate);
+                    mapping.skip(BidList::setVersion);
+                });
+        registerTypeMaps(modelMapper, CurvePoint.class, CurvePointDTO.class);
+        registerTypeMaps(modelMapper, Rating.class, RatingDTO.class);
+        registerTypeMaps(modelMapper, RuleName.class, RuleNameDTO.class);
+        registerTypeMaps(modelMapper, Trade.class, TradeDTO.class)
+                .addMappings(mapping -> {
+                    mapping.skip(Trade::setCreationDate);
+                    mapping.skip(Trade::setRevisionDate);
+                    mapping.skip(Trade::setVersion);
+                });
+        registerTypeMaps(modelMapper, User.class, UserDTO.class);
+
+        return modelMapper;
+    }
+
+
+    /**
+     * creates the type maps in both directions for an entity/DTO pair.
+     * Only the entity to DTO map is validated: the DTOs hold a subset of the entity fields,
+     * so every DTO field must be mapped while some entity fields are legitimately left unmapped
+     *
+     * @param modelMapper the ModelMapper to register the type maps in
+     * @param entityClass the entity class
+     * @param dtoClass    the DTO class
+     * @return the DTO to entity type map
+     */
+    private static <E, D> TypeMap<D, E> registerTypeMaps(ModelMapper modelMapper, Class<E> entityClass, Class<D> dtoClass) {
+        modelMapper.createTypeMap(entityClass, dtoClass).validate();
+        return modelMapper.createTypeMap(dtoClass, entityClass);
+    }
+}
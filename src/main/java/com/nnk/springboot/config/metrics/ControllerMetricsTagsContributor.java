@@ -0,0 +1,63 @@
+package com.nnk.springboot.config.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static com.nnk.springboot.constants.MetricsConstants.ACTION_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.ENTITY_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.NONE;
+
+/**
+ * tags the http.server.requests metrics with the entity of the request, taken from its mapped path
+ * (/trade/update/{id} and /api/v1/trade/bulk give trade), and with the action, i.e. the name of the controller method
+ */
+@Component
+public class ControllerMetricsTagsContributor implements WebMvcTagsContributor {
+
+    private static final String API_PREFIX = "api/v1/";
+
+    private static final String ADMIN_PREFIX = "admin/";
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 Throwable exception) {
+        return Tags.of(ENTITY_TAG, entity(request), ACTION_TAG, action(handler));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.of(ENTITY_TAG, entity(request), ACTION_TAG, action(handler));
+    }
+
+
+    static String entity(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return NONE;
+        }
+
+        String path = pattern.toString().startsWith("/") ? pattern.toString().substring(1) : pattern.toString();
+        if (path.startsWith(API_PREFIX)) {
+            path = path.substring(API_PREFIX.length());
+        }
+        if (path.startsWith(ADMIN_PREFIX)) {
+            path = path.substring(ADMIN_PREFIX.length());
+        }
+
+        int end = path.indexOf('/');
+        String entity = end < 0 ? path : path.substring(0, end);
+        return entity.isEmpty() ? "home" : entity;
+    }
+
+
+    static String action(Object handler) {
+        return handler instanceof HandlerMethod ? ((HandlerMethod) handler).getMethod().getName() : NONE;
+    }
+}
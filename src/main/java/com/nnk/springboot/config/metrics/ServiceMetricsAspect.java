@@ -0,0 +1,188 @@
+package com.nnk.springboot.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.nnk.springboot.constants.MetricsConstants.EXCEPTION_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.METHOD_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.NONE;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_ERROR;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_SUCCESS;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.REPOSITORY_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.REPOSITORY_TIMER;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_MAPPING_TIMER;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_QUERY_TIMER;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_ROWS_SUMMARY;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_TIMER;
+
+/**
+ * times every call to a method of an I*Service and to a Spring Data repository.
+ * For each successful service call, the time spent in the repositories by the calling thread is recorded
+ * as query time and the rest as mapping time, along with the number of rows returned.
+ * The aspect runs before the cache interceptor, so that the calls served from the cache are measured too.
+ * The percentiles and histograms of these meters are configured with the management.metrics.distribution properties
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    /* the aspects can be created while the bean post processors are registered: the registry is resolved on first use
+     * so that it is configured (common tags, percentiles...) by Spring Boot before any meter is registered */
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /* meters of each method, built on its first call instead of being looked up in the registry on each call */
+    private final Map<Method, ServiceMeters> serviceMeters = new ConcurrentHashMap<>();
+
+    private final Map<Method, Timer> repositoryTimers = new ConcurrentHashMap<>();
+
+    /* nanoseconds spent in the repositories by the current thread */
+    private final ThreadLocal<long[]> repositoryNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Autowired
+    public ServiceMetricsAspect(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.nnk.springboot.services.contracts.I*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long[] repositoryNanosOfThread = repositoryNanos.get();
+        long repositoryNanosBefore = repositoryNanosOfThread[0];
+        long start = System.nanoTime();
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable throwable) {
+            Timer.builder(SERVICE_TIMER)
+                    .tag(SERVICE_TAG, serviceName(joinPoint))
+                    .tag(METHOD_TAG, method.getName())
+                    .tag(OUTCOME_TAG, OUTCOME_ERROR)
+                    .tag(EXCEPTION_TAG, throwable.getClass().getSimpleName())
+                    .register(meterRegistry.getObject())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw throwable;
+        }
+
+        long duration = System.nanoTime() - start;
+        long queryDuration = repositoryNanosOfThread[0] - repositoryNanosBefore;
+        ServiceMeters meters = serviceMeters.computeIfAbsent(method,
+                serviceMethod -> new ServiceMeters(serviceName(joinPoint), serviceMethod.getName()));
+        meters.timer.record(duration, TimeUnit.NANOSECONDS);
+        meters.queryTimer.record(queryDuration, TimeUnit.NANOSECONDS);
+        meters.mappingTimer.record(Math.max(0, duration - queryDuration), TimeUnit.NANOSECONDS);
+        long rowCount = rowCount(result);
+        if (rowCount >= 0) {
+            meters.rowsSummary.record(rowCount);
+        }
+        return result;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long duration = System.nanoTime() - start;
+            repositoryNanos.get()[0] += duration;
+            repositoryTimers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                    repositoryMethod -> Timer.builder(REPOSITORY_TIMER)
+                            .tag(REPOSITORY_TAG, repositoryName(joinPoint))
+                            .tag(METHOD_TAG, repositoryMethod.getName())
+                            .register(meterRegistry.getObject()))
+                    .record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+
+    private static String serviceName(ProceedingJoinPoint joinPoint) {
+        return AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+    }
+
+
+    /* the repositories are proxies of their interface, which gives the name of the repository */
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> repositoryInterface : joinPoint.getThis().getClass().getInterfaces()) {
+            if (repositoryInterface.getName().startsWith("com.nnk.springboot.")) {
+                return repositoryInterface.getSimpleName();
+            }
+        }
+        return NONE;
+    }
+
+
+    /**
+     * number of rows returned by a service call
+     *
+     * @param result result of the call
+     * @return the number of elements of a list or a page, 0 or 1 for an optional, -1 for any other result
+     */
+    private static long rowCount(Object result) {
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+
+    private class ServiceMeters {
+
+        private final Timer timer;
+
+        private final Timer queryTimer;
+
+        private final Timer mappingTimer;
+
+        private final DistributionSummary rowsSummary;
+
+        private ServiceMeters(String service, String method) {
+            this.timer = Timer.builder(SERVICE_TIMER)
+                    .tag(SERVICE_TAG, service)
+                    .tag(METHOD_TAG, method)
+                    .tag(OUTCOME_TAG, OUTCOME_SUCCESS)
+                    .tag(EXCEPTION_TAG, NONE)
+                    .register(meterRegistry.getObject());
+            this.queryTimer = Timer.builder(SERVICE_QUERY_TIMER)
+                    .tag(SERVICE_TAG, service)
+                    .tag(METHOD_TAG, method)
+                    .register(meterRegistry.getObject());
+            this.mappingTimer = Timer.builder(SERVICE_MAPPING_TIMER)
+                    .tag(SERVICE_TAG, service)
+                    .tag(METHOD_TAG, method)
+                    .register(meterRegistry.getObject());
+            this.rowsSummary = DistributionSummary.builder(SERVICE_ROWS_SUMMARY)
+                    .tag(SERVICE_TAG, service)
+                    .tag(METHOD_TAG, method)
+                    .register(meterRegistry.getObject());
+        }
+    }
+}
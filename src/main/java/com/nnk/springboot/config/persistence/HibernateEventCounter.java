@@ -0,0 +1,50 @@
+package com.nnk.springboot.config.persistence;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * reports the entity loads and the flushes of each session to the QueryStatisticsCollector,
+ * through listeners appended after the default ones of Hibernate.
+ * Only the flushes which processed entities or collections are counted, an automatic flush before a query
+ * is counted only if the query needed it
+ */
+public class HibernateEventCounter implements Integrator {
+
+    private final QueryStatisticsCollector queryStatisticsCollector;
+
+    public HibernateEventCounter(QueryStatisticsCollector queryStatisticsCollector) {
+        this.queryStatisticsCollector = queryStatisticsCollector;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        EventListenerRegistry eventListenerRegistry = serviceRegistry.getService(EventListenerRegistry.class);
+
+        eventListenerRegistry.appendListeners(EventType.POST_LOAD,
+                (PostLoadEventListener) event -> queryStatisticsCollector.entityLoaded());
+        eventListenerRegistry.appendListeners(EventType.FLUSH, (FlushEventListener) event -> {
+            if (event.getNumberOfEntitiesProcessed() > 0 || event.getNumberOfCollectionsProcessed() > 0) {
+                queryStatisticsCollector.flushed();
+            }
+        });
+        eventListenerRegistry.appendListeners(EventType.AUTO_FLUSH, (AutoFlushEventListener) event -> {
+            if (event.isFlushRequired()) {
+                queryStatisticsCollector.flushed();
+            }
+        });
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        /* nothing to release */
+    }
+}
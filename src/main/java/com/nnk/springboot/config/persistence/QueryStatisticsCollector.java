@@ -0,0 +1,233 @@
+package com.nnk.springboot.config.persistence;
+
+import com.nnk.springboot.DTO.SlowQueryDTO;
+import com.nnk.springboot.constants.LogConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * collects the executions of the SQL statements, reported by the QueryStatisticsListener and the HibernateEventCounter:
+ * time, bind count and errors of each distinct statement, the last statements slower than the slow query threshold,
+ * and the statements, entity loads and flushes of the request processed by the current thread.
+ * The number of distinct statements is bounded, the statements seen beyond the bound are measured together
+ */
+@Slf4j
+@Component
+public class QueryStatisticsCollector {
+
+    public static final String OTHER_STATEMENTS = "(other statements)";
+
+    /* the lists of bind markers of IN clauses vary with the number of values, they are reduced to one marker */
+    private static final Pattern BIND_MARKER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final String BIND_MARKER_LIST_REPLACEMENT = "(?...)";
+
+    private final long slowQueryThresholdNanos;
+
+    private final int maxSlowQueries;
+
+    private final int maxDistinctQueries;
+
+    private final Map<String, QueryStatistics> queryStatistics = new ConcurrentHashMap<>();
+
+    /* last slow queries, the oldest first, guarded by itself */
+    private final Deque<SlowQueryDTO> slowQueries = new ArrayDeque<>();
+
+    /* counters of the request processed by the current thread, null outside of a request */
+    private final ThreadLocal<RequestCounters> requestCounters = new ThreadLocal<>();
+
+    @Autowired
+    public QueryStatisticsCollector(@Value("${poseidon.query-statistics.slow-query-threshold-ms:200}") long slowQueryThresholdMillis,
+                                    @Value("${poseidon.query-statistics.max-slow-queries:100}") int maxSlowQueries,
+                                    @Value("${poseidon.query-statistics.max-distinct-queries:1000}") int maxDistinctQueries) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+        this.maxSlowQueries = maxSlowQueries;
+        this.maxDistinctQueries = maxDistinctQueries;
+    }
+
+    /**
+     * record the execution of a statement, and log it if it is slower than the slow query threshold
+     *
+     * @param sql          SQL of the statement, with its bind markers
+     * @param elapsedNanos duration of the execution
+     * @param bindCount    number of values bound, over all the rows of a batch
+     * @param batchSize    number of rows of a batch, 0 if the statement was not executed as a batch
+     * @param success      false if the execution threw an exception
+     */
+    public void statementExecuted(String sql, long elapsedNanos, int bindCount, int batchSize, boolean success) {
+        String normalizedSql = normalize(sql);
+        QueryStatistics statistics = queryStatistics.get(normalizedSql);
+        if (statistics == null) {
+            statistics = queryStatistics.size() < maxDistinctQueries
+                    ? queryStatistics.computeIfAbsent(normalizedSql, key -> new QueryStatistics())
+                    : queryStatistics.computeIfAbsent(OTHER_STATEMENTS, key -> new QueryStatistics());
+        }
+        statistics.record(elapsedNanos, bindCount, success);
+
+        RequestCounters counters = requestCounters.get();
+        if (counters != null) {
+            counters.statements++;
+        }
+
+        if (elapsedNanos >= slowQueryThresholdNanos) {
+            double elapsedMillis = elapsedNanos / 1e6;
+            log.warn(LogConstants.SLOW_QUERY, elapsedMillis, bindCount, batchSize, sql);
+            synchronized (slowQueries) {
+                if (slowQueries.size() >= maxSlowQueries) {
+                    slowQueries.pollFirst();
+                }
+                slowQueries.addLast(new SlowQueryDTO(LocalDateTime.now(), elapsedMillis, sql, bindCount, batchSize));
+            }
+        }
+    }
+
+    public void entityLoaded() {
+        RequestCounters counters = requestCounters.get();
+        if (counters != null) {
+            counters.entityLoads++;
+        }
+    }
+
+    public void flushed() {
+        RequestCounters counters = requestCounters.get();
+        if (counters != null) {
+            counters.flushes++;
+        }
+    }
+
+    /**
+     * start counting the statements, entity loads and flushes of the current thread
+     */
+    public void startRequest() {
+        requestCounters.set(new RequestCounters());
+    }
+
+    /**
+     * stop counting for the current thread
+     *
+     * @return what has been counted since startRequest, all at 0 if startRequest has not been called
+     */
+    public RequestCounters endRequest() {
+        RequestCounters counters = requestCounters.get();
+        requestCounters.remove();
+        return counters == null ? new RequestCounters() : counters;
+    }
+
+    /**
+     * @return the statistics of each distinct statement, by SQL
+     */
+    public Map<String, QueryStatistics> getQueryStatistics() {
+        return Collections.unmodifiableMap(queryStatistics);
+    }
+
+    /**
+     * @return the last slow queries, the most recent first
+     */
+    public List<SlowQueryDTO> getSlowQueries() {
+        List<SlowQueryDTO> slowQueryList;
+        synchronized (slowQueries) {
+            slowQueryList = new ArrayList<>(slowQueries);
+        }
+        Collections.reverse(slowQueryList);
+        return slowQueryList;
+    }
+
+    public void reset() {
+        queryStatistics.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+
+    static String normalize(String sql) {
+        return sql.indexOf(',') < 0 ? sql : BIND_MARKER_LIST.matcher(sql).replaceAll(BIND_MARKER_LIST_REPLACEMENT);
+    }
+
+
+    /**
+     * executions of a distinct statement, updated concurrently
+     */
+    public static class QueryStatistics {
+
+        private final LongAdder executionCount = new LongAdder();
+
+        private final LongAdder errorCount = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private final LongAdder bindCount = new LongAdder();
+
+        private void record(long elapsedNanos, int binds, boolean success) {
+            executionCount.increment();
+            if (!success) {
+                errorCount.increment();
+            }
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            bindCount.add(binds);
+        }
+
+        public long getExecutionCount() {
+            return executionCount.sum();
+        }
+
+        public long getErrorCount() {
+            return errorCount.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getBindCount() {
+            return bindCount.sum();
+        }
+    }
+
+
+    /**
+     * statements, entity loads and flushes of one request, confined to the thread processing it
+     */
+    public static class RequestCounters {
+
+        private long statements;
+
+        private long entityLoads;
+
+        private long flushes;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntityLoads() {
+            return entityLoads;
+        }
+
+        public long getFlushes() {
+            return flushes;
+        }
+    }
+}
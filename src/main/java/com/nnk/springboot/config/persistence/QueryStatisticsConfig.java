@@ -0,0 +1,71 @@
+package com.nnk.springboot.config.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+
+/**
+ * measures the SQL statements: the DataSource is wrapped so that each statement is reported
+ * to the QueryStatisticsCollector, Hibernate reports the entity loads and flushes,
+ * and a filter wrapping the whole request (security included) gives their count per request
+ */
+@Configuration
+@ConditionalOnProperty(name = "poseidon.query-statistics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatisticsConfig {
+
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    /**
+     * wraps the DataSource in a datasource-proxy reporting each executed statement.
+     * Static, as a bean post processor, the collector is resolved once the DataSource is built
+     *
+     * @param queryStatisticsCollector collector of the statement executions
+     * @return the post processor wrapping the DataSource
+     */
+    @Bean
+    public static BeanPostProcessor queryStatisticsDataSourcePostProcessor(
+            ObjectProvider<QueryStatisticsCollector> queryStatisticsCollector) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                            .listener(new QueryStatisticsListener(queryStatisticsCollector.getObject()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsHibernatePropertiesCustomizer(
+            QueryStatisticsCollector queryStatisticsCollector) {
+        HibernateEventCounter hibernateEventCounter = new HibernateEventCounter(queryStatisticsCollector);
+        return hibernateProperties -> hibernateProperties.put(INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> Collections.singletonList(hibernateEventCounter));
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestQueryStatisticsFilter> requestQueryStatisticsFilter(
+            QueryStatisticsCollector queryStatisticsCollector, MeterRegistry meterRegistry,
+            @Value("${poseidon.query-statistics.max-statements-per-request:50}") int maxStatementsPerRequest) {
+        FilterRegistrationBean<RequestQueryStatisticsFilter> filterRegistrationBean = new FilterRegistrationBean<>(
+                new RequestQueryStatisticsFilter(queryStatisticsCollector, meterRegistry, maxStatementsPerRequest));
+        filterRegistrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return filterRegistrationBean;
+    }
+}
@@ -0,0 +1,47 @@
+package com.nnk.springboot.config.persistence;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+
+/**
+ * reports each statement executed through the proxied DataSource to the QueryStatisticsCollector.
+ * The duration is measured here in nanoseconds, the one of datasource-proxy being in milliseconds
+ */
+public class QueryStatisticsListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "poseidon.startNanos";
+
+    private final QueryStatisticsCollector queryStatisticsCollector;
+
+    public QueryStatisticsListener(QueryStatisticsCollector queryStatisticsCollector) {
+        this.queryStatisticsCollector = queryStatisticsCollector;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+        int batchSize = execInfo.isBatch() ? execInfo.getBatchSize() : 0;
+
+        /* several statements are only executed at once by a batch of plain statements, the time is shared out */
+        for (QueryInfo queryInfo : queryInfoList) {
+            int bindCount = 0;
+            for (List<ParameterSetOperation> parameters : queryInfo.getParametersList()) {
+                bindCount += parameters.size();
+            }
+            queryStatisticsCollector.statementExecuted(queryInfo.getQuery(), elapsedNanos / queryInfoList.size(),
+                    bindCount, batchSize, execInfo.isSuccess());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.nnk.springboot.config.persistence;
+
+import com.nnk.springboot.constants.LogConstants;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static com.nnk.springboot.constants.MetricsConstants.REQUEST_ENTITY_LOADS_SUMMARY;
+import static com.nnk.springboot.constants.MetricsConstants.REQUEST_FLUSHES_SUMMARY;
+import static com.nnk.springboot.constants.MetricsConstants.REQUEST_STATEMENTS_SUMMARY;
+
+/**
+ * counts the statements, entity loads and flushes of each request, logs them
+ * (as a warning above max-statements-per-request, the usual sign of N+1 selects) and records them as distributions
+ */
+@Slf4j
+public class RequestQueryStatisticsFilter extends OncePerRequestFilter {
+
+    private final QueryStatisticsCollector queryStatisticsCollector;
+
+    private final int maxStatementsPerRequest;
+
+    private final DistributionSummary statementsSummary;
+
+    private final DistributionSummary entityLoadsSummary;
+
+    private final DistributionSummary flushesSummary;
+
+    public RequestQueryStatisticsFilter(QueryStatisticsCollector queryStatisticsCollector, MeterRegistry meterRegistry,
+                                        int maxStatementsPerRequest) {
+        this.queryStatisticsCollector = queryStatisticsCollector;
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+        this.statementsSummary = DistributionSummary.builder(REQUEST_STATEMENTS_SUMMARY).register(meterRegistry);
+        this.entityLoadsSummary = DistributionSummary.builder(REQUEST_ENTITY_LOADS_SUMMARY).register(meterRegistry);
+        this.flushesSummary = DistributionSummary.builder(REQUEST_FLUSHES_SUMMARY).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        queryStatisticsCollector.startRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStatisticsCollector.RequestCounters requestCounters = queryStatisticsCollector.endRequest();
+            statementsSummary.record(requestCounters.getStatements());
+            entityLoadsSummary.record(requestCounters.getEntityLoads());
+            flushesSummary.record(requestCounters.getFlushes());
+
+            if (requestCounters.getStatements() > maxStatementsPerRequest) {
+                log.warn(LogConstants.REQUEST_STATEMENTS_ABOVE_THRESHOLD, request.getMethod(), request.getRequestURI(),
+                        requestCounters.getStatements(), requestCounters.getEntityLoads(), requestCounters.getFlushes());
+            } else {
+                log.debug(LogConstants.REQUEST_QUERY_STATISTICS, request.getMethod(), request.getRequestURI(),
+                        requestCounters.getStatements(), requestCounters.getEntityLoads(), requestCounters.getFlushes());
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.nnk.springboot.config.persistence;
+
+import com.nnk.springboot.constants.LogConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.SCHEMA_INDEXES_MISSING;
+
+/**
+ * checks at startup, once the schema has been migrated or created by Hibernate, that the live schema holds
+ * the indexes declared on the entities for their repository queries, so that a missing index fails the startup
+ * instead of turning the queries into full scans.
+ * An index is found if an index of the table starts with its columns, in the same order, whatever its name.
+ * Column names are compared without case nor underscores, to match the physical naming strategy in use
+ */
+@Slf4j
+public class SchemaIndexValidator implements SmartInitializingSingleton {
+
+    private final DataSource dataSource;
+
+    private final List<Class<?>> entityClasses;
+
+    /**
+     * @param dataSource    database to check
+     * @param entityClasses entities whose @Table indexes are needed
+     */
+    public SchemaIndexValidator(DataSource dataSource, List<Class<?>> entityClasses) {
+        this.dataSource = dataSource;
+        this.entityClasses = entityClasses;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> missingIndexes = findMissingIndexes();
+        if (!missingIndexes.isEmpty()) {
+            throw new IllegalStateException(SCHEMA_INDEXES_MISSING + String.join(", ", missingIndexes));
+        }
+    }
+
+
+    /**
+     * compare the indexes declared on the entities with the indexes of the live schema
+     *
+     * @return the missing indexes, as table(columns), empty if none
+     */
+    public List<String> findMissingIndexes() {
+        List<String> missingIndexes = new ArrayList<>();
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Class<?> entityClass : entityClasses) {
+                Table table = entityClass.getAnnotation(Table.class);
+                if (table == null || table.indexes().length == 0) {
+                    continue;
+                }
+
+                Collection<List<String>> liveIndexes = findIndexColumns(connection, metaData, table.name());
+                for (Index index : table.indexes()) {
+                    List<String> columns = Arrays.stream(index.columnList().split(","))
+                            .map(column -> normalize(column.trim().split("\\s+")[0]))
+                            .collect(Collectors.toList());
+
+                    boolean found = liveIndexes.stream().anyMatch(liveColumns ->
+                            liveColumns.size() >= columns.size() && liveColumns.subList(0, columns.size()).equals(columns));
+                    if (!found) {
+                        log.error(LogConstants.SCHEMA_INDEX_MISSING, table.name(), index.columnList());
+                        missingIndexes.add(table.name() + "(" + index.columnList() + ")");
+                    }
+                }
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException(exception);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        return missingIndexes;
+    }
+
+
+    /**
+     * read the indexes of a table
+     *
+     * @param connection connection to the database
+     * @param metaData   metadata of the database
+     * @param table      table name, as declared on the entity
+     * @return the normalized columns of each index of the table, in the index order
+     */
+    private Collection<List<String>> findIndexColumns(Connection connection, DatabaseMetaData metaData,
+                                                      String table) throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+
+        Map<String, Map<Short, String>> columnsByIndex = new TreeMap<>();
+        try (ResultSet indexInfo = metaData.getIndexInfo(connection.getCatalog(), null, tableName, false, true)) {
+            while (indexInfo.next()) {
+                String indexName = indexInfo.getString("INDEX_NAME");
+                String columnName = indexInfo.getString("COLUMN_NAME");
+                if (indexName != null && columnName != null) {
+                    columnsByIndex.computeIfAbsent(indexName, name -> new TreeMap<>())
+                            .put(indexInfo.getShort("ORDINAL_POSITION"), normalize(columnName));
+                }
+            }
+        }
+
+        return columnsByIndex.values().stream()
+                .map(columns -> (List<String>) new ArrayList<>(columns.values()))
+                .collect(Collectors.toList());
+    }
+
+
+    private static String normalize(String column) {
+        return column.replace("_", "").replace("`", "").toLowerCase(Locale.ROOT);
+    }
+}
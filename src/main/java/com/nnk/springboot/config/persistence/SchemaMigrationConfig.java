@@ -0,0 +1,52 @@
+package com.nnk.springboot.config.persistence;
+
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Trade;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * the schema is owned by the versioned scripts of db/migration, applied by Flyway at startup before
+ * the EntityManagerFactory is built, unless Hibernate creates the schema itself (ddl-auto create, create-drop
+ * or update, as in the tests). Once the context is started, the indexes needed by the queries of TradeRepository,
+ * BidListRepository and CurvePointRepository are checked against the live schema
+ */
+@Slf4j
+@Configuration
+public class SchemaMigrationConfig {
+
+    /* name of the bean of FlywayAutoConfiguration running the migrations */
+    private static final String FLYWAY_INITIALIZER = "flywayInitializer";
+
+    private static final List<String> HIBERNATE_SCHEMA_CREATION = Arrays.asList("create", "create-drop", "update");
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return flyway -> {
+            if (HIBERNATE_SCHEMA_CREATION.contains(ddlAuto)) {
+                log.info(LogConstants.SCHEMA_MIGRATION_SKIPPED, ddlAuto);
+            } else {
+                flyway.migrate();
+            }
+        };
+    }
+
+    @Bean
+    @DependsOn(FLYWAY_INITIALIZER)
+    @ConditionalOnProperty(name = "poseidon.migration.check-indexes", havingValue = "true", matchIfMissing = true)
+    public SchemaIndexValidator schemaIndexValidator(DataSource dataSource) {
+        return new SchemaIndexValidator(dataSource, Arrays.asList(Trade.class, BidList.class, CurvePoint.class));
+    }
+}
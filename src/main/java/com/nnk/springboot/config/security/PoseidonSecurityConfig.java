@@ -4,23 +4,78 @@ import com.nnk.springboot.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 @Configuration
 @EnableWebSecurity
 public class PoseidonSecurityConfig extends WebSecurityConfigurerAdapter {
 
+    /**
+     * the REST API has its own filter chain, checked before the one of the pages: each request is authenticated
+     * with basic authentication, the session cookie of the login form being neither read nor created.
+     * A page opened by a connected user cannot call the API in its name, so no CSRF token is needed
+     */
+    @Configuration
+    @Order(1)
+    public static class ApiSecurityConfig extends WebSecurityConfigurerAdapter {
+
+        private final DaoAuthenticationProvider daoAuthenticationProvider;
+
+        @Autowired
+        public ApiSecurityConfig(DaoAuthenticationProvider daoAuthenticationProvider) {
+            this.daoAuthenticationProvider = daoAuthenticationProvider;
+        }
+
+
+        @Override
+        protected void configure(AuthenticationManagerBuilder auth) {
+            auth.authenticationProvider(daoAuthenticationProvider);
+        }
+
+
+        @Override
+        protected void configure(HttpSecurity http) throws Exception {
+            http
+                    .antMatcher("/api/**")
+                    .authorizeRequests()
+                    /* REST API authorized for ADMIN role only */
+                    .antMatchers("/api/v1/admin/**")
+                    .hasAuthority("ROLE_ADMIN")
+                    /* REST API authorized for any role (ADMIN or USER) */
+                    .anyRequest()
+                    .hasAnyAuthority("ROLE_ADMIN", "ROLE_USER")
+
+                    .and().httpBasic()
+                    .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+                    .and().sessionManagement()
+                    .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                    .and().csrf().disable()
+                    .formLogin().disable()
+                    .logout().disable()
+                    .exceptionHandling()
+                    .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED));
+        }
+    }
+
     private final UserDetailsServiceImpl userDetailsService;
 
+    private final PasswordEncoder passwordEncoder;
+
     @Autowired
-    public PoseidonSecurityConfig(UserDetailsServiceImpl userDetailsService) {
+    public PoseidonSecurityConfig(UserDetailsServiceImpl userDetailsService, PasswordEncoder passwordEncoder) {
         this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
     }
 
 
@@ -52,7 +107,7 @@ public class PoseidonSecurityConfig extends WebSecurityConfigurerAdapter {
                         "/trade/**")
                 .hasAnyAuthority("ROLE_ADMIN", "ROLE_USER")
                 /* pages authorized for ADMIN role only */
-                .antMatchers("/user/**")
+                .antMatchers("/user/**", "/admin/metrics", "/actuator/**")
                 .hasAuthority("ROLE_ADMIN")
                 .anyRequest().authenticated()
 
@@ -69,8 +124,9 @@ public class PoseidonSecurityConfig extends WebSecurityConfigurerAdapter {
                 .deleteCookies("JSESSIONID")
                 .logoutSuccessUrl("/")
 
-                /* redirect to the error page if user not authorized to access a page */
+                /* redirect to the login form if user not connected, and to the error page if not authorized */
                 .and().exceptionHandling()
+                .authenticationEntryPoint(new LoginUrlAuthenticationEntryPoint("/login"))
                 .accessDeniedPage("/app/error");
     }
 
@@ -83,7 +139,7 @@ public class PoseidonSecurityConfig extends WebSecurityConfigurerAdapter {
     @Bean
     public DaoAuthenticationProvider daoAuthenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-        provider.setPasswordEncoder(new BCryptPasswordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         provider.setUserDetailsService(userDetailsService);
         return provider;
     }
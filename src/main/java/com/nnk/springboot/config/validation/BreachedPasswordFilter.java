@@ -0,0 +1,132 @@
+package com.nnk.springboot.config.validation;
+
+import org.passay.dictionary.Dictionary;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * case-insensitive Bloom filter of breached or common passwords, used as a Passay dictionary.
+ * Only a few bits per password are kept in memory, whatever the size of the list:
+ * a password of the list is always found, while a password out of the list is wrongly found
+ * with the configured false positive probability.
+ * Once loaded, the filter is only read, so it can be shared between threads, and a search does not allocate
+ */
+public final class BreachedPasswordFilter implements Dictionary {
+
+    private final long[] bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private long size;
+
+    /**
+     * create an empty filter sized for a number of passwords
+     *
+     * @param expectedPasswords number of passwords to put in the filter
+     * @param falsePositiveRate probability for a password out of the filter to be found
+     */
+    public BreachedPasswordFilter(long expectedPasswords, double falsePositiveRate) {
+        long expected = Math.max(1, expectedPasswords);
+        long optimalBitCount = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) ((Math.max(64, optimalBitCount) + 63) / 64)];
+        this.bitCount = 64L * bits.length;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    /**
+     * load a list of passwords, one per line, blank lines and lines starting with # being ignored
+     *
+     * @param passwordList      the list of passwords, in UTF-8
+     * @param falsePositiveRate probability for a password out of the list to be found
+     * @return the filter of the passwords of the list
+     * @throws IOException if the list cannot be read
+     */
+    public static BreachedPasswordFilter load(Resource passwordList, double falsePositiveRate) throws IOException {
+        /* the list is read twice, to size the filter and then to fill it, so that it is never held in memory */
+        long passwordCount = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(passwordList.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (isPassword(line)) {
+                    passwordCount++;
+                }
+            }
+        }
+
+        BreachedPasswordFilter breachedPasswordFilter = new BreachedPasswordFilter(passwordCount, falsePositiveRate);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(passwordList.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (isPassword(line)) {
+                    breachedPasswordFilter.put(line.trim());
+                }
+            }
+        }
+        return breachedPasswordFilter;
+    }
+
+    public void put(String password) {
+        long hash = hash(password);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(hash1 + (long) i * hash2, bitCount);
+            bits[(int) (bitIndex >>> 6)] |= 1L << bitIndex;
+        }
+        size++;
+    }
+
+    @Override
+    public boolean search(String password) {
+        long hash = hash(password);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(hash1 + (long) i * hash2, bitCount);
+            if ((bits[(int) (bitIndex >>> 6)] & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+
+    private static boolean isPassword(String line) {
+        String trimmedLine = line.trim();
+        return !trimmedLine.isEmpty() && !trimmedLine.startsWith("#");
+    }
+
+
+    /**
+     * 64 bits FNV-1a hash of the lower-case characters, with the MurmurHash3 final mix
+     *
+     * @param password password to hash
+     * @return the hash, split in two 32 bits hashes for the double hashing of the filter
+     */
+    private static long hash(String password) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < password.length(); i++) {
+            hash ^= Character.toLowerCase(password.charAt(i));
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
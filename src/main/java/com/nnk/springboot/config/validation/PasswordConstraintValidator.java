@@ -1,25 +1,33 @@
 package com.nnk.springboot.config.validation;
 
-import org.passay.CharacterRule;
-import org.passay.EnglishCharacterData;
-import org.passay.LengthRule;
-import org.passay.PasswordData;
-import org.passay.PasswordValidator;
-import org.passay.RuleResult;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.util.Arrays;
 import java.util.List;
 
 
 /**
  * customized password constraint validator for Poseidon :
- * Password must be at least 8 characters long with 1 uppercase character,
- * 1 special character and 1 numerical character
+ * the password must follow the PasswordPolicy of the application context
+ * (by default, at least 8 characters long with 1 uppercase character,
+ * 1 special character and 1 numerical character)
  */
 public class PasswordConstraintValidator implements ConstraintValidator<ValidPassword, String> {
 
+    private final PasswordPolicy passwordPolicy;
+
+    /* used when the validator is not created by Spring */
+    public PasswordConstraintValidator() {
+        this.passwordPolicy = PasswordPolicy.defaultPolicy();
+    }
+
+    @Autowired
+    public PasswordConstraintValidator(ObjectProvider<PasswordPolicy> passwordPolicy) {
+        this.passwordPolicy = passwordPolicy.getIfAvailable(PasswordPolicy::defaultPolicy);
+    }
+
     @Override
     public void initialize(ValidPassword arg0) {
     }
@@ -27,18 +35,16 @@ public class PasswordConstraintValidator implements ConstraintValidator<ValidPas
 
     @Override
     public boolean isValid(String password, ConstraintValidatorContext context) {
-        PasswordValidator validator = new PasswordValidator(Arrays.asList(
-                new LengthRule(8, 125),
-                new CharacterRule(EnglishCharacterData.UpperCase, 1),
-                new CharacterRule(EnglishCharacterData.Special, 1),
-                new CharacterRule(EnglishCharacterData.Digit, 1)));
-
-        RuleResult result = validator.validate(new PasswordData(password));
-        if (result.isValid()) {
+        /* a missing password is reported by @NotBlank */
+        if (password == null) {
+            return true;
+        }
+
+        List<String> messages = passwordPolicy.validate(password);
+        if (messages.isEmpty()) {
             return true;
         }
 
-        List<String> messages = validator.getMessages(result);
         String messageTemplate = String.join(" ", messages);
         context.buildConstraintViolationWithTemplate(messageTemplate)
                 .addConstraintViolation()
@@ -0,0 +1,96 @@
+package com.nnk.springboot.config.validation;
+
+import org.passay.CharacterRule;
+import org.passay.DictionaryRule;
+import org.passay.EnglishCharacterData;
+import org.passay.LengthRule;
+import org.passay.PasswordData;
+import org.passay.PasswordValidator;
+import org.passay.PropertiesMessageResolver;
+import org.passay.Rule;
+import org.passay.RuleResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * password policy of Poseidon, built once from the poseidon.password.policy properties:
+ * length, minimum number of characters of each class, and rejection of the breached or common passwords.
+ * The Passay validator, its rules and its messages are shared by all the validations, as they are only read
+ */
+@Component
+public class PasswordPolicy {
+
+    private static final String BREACHED_PASSWORD_MESSAGE = "Password is too common or has appeared in a data breach.";
+
+    private final PasswordValidator passwordValidator;
+
+    @Autowired
+    public PasswordPolicy(@Value("${poseidon.password.policy.min-length:8}") int minLength,
+                          @Value("${poseidon.password.policy.max-length:125}") int maxLength,
+                          @Value("${poseidon.password.policy.min-upper-case:1}") int minUpperCase,
+                          @Value("${poseidon.password.policy.min-lower-case:0}") int minLowerCase,
+                          @Value("${poseidon.password.policy.min-digit:1}") int minDigit,
+                          @Value("${poseidon.password.policy.min-special:1}") int minSpecial,
+                          @Value("${poseidon.password.policy.breached-passwords:#{null}}") Resource breachedPasswords,
+                          @Value("${poseidon.password.policy.breached-passwords-false-positive-rate:0.001}")
+                                  double falsePositiveRate) throws IOException {
+
+        List<Rule> rules = new ArrayList<>();
+        rules.add(new LengthRule(minLength, maxLength));
+        addCharacterRule(rules, EnglishCharacterData.UpperCase, minUpperCase);
+        addCharacterRule(rules, EnglishCharacterData.LowerCase, minLowerCase);
+        addCharacterRule(rules, EnglishCharacterData.Digit, minDigit);
+        addCharacterRule(rules, EnglishCharacterData.Special, minSpecial);
+        if (breachedPasswords != null) {
+            rules.add(new DictionaryRule(BreachedPasswordFilter.load(breachedPasswords, falsePositiveRate)));
+        }
+
+        /* the default message of the dictionary rule would show the password */
+        Properties messages = PropertiesMessageResolver.getDefaultProperties();
+        messages.setProperty(DictionaryRule.ERROR_CODE, BREACHED_PASSWORD_MESSAGE);
+        this.passwordValidator = new PasswordValidator(new PropertiesMessageResolver(messages), rules);
+    }
+
+    /**
+     * policy used when the application context does not provide one:
+     * at least 8 characters with 1 uppercase character, 1 special character and 1 numerical character
+     *
+     * @return the default policy, without check of breached passwords
+     */
+    public static PasswordPolicy defaultPolicy() {
+        try {
+            return new PasswordPolicy(8, 125, 1, 0, 1, 1, null, 0);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * validate a password against the policy
+     *
+     * @param password password to validate
+     * @return the messages of the broken rules, empty if the password is valid
+     */
+    public List<String> validate(String password) {
+        RuleResult result = passwordValidator.validate(new PasswordData(password));
+        if (result.isValid()) {
+            return Collections.emptyList();
+        }
+        return passwordValidator.getMessages(result);
+    }
+
+
+    private static void addCharacterRule(List<Rule> rules, EnglishCharacterData characterData, int minCount) {
+        if (minCount > 0) {
+            rules.add(new CharacterRule(characterData, minCount));
+        }
+    }
+}
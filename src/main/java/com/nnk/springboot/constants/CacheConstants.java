@@ -0,0 +1,12 @@
+package com.nnk.springboot.constants;
+
+public class CacheConstants {
+
+    /* caches of the lists of reference data, one per entity */
+    public static final String RATING_CACHE = "rating";
+    public static final String RULE_NAME_CACHE = "ruleName";
+    public static final String CURVE_POINT_CACHE = "curvePoint";
+
+    /* cache of the users loaded at login, keyed on the lower-case username */
+    public static final String USER_DETAILS_CACHE = "userDetails";
+}
@@ -0,0 +1,22 @@
+package com.nnk.springboot.constants;
+
+import lombok.Getter;
+
+/**
+ * formats available for the export of a table
+ */
+@Getter
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+}
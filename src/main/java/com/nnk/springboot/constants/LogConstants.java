@@ -3,115 +3,244 @@ package com.nnk.springboot.constants;
 public class LogConstants {
 
     /* Services */
-    public static final String USER_LOAD_CALL = "Call to loadUserByUsername with username: ";
+    public static final String USER_LOAD_CALL = "Call to loadUserByUsername with username: {}";
 
-    public static final String CREATE_BID_LIST_CALL = "Call to createBidList with BidList: ";
-    public static final String CREATE_BID_LIST_OK = "BidList created with id: ";
-    public static final String CREATE_BID_LIST_ERROR = "Error when saving bidList: ";
+    public static final String PASSWORD_HASHING_CALIBRATED =
+            "BCrypt cost factor calibrated to {} for a target of {} ms per hash ({} ms measured at cost {})";
+    public static final String PASSWORD_HASHING_BUSY = "Password hashing rejected: {} hashes pending";
+
+    public static final String CREATE_BID_LIST_CALL = "Call to createBidList with BidList: {}";
+    public static final String CREATE_BID_LIST_OK = "BidList created with id: {}";
+    public static final String CREATE_BID_LIST_ERROR = "Error when saving bidList: {}";
 
     public static final String FIND_BID_LIST_ALL_CALL = "Call to findAllBidList";
     public static final String FIND_BID_LIST_ALL_OK = "List of bidList retrieved with {} values \n";
 
+    public static final String FIND_BID_LIST_PAGE_CALL = "Call to findBidListPage for: {}";
+    public static final String FIND_BID_LIST_PAGE_OK = "Page of bidList retrieved with {} values \n";
+
+    public static final String FIND_BID_LIST_AFTER_CALL = "Call to findBidListAfter for id: {}";
+    public static final String FIND_BID_LIST_AFTER_OK = "List of bidList following id retrieved with {} values \n";
+
     public static final String FIND_BID_LIST_BY_ID_CALL = "Call to findBidListById";
-    public static final String FIND_BID_LIST_BY_ID_OK = "BidList retrieved for id: ";
+    public static final String FIND_BID_LIST_BY_ID_OK = "BidList retrieved for id: {} \n";
+
+    public static final String UPDATE_BID_LIST_CALL = "Call to updateBidList with BidList: {}";
+    public static final String UPDATE_BID_LIST_OK = "BidList updated for id: {}";
+    public static final String UPDATE_BID_LIST_ERROR = "Error when updating bidList: {}";
+
+    public static final String DELETE_BID_LIST_CALL = "Call to deleteBidList for id: {}";
+    public static final String DELETE_BID_LIST_OK = "BidList deleted for id: {}";
+    public static final String DELETE_BID_LIST_ERROR = "Error when deleting bidList id: {}";
 
-    public static final String UPDATE_BID_LIST_CALL = "Call to updateBidList with BidList: ";
-    public static final String UPDATE_BID_LIST_OK = "BidList updated for id: ";
-    public static final String UPDATE_BID_LIST_ERROR = "Error when updating bidList: ";
+    public static final String CREATE_ALL_BID_LIST_CALL = "Call to createAllBidList for {} rows";
+    public static final String CREATE_ALL_BID_LIST_OK = "{} bidList created out of {} rows \n";
 
-    public static final String DELETE_BID_LIST_CALL = "Call to deleteBidList for id: ";
-    public static final String DELETE_BID_LIST_OK = "BidList deleted for id: ";
-    public static final String DELETE_BID_LIST_ERROR = "Error when deleting bidList id: ";
+    public static final String UPDATE_ALL_BID_LIST_CALL = "Call to updateAllBidList for {} rows";
+    public static final String UPDATE_ALL_BID_LIST_OK = "{} bidList updated out of {} rows \n";
 
-    public static final String CREATE_CURVE_POINT_CALL = "Call to createCurvePoint with CurvePoint: ";
-    public static final String CREATE_CURVE_POINT_OK = "CurvePoint created with id: ";
-    public static final String CREATE_CURVE_POINT_ERROR = "Error when saving curvePoint: ";
+    public static final String DELETE_ALL_BID_LIST_CALL = "Call to deleteAllBidList for {} rows";
+    public static final String DELETE_ALL_BID_LIST_OK = "{} bidList deleted out of {} rows \n";
+
+    public static final String EXPORT_BID_LIST_CALL = "Call to exportBidList as {}";
+    public static final String EXPORT_BID_LIST_OK = "{} bidList exported \n";
+
+    public static final String IMPORT_BID_LIST_CALL = "Call to importBidList";
+    public static final String IMPORT_BID_LIST_OK = "{} bidList imported out of {} lines \n";
+
+    public static final String CREATE_CURVE_POINT_CALL = "Call to createCurvePoint with CurvePoint: {}";
+    public static final String CREATE_CURVE_POINT_OK = "CurvePoint created with id: {}";
+    public static final String CREATE_CURVE_POINT_ERROR = "Error when saving curvePoint: {}";
 
     public static final String FIND_CURVE_POINT_ALL_CALL = "Call to findAllCurvePoint";
     public static final String FIND_CURVE_POINT_ALL_OK = "List of curvePoint retrieved with {} values \n";
 
-    public static final String FIND_CURVE_POINT_BY_ID_CALL = "Call to findCurvePointById";
-    public static final String FIND_CURVE_POINT_BY_ID_OK = "CurvePoint retrieved for id: ";
-
-    public static final String UPDATE_CURVE_POINT_CALL = "Call to updateCurvePoint with CurvePoint: ";
-    public static final String UPDATE_CURVE_POINT_OK = "CurvePoint updated for id: ";
-    public static final String UPDATE_CURVE_POINT_ERROR = "Error when updating curvePoint: ";
+    public static final String FIND_CURVE_POINT_PAGE_CALL = "Call to findCurvePointPage for: {}";
+    public static final String FIND_CURVE_POINT_PAGE_OK = "Page of curvePoint retrieved with {} values \n";
 
-    public static final String DELETE_CURVE_POINT_CALL = "Call to deleteCurvePoint for id: ";
-    public static final String DELETE_CURVE_POINT_OK = "CurvePoint deleted for id: ";
-    public static final String DELETE_CURVE_POINT_ERROR = "Error when deleting curvePoint id: ";
+    public static final String FIND_CURVE_POINT_AFTER_CALL = "Call to findCurvePointAfter for id: {}";
+    public static final String FIND_CURVE_POINT_AFTER_OK = "List of curvePoint following id retrieved with {} values \n";
 
-    public static final String CREATE_RATING_CALL = "Call to createRating with Rating: ";
-    public static final String CREATE_RATING_OK = "Rating created with id: ";
-    public static final String CREATE_RATING_ERROR = "Error when saving rating: ";
+    public static final String FIND_CURVE_POINT_BY_ID_CALL = "Call to findCurvePointById";
+    public static final String FIND_CURVE_POINT_BY_ID_OK = "CurvePoint retrieved for id: {} \n";
+
+    public static final String UPDATE_CURVE_POINT_CALL = "Call to updateCurvePoint with CurvePoint: {}";
+    public static final String UPDATE_CURVE_POINT_OK = "CurvePoint updated for id: {}";
+    public static final String UPDATE_CURVE_POINT_ERROR = "Error when updating curvePoint: {}";
+
+    public static final String DELETE_CURVE_POINT_CALL = "Call to deleteCurvePoint for id: {}";
+    public static final String DELETE_CURVE_POINT_OK = "CurvePoint deleted for id: {}";
+    public static final String DELETE_CURVE_POINT_ERROR = "Error when deleting curvePoint id: {}";
+
+    public static final String IMPORT_CURVE_POINT_CALL = "Call to importCurvePoint";
+    public static final String IMPORT_CURVE_POINT_OK = "{} curvePoint imported out of {} lines \n";
+
+    public static final String CURVE_REBUILD_CALL = "Call to rebuild curve {}";
+    public static final String CURVE_BUILD_OK = "Curve {} built with {} points \n";
+
+    public static final String POSITION_SEED_OK = "Positions seeded from {} trades in {} ms: {} positions \n";
+    public static final String POSITION_APPLY_CALL =
+            "Call to apply trade changes to the positions: {} saved, {} updated, {} deleted";
+    public static final String FIND_POSITION_ALL_OK = "List of position retrieved with {} values \n";
+
+    public static final String PNL_COMPUTE_OK = "P&L computed from {} trades in {} ms: {} positions \n";
+    public static final String PNL_RECOMPUTE_OK =
+            "P&L recomputed for {} changed trades and {} changed curves in {} ms: {} positions \n";
+    public static final String PNL_MARK_KO = "Benchmark {} not marked: not a curveId/term with curve points";
+    public static final String FIND_PNL_ALL_OK = "List of P&L retrieved with {} values \n";
+
+    public static final String ORDER_BOOK_SEED_OK = "Order books seeded from {} bidList in {} ms: {} securities \n";
+    public static final String ORDER_BOOK_APPLY_CALL =
+            "Call to apply bidList changes to the order books: {} saved, {} updated, {} deleted";
+    public static final String ORDER_BOOK_FILLS_OK = "{} fills of crossing bids and asks booked as trades \n";
+    public static final String ORDER_BOOK_FILLS_ERROR = "Fills not booked, the order books are ahead of the DB: {}";
+
+    public static final String RULE_SEED_OK = "Rules compiled from {} ruleName in {} ms: {} active \n";
+    public static final String RULE_COMPILE_OK = "Rule {} compiled, applies to trades: {}, to bidList: {}";
+    public static final String RULE_COMPILE_KO = "Rule {} not active: {}";
+    public static final String RULE_COMPILE_SKIPPED = "Rule {} not recompiled, its predicate is unchanged";
+    public static final String RULE_MATCH_OK = "{} {} matched by rules: {}";
+    public static final String RULE_EVALUATE_ALL_OK = "{} trade and {} bidList evaluated against {} rules in {} ms \n";
+
+    public static final String CREATE_RATING_CALL = "Call to createRating with Rating: {}";
+    public static final String CREATE_RATING_OK = "Rating created with id: {}";
+    public static final String CREATE_RATING_ERROR = "Error when saving rating: {}";
 
     public static final String FIND_RATING_ALL_CALL = "Call to findAllRating";
     public static final String FIND_RATING_ALL_OK = "List of rating retrieved with {} values \n";
 
+    public static final String FIND_RATING_PAGE_CALL = "Call to findRatingPage for: {}";
+    public static final String FIND_RATING_PAGE_OK = "Page of rating retrieved with {} values \n";
+
+    public static final String FIND_RATING_AFTER_CALL = "Call to findRatingAfter for id: {}";
+    public static final String FIND_RATING_AFTER_OK = "List of rating following id retrieved with {} values \n";
+
     public static final String FIND_RATING_BY_ID_CALL = "Call to findRatingById";
-    public static final String FIND_RATING_BY_ID_OK = "Rating retrieved for id: ";
+    public static final String FIND_RATING_BY_ID_OK = "Rating retrieved for id: {} \n";
 
-    public static final String UPDATE_RATING_CALL = "Call to updateRating with Rating: ";
-    public static final String UPDATE_RATING_OK = "Rating updated for id: ";
-    public static final String UPDATE_RATING_ERROR = "Error when updating rating: ";
+    public static final String UPDATE_RATING_CALL = "Call to updateRating with Rating: {}";
+    public static final String UPDATE_RATING_OK = "Rating updated for id: {}";
+    public static final String UPDATE_RATING_ERROR = "Error when updating rating: {}";
 
-    public static final String DELETE_RATING_CALL = "Call to deleteRating for id: ";
-    public static final String DELETE_RATING_OK = "Rating deleted for id: ";
-    public static final String DELETE_RATING_ERROR = "Error when deleting rating id: ";
+    public static final String DELETE_RATING_CALL = "Call to deleteRating for id: {}";
+    public static final String DELETE_RATING_OK = "Rating deleted for id: {}";
+    public static final String DELETE_RATING_ERROR = "Error when deleting rating id: {}";
 
-    public static final String CREATE_RULE_NAME_CALL = "Call to createRuleName with RuleName: ";
-    public static final String CREATE_RULE_NAME_OK = "RuleName created with id: ";
-    public static final String CREATE_RULE_NAME_ERROR = "Error when saving rating: ";
+    public static final String CREATE_RULE_NAME_CALL = "Call to createRuleName with RuleName: {}";
+    public static final String CREATE_RULE_NAME_OK = "RuleName created with id: {}";
+    public static final String CREATE_RULE_NAME_ERROR = "Error when saving rating: {}";
 
     public static final String FIND_RULE_NAME_ALL_CALL = "Call to findAllRuleName";
     public static final String FIND_RULE_NAME_ALL_OK = "List of rating retrieved with {} values \n";
 
+    public static final String FIND_RULE_NAME_PAGE_CALL = "Call to findRuleNamePage for: {}";
+    public static final String FIND_RULE_NAME_PAGE_OK = "Page of ruleName retrieved with {} values \n";
+
+    public static final String FIND_RULE_NAME_AFTER_CALL = "Call to findRuleNameAfter for id: {}";
+    public static final String FIND_RULE_NAME_AFTER_OK = "List of ruleName following id retrieved with {} values \n";
+
     public static final String FIND_RULE_NAME_BY_ID_CALL = "Call to findRuleNameById";
-    public static final String FIND_RULE_NAME_BY_ID_OK = "RuleName retrieved for id: ";
+    public static final String FIND_RULE_NAME_BY_ID_OK = "RuleName retrieved for id: {} \n";
 
-    public static final String UPDATE_RULE_NAME_CALL = "Call to updateRuleName with RuleName: ";
-    public static final String UPDATE_RULE_NAME_OK = "RuleName updated for id: ";
-    public static final String UPDATE_RULE_NAME_ERROR = "Error when updating rating: ";
+    public static final String UPDATE_RULE_NAME_CALL = "Call to updateRuleName with RuleName: {}";
+    public static final String UPDATE_RULE_NAME_OK = "RuleName updated for id: {}";
+    public static final String UPDATE_RULE_NAME_ERROR = "Error when updating rating: {}";
 
-    public static final String DELETE_RULE_NAME_CALL = "Call to deleteRuleName for id: ";
-    public static final String DELETE_RULE_NAME_OK = "RuleName deleted for id: ";
-    public static final String DELETE_RULE_NAME_ERROR = "Error when deleting rating id: ";
+    public static final String DELETE_RULE_NAME_CALL = "Call to deleteRuleName for id: {}";
+    public static final String DELETE_RULE_NAME_OK = "RuleName deleted for id: {}";
+    public static final String DELETE_RULE_NAME_ERROR = "Error when deleting rating id: {}";
 
-    public static final String CREATE_TRADE_CALL = "Call to createTrade with Trade: ";
-    public static final String CREATE_TRADE_OK = "Trade created with id: ";
-    public static final String CREATE_TRADE_ERROR = "Error when saving trade: ";
+    public static final String CREATE_TRADE_CALL = "Call to createTrade with Trade: {}";
+    public static final String CREATE_TRADE_OK = "Trade created with id: {}";
+    public static final String CREATE_TRADE_ERROR = "Error when saving trade: {}";
 
     public static final String FIND_TRADE_ALL_CALL = "Call to findAllTrade";
     public static final String FIND_TRADE_ALL_OK = "List of trade retrieved with {} values \n";
 
+    public static final String FIND_TRADE_PAGE_CALL = "Call to findTradePage for: {}";
+    public static final String FIND_TRADE_PAGE_OK = "Page of trade retrieved with {} values \n";
+
+    public static final String FIND_TRADE_AFTER_CALL = "Call to findTradeAfter for id: {}";
+    public static final String FIND_TRADE_AFTER_OK = "List of trade following id retrieved with {} values \n";
+
     public static final String FIND_TRADE_BY_ID_CALL = "Call to findTradeById";
-    public static final String FIND_TRADE_BY_ID_OK = "Trade retrieved for id: ";
+    public static final String FIND_TRADE_BY_ID_OK = "Trade retrieved for id: {} \n";
+
+    public static final String UPDATE_TRADE_CALL = "Call to updateTrade with Trade: {}";
+    public static final String UPDATE_TRADE_OK = "Trade updated for id: {}";
+    public static final String UPDATE_TRADE_ERROR = "Error when updating trade: {}";
 
-    public static final String UPDATE_TRADE_CALL = "Call to updateTrade with Trade: ";
-    public static final String UPDATE_TRADE_OK = "Trade updated for id: ";
-    public static final String UPDATE_TRADE_ERROR = "Error when updating trade: ";
+    public static final String DELETE_TRADE_CALL = "Call to deleteTrade for id: {}";
+    public static final String DELETE_TRADE_OK = "Trade deleted for id: {}";
+    public static final String DELETE_TRADE_ERROR = "Error when deleting trade id: {}";
 
-    public static final String DELETE_TRADE_CALL = "Call to deleteTrade for id: ";
-    public static final String DELETE_TRADE_OK = "Trade deleted for id: ";
-    public static final String DELETE_TRADE_ERROR = "Error when deleting trade id: ";
+    public static final String CREATE_ALL_TRADE_CALL = "Call to createAllTrade for {} rows";
+    public static final String CREATE_ALL_TRADE_OK = "{} trade created out of {} rows \n";
+
+    public static final String UPDATE_ALL_TRADE_CALL = "Call to updateAllTrade for {} rows";
+    public static final String UPDATE_ALL_TRADE_OK = "{} trade updated out of {} rows \n";
+
+    public static final String DELETE_ALL_TRADE_CALL = "Call to deleteAllTrade for {} rows";
+    public static final String DELETE_ALL_TRADE_OK = "{} trade deleted out of {} rows \n";
+
+    public static final String EXPORT_TRADE_CALL = "Call to exportTrade as {}";
+    public static final String EXPORT_TRADE_OK = "{} trade exported \n";
+
+    public static final String IMPORT_TRADE_CALL = "Call to importTrade";
+    public static final String IMPORT_TRADE_OK = "{} trade imported out of {} lines \n";
+
+    public static final String CREATE_TRADE_FROM_FILLS_CALL = "Call to createTradeFromFills for {} fills";
+    public static final String CREATE_TRADE_FROM_FILLS_OK = "{} trade created from fills \n";
+
+    public static final String BULK_CHUNK_ERROR = "Bulk chunk starting at row {} failed, replayed row by row: {}";
+    public static final String IMPORT_LINE_REJECTED = "Import line {} rejected: {}";
+
+    public static final String FIND_CACHE_STATISTICS_CALL = "Call to findCacheStatistics";
+    public static final String FIND_CACHE_STATISTICS_OK = "Statistics retrieved for {} caches \n";
+
+    public static final String FIND_SERVICE_METRICS_CALL = "Call to findServiceMetrics";
+    public static final String FIND_SERVICE_METRICS_OK = "Metrics retrieved for {} service methods \n";
+
+    public static final String FIND_QUERY_STATISTICS_CALL = "Call to findTopQueries for {} statements";
+    public static final String FIND_QUERY_STATISTICS_OK = "Statistics retrieved for {} statements \n";
+    public static final String FIND_SLOW_QUERIES_CALL = "Call to findSlowQueries";
+    public static final String FIND_SLOW_QUERIES_OK = "{} slow queries retrieved \n";
+    public static final String FIND_HIBERNATE_STATISTICS_CALL = "Call to findHibernateStatistics";
+    public static final String RESET_QUERY_STATISTICS_CALL = "Call to resetQueryStatistics";
+
+    public static final String SLOW_QUERY = "Slow query: {} ms, {} bind values, batch of {}: {}";
+    public static final String REQUEST_QUERY_STATISTICS =
+            "{} {}: {} statements, {} entity loads, {} flushes";
+    public static final String REQUEST_STATEMENTS_ABOVE_THRESHOLD =
+            "{} {}: {} statements, {} entity loads, {} flushes, above the statements per request threshold";
+
+    public static final String SCHEMA_MIGRATION_SKIPPED =
+            "Schema migrations skipped, the schema is created by Hibernate (ddl-auto={})";
+    public static final String SCHEMA_INDEX_MISSING = "Index missing on table {}: ({}), needed by the repository queries";
     //
-    public static final String CREATE_USER_CALL = "Call to createUser with User: ";
-    public static final String CREATE_USER_OK = "User created with id: ";
-    public static final String CREATE_USER_ERROR = "Error when saving user: ";
+    public static final String CREATE_USER_CALL = "Call to createUser with User: {}";
+    public static final String CREATE_USER_OK = "User created with id: {}";
+    public static final String CREATE_USER_ERROR = "Error when saving user: {}";
 
     public static final String FIND_USER_ALL_CALL = "Call to findAllUser";
     public static final String FIND_USER_ALL_OK = "List of user retrieved with {} values \n";
 
+    public static final String FIND_USER_PAGE_CALL = "Call to findUserPage for: {}";
+    public static final String FIND_USER_PAGE_OK = "Page of user retrieved with {} values \n";
+
+    public static final String FIND_USER_AFTER_CALL = "Call to findUserAfter for id: {}";
+    public static final String FIND_USER_AFTER_OK = "List of user following id retrieved with {} values \n";
+
     public static final String FIND_USER_BY_ID_CALL = "Call to findUserById";
-    public static final String FIND_USER_BY_ID_OK = "User retrieved for id: ";
+    public static final String FIND_USER_BY_ID_OK = "User retrieved for id: {} \n";
 
-    public static final String UPDATE_USER_CALL = "Call to updateUser with User: ";
-    public static final String UPDATE_USER_OK = "User updated for id: ";
-    public static final String UPDATE_USER_ERROR = "Error when updating user: ";
+    public static final String UPDATE_USER_CALL = "Call to updateUser with User: {}";
+    public static final String UPDATE_USER_OK = "User updated for id: {}";
+    public static final String UPDATE_USER_ERROR = "Error when updating user: {}";
 
-    public static final String DELETE_USER_CALL = "Call to deleteUser for id: ";
-    public static final String DELETE_USER_OK = "User deleted for id: ";
-    public static final String DELETE_USER_ERROR = "Error when deleting user id: ";
+    public static final String DELETE_USER_CALL = "Call to deleteUser for id: {}";
+    public static final String DELETE_USER_OK = "User deleted for id: {}";
+    public static final String DELETE_USER_ERROR = "Error when deleting user id: {}";
 
     /* Controllers */
     public static final String CURRENT_USER_UNKNOWN = "Current user unknown";
@@ -119,11 +248,11 @@ public class LogConstants {
     public static final String BIDLIST_CREATION_FORM_REQUEST_RECEIVED =
             "GET request on endpoint /bidList/add received for user: {} \n";
     public static final String BIDLIST_CREATION_REQUEST_RECEIVED =
-            "POST request on endpoint /bidList/validate received for BidList: ";
+            "POST request on endpoint /bidList/validate received for BidList: {}";
     public static final String BIDLIST_CREATION_REQUEST_NOT_VALID =
-            "BidList information not valid";
+            "BidList information not valid \n";
     public static final String BIDLIST_CREATION_REQUEST_KO =
-            "New bidList has not been added";
+            "New bidList has not been added: {} \n";
     public static final String BIDLIST_CREATION_REQUEST_OK =
             "New bidList has been added with id {} by user: {} \n";
 
@@ -135,7 +264,7 @@ public class LogConstants {
     public static final String BIDLIST_UPDATE_REQUEST_RECEIVED =
             "POST request on endpoint /bidList/update/{} received with BidList: {}, for user: {}";
     public static final String BIDLIST_UPDATE_REQUEST_NOT_VALID =
-            "BidList information not valid";
+            "BidList information not valid \n";
     public static final String BIDLIST_UPDATE_REQUEST_OK =
             "BidList id {} has been updated by user: {} \n";
     public static final String BIDLIST_UPDATE_REQUEST_KO =
@@ -148,14 +277,38 @@ public class LogConstants {
     public static final String BIDLIST_DELETE_REQUEST_KO =
             "BidList id {} has not been deleted: {} \n";
 
+    public static final String BIDLIST_BULK_CREATION_REQUEST_RECEIVED =
+            "POST request on endpoint /api/v1/bidList/bulk received with {} rows, for user: {}";
+    public static final String BIDLIST_BULK_UPDATE_REQUEST_RECEIVED =
+            "PUT request on endpoint /api/v1/bidList/bulk received with {} rows, for user: {}";
+    public static final String BIDLIST_BULK_DELETE_REQUEST_RECEIVED =
+            "DELETE request on endpoint /api/v1/bidList/bulk received with {} rows, for user: {}";
+    public static final String BIDLIST_EXPORT_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/bidList/export received for format {}, for user: {}";
+    public static final String BIDLIST_IMPORT_REQUEST_RECEIVED =
+            "POST request on endpoint /api/v1/bidList/import received for file {}, for user: {}";
+
+    public static final String CACHE_STATISTICS_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/admin/cache/statistics received for user: {}";
+    public static final String METRICS_DASHBOARD_REQUEST_RECEIVED =
+            "GET request on endpoint /admin/metrics received for user: {}";
+    public static final String QUERY_STATISTICS_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/admin/queries/statistics received for top {}, for user: {}";
+    public static final String SLOW_QUERIES_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/admin/queries/slow received for user: {}";
+    public static final String HIBERNATE_STATISTICS_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/admin/queries/hibernate received for user: {}";
+    public static final String QUERY_STATISTICS_RESET_REQUEST_RECEIVED =
+            "DELETE request on endpoint /api/v1/admin/queries/statistics received for user: {}";
+
     public static final String CURVEPOINT_CREATION_FORM_REQUEST_RECEIVED =
             "GET request on endpoint /curvePoint/add received for user: {} \n";
     public static final String CURVEPOINT_CREATION_REQUEST_RECEIVED =
-            "POST request on endpoint /curvePoint/validate received for CurvePoint: ";
+            "POST request on endpoint /curvePoint/validate received for CurvePoint: {}";
     public static final String CURVEPOINT_CREATION_REQUEST_NOT_VALID =
-            "CurvePoint information not valid";
+            "CurvePoint information not valid \n";
     public static final String CURVEPOINT_CREATION_REQUEST_KO =
-            "New curvePoint has not been added";
+            "New curvePoint has not been added: {} \n";
     public static final String CURVEPOINT_CREATION_REQUEST_OK =
             "New curvePoint has been added with id {} by user: {} \n";
 
@@ -167,7 +320,7 @@ public class LogConstants {
     public static final String CURVEPOINT_UPDATE_REQUEST_RECEIVED =
             "POST request on endpoint /curvePoint/update/{} received with CurvePoint: {}, for user: {}";
     public static final String CURVEPOINT_UPDATE_REQUEST_NOT_VALID =
-            "CurvePoint information not valid";
+            "CurvePoint information not valid \n";
     public static final String CURVEPOINT_UPDATE_REQUEST_OK =
             "CurvePoint id {} has been updated by user: {} \n";
     public static final String CURVEPOINT_UPDATE_REQUEST_KO =
@@ -180,14 +333,43 @@ public class LogConstants {
     public static final String CURVEPOINT_DELETE_REQUEST_KO =
             "CurvePoint id {} has not been deleted: {} \n";
 
+    public static final String CURVEPOINT_IMPORT_REQUEST_RECEIVED =
+            "POST request on endpoint /api/v1/curvePoint/import received for file {}, for user: {}";
+    public static final String CURVEPOINT_CURVE_VALUE_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/curvePoint/curve/{}/value received for term {}, for user: {}";
+    public static final String CURVEPOINT_CURVE_VALUE_REQUEST_KO =
+            "Value of curve {} not computed: {} \n";
+
+    public static final String POSITION_LIST_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/position received for account {} and book {}, for user: {}";
+    public static final String POSITION_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/position/{}/{} received for book {}, for user: {}";
+
+    public static final String PNL_LIST_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/pnl received for account {} and book {}, for user: {}";
+    public static final String PNL_RECOMPUTE_REQUEST_RECEIVED =
+            "POST request on endpoint /api/v1/pnl/recompute received for user: {}";
+
+    public static final String ORDER_BOOK_LIST_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/orderBook received for user: {}";
+    public static final String ORDER_BOOK_TOP_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/orderBook/{} received for user: {}";
+    public static final String ORDER_BOOK_DEPTH_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/orderBook/{}/depth received for {} levels, for user: {}";
+
+    public static final String RULE_EVALUATION_LIST_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/ruleEvaluation received for user: {}";
+    public static final String RULE_EVALUATE_ALL_REQUEST_RECEIVED =
+            "POST request on endpoint /api/v1/ruleEvaluation received for user: {}";
+
     public static final String RATING_CREATION_FORM_REQUEST_RECEIVED =
             "GET request on endpoint /rating/add received for user: {} \n";
     public static final String RATING_CREATION_REQUEST_RECEIVED =
-            "POST request on endpoint /rating/validate received for Rating: ";
+            "POST request on endpoint /rating/validate received for Rating: {}";
     public static final String RATING_CREATION_REQUEST_NOT_VALID =
-            "Rating information not valid";
+            "Rating information not valid \n";
     public static final String RATING_CREATION_REQUEST_KO =
-            "New rating has not been added";
+            "New rating has not been added: {} \n";
     public static final String RATING_CREATION_REQUEST_OK =
             "New rating has been added with id {} by user: {} \n";
 
@@ -199,7 +381,7 @@ public class LogConstants {
     public static final String RATING_UPDATE_REQUEST_RECEIVED =
             "POST request on endpoint /rating/update/{} received with Rating: {}, for user: {}";
     public static final String RATING_UPDATE_REQUEST_NOT_VALID =
-            "Rating information not valid";
+            "Rating information not valid \n";
     public static final String RATING_UPDATE_REQUEST_OK =
             "Rating id {} has been updated by user: {} \n";
     public static final String RATING_UPDATE_REQUEST_KO =
@@ -215,11 +397,11 @@ public class LogConstants {
     public static final String RULE_NAME_CREATION_FORM_REQUEST_RECEIVED =
             "GET request on endpoint /ruleName/add received for user: {} \n";
     public static final String RULE_NAME_CREATION_REQUEST_RECEIVED =
-            "POST request on endpoint /ruleName/validate received for RuleName: ";
+            "POST request on endpoint /ruleName/validate received for RuleName: {}";
     public static final String RULE_NAME_CREATION_REQUEST_NOT_VALID =
-            "RuleName information not valid";
+            "RuleName information not valid \n";
     public static final String RULE_NAME_CREATION_REQUEST_KO =
-            "New ruleName has not been added";
+            "New ruleName has not been added: {} \n";
     public static final String RULE_NAME_CREATION_REQUEST_OK =
             "New ruleName has been added with id {} by user: {} \n";
 
@@ -231,7 +413,7 @@ public class LogConstants {
     public static final String RULE_NAME_UPDATE_REQUEST_RECEIVED =
             "POST request on endpoint /ruleName/update/{} received with RuleName: {}, for user: {}";
     public static final String RULE_NAME_UPDATE_REQUEST_NOT_VALID =
-            "RuleName information not valid";
+            "RuleName information not valid \n";
     public static final String RULE_NAME_UPDATE_REQUEST_OK =
             "RuleName id {} has been updated by user: {} \n";
     public static final String RULE_NAME_UPDATE_REQUEST_KO =
@@ -247,11 +429,11 @@ public class LogConstants {
     public static final String TRADE_CREATION_FORM_REQUEST_RECEIVED =
             "GET request on endpoint /trade/add received for user: {} \n";
     public static final String TRADE_CREATION_REQUEST_RECEIVED =
-            "POST request on endpoint /trade/validate received for Trade: ";
+            "POST request on endpoint /trade/validate received for Trade: {}";
     public static final String TRADE_CREATION_REQUEST_NOT_VALID =
-            "Trade information not valid";
+            "Trade information not valid \n";
     public static final String TRADE_CREATION_REQUEST_KO =
-            "New trade has not been added";
+            "New trade has not been added: {} \n";
     public static final String TRADE_CREATION_REQUEST_OK =
             "New trade has been added with id {} by user: {} \n";
 
@@ -263,7 +445,7 @@ public class LogConstants {
     public static final String TRADE_UPDATE_REQUEST_RECEIVED =
             "POST request on endpoint /trade/update/{} received with Trade: {}, for user: {}";
     public static final String TRADE_UPDATE_REQUEST_NOT_VALID =
-            "Trade information not valid";
+            "Trade information not valid \n";
     public static final String TRADE_UPDATE_REQUEST_OK =
             "Trade id {} has been updated by user: {} \n";
     public static final String TRADE_UPDATE_REQUEST_KO =
@@ -276,14 +458,25 @@ public class LogConstants {
     public static final String TRADE_DELETE_REQUEST_KO =
             "Trade id {} has not been deleted: {} \n";
 
+    public static final String TRADE_BULK_CREATION_REQUEST_RECEIVED =
+            "POST request on endpoint /api/v1/trade/bulk received with {} rows, for user: {}";
+    public static final String TRADE_BULK_UPDATE_REQUEST_RECEIVED =
+            "PUT request on endpoint /api/v1/trade/bulk received with {} rows, for user: {}";
+    public static final String TRADE_BULK_DELETE_REQUEST_RECEIVED =
+            "DELETE request on endpoint /api/v1/trade/bulk received with {} rows, for user: {}";
+    public static final String TRADE_EXPORT_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/trade/export received for format {}, for user: {}";
+    public static final String TRADE_IMPORT_REQUEST_RECEIVED =
+            "POST request on endpoint /api/v1/trade/import received for file {}, for user: {}";
+
     public static final String USER_CREATION_FORM_REQUEST_RECEIVED =
             "GET request on endpoint /user/add received for user: {} \n";
     public static final String USER_CREATION_REQUEST_RECEIVED =
-            "POST request on endpoint /user/validate received for User: ";
+            "POST request on endpoint /user/validate received for User: {}";
     public static final String USER_CREATION_REQUEST_NOT_VALID =
-            "User information not valid";
+            "User information not valid \n";
     public static final String USER_CREATION_REQUEST_KO =
-            "New user has not been added";
+            "New user has not been added: {} \n";
     public static final String USER_CREATION_REQUEST_OK =
             "New user has been added with id {} by user: {} \n";
 
@@ -295,7 +488,7 @@ public class LogConstants {
     public static final String USER_UPDATE_REQUEST_RECEIVED =
             "POST request on endpoint /user/update/{} received with User: {}, for user: {}";
     public static final String USER_UPDATE_REQUEST_NOT_VALID =
-            "User information not valid";
+            "User information not valid \n";
     public static final String USER_UPDATE_REQUEST_OK =
             "User id {} has been updated by user: {} \n";
     public static final String USER_UPDATE_REQUEST_KO =
@@ -307,4 +500,17 @@ public class LogConstants {
             "User id {} has been deleted by user: {} \n";
     public static final String USER_DELETE_REQUEST_KO =
             "User id {} has not been deleted: {} \n";
+
+    public static final String API_LIST_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/{} received for {}, for user: {}";
+    public static final String API_GET_REQUEST_RECEIVED =
+            "GET request on endpoint /api/v1/{}/{} received for user: {}";
+    public static final String API_CREATION_REQUEST_RECEIVED =
+            "POST request on endpoint /api/v1/{} received with {}, for user: {}";
+    public static final String API_UPDATE_REQUEST_RECEIVED =
+            "PUT request on endpoint /api/v1/{}/{} received with {}, for user: {}";
+    public static final String API_DELETE_REQUEST_RECEIVED =
+            "DELETE request on endpoint /api/v1/{}/{} received for user: {}";
+    public static final String API_REQUEST_KO =
+            "{} request on endpoint {} answered with status {}: {} \n";
 }
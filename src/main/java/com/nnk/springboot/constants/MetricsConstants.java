@@ -0,0 +1,35 @@
+package com.nnk.springboot.constants;
+
+public class MetricsConstants {
+
+    /* duration of the calls to the I*Service methods, tagged by service, method, outcome and exception */
+    public static final String SERVICE_TIMER = "poseidon.service";
+    /* part of the successful calls spent in the repositories */
+    public static final String SERVICE_QUERY_TIMER = "poseidon.service.query";
+    /* part of the successful calls spent outside the repositories, mostly mapping entities and DTO */
+    public static final String SERVICE_MAPPING_TIMER = "poseidon.service.mapping";
+    /* number of rows returned by the successful calls returning a list, a page or an optional */
+    public static final String SERVICE_ROWS_SUMMARY = "poseidon.service.rows";
+
+    /* duration of the calls to the Spring Data repositories, tagged by repository and method */
+    public static final String REPOSITORY_TIMER = "poseidon.repository";
+
+    /* number of SQL statements, entity loads and flushes of each HTTP request */
+    public static final String REQUEST_STATEMENTS_SUMMARY = "poseidon.request.statements";
+    public static final String REQUEST_ENTITY_LOADS_SUMMARY = "poseidon.request.entity.loads";
+    public static final String REQUEST_FLUSHES_SUMMARY = "poseidon.request.flushes";
+
+    public static final String SERVICE_TAG = "service";
+    public static final String REPOSITORY_TAG = "repository";
+    public static final String METHOD_TAG = "method";
+    public static final String OUTCOME_TAG = "outcome";
+    public static final String EXCEPTION_TAG = "exception";
+
+    /* tags added to the http.server.requests metrics of Spring Boot */
+    public static final String ENTITY_TAG = "entity";
+    public static final String ACTION_TAG = "action";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String NONE = "none";
+}
@@ -3,6 +3,9 @@ package com.nnk.springboot.constants;
 public class PoseidonExceptionsConstants {
 
     public static final String BID_LIST_ID_NOT_VALID = "Invalid bid list id: ";
+    public static final String BID_LIST_VERSION_CONFLICT = "Bid list modified by another user since it was read, id: ";
+    public static final String BID_LIST_VERSION_REQUIRED = "Version the bid list was read with required to update it, id: ";
+    public static final String BID_LIST_FILL_CONFLICT = "Bid list deleted or reduced below its fill since it was placed, id: ";
 
     public static final String CURVE_POINT_ID_NOT_VALID = "Invalid curve point id: ";
 
@@ -11,9 +14,34 @@ public class PoseidonExceptionsConstants {
     public static final String RULE_NAME_ID_NOT_VALID = "Invalid ruleName id: ";
 
     public static final String TRADE_ID_NOT_VALID = "Invalid trade id: ";
+    public static final String TRADE_VERSION_CONFLICT = "Trade modified by another user since it was read, id: ";
+    public static final String TRADE_VERSION_REQUIRED = "Version the trade was read with required to update it, id: ";
 
     public static final String USER_ID_NOT_VALID = "Invalid user id: ";
 
     public static final String DOES_NOT_EXISTS_USER = "User does not exist";
     public static final String ALREADY_EXISTS_USER = "User already exists";
+
+    public static final String PASSWORD_HASHING_BUSY = "Too many passwords being hashed, please retry later";
+    public static final String PASSWORD_HASHING_INTERRUPTED = "Password hashing interrupted";
+
+    public static final String BULK_ROW_EMPTY = "Empty row";
+
+    public static final String IMPORT_LINE_NOT_READABLE = "Line not readable: ";
+
+    public static final String CURVE_NOT_FOUND = "No curve point for curve id: ";
+    public static final String CURVE_NOT_LOG_INTERPOLABLE =
+            "Log-linear interpolation needs strictly positive values, curve id: ";
+
+    public static final String POSITION_NOT_FOUND = "No trade for the position: ";
+
+    public static final String ORDER_BOOK_NOT_FOUND = "No bid or ask for the security: ";
+
+    public static final String RULE_PREDICATE_NOT_VALID = "Invalid rule predicate: ";
+    public static final String RULE_PREDICATE_EMPTY = "No predicate in the json or the sqlPart of the rule";
+    public static final String RULE_FIELD_UNKNOWN = "Fields unknown to the trades and the bidList: ";
+    public static final String RULE_EVALUATION_INTERRUPTED = "Rule evaluation interrupted";
+    public static final String RULE_EVALUATION_FAILED = "Rule evaluation failed";
+
+    public static final String SCHEMA_INDEXES_MISSING = "Indexes needed by the repository queries missing from the schema: ";
 }
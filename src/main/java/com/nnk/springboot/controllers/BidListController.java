@@ -3,9 +3,14 @@ package com.nnk.springboot.controllers;
 import com.nnk.springboot.DTO.BidListDTO;
 import com.nnk.springboot.constants.LogConstants;
 import com.nnk.springboot.services.contracts.IBidListService;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.utils.UserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -19,7 +24,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import javax.validation.Valid;
 import java.util.Optional;
 
-import static com.nnk.springboot.utils.MessageUtil.formatOutputMessage;
 
 @Slf4j
 @Controller
@@ -28,22 +32,28 @@ public class BidListController {
     //DONE: Inject Bid service
     private final IBidListService bidListService;
 
+    private final IMessageService messageService;
+
     @Autowired
-    public BidListController(IBidListService bidListService) {
+    public BidListController(IBidListService bidListService, IMessageService messageService) {
         this.bidListService = bidListService;
+        this.messageService = messageService;
     }
 
     /**
      * shows the bidList list
      *
-     * @param model current model
+     * @param model    current model
+     * @param pageable requested page (page, size and sort request parameters)
      * @return list bidList page
      */
     @RequestMapping("list")
-    public String home(Model model) {
+    public String home(Model model, @PageableDefault(sort = "bidListId") Pageable pageable) {
         //DONE: call service find all bids to show to the view
         log.info(LogConstants.BIDLIST_LIST_REQUEST_RECEIVED, UserUtil.getCurrentUser());
-        model.addAttribute("bidListAll", bidListService.findAll());
+        Page<BidListDTO> bidListPage = bidListService.findAll(pageable);
+        model.addAttribute("bidListAll", bidListPage.getContent());
+        model.addAttribute("bidListPage", bidListPage);
 
         return "bidList/list";
     }
@@ -76,10 +86,10 @@ public class BidListController {
                            Model model, RedirectAttributes redirectAttributes) {
         //DONE: check data valid and save to db
 
-        log.info(LogConstants.BIDLIST_CREATION_REQUEST_RECEIVED + bid.toString());
+        log.info(LogConstants.BIDLIST_CREATION_REQUEST_RECEIVED, bid);
 
         if (result.hasErrors()) {
-            log.error(LogConstants.BIDLIST_CREATION_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.BIDLIST_CREATION_REQUEST_NOT_VALID);
             return "bidList/add";
         }
 
@@ -92,20 +102,20 @@ public class BidListController {
 
                 //DONE: after saving return bid list
                 redirectAttributes.addFlashAttribute("infoMessage",
-                        formatOutputMessage("bidList.add.ok",
+                        messageService.formatOutputMessage("bidList.add.ok",
                                 bidListDTOCreated.get().getBidListId().toString()));
 
                 return "redirect:/bidList/list";
             } else {
-                log.error(LogConstants.BIDLIST_CREATION_REQUEST_KO + " \n");
+                log.error(LogConstants.BIDLIST_CREATION_REQUEST_KO, "no bidList returned by the service");
                 model.addAttribute("errorMessage", "bidList.add.ko");
                 return "bidList/add";
             }
 
         } catch (Exception exception) {
-            log.error(LogConstants.BIDLIST_CREATION_REQUEST_KO + ": " + exception.getMessage() + " \n");
+            log.error(LogConstants.BIDLIST_CREATION_REQUEST_KO, exception.getMessage());
             model.addAttribute("errorMessage",
-                    formatOutputMessage("bidList.add.ko", ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("bidList.add.ko", ": " + exception.getMessage()));
             return "bidList/add";
         }
     }
@@ -131,7 +141,7 @@ public class BidListController {
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("bidList.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("bidList.id.not.valid", id.toString()));
             return "redirect:/bidList/list";
         }
     }
@@ -152,11 +162,11 @@ public class BidListController {
         //DONE: check required fields, if valid call service to update Bid and return list Bid
 
         log.info(LogConstants.BIDLIST_UPDATE_REQUEST_RECEIVED, id,
-                bidList.toString(),
+                bidList,
                 model.getAttribute("currentUser"));
 
         if (result.hasErrors()) {
-            log.error(LogConstants.BIDLIST_UPDATE_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.BIDLIST_UPDATE_REQUEST_NOT_VALID);
             return "bidList/update";
         }
 
@@ -168,14 +178,21 @@ public class BidListController {
                     UserUtil.getCurrentUser());
 
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("bidList.update.ok", id.toString()));
+                    messageService.formatOutputMessage("bidList.update.ok", id.toString()));
             return "redirect:/bidList/list";
 
+        } catch (OptimisticLockingFailureException optimisticLockingFailureException) {
+            log.error(LogConstants.BIDLIST_UPDATE_REQUEST_KO, id, optimisticLockingFailureException.getMessage());
+
+            model.addAttribute("errorMessage",
+                    messageService.formatOutputMessage("bidList.update.conflict", id.toString()));
+            return "bidList/update";
+
         } catch (Exception exception) {
             log.error(LogConstants.BIDLIST_UPDATE_REQUEST_KO, id, exception.getMessage());
 
             model.addAttribute("errorMessage",
-                    formatOutputMessage("bidList.update.ko", id.toString() + ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("bidList.update.ko", id.toString() + ": " + exception.getMessage()));
             return "bidList/update";
         }
     }
@@ -197,17 +214,17 @@ public class BidListController {
             bidListService.delete(id);
             log.info(LogConstants.BIDLIST_DELETE_REQUEST_OK, id, UserUtil.getCurrentUser());
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("bidList.delete.ok", id.toString()));
+                    messageService.formatOutputMessage("bidList.delete.ok", id.toString()));
 
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(LogConstants.BIDLIST_DELETE_REQUEST_KO, id, illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("bidList.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("bidList.id.not.valid", id.toString()));
 
         } catch (Exception exception) {
             log.error(LogConstants.BIDLIST_DELETE_REQUEST_KO, id, exception.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("bidList.delete.ko", id.toString()));
+                    messageService.formatOutputMessage("bidList.delete.ko", id.toString()));
         }
 
         return "redirect:/bidList/list";
@@ -3,9 +3,13 @@ package com.nnk.springboot.controllers;
 import com.nnk.springboot.DTO.CurvePointDTO;
 import com.nnk.springboot.constants.LogConstants;
 import com.nnk.springboot.services.contracts.ICurvePointService;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.utils.UserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -19,7 +23,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import javax.validation.Valid;
 import java.util.Optional;
 
-import static com.nnk.springboot.utils.MessageUtil.formatOutputMessage;
 
 @Slf4j
 @Controller
@@ -28,23 +31,29 @@ public class CurveController {
     //DONE: Inject Curve Point service
     private final ICurvePointService curvePointService;
 
+    private final IMessageService messageService;
+
     @Autowired
-    public CurveController(ICurvePointService curvePointService) {
+    public CurveController(ICurvePointService curvePointService, IMessageService messageService) {
         this.curvePointService = curvePointService;
+        this.messageService = messageService;
     }
 
 
     /**
      * shows the curvePoint list
      *
-     * @param model current model
+     * @param model    current model
+     * @param pageable requested page (page, size and sort request parameters)
      * @return list curvePoint page
      */
     @RequestMapping("list")
-    public String home(Model model) {
+    public String home(Model model, @PageableDefault(sort = "id") Pageable pageable) {
         // DONE: find all Curve Point, add to model
         log.info(LogConstants.CURVEPOINT_LIST_REQUEST_RECEIVED, UserUtil.getCurrentUser());
-        model.addAttribute("curvePointAll", curvePointService.findAll());
+        Page<CurvePointDTO> curvePointPage = curvePointService.findAll(pageable);
+        model.addAttribute("curvePointAll", curvePointPage.getContent());
+        model.addAttribute("curvePointPage", curvePointPage);
 
         return "curvePoint/list";
     }
@@ -75,10 +84,10 @@ public class CurveController {
                            Model model, RedirectAttributes redirectAttributes) {
         //DONE: check data valid and save to db
 
-        log.info(LogConstants.CURVEPOINT_CREATION_REQUEST_RECEIVED + curvePoint.toString());
+        log.info(LogConstants.CURVEPOINT_CREATION_REQUEST_RECEIVED, curvePoint);
 
         if (result.hasErrors()) {
-            log.error(LogConstants.CURVEPOINT_CREATION_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.CURVEPOINT_CREATION_REQUEST_NOT_VALID);
             return "curvePoint/add";
         }
 
@@ -91,20 +100,20 @@ public class CurveController {
 
                 //DONE: after saving return CurvePoint
                 redirectAttributes.addFlashAttribute("infoMessage",
-                        formatOutputMessage("curvePoint.add.ok",
+                        messageService.formatOutputMessage("curvePoint.add.ok",
                                 curvePointDTOCreated.get().getId().toString()));
 
                 return "redirect:/curvePoint/list";
             } else {
-                log.error(LogConstants.CURVEPOINT_CREATION_REQUEST_KO + " \n");
+                log.error(LogConstants.CURVEPOINT_CREATION_REQUEST_KO, "no curvePoint returned by the service");
                 model.addAttribute("errorMessage", "curvePoint.add.ko");
                 return "curvePoint/add";
             }
 
         } catch (Exception exception) {
-            log.error(LogConstants.CURVEPOINT_CREATION_REQUEST_KO + ": " + exception.getMessage() + " \n");
+            log.error(LogConstants.CURVEPOINT_CREATION_REQUEST_KO, exception.getMessage());
             model.addAttribute("errorMessage",
-                    formatOutputMessage("curvePoint.add.ko", ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("curvePoint.add.ko", ": " + exception.getMessage()));
             return "curvePoint/add";
         }
     }
@@ -130,7 +139,7 @@ public class CurveController {
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("curvePoint.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("curvePoint.id.not.valid", id.toString()));
             return "redirect:/curvePoint/list";
         }
     }
@@ -150,11 +159,11 @@ public class CurveController {
                                    BindingResult result, Model model, RedirectAttributes redirectAttributes) {
         // DONE: check required fields, if valid call service to update Curve and return Curve list
         log.info(LogConstants.CURVEPOINT_UPDATE_REQUEST_RECEIVED, id,
-                curvePoint.toString(),
+                curvePoint,
                 model.getAttribute("currentUser"));
 
         if (result.hasErrors()) {
-            log.error(LogConstants.CURVEPOINT_UPDATE_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.CURVEPOINT_UPDATE_REQUEST_NOT_VALID);
             return "curvePoint/update";
         }
 
@@ -166,14 +175,14 @@ public class CurveController {
                     UserUtil.getCurrentUser());
 
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("curvePoint.update.ok", id.toString()));
+                    messageService.formatOutputMessage("curvePoint.update.ok", id.toString()));
             return "redirect:/curvePoint/list";
 
         } catch (Exception exception) {
             log.error(LogConstants.CURVEPOINT_UPDATE_REQUEST_KO, id, exception.getMessage());
 
             model.addAttribute("errorMessage",
-                    formatOutputMessage("curvePoint.update.ko", id.toString() + ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("curvePoint.update.ko", id.toString() + ": " + exception.getMessage()));
             return "curvePoint/update";
         }
     }
@@ -194,17 +203,17 @@ public class CurveController {
             curvePointService.delete(id);
             log.info(LogConstants.CURVEPOINT_DELETE_REQUEST_OK, id, UserUtil.getCurrentUser());
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("curvePoint.delete.ok", id.toString()));
+                    messageService.formatOutputMessage("curvePoint.delete.ok", id.toString()));
 
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(LogConstants.CURVEPOINT_DELETE_REQUEST_KO, id, illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("curvePoint.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("curvePoint.id.not.valid", id.toString()));
 
         } catch (Exception exception) {
             log.error(LogConstants.CURVEPOINT_DELETE_REQUEST_KO, id, exception.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("curvePoint.delete.ko", id.toString()));
+                    messageService.formatOutputMessage("curvePoint.delete.ko", id.toString()));
         }
 
         return "redirect:/curvePoint/list";
@@ -0,0 +1,39 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IMetricsService;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Slf4j
+@Controller
+@RequestMapping("admin/metrics")
+public class MetricsController {
+
+    private final IMetricsService metricsService;
+
+    @Autowired
+    public MetricsController(IMetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+
+    /**
+     * shows the measures of the calls to each service method since the application start,
+     * the whole set of meters being scraped from /actuator/prometheus
+     *
+     * @param model current model
+     * @return metrics dashboard page
+     */
+    @GetMapping
+    public String dashboard(Model model) {
+        log.info(LogConstants.METRICS_DASHBOARD_REQUEST_RECEIVED, UserUtil.getCurrentUser());
+        model.addAttribute("serviceMetrics", metricsService.findServiceMetrics());
+        return "admin/metrics";
+    }
+}
@@ -2,10 +2,14 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.DTO.RatingDTO;
 import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.services.contracts.IRatingService;
 import com.nnk.springboot.utils.UserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -19,7 +23,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import javax.validation.Valid;
 import java.util.Optional;
 
-import static com.nnk.springboot.utils.MessageUtil.formatOutputMessage;
 
 @Slf4j
 @Controller
@@ -28,23 +31,29 @@ public class RatingController {
     // DONE: Inject Rating service
     private final IRatingService ratingService;
 
+    private final IMessageService messageService;
+
     @Autowired
-    public RatingController(IRatingService ratingService) {
+    public RatingController(IRatingService ratingService, IMessageService messageService) {
         this.ratingService = ratingService;
+        this.messageService = messageService;
     }
 
 
     /**
      * shows the rating list
      *
-     * @param model current model
+     * @param model    current model
+     * @param pageable requested page (page, size and sort request parameters)
      * @return list rating page
      */
     @RequestMapping("list")
-    public String home(Model model) {
+    public String home(Model model, @PageableDefault(sort = "id") Pageable pageable) {
         // DONE: find all Rating, add to model
         log.info(LogConstants.RATING_LIST_REQUEST_RECEIVED, UserUtil.getCurrentUser());
-        model.addAttribute("ratingAll", ratingService.findAll());
+        Page<RatingDTO> ratingPage = ratingService.findAll(pageable);
+        model.addAttribute("ratingAll", ratingPage.getContent());
+        model.addAttribute("ratingPage", ratingPage);
 
         return "rating/list";
     }
@@ -75,10 +84,10 @@ public class RatingController {
     public String validate(@ModelAttribute("rating") @Valid RatingDTO rating,
                            BindingResult result, Model model, RedirectAttributes redirectAttributes) {
         // DONE: check data valid and save to db
-        log.info(LogConstants.RATING_CREATION_REQUEST_RECEIVED + rating.toString());
+        log.info(LogConstants.RATING_CREATION_REQUEST_RECEIVED, rating);
 
         if (result.hasErrors()) {
-            log.error(LogConstants.RATING_CREATION_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.RATING_CREATION_REQUEST_NOT_VALID);
             return "rating/add";
         }
 
@@ -91,20 +100,20 @@ public class RatingController {
 
                 //DONE: after saving return Rating List
                 redirectAttributes.addFlashAttribute("infoMessage",
-                        formatOutputMessage("rating.add.ok",
+                        messageService.formatOutputMessage("rating.add.ok",
                                 ratingDTOCreated.get().getId().toString()));
 
                 return "redirect:/rating/list";
             } else {
-                log.error(LogConstants.RATING_CREATION_REQUEST_KO + " \n");
+                log.error(LogConstants.RATING_CREATION_REQUEST_KO, "no rating returned by the service");
                 model.addAttribute("errorMessage", "rating.add.ko");
                 return "rating/add";
             }
 
         } catch (Exception exception) {
-            log.error(LogConstants.RATING_CREATION_REQUEST_KO + ": " + exception.getMessage() + " \n");
+            log.error(LogConstants.RATING_CREATION_REQUEST_KO, exception.getMessage());
             model.addAttribute("errorMessage",
-                    formatOutputMessage("rating.add.ko", ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("rating.add.ko", ": " + exception.getMessage()));
             return "rating/add";
         }
     }
@@ -131,7 +140,7 @@ public class RatingController {
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("rating.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("rating.id.not.valid", id.toString()));
             return "redirect:/rating/list";
         }
     }
@@ -151,11 +160,11 @@ public class RatingController {
                                BindingResult result, Model model, RedirectAttributes redirectAttributes) {
         // DONE: check required fields, if valid call service to update Rating and return Rating list
         log.info(LogConstants.RATING_UPDATE_REQUEST_RECEIVED, id,
-                rating.toString(),
+                rating,
                 model.getAttribute("currentUser"));
 
         if (result.hasErrors()) {
-            log.error(LogConstants.RATING_UPDATE_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.RATING_UPDATE_REQUEST_NOT_VALID);
             return "rating/update";
         }
 
@@ -167,14 +176,14 @@ public class RatingController {
                     UserUtil.getCurrentUser());
 
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("rating.update.ok", id.toString()));
+                    messageService.formatOutputMessage("rating.update.ok", id.toString()));
             return "redirect:/rating/list";
 
         } catch (Exception exception) {
             log.error(LogConstants.RATING_UPDATE_REQUEST_KO, id, exception.getMessage());
 
             model.addAttribute("errorMessage",
-                    formatOutputMessage("rating.update.ko", id.toString() + ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("rating.update.ko", id.toString() + ": " + exception.getMessage()));
             return "rating/update";
         }
     }
@@ -195,16 +204,16 @@ public class RatingController {
             ratingService.delete(id);
             log.info(LogConstants.RATING_DELETE_REQUEST_OK, id, UserUtil.getCurrentUser());
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("rating.delete.ok", id.toString()));
+                    messageService.formatOutputMessage("rating.delete.ok", id.toString()));
 
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(LogConstants.RATING_DELETE_REQUEST_KO, id, illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("rating.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("rating.id.not.valid", id.toString()));
         } catch (Exception exception) {
             log.error(LogConstants.RATING_DELETE_REQUEST_KO, id, exception.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("rating.delete.ko", id.toString()));
+                    messageService.formatOutputMessage("rating.delete.ko", id.toString()));
         }
 
         return "redirect:/rating/list";
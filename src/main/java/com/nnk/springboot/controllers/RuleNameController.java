@@ -2,10 +2,14 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.DTO.RuleNameDTO;
 import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.services.contracts.IRuleNameService;
 import com.nnk.springboot.utils.UserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -19,7 +23,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import javax.validation.Valid;
 import java.util.Optional;
 
-import static com.nnk.springboot.utils.MessageUtil.formatOutputMessage;
 
 @Slf4j
 @Controller
@@ -28,23 +31,29 @@ public class RuleNameController {
     // DONE: Inject RuleName service
     private final IRuleNameService ruleNameService;
 
+    private final IMessageService messageService;
+
     @Autowired
-    public RuleNameController(IRuleNameService ruleNameService) {
+    public RuleNameController(IRuleNameService ruleNameService, IMessageService messageService) {
         this.ruleNameService = ruleNameService;
+        this.messageService = messageService;
     }
 
 
     /**
      * shows the ruleName list
      *
-     * @param model current model
+     * @param model    current model
+     * @param pageable requested page (page, size and sort request parameters)
      * @return list ruleName page
      */
     @RequestMapping("list")
-    public String home(Model model) {
+    public String home(Model model, @PageableDefault(sort = "id") Pageable pageable) {
         // DONE: find all RuleName, add to model
         log.info(LogConstants.RULE_NAME_LIST_REQUEST_RECEIVED, UserUtil.getCurrentUser());
-        model.addAttribute("ruleNameAll", ruleNameService.findAll());
+        Page<RuleNameDTO> ruleNamePage = ruleNameService.findAll(pageable);
+        model.addAttribute("ruleNameAll", ruleNamePage.getContent());
+        model.addAttribute("ruleNamePage", ruleNamePage);
 
         return "ruleName/list";
     }
@@ -74,10 +83,10 @@ public class RuleNameController {
     public String validate(@ModelAttribute("ruleName") @Valid RuleNameDTO ruleName,
                            BindingResult result, Model model, RedirectAttributes redirectAttributes) {
         // DONE: check data valid and save to db, after saving return RuleName list
-        log.info(LogConstants.RULE_NAME_CREATION_REQUEST_RECEIVED + ruleName.toString());
+        log.info(LogConstants.RULE_NAME_CREATION_REQUEST_RECEIVED, ruleName);
 
         if (result.hasErrors()) {
-            log.error(LogConstants.RULE_NAME_CREATION_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.RULE_NAME_CREATION_REQUEST_NOT_VALID);
             return "ruleName/add";
         }
 
@@ -90,20 +99,20 @@ public class RuleNameController {
 
                 //DONE: after saving return RuleName List
                 redirectAttributes.addFlashAttribute("infoMessage",
-                        formatOutputMessage("ruleName.add.ok",
+                        messageService.formatOutputMessage("ruleName.add.ok",
                                 ruleNameDTOCreated.get().getId().toString()));
 
                 return "redirect:/ruleName/list";
             } else {
-                log.error(LogConstants.RULE_NAME_CREATION_REQUEST_KO + " \n");
+                log.error(LogConstants.RULE_NAME_CREATION_REQUEST_KO, "no ruleName returned by the service");
                 model.addAttribute("errorMessage", "ruleName.add.ko");
                 return "ruleName/add";
             }
 
         } catch (Exception exception) {
-            log.error(LogConstants.RULE_NAME_CREATION_REQUEST_KO + ": " + exception.getMessage() + " \n");
+            log.error(LogConstants.RULE_NAME_CREATION_REQUEST_KO, exception.getMessage());
             model.addAttribute("errorMessage",
-                    formatOutputMessage("ruleName.add.ko", ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("ruleName.add.ko", ": " + exception.getMessage()));
             return "ruleName/add";
         }
     }
@@ -130,7 +139,7 @@ public class RuleNameController {
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("ruleName.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("ruleName.id.not.valid", id.toString()));
             return "redirect:/ruleName/list";
         }
     }
@@ -149,11 +158,11 @@ public class RuleNameController {
                                  BindingResult result, Model model, RedirectAttributes redirectAttributes) {
         // DONE: check required fields, if valid call service to update RuleName and return RuleName list
         log.info(LogConstants.RULE_NAME_UPDATE_REQUEST_RECEIVED, id,
-                ruleName.toString(),
+                ruleName,
                 model.getAttribute("currentUser"));
 
         if (result.hasErrors()) {
-            log.error(LogConstants.RULE_NAME_UPDATE_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.RULE_NAME_UPDATE_REQUEST_NOT_VALID);
             return "ruleName/update";
         }
 
@@ -165,14 +174,14 @@ public class RuleNameController {
                     UserUtil.getCurrentUser());
 
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("ruleName.update.ok", id.toString()));
+                    messageService.formatOutputMessage("ruleName.update.ok", id.toString()));
             return "redirect:/ruleName/list";
 
         } catch (Exception exception) {
             log.error(LogConstants.RULE_NAME_UPDATE_REQUEST_KO, id, exception.getMessage());
 
             model.addAttribute("errorMessage",
-                    formatOutputMessage("ruleName.update.ko", id.toString() + ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("ruleName.update.ko", id.toString() + ": " + exception.getMessage()));
             return "ruleName/update";
         }
     }
@@ -192,17 +201,17 @@ public class RuleNameController {
             ruleNameService.delete(id);
             log.info(LogConstants.RULE_NAME_DELETE_REQUEST_OK, id, UserUtil.getCurrentUser());
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("ruleName.delete.ok", id.toString()));
+                    messageService.formatOutputMessage("ruleName.delete.ok", id.toString()));
 
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(LogConstants.RULE_NAME_DELETE_REQUEST_KO, id, illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("ruleName.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("ruleName.id.not.valid", id.toString()));
 
         } catch (Exception exception) {
             log.error(LogConstants.RULE_NAME_DELETE_REQUEST_KO, id, exception.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("ruleName.delete.ko", id.toString()));
+                    messageService.formatOutputMessage("ruleName.delete.ko", id.toString()));
         }
 
         return "redirect:/ruleName/list";
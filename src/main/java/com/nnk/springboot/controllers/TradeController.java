@@ -2,10 +2,15 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.DTO.TradeDTO;
 import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.services.contracts.ITradeService;
 import com.nnk.springboot.utils.UserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -19,7 +24,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import javax.validation.Valid;
 import java.util.Optional;
 
-import static com.nnk.springboot.utils.MessageUtil.formatOutputMessage;
 
 @Slf4j
 @Controller
@@ -28,22 +32,28 @@ public class TradeController {
     // DONE: Inject Trade service
     private final ITradeService tradeService;
 
+    private final IMessageService messageService;
+
     @Autowired
-    public TradeController(ITradeService tradeService) {
+    public TradeController(ITradeService tradeService, IMessageService messageService) {
         this.tradeService = tradeService;
+        this.messageService = messageService;
     }
 
     /**
      * shows the trade list
      *
-     * @param model current model
+     * @param model    current model
+     * @param pageable requested page (page, size and sort request parameters)
      * @return list trade page
      */
     @RequestMapping("list")
-    public String home(Model model) {
+    public String home(Model model, @PageableDefault(sort = "tradeId") Pageable pageable) {
         // DONE: find all Trade, add to model
         log.info(LogConstants.TRADE_LIST_REQUEST_RECEIVED, UserUtil.getCurrentUser());
-        model.addAttribute("tradeAll", tradeService.findAll());
+        Page<TradeDTO> tradePage = tradeService.findAll(pageable);
+        model.addAttribute("tradeAll", tradePage.getContent());
+        model.addAttribute("tradePage", tradePage);
 
         return "trade/list";
     }
@@ -76,10 +86,10 @@ public class TradeController {
                            Model model, RedirectAttributes redirectAttributes) {
         // DONE: check data valid and save to db, after saving return Trade list
 
-        log.info(LogConstants.TRADE_CREATION_REQUEST_RECEIVED + trade.toString());
+        log.info(LogConstants.TRADE_CREATION_REQUEST_RECEIVED, trade);
 
         if (result.hasErrors()) {
-            log.error(LogConstants.TRADE_CREATION_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.TRADE_CREATION_REQUEST_NOT_VALID);
             return "trade/add";
         }
 
@@ -92,20 +102,20 @@ public class TradeController {
 
                 //DONE: after saving return trade list
                 redirectAttributes.addFlashAttribute("infoMessage",
-                        formatOutputMessage("trade.add.ok",
+                        messageService.formatOutputMessage("trade.add.ok",
                                 tradeDTOCreated.get().getTradeId().toString()));
 
                 return "redirect:/trade/list";
             } else {
-                log.error(LogConstants.TRADE_CREATION_REQUEST_KO + " \n");
+                log.error(LogConstants.TRADE_CREATION_REQUEST_KO, "no trade returned by the service");
                 model.addAttribute("errorMessage", "trade.add.ko");
                 return "trade/add";
             }
 
         } catch (Exception exception) {
-            log.error(LogConstants.TRADE_CREATION_REQUEST_KO + ": " + exception.getMessage() + " \n");
+            log.error(LogConstants.TRADE_CREATION_REQUEST_KO, exception.getMessage());
             model.addAttribute("errorMessage",
-                    formatOutputMessage("trade.add.ko", ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("trade.add.ko", ": " + exception.getMessage()));
             return "trade/add";
         }
     }
@@ -132,7 +142,7 @@ public class TradeController {
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("trade.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("trade.id.not.valid", id.toString()));
             return "redirect:/trade/list";
         }
     }
@@ -153,11 +163,11 @@ public class TradeController {
         // DONE: check required fields, if valid call service to update Trade and return Trade list
 
         log.info(LogConstants.TRADE_UPDATE_REQUEST_RECEIVED, id,
-                trade.toString(),
+                trade,
                 model.getAttribute("currentUser"));
 
         if (result.hasErrors()) {
-            log.error(LogConstants.TRADE_UPDATE_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.TRADE_UPDATE_REQUEST_NOT_VALID);
             return "trade/update";
         }
 
@@ -169,14 +179,21 @@ public class TradeController {
                     UserUtil.getCurrentUser());
 
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("trade.update.ok", id.toString()));
+                    messageService.formatOutputMessage("trade.update.ok", id.toString()));
             return "redirect:/trade/list";
 
+        } catch (OptimisticLockingFailureException optimisticLockingFailureException) {
+            log.error(LogConstants.TRADE_UPDATE_REQUEST_KO, id, optimisticLockingFailureException.getMessage());
+
+            model.addAttribute("errorMessage",
+                    messageService.formatOutputMessage("trade.update.conflict", id.toString()));
+            return "trade/update";
+
         } catch (Exception exception) {
             log.error(LogConstants.TRADE_UPDATE_REQUEST_KO, id, exception.getMessage());
 
             model.addAttribute("errorMessage",
-                    formatOutputMessage("trade.update.ko", id.toString() + ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("trade.update.ko", id.toString() + ": " + exception.getMessage()));
             return "trade/update";
         }
     }
@@ -198,17 +215,17 @@ public class TradeController {
             tradeService.delete(id);
             log.info(LogConstants.TRADE_DELETE_REQUEST_OK, id, UserUtil.getCurrentUser());
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("trade.delete.ok", id.toString()));
+                    messageService.formatOutputMessage("trade.delete.ok", id.toString()));
 
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(LogConstants.TRADE_DELETE_REQUEST_KO, id, illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("trade.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("trade.id.not.valid", id.toString()));
 
         } catch (Exception exception) {
             log.error(LogConstants.TRADE_DELETE_REQUEST_KO, id, exception.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("trade.delete.ko", id.toString()));
+                    messageService.formatOutputMessage("trade.delete.ko", id.toString()));
         }
 
         return "redirect:/trade/list";
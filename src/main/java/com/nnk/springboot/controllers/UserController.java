@@ -2,10 +2,14 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.DTO.UserDTO;
 import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.services.contracts.IUserService;
 import com.nnk.springboot.utils.UserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -19,7 +23,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import javax.validation.Valid;
 import java.util.Optional;
 
-import static com.nnk.springboot.utils.MessageUtil.formatOutputMessage;
 
 @Slf4j
 @Controller
@@ -27,22 +30,28 @@ import static com.nnk.springboot.utils.MessageUtil.formatOutputMessage;
 public class UserController {
     private final IUserService userService;
 
+    private final IMessageService messageService;
+
     @Autowired
-    public UserController(IUserService userService) {
+    public UserController(IUserService userService, IMessageService messageService) {
         this.userService = userService;
+        this.messageService = messageService;
     }
 
 
     /**
      * shows the user list
      *
-     * @param model current model
+     * @param model    current model
+     * @param pageable requested page (page, size and sort request parameters)
      * @return list user page
      */
     @RequestMapping("list")
-    public String home(Model model) {
+    public String home(Model model, @PageableDefault(sort = "id") Pageable pageable) {
         log.info(LogConstants.USER_LIST_REQUEST_RECEIVED, UserUtil.getCurrentUser());
-        model.addAttribute("users", userService.findAll());
+        Page<UserDTO> userPage = userService.findAll(pageable);
+        model.addAttribute("users", userPage.getContent());
+        model.addAttribute("userPage", userPage);
         return "user/list";
     }
 
@@ -71,10 +80,10 @@ public class UserController {
     @PostMapping("validate")
     public String validate(@ModelAttribute("user") @Valid UserDTO user, BindingResult result,
                            Model model, RedirectAttributes redirectAttributes) {
-        log.info(LogConstants.USER_CREATION_REQUEST_RECEIVED + user.toString());
+        log.info(LogConstants.USER_CREATION_REQUEST_RECEIVED, user);
 
         if (result.hasErrors()) {
-            log.error(LogConstants.USER_CREATION_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.USER_CREATION_REQUEST_NOT_VALID);
             return "user/add";
         }
 
@@ -86,20 +95,20 @@ public class UserController {
                         UserUtil.getCurrentUser());
 
                 redirectAttributes.addFlashAttribute("infoMessage",
-                        formatOutputMessage("user.add.ok",
+                        messageService.formatOutputMessage("user.add.ok",
                                 userDTOCreated.get().getId().toString()));
 
                 return "redirect:/user/list";
             } else {
-                log.error(LogConstants.USER_CREATION_REQUEST_KO + " \n");
+                log.error(LogConstants.USER_CREATION_REQUEST_KO, "no user returned by the service");
                 model.addAttribute("errorMessage", "user.add.ko");
                 return "user/add";
             }
 
         } catch (Exception exception) {
-            log.error(LogConstants.USER_CREATION_REQUEST_KO + ": " + exception.getMessage() + " \n");
+            log.error(LogConstants.USER_CREATION_REQUEST_KO, exception.getMessage());
             model.addAttribute("errorMessage",
-                    formatOutputMessage("user.add.ko", ": " + exception.getMessage()));
+                    messageService.formatOutputMessage("user.add.ko", ": " + exception.getMessage()));
             return "user/add";
         }
     }
@@ -125,7 +134,7 @@ public class UserController {
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("user.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("user.id.not.valid", id.toString()));
             return "redirect:/user/list";
         }
     }
@@ -144,10 +153,10 @@ public class UserController {
     public String updateUser(@PathVariable("id") Integer id, @ModelAttribute("user") @Valid UserDTO user,
                              BindingResult result, Model model, RedirectAttributes redirectAttributes) {
         log.info(LogConstants.USER_UPDATE_REQUEST_RECEIVED, id,
-                user.toString(), UserUtil.getCurrentUser());
+                user, UserUtil.getCurrentUser());
 
         if (result.hasErrors()) {
-            log.error(LogConstants.USER_UPDATE_REQUEST_NOT_VALID + "\n");
+            log.error(LogConstants.USER_UPDATE_REQUEST_NOT_VALID);
             return "user/update";
         }
 
@@ -159,14 +168,14 @@ public class UserController {
                     UserUtil.getCurrentUser());
 
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("user.update.ok", id.toString()));
+                    messageService.formatOutputMessage("user.update.ok", id.toString()));
             return "redirect:/user/list";
 
         } catch (Exception exception) {
             log.error(LogConstants.USER_UPDATE_REQUEST_KO, id, exception.getMessage());
 
             model.addAttribute("errorMessage",
-                    formatOutputMessage("user.update.ko", id.toString())
+                    messageService.formatOutputMessage("user.update.ko", id.toString())
                             + ": " + exception.getMessage());
             return "user/update";
         }
@@ -187,17 +196,17 @@ public class UserController {
             userService.delete(id);
             log.info(LogConstants.USER_DELETE_REQUEST_OK, id, UserUtil.getCurrentUser());
             redirectAttributes.addFlashAttribute("infoMessage",
-                    formatOutputMessage("user.delete.ok", id.toString()));
+                    messageService.formatOutputMessage("user.delete.ok", id.toString()));
 
         } catch (IllegalArgumentException illegalArgumentException) {
             log.error(LogConstants.USER_DELETE_REQUEST_KO, id, illegalArgumentException.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("user.id.not.valid", id.toString()));
+                    messageService.formatOutputMessage("user.id.not.valid", id.toString()));
 
         } catch (Exception exception) {
             log.error(LogConstants.USER_DELETE_REQUEST_KO, id, exception.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage",
-                    formatOutputMessage("user.delete.ko", id.toString()));
+                    messageService.formatOutputMessage("user.delete.ko", id.toString()));
         }
 
         return "redirect:/user/list";
@@ -0,0 +1,230 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.BidListDTO;
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.DTO.PageDTO;
+import com.nnk.springboot.constants.ExportFormat;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IBidListService;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.util.List;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.BID_LIST_VERSION_REQUIRED;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/bidList")
+public class BidListRestController {
+
+    private final IBidListService bidListService;
+
+    @Autowired
+    public BidListRestController(IBidListService bidListService) {
+        this.bidListService = bidListService;
+    }
+
+    /**
+     * returns a page of bidList, with the columns of the list view
+     *
+     * @param pageable requested page (page, size and sort request parameters)
+     * @return the requested page of bidList
+     */
+    @GetMapping
+    public PageDTO<BidListDTO> findAll(@PageableDefault(sort = "bidListId") Pageable pageable) {
+        log.info(LogConstants.API_LIST_REQUEST_RECEIVED, "bidList", pageable, UserUtil.getCurrentUser());
+        return PageDTO.of(bidListService.findAll(pageable));
+    }
+
+
+    /**
+     * returns a bidList with its ETag and Last-Modified headers,
+     * or 304 Not Modified without body if the copy of the client is still current
+     *
+     * @param id of the bidList
+     * @return the bidList, 404 Not Found if the id is unknown
+     */
+    @GetMapping("{id}")
+    public ResponseEntity<BidListDTO> findById(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_GET_REQUEST_RECEIVED, "bidList", id, UserUtil.getCurrentUser());
+        BidListDTO bidListDTO = findExisting(id);
+        return ConditionalGetUtil.ok(bidListDTO,
+                bidListDTO.getRevisionDate() != null ? bidListDTO.getRevisionDate() : bidListDTO.getCreationDate());
+    }
+
+
+    /**
+     * creates a bidList
+     *
+     * @param bidListDTO the bidList to create, its id is ignored
+     * @return 201 Created with the bidList and its location
+     */
+    @PostMapping
+    public ResponseEntity<BidListDTO> create(@RequestBody @Valid BidListDTO bidListDTO) {
+        log.info(LogConstants.API_CREATION_REQUEST_RECEIVED, "bidList", bidListDTO, UserUtil.getCurrentUser());
+        bidListDTO.setBidListId(null);
+        BidListDTO bidListDTOCreated = bidListService.create(bidListDTO).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "no bidList returned by the service"));
+
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(bidListDTOCreated.getBidListId()).toUri())
+                .body(bidListDTOCreated);
+    }
+
+
+    /**
+     * updates a bidList
+     *
+     * @param id         of the bidList to update
+     * @param bidListDTO bidList informations to update
+     * @return the updated bidList, with its new version
+     * @throws ResponseStatusException PRECONDITION_REQUIRED if the version the bidList was read with is not sent,
+     *                                 NOT_FOUND if no bidList found,
+     *                                 CONFLICT if the bidList has been modified since the version sent was read
+     */
+    @PutMapping("{id}")
+    public BidListDTO update(@PathVariable("id") Integer id, @RequestBody @Valid BidListDTO bidListDTO) {
+        log.info(LogConstants.API_UPDATE_REQUEST_RECEIVED, "bidList", id, bidListDTO, UserUtil.getCurrentUser());
+        bidListDTO.setBidListId(id);
+        if (bidListDTO.getVersion() == null) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED, BID_LIST_VERSION_REQUIRED + id);
+        }
+        try {
+            return bidListService.update(bidListDTO);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        } catch (OptimisticLockingFailureException optimisticLockingFailureException) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, optimisticLockingFailureException.getMessage());
+        }
+    }
+
+
+    /**
+     * deletes a bidList
+     *
+     * @param id of the bidList to delete
+     */
+    @DeleteMapping("{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_DELETE_REQUEST_RECEIVED, "bidList", id, UserUtil.getCurrentUser());
+        try {
+            bidListService.delete(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+
+
+    /**
+     * creates a list of bidList
+     *
+     * @param bidListDTOList the bidList to create
+     * @return the outcome of the creation of each bidList, in the same order
+     */
+    @PostMapping("bulk")
+    public List<BulkResultDTO> createAll(@RequestBody List<BidListDTO> bidListDTOList) {
+        log.info(LogConstants.BIDLIST_BULK_CREATION_REQUEST_RECEIVED, bidListDTOList.size(), UserUtil.getCurrentUser());
+        return bidListService.createAll(bidListDTOList);
+    }
+
+
+    /**
+     * updates a list of bidList
+     *
+     * @param bidListDTOList the bidList to update
+     * @return the outcome of the update of each bidList, in the same order
+     */
+    @PutMapping("bulk")
+    public List<BulkResultDTO> updateAll(@RequestBody List<BidListDTO> bidListDTOList) {
+        log.info(LogConstants.BIDLIST_BULK_UPDATE_REQUEST_RECEIVED, bidListDTOList.size(), UserUtil.getCurrentUser());
+        return bidListService.updateAll(bidListDTOList);
+    }
+
+
+    /**
+     * deletes a list of bidList
+     *
+     * @param bidListIdList ids of the bidList to delete
+     * @return the outcome of the deletion of each bidList, in the same order
+     */
+    @DeleteMapping("bulk")
+    public List<BulkResultDTO> deleteAll(@RequestBody List<Integer> bidListIdList) {
+        log.info(LogConstants.BIDLIST_BULK_DELETE_REQUEST_RECEIVED, bidListIdList.size(), UserUtil.getCurrentUser());
+        return bidListService.deleteAll(bidListIdList);
+    }
+
+
+    /**
+     * exports all the bidList, streamed to the response as they are read from the database
+     *
+     * @param format   export format (CSV by default)
+     * @param response response the bidList are written to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("export")
+    public void exportAll(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                          HttpServletResponse response) throws IOException {
+        log.info(LogConstants.BIDLIST_EXPORT_REQUEST_RECEIVED, format, UserUtil.getCurrentUser());
+
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"bidList." + format.getFileExtension() + "\"");
+        bidListService.exportAll(format, response.getOutputStream());
+    }
+
+
+    /**
+     * imports bidList from a CSV file
+     *
+     * @param file CSV file, with a header line naming the bidList fields
+     * @return the number of read, imported and rejected lines, with the reason of the first rejections
+     * @throws IOException if the file cannot be read
+     */
+    @PostMapping(value = "import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportReportDTO importCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        log.info(LogConstants.BIDLIST_IMPORT_REQUEST_RECEIVED, file.getOriginalFilename(), UserUtil.getCurrentUser());
+        return bidListService.importCsv(file.getInputStream());
+    }
+
+
+    /**
+     * @param id of the bidList
+     * @return the bidList
+     * @throws ResponseStatusException 404 Not Found if the id is unknown
+     */
+    private BidListDTO findExisting(Integer id) {
+        try {
+            return bidListService.findById(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.CacheStatisticsDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.ICacheStatisticsService;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/admin/cache")
+public class CacheRestController {
+
+    private final ICacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    public CacheRestController(ICacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    /**
+     * returns the hit, miss and eviction statistics of the caches
+     *
+     * @return the statistics of each cache
+     */
+    @GetMapping("statistics")
+    public List<CacheStatisticsDTO> statistics() {
+        log.info(LogConstants.CACHE_STATISTICS_REQUEST_RECEIVED, UserUtil.getCurrentUser());
+        return cacheStatisticsService.findAll();
+    }
+}
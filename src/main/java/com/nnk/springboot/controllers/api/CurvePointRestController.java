@@ -0,0 +1,185 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.CurvePointDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.DTO.PageDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.ICurveEngine;
+import com.nnk.springboot.services.contracts.ICurvePointService;
+import com.nnk.springboot.services.curve.InterpolationMethod;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/curvePoint")
+public class CurvePointRestController {
+
+    private final ICurvePointService curvePointService;
+
+    private final ICurveEngine curveEngine;
+
+    @Autowired
+    public CurvePointRestController(ICurvePointService curvePointService, ICurveEngine curveEngine) {
+        this.curvePointService = curvePointService;
+        this.curveEngine = curveEngine;
+    }
+
+    /**
+     * returns a page of curvePoint, with the columns of the list view
+     *
+     * @param pageable requested page (page, size and sort request parameters)
+     * @return the requested page of curvePoint
+     */
+    @GetMapping
+    public PageDTO<CurvePointDTO> findAll(@PageableDefault(sort = "id") Pageable pageable) {
+        log.info(LogConstants.API_LIST_REQUEST_RECEIVED, "curvePoint", pageable, UserUtil.getCurrentUser());
+        return PageDTO.of(curvePointService.findAll(pageable));
+    }
+
+
+    /**
+     * returns a curvePoint with its ETag header,
+     * or 304 Not Modified without body if the copy of the client is still current
+     *
+     * @param id of the curvePoint
+     * @return the curvePoint, 404 Not Found if the id is unknown
+     */
+    @GetMapping("{id}")
+    public ResponseEntity<CurvePointDTO> findById(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_GET_REQUEST_RECEIVED, "curvePoint", id, UserUtil.getCurrentUser());
+        CurvePointDTO curvePointDTO = findExisting(id);
+        return ConditionalGetUtil.ok(curvePointDTO);
+    }
+
+
+    /**
+     * creates a curvePoint
+     *
+     * @param curvePointDTO the curvePoint to create, its id is ignored
+     * @return 201 Created with the curvePoint and its location
+     */
+    @PostMapping
+    public ResponseEntity<CurvePointDTO> create(@RequestBody @Valid CurvePointDTO curvePointDTO) {
+        log.info(LogConstants.API_CREATION_REQUEST_RECEIVED, "curvePoint", curvePointDTO, UserUtil.getCurrentUser());
+        curvePointDTO.setId(null);
+        CurvePointDTO curvePointDTOCreated = curvePointService.create(curvePointDTO).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "no curvePoint returned by the service"));
+
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(curvePointDTOCreated.getId()).toUri())
+                .body(curvePointDTOCreated);
+    }
+
+
+    /**
+     * updates a curvePoint
+     *
+     * @param id            of the curvePoint to update
+     * @param curvePointDTO curvePoint informations to update
+     * @return the updated curvePoint
+     */
+    @PutMapping("{id}")
+    public CurvePointDTO update(@PathVariable("id") Integer id, @RequestBody @Valid CurvePointDTO curvePointDTO) {
+        log.info(LogConstants.API_UPDATE_REQUEST_RECEIVED, "curvePoint", id, curvePointDTO, UserUtil.getCurrentUser());
+        findExisting(id);
+        curvePointDTO.setId(id);
+        return curvePointService.update(curvePointDTO);
+    }
+
+
+    /**
+     * deletes a curvePoint
+     *
+     * @param id of the curvePoint to delete
+     */
+    @DeleteMapping("{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_DELETE_REQUEST_RECEIVED, "curvePoint", id, UserUtil.getCurrentUser());
+        try {
+            curvePointService.delete(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+
+
+    /**
+     * imports curvePoint from a CSV file
+     *
+     * @param file CSV file, with a header line naming the curvePoint fields
+     * @return the number of read, imported and rejected lines, with the reason of the first rejections
+     * @throws IOException if the file cannot be read
+     */
+    @PostMapping(value = "import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportReportDTO importCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        log.info(LogConstants.CURVEPOINT_IMPORT_REQUEST_RECEIVED, file.getOriginalFilename(), UserUtil.getCurrentUser());
+        return curvePointService.importCsv(file.getInputStream());
+    }
+
+
+    /**
+     * interpolates the value of a curve for a term
+     *
+     * @param curveId  curve id
+     * @param term     term to look up
+     * @param method   interpolation method (LINEAR by default)
+     * @param asOfDate as-of date of the curve points (ISO date-time, none for the points without as-of date)
+     * @return the value of the curve for this term
+     */
+    @GetMapping("curve/{curveId}/value")
+    public double curveValue(@PathVariable("curveId") Integer curveId,
+                             @RequestParam("term") double term,
+                             @RequestParam(defaultValue = "LINEAR") InterpolationMethod method,
+                             @RequestParam(required = false)
+                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOfDate) {
+        log.info(LogConstants.CURVEPOINT_CURVE_VALUE_REQUEST_RECEIVED, curveId, term, UserUtil.getCurrentUser());
+
+        try {
+            return curveEngine.valueAt(curveId, asOfDate, term, method);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            log.error(LogConstants.CURVEPOINT_CURVE_VALUE_REQUEST_KO, curveId, illegalArgumentException.getMessage());
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+
+
+    /**
+     * @param id of the curvePoint
+     * @return the curvePoint
+     * @throws ResponseStatusException 404 Not Found if the id is unknown
+     */
+    private CurvePointDTO findExisting(Integer id) {
+        try {
+            return curvePointService.findById(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.OrderBookDTO;
+import com.nnk.springboot.DTO.TopOfBookDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IOrderBookEngine;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.ORDER_BOOK_NOT_FOUND;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/orderBook")
+public class OrderBookRestController {
+
+    private final IOrderBookEngine orderBookEngine;
+
+    @Autowired
+    public OrderBookRestController(IOrderBookEngine orderBookEngine) {
+        this.orderBookEngine = orderBookEngine;
+    }
+
+    /**
+     * returns the best bid and ask of each security, served from memory
+     *
+     * @return the top of the books ordered by security
+     */
+    @GetMapping
+    public List<TopOfBookDTO> findAll() {
+        log.info(LogConstants.ORDER_BOOK_LIST_REQUEST_RECEIVED, UserUtil.getCurrentUser());
+        return orderBookEngine.findAllTopOfBook();
+    }
+
+
+    /**
+     * returns the best bid and ask of a security, served from memory
+     *
+     * @param security security
+     * @return the top of the book
+     * @throws ResponseStatusException 404 Not Found if there is no bid nor ask for this security
+     */
+    @GetMapping("{security}")
+    public TopOfBookDTO findOne(@PathVariable("security") String security) {
+        log.info(LogConstants.ORDER_BOOK_TOP_REQUEST_RECEIVED, security, UserUtil.getCurrentUser());
+
+        return orderBookEngine.findTopOfBook(security).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, ORDER_BOOK_NOT_FOUND + security));
+    }
+
+
+    /**
+     * returns the best price levels of the bids and asks of a security, served from memory
+     *
+     * @param security security
+     * @param levels   maximum number of price levels per side
+     * @return the depth of the book
+     * @throws ResponseStatusException 404 Not Found if there is no bid nor ask for this security
+     */
+    @GetMapping("{security}/depth")
+    public OrderBookDTO findDepth(@PathVariable("security") String security,
+                                  @RequestParam(defaultValue = "10") int levels) {
+        log.info(LogConstants.ORDER_BOOK_DEPTH_REQUEST_RECEIVED, security, levels, UserUtil.getCurrentUser());
+
+        return orderBookEngine.findDepth(security, levels).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, ORDER_BOOK_NOT_FOUND + security));
+    }
+}
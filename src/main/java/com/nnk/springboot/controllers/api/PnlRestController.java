@@ -0,0 +1,54 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.PnlDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IPnlEngine;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/pnl")
+public class PnlRestController {
+
+    private final IPnlEngine pnlEngine;
+
+    @Autowired
+    public PnlRestController(IPnlEngine pnlEngine) {
+        this.pnlEngine = pnlEngine;
+    }
+
+    /**
+     * returns the realised and unrealised P&amp;L, the positions affected by the last changes being recomputed first
+     *
+     * @param account account of the positions (all the accounts if none)
+     * @param book    book of the positions (all the books if none)
+     * @return the P&amp;L ordered by account, book and security
+     */
+    @GetMapping
+    public List<PnlDTO> findAll(@RequestParam(required = false) String account,
+                                @RequestParam(required = false) String book) {
+        log.info(LogConstants.PNL_LIST_REQUEST_RECEIVED, account, book, UserUtil.getCurrentUser());
+        return pnlEngine.findAll(account, book);
+    }
+
+
+    /**
+     * computes the P&amp;L of all the trades again
+     *
+     * @return the number of positions
+     */
+    @PostMapping("recompute")
+    public int recompute() {
+        log.info(LogConstants.PNL_RECOMPUTE_REQUEST_RECEIVED, UserUtil.getCurrentUser());
+        return pnlEngine.recomputeAll();
+    }
+}
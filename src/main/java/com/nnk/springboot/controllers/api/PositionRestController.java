@@ -0,0 +1,67 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.PositionDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IPositionEngine;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.POSITION_NOT_FOUND;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/position")
+public class PositionRestController {
+
+    private final IPositionEngine positionEngine;
+
+    @Autowired
+    public PositionRestController(IPositionEngine positionEngine) {
+        this.positionEngine = positionEngine;
+    }
+
+    /**
+     * returns the positions, served from memory
+     *
+     * @param account account of the positions (all the accounts if none)
+     * @param book    book of the positions (all the books if none)
+     * @return the positions ordered by account, book and security
+     */
+    @GetMapping
+    public List<PositionDTO> findAll(@RequestParam(required = false) String account,
+                                     @RequestParam(required = false) String book) {
+        log.info(LogConstants.POSITION_LIST_REQUEST_RECEIVED, account, book, UserUtil.getCurrentUser());
+        return positionEngine.findPositions(account, book);
+    }
+
+
+    /**
+     * returns the position of an account on a security, served from memory
+     *
+     * @param account  account
+     * @param security security
+     * @param book     book (none for the trades without book)
+     * @return the position
+     * @throws ResponseStatusException 404 Not Found if there is no trade for this account, book and security
+     */
+    @GetMapping("{account}/{security}")
+    public PositionDTO findOne(@PathVariable("account") String account,
+                               @PathVariable("security") String security,
+                               @RequestParam(required = false) String book) {
+        log.info(LogConstants.POSITION_REQUEST_RECEIVED, account, security, book, UserUtil.getCurrentUser());
+
+        return positionEngine.findPosition(account, book, security).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        POSITION_NOT_FOUND + account + "/" + book + "/" + security));
+    }
+}
@@ -0,0 +1,79 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.HibernateStatisticsDTO;
+import com.nnk.springboot.DTO.QueryStatisticsDTO;
+import com.nnk.springboot.DTO.SlowQueryDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IQueryStatisticsService;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/admin/queries")
+public class QueryStatisticsRestController {
+
+    private final IQueryStatisticsService queryStatisticsService;
+
+    @Autowired
+    public QueryStatisticsRestController(IQueryStatisticsService queryStatisticsService) {
+        this.queryStatisticsService = queryStatisticsService;
+    }
+
+    /**
+     * returns the SQL statements with the longest total execution time
+     *
+     * @param top maximum number of statements to return
+     * @return the measures of each statement, the ones with the longest total time first
+     */
+    @GetMapping("statistics")
+    public List<QueryStatisticsDTO> statistics(@RequestParam(defaultValue = "20") int top) {
+        log.info(LogConstants.QUERY_STATISTICS_REQUEST_RECEIVED, top, UserUtil.getCurrentUser());
+        return queryStatisticsService.findTopQueries(top);
+    }
+
+
+    /**
+     * returns the last statements slower than the slow query threshold
+     *
+     * @return the slow queries, the most recent first
+     */
+    @GetMapping("slow")
+    public List<SlowQueryDTO> slowQueries() {
+        log.info(LogConstants.SLOW_QUERIES_REQUEST_RECEIVED, UserUtil.getCurrentUser());
+        return queryStatisticsService.findSlowQueries();
+    }
+
+
+    /**
+     * returns the counters of the Hibernate statistics
+     *
+     * @return the counters, all at 0 if the Hibernate statistics are not enabled
+     */
+    @GetMapping("hibernate")
+    public HibernateStatisticsDTO hibernateStatistics() {
+        log.info(LogConstants.HIBERNATE_STATISTICS_REQUEST_RECEIVED, UserUtil.getCurrentUser());
+        return queryStatisticsService.findHibernateStatistics();
+    }
+
+
+    /**
+     * clears the statement statistics, the slow queries and the Hibernate statistics
+     */
+    @DeleteMapping("statistics")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void reset() {
+        log.info(LogConstants.QUERY_STATISTICS_RESET_REQUEST_RECEIVED, UserUtil.getCurrentUser());
+        queryStatisticsService.reset();
+    }
+}
@@ -0,0 +1,133 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.PageDTO;
+import com.nnk.springboot.DTO.RatingDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IRatingService;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.validation.Valid;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/rating")
+public class RatingRestController {
+
+    private final IRatingService ratingService;
+
+    @Autowired
+    public RatingRestController(IRatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    /**
+     * returns a page of rating, with the columns of the list view
+     *
+     * @param pageable requested page (page, size and sort request parameters)
+     * @return the requested page of rating
+     */
+    @GetMapping
+    public PageDTO<RatingDTO> findAll(@PageableDefault(sort = "id") Pageable pageable) {
+        log.info(LogConstants.API_LIST_REQUEST_RECEIVED, "rating", pageable, UserUtil.getCurrentUser());
+        return PageDTO.of(ratingService.findAll(pageable));
+    }
+
+
+    /**
+     * returns a rating with its ETag header,
+     * or 304 Not Modified without body if the copy of the client is still current
+     *
+     * @param id of the rating
+     * @return the rating, 404 Not Found if the id is unknown
+     */
+    @GetMapping("{id}")
+    public ResponseEntity<RatingDTO> findById(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_GET_REQUEST_RECEIVED, "rating", id, UserUtil.getCurrentUser());
+        RatingDTO ratingDTO = findExisting(id);
+        return ConditionalGetUtil.ok(ratingDTO);
+    }
+
+
+    /**
+     * creates a rating
+     *
+     * @param ratingDTO the rating to create, its id is ignored
+     * @return 201 Created with the rating and its location
+     */
+    @PostMapping
+    public ResponseEntity<RatingDTO> create(@RequestBody @Valid RatingDTO ratingDTO) {
+        log.info(LogConstants.API_CREATION_REQUEST_RECEIVED, "rating", ratingDTO, UserUtil.getCurrentUser());
+        ratingDTO.setId(null);
+        RatingDTO ratingDTOCreated = ratingService.create(ratingDTO).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "no rating returned by the service"));
+
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(ratingDTOCreated.getId()).toUri())
+                .body(ratingDTOCreated);
+    }
+
+
+    /**
+     * updates a rating
+     *
+     * @param id        of the rating to update
+     * @param ratingDTO rating informations to update
+     * @return the updated rating
+     */
+    @PutMapping("{id}")
+    public RatingDTO update(@PathVariable("id") Integer id, @RequestBody @Valid RatingDTO ratingDTO) {
+        log.info(LogConstants.API_UPDATE_REQUEST_RECEIVED, "rating", id, ratingDTO, UserUtil.getCurrentUser());
+        findExisting(id);
+        ratingDTO.setId(id);
+        return ratingService.update(ratingDTO);
+    }
+
+
+    /**
+     * deletes a rating
+     *
+     * @param id of the rating to delete
+     */
+    @DeleteMapping("{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_DELETE_REQUEST_RECEIVED, "rating", id, UserUtil.getCurrentUser());
+        try {
+            ratingService.delete(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+
+
+    /**
+     * @param id of the rating
+     * @return the rating
+     * @throws ResponseStatusException 404 Not Found if the id is unknown
+     */
+    private RatingDTO findExisting(Integer id) {
+        try {
+            return ratingService.findById(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+}
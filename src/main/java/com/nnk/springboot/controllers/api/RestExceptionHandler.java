@@ -0,0 +1,60 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.ApiErrorDTO;
+import com.nnk.springboot.constants.LogConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * turns the rejected request bodies and the ResponseStatusException of the REST controllers
+ * into their status code with a JSON body, the Thymeleaf controllers keeping their own error pages and flash messages
+ */
+@Slf4j
+@RestControllerAdvice(basePackageClasses = RestExceptionHandler.class)
+public class RestExceptionHandler {
+
+    /**
+     * @param exception rejected request body, with its field errors
+     * @param request   current request
+     * @return 400 Bad Request, with the message of each rejected field
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiErrorDTO> handleNotValid(MethodArgumentNotValidException exception,
+                                                      HttpServletRequest request) {
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (FieldError fieldError : exception.getBindingResult().getFieldErrors()) {
+            fieldErrors.putIfAbsent(fieldError.getField(), fieldError.getDefaultMessage());
+        }
+        return error(request, HttpStatus.BAD_REQUEST, "Request body not valid", fieldErrors);
+    }
+
+
+    /**
+     * @param exception exception raised by a controller with its status (404 Not Found for an unknown id...)
+     * @param request   current request
+     * @return the status of the exception
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiErrorDTO> handleResponseStatus(ResponseStatusException exception,
+                                                           HttpServletRequest request) {
+        return error(request, exception.getStatus(), exception.getReason(), Collections.emptyMap());
+    }
+
+
+    private ResponseEntity<ApiErrorDTO> error(HttpServletRequest request, HttpStatus status, String message,
+                                              Map<String, String> fieldErrors) {
+        log.error(LogConstants.API_REQUEST_KO, request.getMethod(), request.getRequestURI(), status.value(), message);
+        return ResponseEntity.status(status).body(new ApiErrorDTO(status.value(), message, fieldErrors));
+    }
+}
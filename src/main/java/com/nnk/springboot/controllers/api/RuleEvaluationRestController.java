@@ -0,0 +1,50 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.RuleEvaluationDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IRuleEngine;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/ruleEvaluation")
+public class RuleEvaluationRestController {
+
+    private final IRuleEngine ruleEngine;
+
+    @Autowired
+    public RuleEvaluationRestController(IRuleEngine ruleEngine) {
+        this.ruleEngine = ruleEngine;
+    }
+
+    /**
+     * returns the state of each rule and the incoming trades and bidList it matched, served from memory
+     *
+     * @return the evaluations ordered by ruleName id
+     */
+    @GetMapping
+    public List<RuleEvaluationDTO> findAll() {
+        log.info(LogConstants.RULE_EVALUATION_LIST_REQUEST_RECEIVED, UserUtil.getCurrentUser());
+        return ruleEngine.findAllEvaluations();
+    }
+
+
+    /**
+     * evaluates all the trades and bidList in DB against the active rules
+     *
+     * @return for each rule, the trades and bidList evaluated and matched, ordered by ruleName id
+     */
+    @PostMapping
+    public List<RuleEvaluationDTO> evaluateAll() {
+        log.info(LogConstants.RULE_EVALUATE_ALL_REQUEST_RECEIVED, UserUtil.getCurrentUser());
+        return ruleEngine.evaluateAll();
+    }
+}
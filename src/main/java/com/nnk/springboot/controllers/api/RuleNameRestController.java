@@ -0,0 +1,133 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.PageDTO;
+import com.nnk.springboot.DTO.RuleNameDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IRuleNameService;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.validation.Valid;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/ruleName")
+public class RuleNameRestController {
+
+    private final IRuleNameService ruleNameService;
+
+    @Autowired
+    public RuleNameRestController(IRuleNameService ruleNameService) {
+        this.ruleNameService = ruleNameService;
+    }
+
+    /**
+     * returns a page of ruleName, with the columns of the list view
+     *
+     * @param pageable requested page (page, size and sort request parameters)
+     * @return the requested page of ruleName
+     */
+    @GetMapping
+    public PageDTO<RuleNameDTO> findAll(@PageableDefault(sort = "id") Pageable pageable) {
+        log.info(LogConstants.API_LIST_REQUEST_RECEIVED, "ruleName", pageable, UserUtil.getCurrentUser());
+        return PageDTO.of(ruleNameService.findAll(pageable));
+    }
+
+
+    /**
+     * returns a ruleName with its ETag header,
+     * or 304 Not Modified without body if the copy of the client is still current
+     *
+     * @param id of the ruleName
+     * @return the ruleName, 404 Not Found if the id is unknown
+     */
+    @GetMapping("{id}")
+    public ResponseEntity<RuleNameDTO> findById(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_GET_REQUEST_RECEIVED, "ruleName", id, UserUtil.getCurrentUser());
+        RuleNameDTO ruleNameDTO = findExisting(id);
+        return ConditionalGetUtil.ok(ruleNameDTO);
+    }
+
+
+    /**
+     * creates a ruleName
+     *
+     * @param ruleNameDTO the ruleName to create, its id is ignored
+     * @return 201 Created with the ruleName and its location
+     */
+    @PostMapping
+    public ResponseEntity<RuleNameDTO> create(@RequestBody @Valid RuleNameDTO ruleNameDTO) {
+        log.info(LogConstants.API_CREATION_REQUEST_RECEIVED, "ruleName", ruleNameDTO, UserUtil.getCurrentUser());
+        ruleNameDTO.setId(null);
+        RuleNameDTO ruleNameDTOCreated = ruleNameService.create(ruleNameDTO).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "no ruleName returned by the service"));
+
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(ruleNameDTOCreated.getId()).toUri())
+                .body(ruleNameDTOCreated);
+    }
+
+
+    /**
+     * updates a ruleName
+     *
+     * @param id          of the ruleName to update
+     * @param ruleNameDTO ruleName informations to update
+     * @return the updated ruleName
+     */
+    @PutMapping("{id}")
+    public RuleNameDTO update(@PathVariable("id") Integer id, @RequestBody @Valid RuleNameDTO ruleNameDTO) {
+        log.info(LogConstants.API_UPDATE_REQUEST_RECEIVED, "ruleName", id, ruleNameDTO, UserUtil.getCurrentUser());
+        findExisting(id);
+        ruleNameDTO.setId(id);
+        return ruleNameService.update(ruleNameDTO);
+    }
+
+
+    /**
+     * deletes a ruleName
+     *
+     * @param id of the ruleName to delete
+     */
+    @DeleteMapping("{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_DELETE_REQUEST_RECEIVED, "ruleName", id, UserUtil.getCurrentUser());
+        try {
+            ruleNameService.delete(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+
+
+    /**
+     * @param id of the ruleName
+     * @return the ruleName
+     * @throws ResponseStatusException 404 Not Found if the id is unknown
+     */
+    private RuleNameDTO findExisting(Integer id) {
+        try {
+            return ruleNameService.findById(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+}
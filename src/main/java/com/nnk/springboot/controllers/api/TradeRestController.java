@@ -0,0 +1,230 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.DTO.PageDTO;
+import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.constants.ExportFormat;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.ITradeService;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.util.List;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.TRADE_VERSION_REQUIRED;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/trade")
+public class TradeRestController {
+
+    private final ITradeService tradeService;
+
+    @Autowired
+    public TradeRestController(ITradeService tradeService) {
+        this.tradeService = tradeService;
+    }
+
+    /**
+     * returns a page of trade, with the columns of the list view
+     *
+     * @param pageable requested page (page, size and sort request parameters)
+     * @return the requested page of trade
+     */
+    @GetMapping
+    public PageDTO<TradeDTO> findAll(@PageableDefault(sort = "tradeId") Pageable pageable) {
+        log.info(LogConstants.API_LIST_REQUEST_RECEIVED, "trade", pageable, UserUtil.getCurrentUser());
+        return PageDTO.of(tradeService.findAll(pageable));
+    }
+
+
+    /**
+     * returns a trade with its ETag and Last-Modified headers,
+     * or 304 Not Modified without body if the copy of the client is still current
+     *
+     * @param id of the trade
+     * @return the trade, 404 Not Found if the id is unknown
+     */
+    @GetMapping("{id}")
+    public ResponseEntity<TradeDTO> findById(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_GET_REQUEST_RECEIVED, "trade", id, UserUtil.getCurrentUser());
+        TradeDTO tradeDTO = findExisting(id);
+        return ConditionalGetUtil.ok(tradeDTO,
+                tradeDTO.getRevisionDate() != null ? tradeDTO.getRevisionDate() : tradeDTO.getCreationDate());
+    }
+
+
+    /**
+     * creates a trade
+     *
+     * @param tradeDTO the trade to create, its id is ignored
+     * @return 201 Created with the trade and its location
+     */
+    @PostMapping
+    public ResponseEntity<TradeDTO> create(@RequestBody @Valid TradeDTO tradeDTO) {
+        log.info(LogConstants.API_CREATION_REQUEST_RECEIVED, "trade", tradeDTO, UserUtil.getCurrentUser());
+        tradeDTO.setTradeId(null);
+        TradeDTO tradeDTOCreated = tradeService.create(tradeDTO).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "no trade returned by the service"));
+
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(tradeDTOCreated.getTradeId()).toUri())
+                .body(tradeDTOCreated);
+    }
+
+
+    /**
+     * updates a trade
+     *
+     * @param id       of the trade to update
+     * @param tradeDTO trade informations to update
+     * @return the updated trade, with its new version
+     * @throws ResponseStatusException PRECONDITION_REQUIRED if the version the trade was read with is not sent,
+     *                                 NOT_FOUND if no trade found,
+     *                                 CONFLICT if the trade has been modified since the version sent was read
+     */
+    @PutMapping("{id}")
+    public TradeDTO update(@PathVariable("id") Integer id, @RequestBody @Valid TradeDTO tradeDTO) {
+        log.info(LogConstants.API_UPDATE_REQUEST_RECEIVED, "trade", id, tradeDTO, UserUtil.getCurrentUser());
+        tradeDTO.setTradeId(id);
+        if (tradeDTO.getVersion() == null) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED, TRADE_VERSION_REQUIRED + id);
+        }
+        try {
+            return tradeService.update(tradeDTO);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        } catch (OptimisticLockingFailureException optimisticLockingFailureException) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, optimisticLockingFailureException.getMessage());
+        }
+    }
+
+
+    /**
+     * deletes a trade
+     *
+     * @param id of the trade to delete
+     */
+    @DeleteMapping("{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_DELETE_REQUEST_RECEIVED, "trade", id, UserUtil.getCurrentUser());
+        try {
+            tradeService.delete(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+
+
+    /**
+     * creates a list of trade
+     *
+     * @param tradeDTOList the trade to create
+     * @return the outcome of the creation of each trade, in the same order
+     */
+    @PostMapping("bulk")
+    public List<BulkResultDTO> createAll(@RequestBody List<TradeDTO> tradeDTOList) {
+        log.info(LogConstants.TRADE_BULK_CREATION_REQUEST_RECEIVED, tradeDTOList.size(), UserUtil.getCurrentUser());
+        return tradeService.createAll(tradeDTOList);
+    }
+
+
+    /**
+     * updates a list of trade
+     *
+     * @param tradeDTOList the trade to update
+     * @return the outcome of the update of each trade, in the same order
+     */
+    @PutMapping("bulk")
+    public List<BulkResultDTO> updateAll(@RequestBody List<TradeDTO> tradeDTOList) {
+        log.info(LogConstants.TRADE_BULK_UPDATE_REQUEST_RECEIVED, tradeDTOList.size(), UserUtil.getCurrentUser());
+        return tradeService.updateAll(tradeDTOList);
+    }
+
+
+    /**
+     * deletes a list of trade
+     *
+     * @param tradeIdList ids of the trade to delete
+     * @return the outcome of the deletion of each trade, in the same order
+     */
+    @DeleteMapping("bulk")
+    public List<BulkResultDTO> deleteAll(@RequestBody List<Integer> tradeIdList) {
+        log.info(LogConstants.TRADE_BULK_DELETE_REQUEST_RECEIVED, tradeIdList.size(), UserUtil.getCurrentUser());
+        return tradeService.deleteAll(tradeIdList);
+    }
+
+
+    /**
+     * exports all the trade, streamed to the response as they are read from the database
+     *
+     * @param format   export format (CSV by default)
+     * @param response response the trade are written to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("export")
+    public void exportAll(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                          HttpServletResponse response) throws IOException {
+        log.info(LogConstants.TRADE_EXPORT_REQUEST_RECEIVED, format, UserUtil.getCurrentUser());
+
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"trade." + format.getFileExtension() + "\"");
+        tradeService.exportAll(format, response.getOutputStream());
+    }
+
+
+    /**
+     * imports trade from a CSV file
+     *
+     * @param file CSV file, with a header line naming the trade fields
+     * @return the number of read, imported and rejected lines, with the reason of the first rejections
+     * @throws IOException if the file cannot be read
+     */
+    @PostMapping(value = "import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportReportDTO importCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        log.info(LogConstants.TRADE_IMPORT_REQUEST_RECEIVED, file.getOriginalFilename(), UserUtil.getCurrentUser());
+        return tradeService.importCsv(file.getInputStream());
+    }
+
+
+    /**
+     * @param id of the trade
+     * @return the trade
+     * @throws ResponseStatusException 404 Not Found if the id is unknown
+     */
+    private TradeDTO findExisting(Integer id) {
+        try {
+            return tradeService.findById(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.PageDTO;
+import com.nnk.springboot.DTO.UserDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IUserService;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import com.nnk.springboot.utils.UserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.validation.Valid;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/admin/user")
+public class UserRestController {
+
+    private final IUserService userService;
+
+    @Autowired
+    public UserRestController(IUserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * returns a page of user, with the columns of the list view
+     *
+     * @param pageable requested page (page, size and sort request parameters)
+     * @return the requested page of user
+     */
+    @GetMapping
+    public PageDTO<UserDTO> findAll(@PageableDefault(sort = "id") Pageable pageable) {
+        log.info(LogConstants.API_LIST_REQUEST_RECEIVED, "admin/user", pageable, UserUtil.getCurrentUser());
+        return PageDTO.of(userService.findAll(pageable));
+    }
+
+
+    /**
+     * returns a user with its ETag header,
+     * or 304 Not Modified without body if the copy of the client is still current
+     *
+     * @param id of the user
+     * @return the user, 404 Not Found if the id is unknown
+     */
+    @GetMapping("{id}")
+    public ResponseEntity<UserDTO> findById(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_GET_REQUEST_RECEIVED, "admin/user", id, UserUtil.getCurrentUser());
+        UserDTO userDTO = findExisting(id);
+        return ConditionalGetUtil.ok(userDTO);
+    }
+
+
+    /**
+     * creates a user
+     *
+     * @param userDTO the user to create, its id is ignored
+     * @return 201 Created with the user and its location, 409 Conflict if the username already exists
+     */
+    @PostMapping
+    public ResponseEntity<UserDTO> create(@RequestBody @Valid UserDTO userDTO) {
+        log.info(LogConstants.API_CREATION_REQUEST_RECEIVED, "admin/user", userDTO, UserUtil.getCurrentUser());
+        userDTO.setId(null);
+        UserDTO userDTOCreated;
+        try {
+            userDTOCreated = userService.create(userDTO).orElseThrow(() ->
+                    new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "no user returned by the service"));
+        } catch (ResponseStatusException responseStatusException) {
+            throw responseStatusException;
+        } catch (Exception exception) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, exception.getMessage());
+        }
+
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(userDTOCreated.getId()).toUri())
+                .body(userDTOCreated);
+    }
+
+
+    /**
+     * updates a user
+     *
+     * @param id      of the user to update
+     * @param userDTO user informations to update
+     * @return the updated user, 409 Conflict if the username already exists
+     */
+    @PutMapping("{id}")
+    public UserDTO update(@PathVariable("id") Integer id, @RequestBody @Valid UserDTO userDTO) {
+        log.info(LogConstants.API_UPDATE_REQUEST_RECEIVED, "admin/user", id, userDTO, UserUtil.getCurrentUser());
+        findExisting(id);
+        userDTO.setId(id);
+        try {
+            return userService.update(userDTO);
+        } catch (Exception exception) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, exception.getMessage());
+        }
+    }
+
+
+    /**
+     * deletes a user
+     *
+     * @param id of the user to delete
+     */
+    @DeleteMapping("{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable("id") Integer id) {
+        log.info(LogConstants.API_DELETE_REQUEST_RECEIVED, "admin/user", id, UserUtil.getCurrentUser());
+        try {
+            userService.delete(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+
+
+    /**
+     * @param id of the user
+     * @return the user
+     * @throws ResponseStatusException 404 Not Found if the id is unknown
+     */
+    private UserDTO findExisting(Integer id) {
+        try {
+            return userService.findById(id);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, illegalArgumentException.getMessage());
+        }
+    }
+}
@@ -2,13 +2,17 @@ package com.nnk.springboot.domain;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 
 /**
@@ -17,15 +21,23 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "bidlist")
+@DynamicUpdate
+/* the list pages and the API sort the bid lists by account */
+@Table(name = "bidlist", indexes = @Index(name = "bidlist_account_type_idx", columnList = "account, type"))
 public class BidList {
     //DONE: Map columns in data table BIDLIST with corresponding java fields
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bidlist_generator")
+    @SequenceGenerator(name = "bidlist_generator", sequenceName = "bidlist_seq", allocationSize = 50)
     @Column(name = "BidListId", nullable = false)
     private Integer bidListId;
 
+    /* incremented on each update: an update based on an older version is rejected */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     @Column(name = "account", nullable = false, length = 30)
     private String account;
 
@@ -8,6 +8,8 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.time.LocalDateTime;
 
@@ -18,12 +20,14 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "curvepoint")
+/* the points of a curve are read by curve id and as-of date when the curve is built */
+@Table(name = "curvepoint", indexes = @Index(name = "curvepoint_curve_id_as_of_date_idx", columnList = "CurveId, asOfDate"))
 public class CurvePoint {
     // DONE: Map columns in data table CURVEPOINT with corresponding java fields
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "curvepoint_generator")
+    @SequenceGenerator(name = "curvepoint_generator", sequenceName = "curvepoint_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Integer id;
 
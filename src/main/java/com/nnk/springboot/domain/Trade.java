@@ -2,13 +2,17 @@ package com.nnk.springboot.domain;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 
 
@@ -18,15 +22,23 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "trade")
+@DynamicUpdate
+/* the list pages and the API sort the trades by account (index created by V6__query_indexes.sql) */
+@Table(name = "trade", indexes = @Index(name = "trade_account_type_idx", columnList = "account, type"))
 public class Trade {
     // DONE: Map columns in data table TRADE with corresponding java fields
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_generator")
+    @SequenceGenerator(name = "trade_generator", sequenceName = "trade_seq", allocationSize = 50)
     @Column(name = "tradeId", nullable = false)
     private Integer tradeId;
 
+    /* incremented on each update: an update based on an older version is rejected */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     @Column(name = "account", length = 30, nullable = false)
     private String account;
 
@@ -1,5 +1,6 @@
 package com.nnk.springboot.domain;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,6 +15,7 @@ import javax.persistence.Id;
 import javax.persistence.Table;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 /**
@@ -32,6 +34,11 @@ public class User implements UserDetails {
     @Column(name = "username", nullable = false, unique = true, length = 125)
     private String username;
 
+    /* lower-case copy of the username, set along with it: the case-insensitive login lookup is an index seek */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "usernameLower", nullable = false, unique = true, length = 125)
+    private String usernameLower;
+
     @Column(name = "password", nullable = false, length = 125)
     private String password;
 
@@ -42,6 +49,21 @@ public class User implements UserDetails {
     private String role;
 
 
+    public void setUsername(String username) {
+        this.username = username;
+        this.usernameLower = normalizeUsername(username);
+    }
+
+    /**
+     * normalise a username for the case-insensitive lookups
+     *
+     * @param username a username, as declared by the user
+     * @return the username in lower case, null if the username is null
+     */
+    public static String normalizeUsername(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         Set<GrantedAuthority> grantedAuthorities = new HashSet<>();
@@ -1,10 +1,82 @@
 package com.nnk.springboot.repositories;
 
+import com.nnk.springboot.DTO.BidListDTO;
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.services.orderbook.BidQuote;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
 public interface BidListRepository extends JpaRepository<BidList, Integer> {
 
+    /* list view projection: only the columns shown in bidList/list, mapped to unmanaged DTOs */
+    String BID_LIST_LIST_VIEW_QUERY = "SELECT new com.nnk.springboot.DTO.BidListDTO(" +
+            "b.bidListId, b.account, b.type, b.bidQuantity) FROM BidList b";
+
+    @Query(BID_LIST_LIST_VIEW_QUERY)
+    List<BidListDTO> findAllForList();
+
+    @Query(value = BID_LIST_LIST_VIEW_QUERY, countQuery = "SELECT count(b) FROM BidList b")
+    Page<BidListDTO> findAllForList(Pageable pageable);
+
+    @Query(BID_LIST_LIST_VIEW_QUERY + " WHERE b.bidListId > :bidListId ORDER BY b.bidListId")
+    List<BidListDTO> findAllForListAfter(@Param("bidListId") Integer bidListId, Pageable pageable);
+
+    /* full export: rows are read from an open cursor, fetch size rows at a time, as read-only entities */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT b FROM BidList b ORDER BY b.bidListId")
+    Stream<BidList> streamAll();
+
+    /* order book projection: the bid and the ask of each bidList, mapped to unmanaged quotes */
+    String BID_QUOTE_QUERY = "SELECT new com.nnk.springboot.services.orderbook.BidQuote(" +
+            "b.bidListId, b.account, b.security, b.bid, b.bidQuantity, b.ask, b.askQuantity) FROM BidList b";
+
+    /* in id order, the orders at the same price being queued in the order the bidList were created */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(BID_QUOTE_QUERY + " ORDER BY b.bidListId")
+    Stream<BidQuote> streamAllQuotes();
+
+    @Query(BID_QUOTE_QUERY + " WHERE b.bidListId IN :bidListIds")
+    List<BidQuote> findQuotesByBidListIdIn(@Param("bidListIds") Collection<Integer> bidListIds);
+
+    /* quantities filled by the matching of the order books: no row is updated if the bidList has been deleted
+     * or its quantity reduced below the fill since it was placed in the book */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BidList b SET b.bidQuantity = b.bidQuantity - :quantity, b.version = b.version + 1 " +
+            "WHERE b.bidListId = :bidListId AND b.bidQuantity >= :quantity")
+    int reduceBidQuantity(@Param("bidListId") Integer bidListId, @Param("quantity") Double quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BidList b SET b.askQuantity = b.askQuantity - :quantity, b.version = b.version + 1 " +
+            "WHERE b.bidListId = :bidListId AND b.askQuantity >= :quantity")
+    int reduceAskQuantity(@Param("bidListId") Integer bidListId, @Param("quantity") Double quantity);
+
+    /* update of the columns held by BidListDTO in one statement, without reading the row first:
+     * no row is updated if its version has changed since it was read */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BidList b SET b.account = :account, b.type = :type, b.bidQuantity = :bidQuantity, " +
+            "b.revisionDate = :revisionDate, b.revisionName = :revisionName, b.version = b.version + 1 " +
+            "WHERE b.bidListId = :bidListId AND b.version = :version")
+    int updateIfVersionMatches(@Param("bidListId") Integer bidListId, @Param("version") Integer version,
+                               @Param("account") String account, @Param("type") String type,
+                               @Param("bidQuantity") Double bidQuantity,
+                               @Param("revisionDate") LocalDateTime revisionDate,
+                               @Param("revisionName") String revisionName);
 }
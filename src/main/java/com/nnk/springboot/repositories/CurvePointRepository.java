@@ -1,10 +1,37 @@
 package com.nnk.springboot.repositories;
 
+import com.nnk.springboot.DTO.CurvePointDTO;
 import com.nnk.springboot.domain.CurvePoint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
 
+    /* list view projection: only the columns shown in curvePoint/list, mapped to unmanaged DTOs */
+    String CURVE_POINT_LIST_VIEW_QUERY = "SELECT new com.nnk.springboot.DTO.CurvePointDTO(" +
+            "c.id, c.curveId, c.term, c.value) FROM CurvePoint c";
+
+    @Query(CURVE_POINT_LIST_VIEW_QUERY)
+    List<CurvePointDTO> findAllForList();
+
+    @Query(value = CURVE_POINT_LIST_VIEW_QUERY, countQuery = "SELECT count(c) FROM CurvePoint c")
+    Page<CurvePointDTO> findAllForList(Pageable pageable);
+
+    @Query(CURVE_POINT_LIST_VIEW_QUERY + " WHERE c.id > :id ORDER BY c.id")
+    List<CurvePointDTO> findAllForListAfter(@Param("id") Integer id, Pageable pageable);
+
+    /* points of one curve, an as-of date null matching the points without as-of date */
+    List<CurvePoint> findByCurveIdAndAsOfDate(Integer curveId, LocalDateTime asOfDate);
+
+    /* as-of date of the latest points of a curve, null if its points have no as-of date */
+    @Query("SELECT max(c.asOfDate) FROM CurvePoint c WHERE c.curveId = :curveId")
+    LocalDateTime findLatestAsOfDate(@Param("curveId") Integer curveId);
 }
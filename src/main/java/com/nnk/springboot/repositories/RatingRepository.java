@@ -1,10 +1,29 @@
 package com.nnk.springboot.repositories;
 
+import com.nnk.springboot.DTO.RatingDTO;
 import com.nnk.springboot.domain.Rating;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RatingRepository extends JpaRepository<Rating, Integer> {
 
-}
\ No newline at end of file
+    /* list view projection: only the columns shown in rating/list, mapped to unmanaged DTOs */
+    String RATING_LIST_VIEW_QUERY = "SELECT new com.nnk.springboot.DTO.RatingDTO(" +
+            "r.id, r.moodysRating, r.sandPRating, r.fitchRating, r.orderNumber) FROM Rating r";
+
+    @Query(RATING_LIST_VIEW_QUERY)
+    List<RatingDTO> findAllForList();
+
+    @Query(value = RATING_LIST_VIEW_QUERY, countQuery = "SELECT count(r) FROM Rating r")
+    Page<RatingDTO> findAllForList(Pageable pageable);
+
+    @Query(RATING_LIST_VIEW_QUERY + " WHERE r.id > :id ORDER BY r.id")
+    List<RatingDTO> findAllForListAfter(@Param("id") Integer id, Pageable pageable);
+}
@@ -1,9 +1,29 @@
 package com.nnk.springboot.repositories;
 
+import com.nnk.springboot.DTO.RuleNameDTO;
 import com.nnk.springboot.domain.RuleName;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RuleNameRepository extends JpaRepository<RuleName, Integer> {
+
+    /* list view projection: only the columns shown in ruleName/list, mapped to unmanaged DTOs */
+    String RULE_NAME_LIST_VIEW_QUERY = "SELECT new com.nnk.springboot.DTO.RuleNameDTO(" +
+            "r.id, r.name, r.description, r.json, r.template, r.sqlStr, r.sqlPart) FROM RuleName r";
+
+    @Query(RULE_NAME_LIST_VIEW_QUERY)
+    List<RuleNameDTO> findAllForList();
+
+    @Query(value = RULE_NAME_LIST_VIEW_QUERY, countQuery = "SELECT count(r) FROM RuleName r")
+    Page<RuleNameDTO> findAllForList(Pageable pageable);
+
+    @Query(RULE_NAME_LIST_VIEW_QUERY + " WHERE r.id > :id ORDER BY r.id")
+    List<RuleNameDTO> findAllForListAfter(@Param("id") Integer id, Pageable pageable);
 }
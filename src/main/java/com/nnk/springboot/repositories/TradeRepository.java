@@ -1,9 +1,86 @@
 package com.nnk.springboot.repositories;
 
+import com.nnk.springboot.DTO.TradeDTO;
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.pnl.PricedTrade;
+import com.nnk.springboot.services.position.TradeLeg;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
 public interface TradeRepository extends JpaRepository<Trade, Integer> {
+
+    /* list view projection: only the columns shown in trade/list, mapped to unmanaged DTOs */
+    String TRADE_LIST_VIEW_QUERY = "SELECT new com.nnk.springboot.DTO.TradeDTO(" +
+            "t.tradeId, t.account, t.type, t.buyQuantity) FROM Trade t";
+
+    @Query(TRADE_LIST_VIEW_QUERY)
+    List<TradeDTO> findAllForList();
+
+    @Query(value = TRADE_LIST_VIEW_QUERY, countQuery = "SELECT count(t) FROM Trade t")
+    Page<TradeDTO> findAllForList(Pageable pageable);
+
+    @Query(TRADE_LIST_VIEW_QUERY + " WHERE t.tradeId > :tradeId ORDER BY t.tradeId")
+    List<TradeDTO> findAllForListAfter(@Param("tradeId") Integer tradeId, Pageable pageable);
+
+    /* full export: rows are read from an open cursor, fetch size rows at a time, as read-only entities */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT t FROM Trade t ORDER BY t.tradeId")
+    Stream<Trade> streamAll();
+
+    /* position engine projection: only the columns of the positions, mapped to unmanaged legs */
+    String TRADE_LEG_QUERY = "SELECT new com.nnk.springboot.services.position.TradeLeg(" +
+            "t.tradeId, t.account, t.book, t.security, t.buyQuantity, t.buyPrice, t.sellQuantity, t.sellPrice) " +
+            "FROM Trade t";
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(TRADE_LEG_QUERY)
+    Stream<TradeLeg> streamAllLegs();
+
+    @Query(TRADE_LEG_QUERY + " WHERE t.tradeId IN :tradeIds")
+    List<TradeLeg> findLegsByTradeIdIn(@Param("tradeIds") Collection<Integer> tradeIds);
+
+    /* P&L projection: the columns of the positions with the benchmark, in booking order for the FIFO matching */
+    String PRICED_TRADE_QUERY = "SELECT new com.nnk.springboot.services.pnl.PricedTrade(" +
+            "t.tradeId, t.account, t.book, t.security, t.benchmark, " +
+            "t.buyQuantity, t.buyPrice, t.sellQuantity, t.sellPrice) FROM Trade t";
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(PRICED_TRADE_QUERY + " ORDER BY t.tradeId")
+    Stream<PricedTrade> streamAllPriced();
+
+    @Query(PRICED_TRADE_QUERY + " WHERE t.tradeId IN :tradeIds")
+    List<PricedTrade> findPricedByTradeIdIn(@Param("tradeIds") Collection<Integer> tradeIds);
+
+    @Query(PRICED_TRADE_QUERY + " WHERE t.account IN :accounts ORDER BY t.tradeId")
+    List<PricedTrade> findPricedByAccountIn(@Param("accounts") Collection<String> accounts);
+
+    /* update of the columns held by TradeDTO in one statement, without reading the row first:
+     * no row is updated if its version has changed since it was read */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Trade t SET t.account = :account, t.type = :type, t.buyQuantity = :buyQuantity, " +
+            "t.revisionDate = :revisionDate, t.revisionName = :revisionName, t.version = t.version + 1 " +
+            "WHERE t.tradeId = :tradeId AND t.version = :version")
+    int updateIfVersionMatches(@Param("tradeId") Integer tradeId, @Param("version") Integer version,
+                               @Param("account") String account, @Param("type") String type,
+                               @Param("buyQuantity") Double buyQuantity,
+                               @Param("revisionDate") LocalDateTime revisionDate,
+                               @Param("revisionName") String revisionName);
 }
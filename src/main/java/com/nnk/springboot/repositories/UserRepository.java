@@ -1,14 +1,34 @@
 package com.nnk.springboot.repositories;
 
+import com.nnk.springboot.DTO.UserDTO;
 import com.nnk.springboot.domain.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 
 public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
 
-    Optional<User> findByUsernameIgnoreCase(String username);
+    /* seek on the unique index of the lower-case username, to be called with User.normalizeUsername */
+    Optional<User> findByUsernameLower(String usernameLower);
+
+    /* list view projection: only the columns shown in user/list, mapped to unmanaged DTOs */
+    String USER_LIST_VIEW_QUERY = "SELECT new com.nnk.springboot.DTO.UserDTO(" +
+            "u.id, u.username, u.fullname, u.role) FROM User u";
+
+    @Query(USER_LIST_VIEW_QUERY)
+    List<UserDTO> findAllForList();
+
+    @Query(value = USER_LIST_VIEW_QUERY, countQuery = "SELECT count(u) FROM User u")
+    Page<UserDTO> findAllForList(Pageable pageable);
+
+    @Query(USER_LIST_VIEW_QUERY + " WHERE u.id > :id ORDER BY u.id")
+    List<UserDTO> findAllForListAfter(@Param("id") Integer id, Pageable pageable);
 
 }
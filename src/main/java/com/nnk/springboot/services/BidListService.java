@@ -1,23 +1,46 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.DTO.BidListDTO;
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.constants.ExportFormat;
 import com.nnk.springboot.constants.LogConstants;
 import com.nnk.springboot.domain.BidList;
 import com.nnk.springboot.repositories.BidListRepository;
 import com.nnk.springboot.services.contracts.IBidListService;
+import com.nnk.springboot.services.orderbook.BidListChangedEvent;
+import com.nnk.springboot.services.orderbook.BidQuote;
 import com.nnk.springboot.utils.DateUtil;
 import com.nnk.springboot.utils.UserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static com.nnk.springboot.constants.PoseidonExceptionsConstants.BID_LIST_ID_NOT_VALID;
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.BID_LIST_VERSION_CONFLICT;
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.BID_LIST_VERSION_REQUIRED;
 
 @Slf4j
 @Service
@@ -26,9 +49,26 @@ public class BidListService implements IBidListService {
 
     private final BidListRepository bidListRepository;
 
+    private final ModelMapper modelMapper;
+
+    private final BulkOperationExecutor bulkOperationExecutor;
+
+    private final StreamingExporter streamingExporter;
+
+    private final CsvImporter csvImporter;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     @Autowired
-    BidListService(BidListRepository bidListRepository) {
+    BidListService(BidListRepository bidListRepository, ModelMapper modelMapper,
+                   BulkOperationExecutor bulkOperationExecutor, StreamingExporter streamingExporter,
+                   CsvImporter csvImporter, ApplicationEventPublisher applicationEventPublisher) {
         this.bidListRepository = bidListRepository;
+        this.modelMapper = modelMapper;
+        this.bulkOperationExecutor = bulkOperationExecutor;
+        this.streamingExporter = streamingExporter;
+        this.csvImporter = csvImporter;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -40,9 +80,8 @@ public class BidListService implements IBidListService {
     @Override
     public Optional<BidListDTO> create(BidListDTO bidListDTOToCreate) {
 
-        log.debug(LogConstants.CREATE_BID_LIST_CALL + bidListDTOToCreate.toString());
+        log.debug(LogConstants.CREATE_BID_LIST_CALL, bidListDTOToCreate);
 
-        ModelMapper modelMapper = new ModelMapper();
         BidList bidListCreated;
 
         try {
@@ -50,10 +89,11 @@ public class BidListService implements IBidListService {
             bidListToCreate.setCreationDate(DateUtil.getCurrentLocalDateTime());
             bidListToCreate.setCreationName(UserUtil.getCurrentUser());
             bidListCreated = bidListRepository.save(bidListToCreate);
-            log.debug(LogConstants.CREATE_BID_LIST_OK + bidListCreated.getBidListId());
+            log.debug(LogConstants.CREATE_BID_LIST_OK, bidListCreated.getBidListId());
+            publishBidListChanged(BidListChangedEvent.saved(Collections.singletonList(BidQuote.of(bidListCreated))));
 
         } catch (Exception exception) {
-            log.error(LogConstants.CREATE_BID_LIST_ERROR + bidListDTOToCreate);
+            log.error(LogConstants.CREATE_BID_LIST_ERROR, bidListDTOToCreate);
             throw exception;
         }
 
@@ -62,25 +102,61 @@ public class BidListService implements IBidListService {
 
 
     /**
-     * Get all bidList
+     * Get all bidList, with only the columns shown in the list view
      *
      * @return the list of bidList
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BidListDTO> findAll() {
         log.debug(LogConstants.FIND_BID_LIST_ALL_CALL);
 
-        List<BidList> bidListList = bidListRepository.findAll();
-        List<BidListDTO> bidListDTOList = new ArrayList<>();
-        ModelMapper modelMapper = new ModelMapper();
-        bidListList.forEach(bidList ->
-                bidListDTOList.add(modelMapper.map(bidList, BidListDTO.class)));
+        List<BidListDTO> bidListDTOList = bidListRepository.findAllForList();
         log.debug(LogConstants.FIND_BID_LIST_ALL_OK, bidListDTOList.size());
 
         return bidListDTOList;
     }
 
 
+    /**
+     * Get a page of bidList, with only the columns shown in the list view
+     *
+     * @param pageable page number, page size and sort of the requested page
+     * @return the requested page of bidList
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BidListDTO> findAll(Pageable pageable) {
+        log.debug(LogConstants.FIND_BID_LIST_PAGE_CALL, pageable);
+
+        Page<BidListDTO> bidListDTOPage = bidListRepository.findAllForList(pageable);
+        log.debug(LogConstants.FIND_BID_LIST_PAGE_OK, bidListDTOPage.getNumberOfElements());
+
+        return bidListDTOPage;
+    }
+
+
+    /**
+     * Get the bidList following a given id, ordered by id (keyset scrolling):
+     * the previous rows are neither counted nor skipped by the database
+     *
+     * @param lastBidListId id of the last bidList already retrieved (null to start from the beginning)
+     * @param size          maximum number of bidList to retrieve
+     * @return the list of bidList following the given id
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BidListDTO> findAllAfter(Integer lastBidListId, int size) {
+        log.debug(LogConstants.FIND_BID_LIST_AFTER_CALL, lastBidListId);
+
+        List<BidListDTO> bidListDTOList = bidListRepository.findAllForListAfter(
+                lastBidListId == null ? 0 : lastBidListId, PageRequest.of(0, size));
+        log.debug(LogConstants.FIND_BID_LIST_AFTER_OK, bidListDTOList.size());
+
+        return bidListDTOList;
+    }
+
+
     /**
      * Get a bitList by its id
      *
@@ -89,16 +165,16 @@ public class BidListService implements IBidListService {
      * @throws IllegalArgumentException if no bidList found
      */
     @Override
+    @Transactional(readOnly = true)
     public BidListDTO findById(Integer id) {
         log.debug(LogConstants.FIND_BID_LIST_BY_ID_CALL);
 
         Optional<BidList> bidList = bidListRepository.findById(id);
 
         if (bidList.isPresent()) {
-            ModelMapper modelMapper = new ModelMapper();
             BidListDTO bidListDTO = modelMapper.map(bidList.get(), BidListDTO.class);
 
-            log.debug(LogConstants.FIND_BID_LIST_BY_ID_OK + id + "\n");
+            log.debug(LogConstants.FIND_BID_LIST_BY_ID_OK, id);
             return bidListDTO;
         } else {
             log.error(BID_LIST_ID_NOT_VALID + id);
@@ -108,31 +184,55 @@ public class BidListService implements IBidListService {
 
 
     /**
-     * Update a bidList
+     * Update the account, type and quantity of a bidList with a single statement, the other columns being left as is.
+     * The update is rejected if the bidList has been modified since the version held by the DTO was read
      *
-     * @param bidListDTOToUpdate a bidList to update
-     * @return the created bidList
+     * @param bidListDTOToUpdate a bidList to update, with the version it was read with
+     * @return the updated bidList, with its new revision date and version
+     * @throws IllegalArgumentException          if no bidList found or no version sent
+     * @throws OptimisticLockingFailureException if the bidList has been modified since it was read
      */
     @Override
     public BidListDTO update(BidListDTO bidListDTOToUpdate) {
-        log.debug(LogConstants.UPDATE_BID_LIST_CALL + bidListDTOToUpdate.toString());
+        log.debug(LogConstants.UPDATE_BID_LIST_CALL, bidListDTOToUpdate);
 
-        ModelMapper modelMapper = new ModelMapper();
-        BidList bidListUpdated;
+        Integer id = bidListDTOToUpdate.getBidListId();
+        if (id == null) {
+            log.error(LogConstants.UPDATE_BID_LIST_ERROR, bidListDTOToUpdate);
+            throw new IllegalArgumentException(BID_LIST_ID_NOT_VALID + "null");
+        }
+        if (bidListDTOToUpdate.getVersion() == null) {
+            log.error(BID_LIST_VERSION_REQUIRED + id);
+            throw new IllegalArgumentException(BID_LIST_VERSION_REQUIRED + id);
+        }
 
+        LocalDateTime revisionDate = DateUtil.getCurrentLocalDateTime();
+        int updatedRowCount;
         try {
-            BidList bidListToUpdate = modelMapper.map(bidListDTOToUpdate, BidList.class);
-            bidListToUpdate.setRevisionDate(DateUtil.getCurrentLocalDateTime());
-            bidListToUpdate.setRevisionName(UserUtil.getCurrentUser());
-            bidListUpdated = bidListRepository.save(bidListToUpdate);
-            log.debug(LogConstants.UPDATE_BID_LIST_OK + bidListUpdated.getBidListId());
+            updatedRowCount = bidListRepository.updateIfVersionMatches(id, bidListDTOToUpdate.getVersion(),
+                    bidListDTOToUpdate.getAccount(), bidListDTOToUpdate.getType(), bidListDTOToUpdate.getBidQuantity(),
+                    revisionDate, UserUtil.getCurrentUser());
 
         } catch (Exception exception) {
-            log.error(LogConstants.UPDATE_BID_LIST_ERROR + bidListDTOToUpdate);
+            log.error(LogConstants.UPDATE_BID_LIST_ERROR, bidListDTOToUpdate);
             throw exception;
         }
 
-        return modelMapper.map(bidListUpdated, BidListDTO.class);
+        /* the row is read only when nothing was updated, to tell an unknown id from a concurrent update */
+        if (updatedRowCount == 0) {
+            if (bidListRepository.existsById(id)) {
+                log.error(BID_LIST_VERSION_CONFLICT + id);
+                throw new OptimisticLockingFailureException(BID_LIST_VERSION_CONFLICT + id);
+            }
+            log.error(BID_LIST_ID_NOT_VALID + id);
+            throw new IllegalArgumentException(BID_LIST_ID_NOT_VALID + id);
+        }
+        log.debug(LogConstants.UPDATE_BID_LIST_OK, id);
+        publishBidListChanged(BidListChangedEvent.updated(Collections.singletonList(id)));
+
+        bidListDTOToUpdate.setRevisionDate(revisionDate);
+        bidListDTOToUpdate.setVersion(bidListDTOToUpdate.getVersion() + 1);
+        return bidListDTOToUpdate;
     }
 
 
@@ -144,10 +244,10 @@ public class BidListService implements IBidListService {
     @Override
     public void delete(Integer id) {
 
-        log.debug(LogConstants.DELETE_BID_LIST_CALL + id);
+        log.debug(LogConstants.DELETE_BID_LIST_CALL, id);
 
         if (id == null) {
-            log.error(LogConstants.DELETE_BID_LIST_ERROR + "id is null");
+            log.error(LogConstants.DELETE_BID_LIST_ERROR, "id is null");
             throw new IllegalArgumentException(BID_LIST_ID_NOT_VALID + "null");
         }
 
@@ -162,11 +262,226 @@ public class BidListService implements IBidListService {
         //Delete the bidList
         try {
             bidListRepository.delete(bidList);
-            log.debug(LogConstants.DELETE_BID_LIST_OK + id);
+            log.debug(LogConstants.DELETE_BID_LIST_OK, id);
+            publishBidListChanged(BidListChangedEvent.deleted(Collections.singletonList(BidQuote.of(bidList))));
 
         } catch (Exception exception) {
-            log.error(LogConstants.DELETE_BID_LIST_ERROR + id);
+            log.error(LogConstants.DELETE_BID_LIST_ERROR, id);
             throw exception;
         }
     }
+
+
+    /**
+     * Create a list of bidList, chunk by chunk, each chunk being inserted with JDBC batches
+     *
+     * @param bidListDTOListToCreate the bidList to create
+     * @return the outcome of the creation of each bidList, in the same order
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkResultDTO> createAll(List<BidListDTO> bidListDTOListToCreate) {
+        log.debug(LogConstants.CREATE_ALL_BID_LIST_CALL, bidListDTOListToCreate.size());
+
+        LocalDateTime creationDate = DateUtil.getCurrentLocalDateTime();
+        String creationName = UserUtil.getCurrentUser();
+
+        List<BulkResultDTO> bulkResultList = bulkOperationExecutor.execute(bidListDTOListToCreate,
+                BidListDTO::getBidListId,
+                bulkOperationExecutor::checkConstraints,
+                chunk -> createChunk(chunk, creationDate, creationName));
+
+        log.debug(LogConstants.CREATE_ALL_BID_LIST_OK,
+                bulkResultList.stream().filter(BulkResultDTO::isSuccess).count(), bidListDTOListToCreate.size());
+        return bulkResultList;
+    }
+
+
+    /**
+     * Update a list of bidList, chunk by chunk: the bidList of a chunk are loaded with one query
+     * and their updates are flushed with JDBC batches
+     *
+     * @param bidListDTOListToUpdate the bidList to update
+     * @return the outcome of the update of each bidList, in the same order
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkResultDTO> updateAll(List<BidListDTO> bidListDTOListToUpdate) {
+        log.debug(LogConstants.UPDATE_ALL_BID_LIST_CALL, bidListDTOListToUpdate.size());
+
+        LocalDateTime revisionDate = DateUtil.getCurrentLocalDateTime();
+        String revisionName = UserUtil.getCurrentUser();
+
+        List<BulkResultDTO> bulkResultList = bulkOperationExecutor.execute(bidListDTOListToUpdate,
+                BidListDTO::getBidListId,
+                this::checkUpdate,
+                chunk -> {
+                    List<Integer> bidListIdList = new ArrayList<>(chunk.size());
+                    chunk.forEach(bidListDTO -> bidListIdList.add(bidListDTO.getBidListId()));
+                    Map<Integer, BidList> bidListInDbById = new HashMap<>();
+                    bidListRepository.findAllById(bidListIdList).forEach(bidList -> bidListInDbById.put(bidList.getBidListId(), bidList));
+
+                    List<BulkResultDTO> chunkResultList = new ArrayList<>(chunk.size());
+                    List<BidQuote> bidQuoteList = new ArrayList<>(chunk.size());
+                    chunk.forEach(bidListDTO -> {
+                        BidList bidListToUpdate = bidListInDbById.get(bidListDTO.getBidListId());
+                        if (bidListToUpdate == null) {
+                            chunkResultList.add(BulkResultDTO.ko(bidListDTO.getBidListId(), BID_LIST_ID_NOT_VALID + bidListDTO.getBidListId()));
+                        } else if (!bidListDTO.getVersion().equals(bidListToUpdate.getVersion())) {
+                            chunkResultList.add(BulkResultDTO.ko(bidListDTO.getBidListId(), BID_LIST_VERSION_CONFLICT + bidListDTO.getBidListId()));
+                        } else {
+                            modelMapper.map(bidListDTO, bidListToUpdate);
+                            bidListToUpdate.setRevisionDate(revisionDate);
+                            bidListToUpdate.setRevisionName(revisionName);
+                            bidQuoteList.add(BidQuote.of(bidListToUpdate));
+                            chunkResultList.add(BulkResultDTO.ok(bidListDTO.getBidListId()));
+                        }
+                    });
+                    publishBidListChanged(BidListChangedEvent.saved(bidQuoteList));
+                    return chunkResultList;
+                });
+
+        log.debug(LogConstants.UPDATE_ALL_BID_LIST_OK,
+                bulkResultList.stream().filter(BulkResultDTO::isSuccess).count(), bidListDTOListToUpdate.size());
+        return bulkResultList;
+    }
+
+
+    /* an update needs the id of the bidList and the version it was read with, on top of the constraints of a bidList */
+    private String checkUpdate(BidListDTO bidListDTO) {
+        if (bidListDTO != null && bidListDTO.getBidListId() == null) {
+            return BID_LIST_ID_NOT_VALID + "null";
+        }
+        if (bidListDTO != null && bidListDTO.getVersion() == null) {
+            return BID_LIST_VERSION_REQUIRED + bidListDTO.getBidListId();
+        }
+        return bulkOperationExecutor.checkConstraints(bidListDTO);
+    }
+
+
+    /**
+     * Delete a list of bidList, chunk by chunk, each chunk being deleted with one statement
+     *
+     * @param bidListIdListToDelete ids of the bidList to delete
+     * @return the outcome of the deletion of each bidList, in the same order
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkResultDTO> deleteAll(List<Integer> bidListIdListToDelete) {
+        log.debug(LogConstants.DELETE_ALL_BID_LIST_CALL, bidListIdListToDelete.size());
+
+        List<BulkResultDTO> bulkResultList = bulkOperationExecutor.execute(bidListIdListToDelete,
+                bidListId -> bidListId,
+                bidListId -> bidListId == null ? BID_LIST_ID_NOT_VALID + "null" : null,
+                chunk -> {
+                    List<BidList> bidListListToDelete = bidListRepository.findAllById(chunk);
+                    Set<Integer> bidListIdInDbSet = new HashSet<>();
+                    List<BidQuote> bidQuoteList = new ArrayList<>(bidListListToDelete.size());
+                    bidListListToDelete.forEach(bidList -> {
+                        bidListIdInDbSet.add(bidList.getBidListId());
+                        bidQuoteList.add(BidQuote.of(bidList));
+                    });
+                    bidListRepository.deleteAllInBatch(bidListListToDelete);
+                    publishBidListChanged(BidListChangedEvent.deleted(bidQuoteList));
+
+                    List<BulkResultDTO> chunkResultList = new ArrayList<>(chunk.size());
+                    chunk.forEach(bidListId -> chunkResultList.add(bidListIdInDbSet.contains(bidListId)
+                            ? BulkResultDTO.ok(bidListId)
+                            : BulkResultDTO.ko(bidListId, BID_LIST_ID_NOT_VALID + bidListId)));
+                    return chunkResultList;
+                });
+
+        log.debug(LogConstants.DELETE_ALL_BID_LIST_OK,
+                bulkResultList.stream().filter(BulkResultDTO::isSuccess).count(), bidListIdListToDelete.size());
+        return bulkResultList;
+    }
+
+
+    /**
+     * Export all the bidList to an output stream, without loading the whole table:
+     * the bidList are read from a database cursor and written one by one
+     *
+     * @param format       export format
+     * @param outputStream where to write the bidList
+     * @return the number of exported bidList
+     * @throws IOException if the bidList cannot be written
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.debug(LogConstants.EXPORT_BID_LIST_CALL, format);
+
+        long exportedBidListCount;
+        try (Stream<BidList> bidListStream = bidListRepository.streamAll()) {
+            exportedBidListCount = streamingExporter.export(bidListStream, BidList.class, format, outputStream);
+        }
+        log.debug(LogConstants.EXPORT_BID_LIST_OK, exportedBidListCount);
+
+        return exportedBidListCount;
+    }
+
+
+    /**
+     * Import bidList from a CSV file, parsed and validated as a pipeline and inserted with JDBC batches
+     *
+     * @param inputStream content of the CSV file, with a header line naming the bidList fields
+     * @return the number of read, imported and rejected lines, with the reason of the first rejections
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportReportDTO importCsv(InputStream inputStream) throws IOException {
+        log.debug(LogConstants.IMPORT_BID_LIST_CALL);
+
+        LocalDateTime creationDate = DateUtil.getCurrentLocalDateTime();
+        String creationName = UserUtil.getCurrentUser();
+
+        ImportReportDTO importReport = csvImporter.importCsv(inputStream, BidListDTO.class,
+                chunk -> createChunk(chunk, creationDate, creationName));
+
+        log.debug(LogConstants.IMPORT_BID_LIST_OK, importReport.getImportedLineCount(), importReport.getReadLineCount());
+        return importReport;
+    }
+
+
+    /**
+     * insert a chunk of bidList, within the transaction of the caller
+     *
+     * @param chunk        the bidList to create
+     * @param creationDate creation date of the bidList
+     * @param creationName creation name of the bidList
+     * @return the outcome of the creation of each bidList, in the same order
+     */
+    private List<BulkResultDTO> createChunk(List<BidListDTO> chunk, LocalDateTime creationDate, String creationName) {
+        List<BidList> bidListListToCreate = new ArrayList<>(chunk.size());
+        chunk.forEach(bidListDTO -> {
+            BidList bidListToCreate = modelMapper.map(bidListDTO, BidList.class);
+            bidListToCreate.setBidListId(null);
+            bidListToCreate.setCreationDate(creationDate);
+            bidListToCreate.setCreationName(creationName);
+            bidListListToCreate.add(bidListToCreate);
+        });
+
+        List<BulkResultDTO> chunkResultList = new ArrayList<>(chunk.size());
+        List<BidQuote> bidQuoteList = new ArrayList<>(chunk.size());
+        bidListRepository.saveAll(bidListListToCreate).forEach(bidListCreated -> {
+            bidQuoteList.add(BidQuote.of(bidListCreated));
+            chunkResultList.add(BulkResultDTO.ok(bidListCreated.getBidListId()));
+        });
+        publishBidListChanged(BidListChangedEvent.saved(bidQuoteList));
+        return chunkResultList;
+    }
+
+
+    /**
+     * publish the bidList changed by the current transaction: the order books are updated once it has committed,
+     * each chunk of a bulk operation being applied as soon as its own transaction has committed
+     *
+     * @param bidListChangedEvent the changed bidList
+     */
+    private void publishBidListChanged(BidListChangedEvent bidListChangedEvent) {
+        if (!bidListChangedEvent.isEmpty()) {
+            applicationEventPublisher.publishEvent(bidListChangedEvent);
+        }
+    }
 }
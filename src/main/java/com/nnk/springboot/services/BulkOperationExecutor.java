@@ -0,0 +1,150 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.constants.LogConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.BULK_ROW_EMPTY;
+
+/**
+ * runs the bulk operations of the services chunk by chunk, each chunk in its own transaction,
+ * so that the rows of a chunk are sent to the database as JDBC batches
+ * and the persistence context never holds more than one chunk
+ */
+@Slf4j
+@Component
+public class BulkOperationExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final int chunkSize;
+
+    @Autowired
+    public BulkOperationExecutor(TransactionTemplate transactionTemplate, Validator validator,
+                                 @Value("${poseidon.bulk.chunk-size:500}") int chunkSize) {
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * apply an operation to a list of rows, chunk by chunk.
+     * Rows rejected by the row check are not sent to the operation.
+     * If the transaction of a chunk fails, its rows are replayed one by one
+     * so that only the faulty rows are reported as failed
+     *
+     * @param rows           rows of the bulk request
+     * @param rowId          returns the id of a row, reported with its failure (null for a row to create)
+     * @param rowCheck       returns the reason why a row is rejected, null if the row is valid
+     * @param chunkOperation applies the operation to a chunk of rows
+     *                       and returns one result per row, in the same order
+     * @return one result per row of the bulk request, in the same order
+     */
+    public <T> List<BulkResultDTO> execute(List<T> rows, Function<T, Integer> rowId, Function<T, String> rowCheck,
+                                           Function<List<T>, List<BulkResultDTO>> chunkOperation) {
+
+        BulkResultDTO[] results = new BulkResultDTO[rows.size()];
+        List<Integer> validRowIndexes = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            String rejectionReason = rowCheck.apply(rows.get(i));
+            if (rejectionReason == null) {
+                validRowIndexes.add(i);
+            } else {
+                results[i] = BulkResultDTO.ko(idOf(rows.get(i), rowId), rejectionReason);
+            }
+        }
+
+        for (int start = 0; start < validRowIndexes.size(); start += chunkSize) {
+            List<Integer> chunkIndexes = validRowIndexes.subList(start,
+                    Math.min(start + chunkSize, validRowIndexes.size()));
+            List<T> chunk = new ArrayList<>(chunkIndexes.size());
+            chunkIndexes.forEach(index -> chunk.add(rows.get(index)));
+
+            List<BulkResultDTO> chunkResults;
+            try {
+                chunkResults = transactionTemplate.execute(status -> chunkOperation.apply(chunk));
+            } catch (RuntimeException exception) {
+                log.error(LogConstants.BULK_CHUNK_ERROR, chunkIndexes.get(0), exception.getMessage());
+                chunkResults = replayRowByRow(chunk, rowId, chunkOperation);
+            }
+
+            for (int i = 0; i < chunkIndexes.size(); i++) {
+                results[chunkIndexes.get(i)] = chunkResults.get(i);
+            }
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            results[i].setIndex(i);
+        }
+        return Arrays.asList(results);
+    }
+
+
+    /**
+     * check a row of a bulk request against its Bean Validation constraints
+     *
+     * @param row row to check
+     * @return the constraint violation messages, null if the row is valid
+     */
+    public <T> String checkConstraints(T row) {
+        if (row == null) {
+            return BULK_ROW_EMPTY;
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+
+    /**
+     * apply the operation to each row of a failed chunk in its own transaction
+     *
+     * @param chunk          rows of the failed chunk
+     * @param rowId          returns the id of a row
+     * @param chunkOperation operation to apply
+     * @return one result per row of the chunk
+     */
+    private <T> List<BulkResultDTO> replayRowByRow(List<T> chunk, Function<T, Integer> rowId,
+                                                   Function<List<T>, List<BulkResultDTO>> chunkOperation) {
+        List<BulkResultDTO> chunkResults = new ArrayList<>(chunk.size());
+
+        for (T row : chunk) {
+            try {
+                chunkResults.add(transactionTemplate.execute(status ->
+                        chunkOperation.apply(Collections.singletonList(row)).get(0)));
+            } catch (RuntimeException exception) {
+                chunkResults.add(BulkResultDTO.ko(idOf(row, rowId), exception.getMessage()));
+            }
+        }
+        return chunkResults;
+    }
+
+
+    /* a null row, rejected as empty, has no id */
+    private static <T> Integer idOf(T row, Function<T, Integer> rowId) {
+        return row == null ? null : rowId.apply(row);
+    }
+}
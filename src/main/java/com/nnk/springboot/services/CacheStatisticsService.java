@@ -0,0 +1,57 @@
+package com.nnk.springboot.services;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nnk.springboot.DTO.CacheStatisticsDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.ICacheStatisticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+public class CacheStatisticsService implements ICacheStatisticsService {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    CacheStatisticsService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get the hit, miss and eviction statistics of the caches
+     *
+     * @return the statistics of each Caffeine cache, ordered by cache name
+     */
+    @Override
+    public List<CacheStatisticsDTO> findAll() {
+        log.debug(LogConstants.FIND_CACHE_STATISTICS_CALL);
+
+        List<CacheStatisticsDTO> cacheStatisticsDTOList = new ArrayList<>();
+        cacheManager.getCacheNames().stream().sorted().forEach(cacheName -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TransactionAwareCacheDecorator) {
+                cache = ((TransactionAwareCacheDecorator) cache).getTargetCache();
+            }
+            if (cache instanceof CaffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                        ((CaffeineCache) cache).getNativeCache();
+                CacheStats cacheStats = nativeCache.stats();
+                cacheStatisticsDTOList.add(new CacheStatisticsDTO(cacheName, nativeCache.estimatedSize(),
+                        cacheStats.hitCount(), cacheStats.missCount(), cacheStats.hitRate(),
+                        cacheStats.evictionCount()));
+            }
+        });
+        log.debug(LogConstants.FIND_CACHE_STATISTICS_OK, cacheStatisticsDTOList.size());
+
+        return cacheStatisticsDTOList;
+    }
+}
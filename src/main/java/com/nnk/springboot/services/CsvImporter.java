@@ -0,0 +1,242 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportRejectionDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.constants.LogConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.IMPORT_LINE_NOT_READABLE;
+
+/**
+ * imports a CSV file as a pipeline:
+ * the file is parsed incrementally in batches of lines, the lines of each batch are validated
+ * against the Bean Validation constraints of their DTO on a worker pool,
+ * and the valid lines are persisted batch after batch, in the order of the file, by the BulkOperationExecutor.
+ * Only a bounded number of batches is in flight at a time, so that memory does not grow with the file size
+ */
+@Slf4j
+@Component
+public class CsvImporter {
+
+
+    private final BulkOperationExecutor bulkOperationExecutor;
+
+    private final ObjectReader csvReader;
+
+    private final ExecutorService validationExecutor;
+
+    private final int batchSize;
+
+    private final int maxBatchesInFlight;
+
+    private final int maxReportedRejections;
+
+    @Autowired
+    public CsvImporter(BulkOperationExecutor bulkOperationExecutor,
+                       @Value("${poseidon.import.batch-size:1000}") int batchSize,
+                       @Value("${poseidon.import.validation-threads:0}") int validationThreads,
+                       @Value("${poseidon.import.max-reported-rejections:1000}") int maxReportedRejections) {
+        this.bulkOperationExecutor = bulkOperationExecutor;
+        this.batchSize = batchSize;
+        this.maxReportedRejections = maxReportedRejections;
+
+        int threads = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        this.validationExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("csv-import-"));
+        this.maxBatchesInFlight = 2 * threads;
+
+        /* columns are matched on the header line, columns unknown from the DTO (ids, audit columns...) are ignored */
+        this.csvReader = new CsvMapper()
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .reader()
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationExecutor.shutdown();
+    }
+
+    /**
+     * import a CSV file
+     *
+     * @param inputStream    content of the CSV file, with a header line naming the DTO fields
+     * @param rowType        class of the DTO the lines are read into
+     * @param chunkOperation persists a chunk of valid DTO and returns one result per DTO, in the same order
+     * @return the number of read, imported and rejected lines, with the reason of the first rejections
+     * @throws IOException if the file cannot be read
+     */
+    public <T> ImportReportDTO importCsv(InputStream inputStream, Class<T> rowType,
+                                         Function<List<T>, List<BulkResultDTO>> chunkOperation) throws IOException {
+
+        ImportReportDTO importReport = new ImportReportDTO();
+        Deque<ValidationTask<T>> tasksInFlight = new ArrayDeque<>();
+
+        try (MappingIterator<T> rowIterator = csvReader.forType(rowType).readValues(inputStream)) {
+            ValidationTask<T> task = new ValidationTask<>(batchSize);
+
+            while (true) {
+                T row = null;
+                String readError = null;
+                long line = 0;
+                try {
+                    if (!rowIterator.hasNextValue()) {
+                        break;
+                    }
+                    /* line of the file where the record starts, quoted fields may span several lines */
+                    line = rowIterator.getCurrentLocation().getLineNr();
+                    row = rowIterator.nextValue();
+                } catch (JsonProcessingException exception) {
+                    /* the line goes through the pipeline anyway, so that rejections are reported in the file order */
+                    readError = IMPORT_LINE_NOT_READABLE + exception.getOriginalMessage();
+                }
+
+                importReport.setReadLineCount(importReport.getReadLineCount() + 1);
+                task.rows.add(row);
+                task.lines.add(line);
+                task.readErrors.add(readError);
+
+                if (task.rows.size() == batchSize) {
+                    submit(task, tasksInFlight);
+                    task = new ValidationTask<>(batchSize);
+                    if (tasksInFlight.size() >= maxBatchesInFlight) {
+                        persist(tasksInFlight.poll(), chunkOperation, importReport);
+                    }
+                }
+            }
+
+            if (!task.rows.isEmpty()) {
+                submit(task, tasksInFlight);
+            }
+            while (!tasksInFlight.isEmpty()) {
+                persist(tasksInFlight.poll(), chunkOperation, importReport);
+            }
+
+        } finally {
+            tasksInFlight.forEach(pendingTask -> pendingTask.rejectionReasons.cancel(false));
+        }
+
+        return importReport;
+    }
+
+
+    /**
+     * submit the validation of a batch of lines to the worker pool
+     *
+     * @param task          batch of lines to validate
+     * @param tasksInFlight batches waiting to be persisted
+     */
+    private <T> void submit(ValidationTask<T> task, Deque<ValidationTask<T>> tasksInFlight) {
+        List<T> rows = task.rows;
+        List<String> readErrors = task.readErrors;
+        task.rejectionReasons = validationExecutor.submit(() -> {
+            List<String> rejectionReasons = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                rejectionReasons.add(readErrors.get(i) != null
+                        ? readErrors.get(i)
+                        : bulkOperationExecutor.checkConstraints(rows.get(i)));
+            }
+            return rejectionReasons;
+        });
+        tasksInFlight.add(task);
+    }
+
+
+    /**
+     * wait for the validation of a batch, then persist its valid lines and report the others
+     *
+     * @param task           validated batch of lines
+     * @param chunkOperation persists a chunk of valid DTO
+     * @param importReport   report to update
+     */
+    private <T> void persist(ValidationTask<T> task, Function<List<T>, List<BulkResultDTO>> chunkOperation,
+                             ImportReportDTO importReport) {
+
+        List<String> rejectionReasons;
+        try {
+            rejectionReasons = task.rejectionReasons.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception.getCause());
+        }
+
+        List<T> validRows = new ArrayList<>(task.rows.size());
+        List<Long> validLines = new ArrayList<>(task.rows.size());
+        for (int i = 0; i < task.rows.size(); i++) {
+            if (rejectionReasons.get(i) == null) {
+                validRows.add(task.rows.get(i));
+                validLines.add(task.lines.get(i));
+            } else {
+                reject(importReport, task.lines.get(i), rejectionReasons.get(i));
+            }
+        }
+
+        List<BulkResultDTO> bulkResultList = bulkOperationExecutor.execute(validRows, row -> null, row -> null, chunkOperation);
+        for (int i = 0; i < bulkResultList.size(); i++) {
+            if (bulkResultList.get(i).isSuccess()) {
+                importReport.setImportedLineCount(importReport.getImportedLineCount() + 1);
+            } else {
+                reject(importReport, validLines.get(i), bulkResultList.get(i).getMessage());
+            }
+        }
+    }
+
+
+    private void reject(ImportReportDTO importReport, long line, String reason) {
+        log.debug(LogConstants.IMPORT_LINE_REJECTED, line, reason);
+        importReport.setRejectedLineCount(importReport.getRejectedLineCount() + 1);
+        if (importReport.getRejections().size() < maxReportedRejections) {
+            importReport.getRejections().add(new ImportRejectionDTO(line, reason));
+        }
+    }
+
+
+    /**
+     * batch of lines with their line numbers and read errors, and the pending result of their validation
+     */
+    private static class ValidationTask<T> {
+
+        private final List<T> rows;
+
+        private final List<Long> lines;
+
+        private final List<String> readErrors;
+
+        private Future<List<String>> rejectionReasons;
+
+        private ValidationTask(int batchSize) {
+            this.rows = new ArrayList<>(batchSize);
+            this.lines = new ArrayList<>(batchSize);
+            this.readErrors = new ArrayList<>(batchSize);
+        }
+    }
+}
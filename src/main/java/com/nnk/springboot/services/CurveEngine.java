@@ -0,0 +1,130 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.contracts.ICurveEngine;
+import com.nnk.springboot.services.curve.CurveChangedEvent;
+import com.nnk.springboot.services.curve.CurveKey;
+import com.nnk.springboot.services.curve.InterpolationMethod;
+import com.nnk.springboot.services.curve.YieldCurve;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.CURVE_NOT_FOUND;
+
+/**
+ * keeps the curves built from the curve points in memory, one immutable YieldCurve per curve id and as-of date.
+ * A curve is built on its first lookup, then rebuilt each time CurvePointService commits a change on its points.
+ * A curve without points is kept as absent: a curve already looked up is not queried again until its points change,
+ * unless it has been evicted, the number of curves kept being bounded
+ */
+@Slf4j
+@Service
+public class CurveEngine implements ICurveEngine {
+
+    private final CurvePointRepository curvePointRepository;
+
+    /* joins the transaction of the caller if any, so that a lookup never holds two connections */
+    private final TransactionTemplate readTransactionTemplate;
+
+    /* bounded, as the curve id and the as-of date of a lookup may come from the request */
+    private final Cache<CurveKey, Optional<YieldCurve>> curves;
+
+    @Autowired
+    CurveEngine(CurvePointRepository curvePointRepository, PlatformTransactionManager transactionManager,
+                @Value("${poseidon.curve.max-cached-curves:10000}") long maxCachedCurves) {
+        this.curvePointRepository = curvePointRepository;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        this.curves = Caffeine.newBuilder().maximumSize(maxCachedCurves).build();
+    }
+
+    /**
+     * Get the curve of a curve id and an as-of date
+     *
+     * @param curveId  curve id
+     * @param asOfDate as-of date of the curve points (may be null)
+     * @return the curve, empty if there is no point for this curve id and as-of date
+     */
+    @Override
+    public Optional<YieldCurve> findCurve(Integer curveId, LocalDateTime asOfDate) {
+        CurveKey curveKey = new CurveKey(curveId, asOfDate);
+        Optional<YieldCurve> yieldCurve = curves.getIfPresent(curveKey);
+        if (yieldCurve != null) {
+            return yieldCurve;
+        }
+
+        /* built outside of the map, so that the query does not block the lookups of the other curves;
+         * a curve rebuilt meanwhile by onCurveChanged is more recent and is kept */
+        yieldCurve = build(curveKey);
+        Optional<YieldCurve> concurrentYieldCurve = curves.asMap().putIfAbsent(curveKey, yieldCurve);
+        return concurrentYieldCurve == null ? yieldCurve : concurrentYieldCurve;
+    }
+
+
+    /**
+     * Interpolate the value of a curve for a term
+     *
+     * @param curveId  curve id
+     * @param asOfDate as-of date of the curve points (may be null)
+     * @param term     term to look up
+     * @param method   interpolation method
+     * @return the value of the curve for this term
+     * @throws IllegalArgumentException if the curve does not exist
+     */
+    @Override
+    public double valueAt(Integer curveId, LocalDateTime asOfDate, double term, InterpolationMethod method) {
+        YieldCurve yieldCurve = findCurve(curveId, asOfDate).orElseThrow(() -> {
+            log.error(CURVE_NOT_FOUND + curveId);
+            return new IllegalArgumentException(CURVE_NOT_FOUND + curveId);
+        });
+        return yieldCurve.valueAt(term, method);
+    }
+
+
+    /**
+     * Rebuild the curves whose points have changed, once the change is committed,
+     * before the other listeners of the change read them
+     *
+     * @param curveChangedEvent the changed curves
+     */
+    @Override
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCurveChanged(CurveChangedEvent curveChangedEvent) {
+        curveChangedEvent.getCurveKeys().forEach(curveKey -> {
+            log.debug(LogConstants.CURVE_REBUILD_CALL, curveKey);
+            curves.put(curveKey, build(curveKey));
+        });
+    }
+
+
+    private Optional<YieldCurve> build(CurveKey curveKey) {
+        YieldCurve yieldCurve = YieldCurve.of(curveKey, readTransactionTemplate.execute(status ->
+                curvePointRepository.findByCurveIdAndAsOfDate(curveKey.getCurveId(), curveKey.getAsOfDate())));
+        log.debug(LogConstants.CURVE_BUILD_OK, curveKey, yieldCurve == null ? 0 : yieldCurve.size());
+        return Optional.ofNullable(yieldCurve);
+    }
+
+
+    /* number of curves kept, once the pending evictions are done */
+    long cachedCurveCount() {
+        curves.cleanUp();
+        return curves.estimatedSize();
+    }
+}
@@ -1,32 +1,64 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.DTO.BulkResultDTO;
 import com.nnk.springboot.DTO.CurvePointDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.constants.LogConstants;
 import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.repositories.CurvePointRepository;
 import com.nnk.springboot.services.contracts.ICurvePointService;
+import com.nnk.springboot.services.curve.CurveChangedEvent;
+import com.nnk.springboot.services.curve.CurveKey;
 import com.nnk.springboot.utils.DateUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.nnk.springboot.constants.PoseidonExceptionsConstants.CURVE_POINT_ID_NOT_VALID;
 
 @Slf4j
 @Service
 @Transactional
+@CacheConfig(cacheNames = CacheConstants.CURVE_POINT_CACHE)
 public class CurvePointService implements ICurvePointService {
     private final CurvePointRepository curvePointRepository;
 
+    private final ModelMapper modelMapper;
+
+    private final CsvImporter csvImporter;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     @Autowired
-    CurvePointService(CurvePointRepository curvePointRepository) {
+    CurvePointService(CurvePointRepository curvePointRepository, ModelMapper modelMapper,
+                      CsvImporter csvImporter, ApplicationEventPublisher applicationEventPublisher) {
         this.curvePointRepository = curvePointRepository;
+        this.modelMapper = modelMapper;
+        this.csvImporter = csvImporter;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -36,21 +68,22 @@ public class CurvePointService implements ICurvePointService {
      * @return the created curvePoint
      */
     @Override
+    @CacheEvict(allEntries = true)
     public Optional<CurvePointDTO> create(CurvePointDTO curvePointDTOToCreate) {
 
-        log.debug(LogConstants.CREATE_CURVE_POINT_CALL + curvePointDTOToCreate.toString());
+        log.debug(LogConstants.CREATE_CURVE_POINT_CALL, curvePointDTOToCreate);
 
-        ModelMapper modelMapper = new ModelMapper();
         CurvePoint curvePointCreated;
 
         try {
             CurvePoint curvePointToCreate = modelMapper.map(curvePointDTOToCreate, CurvePoint.class);
             curvePointToCreate.setCreationDate(DateUtil.getCurrentLocalDateTime());
             curvePointCreated = curvePointRepository.save(curvePointToCreate);
-            log.debug(LogConstants.CREATE_CURVE_POINT_OK + curvePointCreated.getId());
+            log.debug(LogConstants.CREATE_CURVE_POINT_OK, curvePointCreated.getId());
+            publishCurveChanged(Collections.singletonList(CurveKey.of(curvePointCreated)));
 
         } catch (Exception exception) {
-            log.error(LogConstants.CREATE_CURVE_POINT_ERROR + curvePointDTOToCreate);
+            log.error(LogConstants.CREATE_CURVE_POINT_ERROR, curvePointDTOToCreate);
             throw exception;
         }
 
@@ -59,25 +92,64 @@ public class CurvePointService implements ICurvePointService {
 
 
     /**
-     * Get all curvePoint
+     * Get all curvePoint, with only the columns shown in the list view
      *
      * @return the list of curvePoint
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable
     public List<CurvePointDTO> findAll() {
         log.debug(LogConstants.FIND_CURVE_POINT_ALL_CALL);
 
-        List<CurvePoint> curvePointList = curvePointRepository.findAll();
-        List<CurvePointDTO> curvePointDTOList = new ArrayList<>();
-        ModelMapper modelMapper = new ModelMapper();
-        curvePointList.forEach(curvePoint ->
-                curvePointDTOList.add(modelMapper.map(curvePoint, CurvePointDTO.class)));
+        List<CurvePointDTO> curvePointDTOList = curvePointRepository.findAllForList();
         log.debug(LogConstants.FIND_CURVE_POINT_ALL_OK, curvePointDTOList.size());
 
         return curvePointDTOList;
     }
 
 
+    /**
+     * Get a page of curvePoint, with only the columns shown in the list view
+     *
+     * @param pageable page number, page size and sort of the requested page
+     * @return the requested page of curvePoint
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable
+    public Page<CurvePointDTO> findAll(Pageable pageable) {
+        log.debug(LogConstants.FIND_CURVE_POINT_PAGE_CALL, pageable);
+
+        Page<CurvePointDTO> curvePointDTOPage = curvePointRepository.findAllForList(pageable);
+        log.debug(LogConstants.FIND_CURVE_POINT_PAGE_OK, curvePointDTOPage.getNumberOfElements());
+
+        return curvePointDTOPage;
+    }
+
+
+    /**
+     * Get the curvePoint following a given id, ordered by id (keyset scrolling):
+     * the previous rows are neither counted nor skipped by the database
+     *
+     * @param lastCurvePointId id of the last curvePoint already retrieved (null to start from the beginning)
+     * @param size             maximum number of curvePoint to retrieve
+     * @return the list of curvePoint following the given id
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable
+    public List<CurvePointDTO> findAllAfter(Integer lastCurvePointId, int size) {
+        log.debug(LogConstants.FIND_CURVE_POINT_AFTER_CALL, lastCurvePointId);
+
+        List<CurvePointDTO> curvePointDTOList = curvePointRepository.findAllForListAfter(
+                lastCurvePointId == null ? 0 : lastCurvePointId, PageRequest.of(0, size));
+        log.debug(LogConstants.FIND_CURVE_POINT_AFTER_OK, curvePointDTOList.size());
+
+        return curvePointDTOList;
+    }
+
+
     /**
      * Get a curvePoint by its id
      *
@@ -86,16 +158,16 @@ public class CurvePointService implements ICurvePointService {
      * @throws IllegalArgumentException if no curvePoint found
      */
     @Override
+    @Transactional(readOnly = true)
     public CurvePointDTO findById(Integer id) {
         log.debug(LogConstants.FIND_CURVE_POINT_BY_ID_CALL);
 
         Optional<CurvePoint> curvePoint = curvePointRepository.findById(id);
 
         if (curvePoint.isPresent()) {
-            ModelMapper modelMapper = new ModelMapper();
             CurvePointDTO curvePointDTO = modelMapper.map(curvePoint.get(), CurvePointDTO.class);
 
-            log.debug(LogConstants.FIND_CURVE_POINT_BY_ID_OK + id + "\n");
+            log.debug(LogConstants.FIND_CURVE_POINT_BY_ID_OK, id);
             return curvePointDTO;
         } else {
             log.error(CURVE_POINT_ID_NOT_VALID + id);
@@ -111,18 +183,24 @@ public class CurvePointService implements ICurvePointService {
      * @return the created curvePoint
      */
     @Override
+    @CacheEvict(allEntries = true)
     public CurvePointDTO update(CurvePointDTO curvePointDTOToUpdate) {
-        log.debug(LogConstants.UPDATE_CURVE_POINT_CALL + curvePointDTOToUpdate.toString());
+        log.debug(LogConstants.UPDATE_CURVE_POINT_CALL, curvePointDTOToUpdate);
 
-        ModelMapper modelMapper = new ModelMapper();
         CurvePoint curvePointUpdated;
 
         try {
+            /* the point may move to another curve: both the former and the new curves are rebuilt */
+            Optional<CurveKey> formerCurveKey = curvePointRepository.findById(curvePointDTOToUpdate.getId())
+                    .map(CurveKey::of);
             curvePointUpdated = curvePointRepository.save(modelMapper.map(curvePointDTOToUpdate, CurvePoint.class));
-            log.debug(LogConstants.UPDATE_CURVE_POINT_OK + curvePointUpdated.getId());
+            log.debug(LogConstants.UPDATE_CURVE_POINT_OK, curvePointUpdated.getId());
+            publishCurveChanged(formerCurveKey.isPresent()
+                    ? Arrays.asList(formerCurveKey.get(), CurveKey.of(curvePointUpdated))
+                    : Collections.singletonList(CurveKey.of(curvePointUpdated)));
 
         } catch (Exception exception) {
-            log.error(LogConstants.UPDATE_CURVE_POINT_ERROR + curvePointDTOToUpdate);
+            log.error(LogConstants.UPDATE_CURVE_POINT_ERROR, curvePointDTOToUpdate);
             throw exception;
         }
 
@@ -136,12 +214,13 @@ public class CurvePointService implements ICurvePointService {
      * @param id of the curvePoint to delete
      */
     @Override
+    @CacheEvict(allEntries = true)
     public void delete(Integer id) {
 
-        log.debug(LogConstants.DELETE_CURVE_POINT_CALL + id);
+        log.debug(LogConstants.DELETE_CURVE_POINT_CALL, id);
 
         if (id == null) {
-            log.error(LogConstants.DELETE_CURVE_POINT_ERROR + "id is null");
+            log.error(LogConstants.DELETE_CURVE_POINT_ERROR, "id is null");
             throw new IllegalArgumentException(CURVE_POINT_ID_NOT_VALID + "null");
         }
 
@@ -156,11 +235,67 @@ public class CurvePointService implements ICurvePointService {
         //Delete the curvePoint
         try {
             curvePointRepository.delete(curvePoint);
-            log.debug(LogConstants.DELETE_CURVE_POINT_OK + id);
+            log.debug(LogConstants.DELETE_CURVE_POINT_OK, id);
+            publishCurveChanged(Collections.singletonList(CurveKey.of(curvePoint)));
 
         } catch (Exception exception) {
-            log.error(LogConstants.DELETE_CURVE_POINT_ERROR + id);
+            log.error(LogConstants.DELETE_CURVE_POINT_ERROR, id);
             throw exception;
         }
     }
+
+
+    /**
+     * Import curvePoint from a CSV file, parsed and validated as a pipeline and inserted with JDBC batches
+     *
+     * @param inputStream content of the CSV file, with a header line naming the curvePoint fields
+     * @return the number of read, imported and rejected lines, with the reason of the first rejections
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(allEntries = true)
+    public ImportReportDTO importCsv(InputStream inputStream) throws IOException {
+        log.debug(LogConstants.IMPORT_CURVE_POINT_CALL);
+
+        LocalDateTime creationDate = DateUtil.getCurrentLocalDateTime();
+        Set<CurveKey> importedCurveKeys = new HashSet<>();
+
+        ImportReportDTO importReport = csvImporter.importCsv(inputStream, CurvePointDTO.class, chunk -> {
+            List<CurvePoint> curvePointListToCreate = new ArrayList<>(chunk.size());
+            chunk.forEach(curvePointDTO -> {
+                CurvePoint curvePointToCreate = modelMapper.map(curvePointDTO, CurvePoint.class);
+                curvePointToCreate.setId(null);
+                curvePointToCreate.setCreationDate(creationDate);
+                curvePointListToCreate.add(curvePointToCreate);
+            });
+
+            List<BulkResultDTO> chunkResultList = new ArrayList<>(chunk.size());
+            curvePointRepository.saveAll(curvePointListToCreate).forEach(curvePointCreated -> {
+                chunkResultList.add(BulkResultDTO.ok(curvePointCreated.getId()));
+                importedCurveKeys.add(CurveKey.of(curvePointCreated));
+            });
+            return chunkResultList;
+        });
+
+        /* the imported curves are rebuilt once, at the end of the import */
+        publishCurveChanged(importedCurveKeys);
+
+        log.debug(LogConstants.IMPORT_CURVE_POINT_OK,
+                importReport.getImportedLineCount(), importReport.getReadLineCount());
+        return importReport;
+    }
+
+
+    /**
+     * notify the curve engine that the points of some curves have changed,
+     * the curves are rebuilt once the current transaction is committed
+     *
+     * @param curveKeys the changed curves
+     */
+    private void publishCurveChanged(Collection<CurveKey> curveKeys) {
+        if (!curveKeys.isEmpty()) {
+            applicationEventPublisher.publishEvent(new CurveChangedEvent(curveKeys));
+        }
+    }
 }
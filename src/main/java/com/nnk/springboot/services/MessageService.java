@@ -0,0 +1,163 @@
+package com.nnk.springboot.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nnk.springboot.services.contracts.IMessageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.text.AttributedCharacterIterator;
+import java.text.Format;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * formats the messages shown in UI from the patterns of the MessageSource (messages.properties),
+ * in the locale of the current request.
+ * Each pattern is read and parsed once per locale, then kept as a compiled template:
+ * the messages with simple {n} placeholders are then formatted by appending their literal parts and values,
+ * without lock nor MessageFormat, so that concurrent requests do not contend
+ */
+@Service
+public class MessageService implements IMessageService {
+
+    private final MessageSource messageSource;
+
+    /* bounded, as the locale comes from the Accept-Language header of the request */
+    private final Cache<Locale, Map<String, MessageTemplate>> templatesByLocale;
+
+    @Autowired
+    public MessageService(MessageSource messageSource,
+                          @Value("${poseidon.messages.max-cached-locales:32}") int maxCachedLocales) {
+        this.messageSource = messageSource;
+        this.templatesByLocale = Caffeine.newBuilder().maximumSize(maxCachedLocales).build();
+    }
+
+    /**
+     * Generate the message to be shown in UI, in the locale of the current user
+     *
+     * @param patternCode pattern code of the message (with unique value)
+     * @param value       value to be integrated in the message
+     * @return the formatted message (String)
+     * @throws org.springframework.context.NoSuchMessageException if no message is defined for the pattern code
+     */
+    @Override
+    public String formatOutputMessage(String patternCode, String value) {
+        return getTemplate(patternCode, LocaleContextHolder.getLocale()).format(value);
+    }
+
+
+    private MessageTemplate getTemplate(String patternCode, Locale locale) {
+        Map<String, MessageTemplate> templates = templatesByLocale.getIfPresent(locale);
+        if (templates == null) {
+            templates = templatesByLocale.get(locale, newLocale -> new ConcurrentHashMap<>());
+        }
+
+        MessageTemplate template = templates.get(patternCode);
+        if (template == null) {
+            /* without arguments, the MessageSource returns the pattern as it is written in the messages file */
+            template = templates.computeIfAbsent(patternCode, code ->
+                    MessageTemplate.compile(messageSource.getMessage(code, null, locale), locale));
+        }
+        return template;
+    }
+
+
+    /**
+     * pattern of a message, parsed once:
+     * as literal parts and argument indexes when all its placeholders are simple {n} ones,
+     * otherwise as a MessageFormat, which is not thread-safe and so is used under lock
+     */
+    static final class MessageTemplate {
+
+        /* literal parts, with a null element in place of each argument */
+        private final String[] parts;
+
+        private final int[] argumentIndexes;
+
+        private final MessageFormat messageFormat;
+
+        private MessageTemplate(String[] parts, int[] argumentIndexes, MessageFormat messageFormat) {
+            this.parts = parts;
+            this.argumentIndexes = argumentIndexes;
+            this.messageFormat = messageFormat;
+        }
+
+        static MessageTemplate compile(String pattern, Locale locale) {
+            MessageFormat messageFormat = new MessageFormat(pattern, locale);
+            Format[] formats = messageFormat.getFormatsByArgumentIndex();
+            if (Arrays.stream(formats).anyMatch(format -> format != null)) {
+                return new MessageTemplate(null, null, messageFormat);
+            }
+
+            /* each argument is formatted as a non-empty marker, so that the iterator reports it as a separate run,
+             * and the literal parts come out with the quotes of the pattern already resolved */
+            Object[] markers = new Object[formats.length];
+            Arrays.fill(markers, "?");
+            AttributedCharacterIterator iterator = messageFormat.formatToCharacterIterator(markers);
+
+            List<String> parts = new ArrayList<>();
+            List<Integer> argumentIndexes = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            while (iterator.getIndex() < iterator.getEndIndex()) {
+                int runLimit = iterator.getRunLimit();
+                Integer argumentIndex = (Integer) iterator.getAttribute(MessageFormat.Field.ARGUMENT);
+                if (argumentIndex == null) {
+                    for (char c = iterator.current(); iterator.getIndex() < runLimit; c = iterator.next()) {
+                        literal.append(c);
+                    }
+                } else {
+                    if (literal.length() > 0) {
+                        parts.add(literal.toString());
+                        literal.setLength(0);
+                    }
+                    /* consecutive placeholders of the same argument come out as one run of markers */
+                    for (int i = iterator.getIndex(); i < runLimit; i++) {
+                        parts.add(null);
+                        argumentIndexes.add(argumentIndex);
+                    }
+                    iterator.setIndex(runLimit);
+                }
+            }
+            if (literal.length() > 0) {
+                parts.add(literal.toString());
+            }
+
+            return new MessageTemplate(parts.toArray(new String[0]),
+                    argumentIndexes.stream().mapToInt(Integer::intValue).toArray(), null);
+        }
+
+        String format(Object... arguments) {
+            if (messageFormat != null) {
+                synchronized (messageFormat) {
+                    return messageFormat.format(arguments);
+                }
+            }
+
+            StringBuilder message = new StringBuilder();
+            int argument = 0;
+            for (String part : parts) {
+                if (part != null) {
+                    message.append(part);
+                } else {
+                    int argumentIndex = argumentIndexes[argument++];
+                    /* as MessageFormat, a missing argument is shown as its placeholder */
+                    if (argumentIndex < arguments.length) {
+                        message.append(arguments[argumentIndex]);
+                    } else {
+                        message.append('{').append(argumentIndex).append('}');
+                    }
+                }
+            }
+            return message.toString();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.ServiceMetricsDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IMetricsService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.search.Search;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.nnk.springboot.constants.MetricsConstants.METHOD_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_ERROR;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_MAPPING_TIMER;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_QUERY_TIMER;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_ROWS_SUMMARY;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_TIMER;
+
+@Slf4j
+@Service
+public class MetricsService implements IMetricsService {
+
+    private static final double P95 = 0.95;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public MetricsService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Get the measures of the calls to each service method, from the meters of the ServiceMetricsAspect
+     *
+     * @return the measures of each service method, the ones with the longest total time first
+     */
+    @Override
+    public List<ServiceMetricsDTO> findServiceMetrics() {
+        log.debug(LogConstants.FIND_SERVICE_METRICS_CALL);
+
+        /* one timer per outcome and exception of each service method */
+        Map<String, ServiceMetricsDTO> serviceMetricsByMethod = new LinkedHashMap<>();
+        for (Timer timer : meterRegistry.find(SERVICE_TIMER).timers()) {
+            String service = timer.getId().getTag(SERVICE_TAG);
+            String method = timer.getId().getTag(METHOD_TAG);
+            ServiceMetricsDTO serviceMetricsDTO = serviceMetricsByMethod.computeIfAbsent(service + "." + method,
+                    key -> {
+                        ServiceMetricsDTO newServiceMetricsDTO = new ServiceMetricsDTO();
+                        newServiceMetricsDTO.setService(service);
+                        newServiceMetricsDTO.setMethod(method);
+                        return newServiceMetricsDTO;
+                    });
+
+            serviceMetricsDTO.setCount(serviceMetricsDTO.getCount() + timer.count());
+            serviceMetricsDTO.setTotalMillis(serviceMetricsDTO.getTotalMillis() + timer.totalTime(TimeUnit.MILLISECONDS));
+            serviceMetricsDTO.setMaxMillis(Math.max(serviceMetricsDTO.getMaxMillis(), timer.max(TimeUnit.MILLISECONDS)));
+            if (OUTCOME_ERROR.equals(timer.getId().getTag(OUTCOME_TAG))) {
+                serviceMetricsDTO.setErrorCount(serviceMetricsDTO.getErrorCount() + timer.count());
+            } else {
+                for (ValueAtPercentile valueAtPercentile : timer.takeSnapshot().percentileValues()) {
+                    if (valueAtPercentile.percentile() == P95) {
+                        serviceMetricsDTO.setP95Millis(valueAtPercentile.value(TimeUnit.MILLISECONDS));
+                    }
+                }
+            }
+        }
+
+        List<ServiceMetricsDTO> serviceMetricsDTOList = new ArrayList<>(serviceMetricsByMethod.values());
+        serviceMetricsDTOList.forEach(serviceMetricsDTO -> {
+            if (serviceMetricsDTO.getCount() > 0) {
+                serviceMetricsDTO.setMeanMillis(serviceMetricsDTO.getTotalMillis() / serviceMetricsDTO.getCount());
+            }
+
+            Timer queryTimer = findServiceMeter(SERVICE_QUERY_TIMER, serviceMetricsDTO).timer();
+            if (queryTimer != null) {
+                serviceMetricsDTO.setMeanQueryMillis(queryTimer.mean(TimeUnit.MILLISECONDS));
+            }
+            Timer mappingTimer = findServiceMeter(SERVICE_MAPPING_TIMER, serviceMetricsDTO).timer();
+            if (mappingTimer != null) {
+                serviceMetricsDTO.setMeanMappingMillis(mappingTimer.mean(TimeUnit.MILLISECONDS));
+            }
+            DistributionSummary rowsSummary = findServiceMeter(SERVICE_ROWS_SUMMARY, serviceMetricsDTO).summary();
+            if (rowsSummary != null && rowsSummary.count() > 0) {
+                serviceMetricsDTO.setMeanRows(rowsSummary.mean());
+            }
+        });
+        serviceMetricsDTOList.sort(Comparator.comparingDouble(ServiceMetricsDTO::getTotalMillis).reversed());
+
+        log.debug(LogConstants.FIND_SERVICE_METRICS_OK, serviceMetricsDTOList.size());
+        return serviceMetricsDTOList;
+    }
+
+
+    private Search findServiceMeter(String name, ServiceMetricsDTO serviceMetricsDTO) {
+        return meterRegistry.find(name)
+                .tag(SERVICE_TAG, serviceMetricsDTO.getService())
+                .tag(METHOD_TAG, serviceMetricsDTO.getMethod());
+    }
+}
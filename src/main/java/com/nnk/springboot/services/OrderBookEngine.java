@@ -0,0 +1,250 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.OrderBookDTO;
+import com.nnk.springboot.DTO.TopOfBookDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.services.contracts.IOrderBookEngine;
+import com.nnk.springboot.services.contracts.ITradeService;
+import com.nnk.springboot.services.orderbook.BidListChangedEvent;
+import com.nnk.springboot.services.orderbook.BidQuote;
+import com.nnk.springboot.services.orderbook.Fill;
+import com.nnk.springboot.services.orderbook.OrderBook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.BID_LIST_FILL_CONFLICT;
+
+/**
+ * keeps an order book per security in memory, each bidList placing its bid and its ask in the book of its security.
+ * The books are seeded from the bidList at startup, without matching, then each change committed by BidListService
+ * is placed in its book. A book is only changed within the compute of its entry in the map: a single writer
+ * per security, the books of different securities being changed in parallel.
+ * When matching is enabled, an incoming bid or ask crossing the other side is matched against it, and the fills
+ * are booked as a buy and a sell trade through TradeService, the filled quantities being taken off their bidList
+ */
+@Slf4j
+@Service
+public class OrderBookEngine implements IOrderBookEngine, SmartInitializingSingleton {
+
+    private final BidListRepository bidListRepository;
+
+    private final ITradeService tradeService;
+
+    /* the bidList are read in a transaction of their own, the listener running once the change has committed */
+    private final TransactionTemplate readTransactionTemplate;
+
+    /* the fills are booked in a transaction of their own, the change of the bidList being already committed */
+    private final TransactionTemplate writeTransactionTemplate;
+
+    private final boolean matching;
+
+    private final Map<String, OrderBook> orderBooks = new ConcurrentHashMap<>();
+
+    /* security of the book each bidList is placed in, to cancel it once deleted */
+    private final Map<Integer, String> bookedSecurities = new ConcurrentHashMap<>();
+
+    @Autowired
+    OrderBookEngine(BidListRepository bidListRepository, ITradeService tradeService,
+                    PlatformTransactionManager transactionManager,
+                    @Value("${poseidon.orderbook.matching:false}") boolean matching) {
+        this.bidListRepository = bidListRepository;
+        this.tradeService = tradeService;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransactionTemplate.setReadOnly(true);
+        this.writeTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.writeTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.matching = matching;
+    }
+
+    /**
+     * seed the books from all the bidList in id order, read from a database cursor with only the columns of the quotes.
+     * Nothing is matched: bids and asks already crossing stay in the books
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+
+        LongAdder bidListCount = new LongAdder();
+        readTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<BidQuote> bidQuoteStream = bidListRepository.streamAllQuotes()) {
+                bidQuoteStream.forEach(bidQuote -> {
+                    place(bidQuote, null);
+                    bidListCount.increment();
+                });
+            }
+        });
+        log.info(LogConstants.ORDER_BOOK_SEED_OK, bidListCount.sum(), System.currentTimeMillis() - start,
+                orderBooks.size());
+    }
+
+
+    /**
+     * Get the best bid and the best ask of each security
+     *
+     * @return the top of the books ordered by security
+     */
+    @Override
+    public List<TopOfBookDTO> findAllTopOfBook() {
+        return orderBooks.values().stream()
+                .map(OrderBook::getTopOfBook)
+                .sorted(Comparator.comparing(TopOfBookDTO::getSecurity))
+                .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Get the best bid and the best ask of a security
+     *
+     * @param security security
+     * @return the top of the book, empty if there is no bid nor ask for this security
+     */
+    @Override
+    public Optional<TopOfBookDTO> findTopOfBook(String security) {
+        return Optional.ofNullable(orderBooks.get(security)).map(OrderBook::getTopOfBook);
+    }
+
+
+    /**
+     * Get the best price levels of the bids and the asks of a security
+     *
+     * @param security security
+     * @param levels   maximum number of price levels per side
+     * @return the depth of the book, empty if there is no bid nor ask for this security
+     */
+    @Override
+    public Optional<OrderBookDTO> findDepth(String security, int levels) {
+        return Optional.ofNullable(orderBooks.get(security)).map(orderBook -> orderBook.getDepth(levels));
+    }
+
+
+    /**
+     * Place the bidList created, updated or deleted in their books, once the change is committed,
+     * then book the fills of the bids and asks matched
+     *
+     * @param bidListChangedEvent the changed bidList
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidListChanged(BidListChangedEvent bidListChangedEvent) {
+        log.debug(LogConstants.ORDER_BOOK_APPLY_CALL, bidListChangedEvent.getSavedBidQuotes().size(),
+                bidListChangedEvent.getUpdatedBidListIds().size(), bidListChangedEvent.getDeletedBidQuotes().size());
+
+        List<Fill> fills = matching ? new ArrayList<>() : null;
+        bidListChangedEvent.getSavedBidQuotes().forEach(bidQuote -> place(bidQuote, fills));
+
+        if (!bidListChangedEvent.getUpdatedBidListIds().isEmpty()) {
+            Set<Integer> missingBidListIds = new HashSet<>(bidListChangedEvent.getUpdatedBidListIds());
+            List<BidQuote> updatedBidQuotes = readTransactionTemplate.execute(status ->
+                    bidListRepository.findQuotesByBidListIdIn(bidListChangedEvent.getUpdatedBidListIds()));
+            Objects.requireNonNull(updatedBidQuotes).forEach(bidQuote -> {
+                missingBidListIds.remove(bidQuote.getBidListId());
+                place(bidQuote, fills);
+            });
+            /* deleted since they were updated */
+            missingBidListIds.forEach(this::cancel);
+        }
+
+        bidListChangedEvent.getDeletedBidQuotes().forEach(bidQuote -> cancel(bidQuote.getBidListId()));
+
+        if (fills != null && !fills.isEmpty()) {
+            bookFills(fills);
+        }
+    }
+
+
+    /**
+     * place the bid and the ask of a bidList in the book of its security, first cancelling them
+     * from the book of its former security if it has changed. An emptied book is removed
+     *
+     * @param bidQuote the bidList
+     * @param fills    where to add the fills, null to place without matching
+     */
+    private void place(BidQuote bidQuote, List<Fill> fills) {
+        if (bidQuote.getSecurity() == null) {
+            cancel(bidQuote.getBidListId());
+            return;
+        }
+
+        String formerSecurity = bookedSecurities.put(bidQuote.getBidListId(), bidQuote.getSecurity());
+        if (formerSecurity != null && !formerSecurity.equals(bidQuote.getSecurity())) {
+            cancel(formerSecurity, bidQuote.getBidListId());
+        }
+        orderBooks.compute(bidQuote.getSecurity(), (security, orderBook) -> {
+            OrderBook placedOrderBook = orderBook == null ? new OrderBook(security) : orderBook;
+            placedOrderBook.place(bidQuote, fills);
+            return placedOrderBook.isEmpty() ? null : placedOrderBook;
+        });
+    }
+
+
+    private void cancel(Integer bidListId) {
+        String security = bookedSecurities.remove(bidListId);
+        if (security != null) {
+            cancel(security, bidListId);
+        }
+    }
+
+
+    private void cancel(String security, Integer bidListId) {
+        orderBooks.computeIfPresent(security, (ignored, orderBook) -> {
+            orderBook.cancel(bidListId);
+            return orderBook.isEmpty() ? null : orderBook;
+        });
+    }
+
+
+    /**
+     * take the filled quantities off the bids and asks of their bidList and book the fills as trades.
+     * The books are already matched: if the fills cannot be booked, e.g. a bidList has been deleted or reduced
+     * since it was placed, nothing is booked, they are logged and the books stay ahead of the database
+     * until the bidList are changed again or the application restarts
+     */
+    private void bookFills(List<Fill> fills) {
+        try {
+            writeTransactionTemplate.executeWithoutResult(status -> {
+                fills.forEach(fill -> {
+                    checkReduced(bidListRepository.reduceBidQuantity(fill.getBuyBidListId(), fill.getQuantity()),
+                            fill.getBuyBidListId());
+                    checkReduced(bidListRepository.reduceAskQuantity(fill.getSellBidListId(), fill.getQuantity()),
+                            fill.getSellBidListId());
+                });
+                tradeService.createFromFills(fills);
+            });
+            log.info(LogConstants.ORDER_BOOK_FILLS_OK, fills.size());
+        } catch (DataAccessException dataAccessException) {
+            log.error(LogConstants.ORDER_BOOK_FILLS_ERROR, fills, dataAccessException);
+        }
+    }
+
+
+    /* a fill not taken off its bidList rolls back the fills booked with it */
+    private static void checkReduced(int updatedRowCount, Integer bidListId) {
+        if (updatedRowCount != 1) {
+            throw new OptimisticLockingFailureException(BID_LIST_FILL_CONFLICT + bidListId);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.constants.LogConstants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.PASSWORD_HASHING_BUSY;
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.PASSWORD_HASHING_INTERRUPTED;
+
+/**
+ * single password encoder of the application, used both at login and to store the user passwords.
+ * New passwords are hashed with BCrypt, prefixed with {bcrypt}, at a cost factor calibrated at startup;
+ * the former hashes without prefix are still matched as BCrypt hashes.
+ * Hashes are computed on a dedicated pool of threads so that concurrent logins do not take all the CPU:
+ * when too many hashes are pending, callers wait for a free slot, then get an IllegalStateException
+ */
+@Slf4j
+@Service
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final String BCRYPT_ID = "bcrypt";
+
+    private static final int MIN_STRENGTH = 10;
+
+    private static final int MAX_STRENGTH = 16;
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor hashingExecutor;
+
+    private final Semaphore hashingSlots;
+
+    private final long maxWaitMillis;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    @Autowired
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${poseidon.password.bcrypt.strength:0}") int strength,
+                                  @Value("${poseidon.password.bcrypt.target-duration-ms:250}") long targetMillis,
+                                  @Value("${poseidon.password.hashing-threads:0}") int hashingThreads,
+                                  @Value("${poseidon.password.max-pending-hashes:100}") int maxPendingHashes,
+                                  @Value("${poseidon.password.max-wait-ms:5000}") long maxWaitMillis) {
+
+        int bcryptStrength = strength > 0 ? strength : calibrateStrength(targetMillis);
+        BCryptPasswordEncoder bcryptPasswordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Collections.singletonMap(BCRYPT_ID, bcryptPasswordEncoder));
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcryptPasswordEncoder);
+        this.delegate = delegatingPasswordEncoder;
+
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        this.hashingExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("password-hashing-"));
+        this.hashingSlots = new Semaphore(threads + maxPendingHashes);
+        this.maxWaitMillis = maxWaitMillis;
+
+        this.encodeTimer = Timer.builder("poseidon.password.hashing")
+                .description("Duration of the password hashes, on the hashing threads")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("poseidon.password.hashing")
+                .description("Duration of the password hashes, on the hashing threads")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        Gauge.builder("poseidon.password.hashing.pending", hashingExecutor, executor -> executor.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("poseidon.password.bcrypt.strength", () -> bcryptStrength)
+                .description("BCrypt cost factor of the new password hashes")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+
+    /**
+     * hash a password only if it is not the stored one:
+     * the stored hash is kept when it is given back unchanged (e.g. by an update form)
+     * or when it matches the given password and does not need to be upgraded to the current cost factor
+     *
+     * @param rawPassword    password given by the user, or the stored hash given back
+     * @param storedPassword hash currently stored for the user, null for a new user
+     * @return the hash to store
+     */
+    public String encodeIfChanged(CharSequence rawPassword, String storedPassword) {
+        if (storedPassword != null
+                && (storedPassword.contentEquals(rawPassword)
+                || (!upgradeEncoding(storedPassword) && matches(rawPassword, storedPassword)))) {
+            return storedPassword;
+        }
+        return encode(rawPassword);
+    }
+
+
+    /**
+     * run a hash on the hashing threads and wait for its result,
+     * after waiting up to max-wait-ms for a free slot if too many hashes are pending
+     *
+     * @param hashing hash to compute
+     * @return the result of the hash
+     * @throws IllegalStateException if no slot was free in time, or if the thread is interrupted while waiting
+     */
+    <T> T hash(Callable<T> hashing) {
+        try {
+            if (!hashingSlots.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                log.warn(LogConstants.PASSWORD_HASHING_BUSY, hashingExecutor.getQueue().size());
+                throw new IllegalStateException(PASSWORD_HASHING_BUSY);
+            }
+            try {
+                return hashingExecutor.submit(hashing).get();
+            } finally {
+                hashingSlots.release();
+            }
+
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(PASSWORD_HASHING_INTERRUPTED, exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+
+    /**
+     * find the highest BCrypt cost factor keeping one hash under the target duration on this machine,
+     * each additional unit of cost doubling the duration of a hash
+     *
+     * @param targetMillis target duration of one hash
+     * @return the cost factor, between 10 (the BCrypt default) and 16
+     */
+    static int calibrateStrength(long targetMillis) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        /* the first hash warms the code up and is not measured */
+        probe.encode("calibration");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long measuredMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        int strength = MIN_STRENGTH;
+        long expectedMillis = measuredMillis;
+        while (strength < MAX_STRENGTH && expectedMillis * 2 <= targetMillis) {
+            strength++;
+            expectedMillis *= 2;
+        }
+        log.info(LogConstants.PASSWORD_HASHING_CALIBRATED, strength, targetMillis, measuredMillis, MIN_STRENGTH);
+        return strength;
+    }
+}
@@ -0,0 +1,330 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.PnlDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.contracts.ICurveEngine;
+import com.nnk.springboot.services.contracts.IPnlEngine;
+import com.nnk.springboot.services.curve.CurveChangedEvent;
+import com.nnk.springboot.services.curve.CurveKey;
+import com.nnk.springboot.services.curve.InterpolationMethod;
+import com.nnk.springboot.services.curve.YieldCurve;
+import com.nnk.springboot.services.pnl.Benchmark;
+import com.nnk.springboot.services.pnl.PnlBook;
+import com.nnk.springboot.services.pnl.PnlCalculator;
+import com.nnk.springboot.services.pnl.PricedTrade;
+import com.nnk.springboot.services.position.PositionKey;
+import com.nnk.springboot.services.position.TradeChangedEvent;
+import com.nnk.springboot.services.position.TradeLeg;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * computes the realised and unrealised P&amp;L of each account, book and security with a PnlCalculator.
+ * The whole book is computed on the first request, then the trades changed by TradeService and the curves
+ * changed by CurvePointService are recorded, and the next request recomputes only the positions
+ * they affect: the former and new positions of the changed trades, and the positions marked against
+ * the changed curves. The whole book is computed again when too many trades or positions are affected.
+ * Each trade is marked against the points of its benchmark curve with the latest as-of date.
+ * The P&amp;L are published as a new map after each computation, so the requests read them without lock
+ */
+@Slf4j
+@Service
+public class PnlEngine implements IPnlEngine {
+
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private static final Comparator<PnlDTO> PNL_ORDER = Comparator
+            .comparing(PnlDTO::getAccount, NULLS_FIRST)
+            .thenComparing(PnlDTO::getBook, NULLS_FIRST)
+            .thenComparing(PnlDTO::getSecurity, NULLS_FIRST);
+
+    private final TradeRepository tradeRepository;
+
+    private final CurvePointRepository curvePointRepository;
+
+    private final ICurveEngine curveEngine;
+
+    private final ForkJoinPool forkJoinPool;
+
+    private final PnlCalculator pnlCalculator;
+
+    private final int incrementalLimit;
+
+    /* changes committed since the last computation, recorded once the first computation has started */
+    private final Set<Integer> changedTradeIds = ConcurrentHashMap.newKeySet();
+
+    private final Set<Integer> changedCurveIds = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean recording;
+
+    /* set once the P&L of the first computation are published: until then the requests wait for it */
+    private volatile boolean computed;
+
+    private volatile Map<PositionKey, PnlDTO> pnls = Collections.emptyMap();
+
+    /* the fields below are only read and written while holding the compute lock */
+    private final Object computeLock = new Object();
+
+    private PnlBook fullBook;
+
+    /* position of the trades recomputed since the whole book was computed, ahead of fullBook */
+    private final Map<Integer, PositionKey> recomputedPositionKeys = new HashMap<>();
+
+    /* positions marked against each curve id: a position no longer marked against a curve is only recomputed once more */
+    private final Map<Integer, Set<PositionKey>> positionKeysByCurveId = new HashMap<>();
+
+    @Autowired
+    PnlEngine(TradeRepository tradeRepository, CurvePointRepository curvePointRepository, ICurveEngine curveEngine,
+              @Value("${poseidon.pnl.parallelism:0}") int parallelism,
+              @Value("${poseidon.pnl.leaf-size:4096}") int leafSize,
+              @Value("${poseidon.pnl.incremental-limit:1000}") int incrementalLimit) {
+        this.tradeRepository = tradeRepository;
+        this.curvePointRepository = curvePointRepository;
+        this.curveEngine = curveEngine;
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.pnlCalculator = new PnlCalculator(forkJoinPool, leafSize);
+        this.incrementalLimit = incrementalLimit;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forkJoinPool.shutdown();
+    }
+
+
+    /**
+     * Get the P&amp;L of an account and a book, recomputing first the positions affected by the changes
+     * committed since the last request
+     *
+     * @param account account, null for all the accounts
+     * @param book    book, null for all the books
+     * @return the P&amp;L ordered by account, book and security
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PnlDTO> findAll(String account, String book) {
+        if (!computed || !changedTradeIds.isEmpty() || !changedCurveIds.isEmpty()) {
+            synchronized (computeLock) {
+                if (!computed) {
+                    computeAll();
+                } else if (!changedTradeIds.isEmpty() || !changedCurveIds.isEmpty()) {
+                    recomputeChanged();
+                }
+            }
+        }
+
+        List<PnlDTO> pnlDTOList = pnls.values().stream()
+                .filter(pnlDTO -> account == null || account.equals(pnlDTO.getAccount()))
+                .filter(pnlDTO -> book == null || book.equals(pnlDTO.getBook()))
+                .sorted(PNL_ORDER)
+                .collect(Collectors.toList());
+        log.debug(LogConstants.FIND_PNL_ALL_OK, pnlDTOList.size());
+
+        return pnlDTOList;
+    }
+
+
+    /**
+     * Compute the P&amp;L of the whole book again, e.g. once the curve points have been imported
+     *
+     * @return the number of positions
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public int recomputeAll() {
+        synchronized (computeLock) {
+            computeAll();
+            return pnls.size();
+        }
+    }
+
+
+    /**
+     * Record the trades created, updated or deleted, once the change is committed
+     *
+     * @param tradeChangedEvent the changed trades
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeChanged(TradeChangedEvent tradeChangedEvent) {
+        if (recording) {
+            tradeChangedEvent.getSavedTradeLegs().stream().map(TradeLeg::getTradeId).forEach(changedTradeIds::add);
+            changedTradeIds.addAll(tradeChangedEvent.getUpdatedTradeIds());
+            changedTradeIds.addAll(tradeChangedEvent.getDeletedTradeIds());
+        }
+    }
+
+
+    /**
+     * Record the curves whose points have changed, once the change is committed and the curves rebuilt:
+     * a request recomputing the P&amp;L between the two would otherwise mark the positions against the old curves
+     *
+     * @param curveChangedEvent the changed curves
+     */
+    @Override
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurveChanged(CurveChangedEvent curveChangedEvent) {
+        if (recording) {
+            curveChangedEvent.getCurveKeys().stream().map(CurveKey::getCurveId).forEach(changedCurveIds::add);
+        }
+    }
+
+
+    /* the changes committed while the trades are read may be recorded, their positions being recomputed once more */
+    private void computeAll() {
+        long start = System.currentTimeMillis();
+        recording = true;
+        changedTradeIds.clear();
+        changedCurveIds.clear();
+
+        PnlBook pnlBook;
+        Map<Integer, Optional<LocalDateTime>> latestAsOfDates = new HashMap<>();
+        try (Stream<PricedTrade> pricedTradeStream = tradeRepository.streamAllPriced()) {
+            pnlBook = pnlCalculator.compute(pricedTradeStream, benchmark -> mark(benchmark, latestAsOfDates));
+        }
+
+        fullBook = pnlBook;
+        recomputedPositionKeys.clear();
+        positionKeysByCurveId.clear();
+        addPositionKeysByCurveId(pnlBook);
+
+        Map<PositionKey, PnlDTO> newPnls = new HashMap<>();
+        int tradeCount = 0;
+        for (int position = 0; position < pnlBook.size(); position++) {
+            newPnls.put(pnlBook.getPositionKey(position), toDTO(pnlBook, position));
+            tradeCount += pnlBook.getTradeCount(position);
+        }
+        pnls = newPnls;
+        computed = true;
+        log.info(LogConstants.PNL_COMPUTE_OK, tradeCount, System.currentTimeMillis() - start, newPnls.size());
+    }
+
+
+    private void recomputeChanged() {
+        long start = System.currentTimeMillis();
+        Set<Integer> tradeIds = drain(changedTradeIds);
+        Set<Integer> curveIds = drain(changedCurveIds);
+        if (tradeIds.size() > incrementalLimit) {
+            computeAll();
+            return;
+        }
+
+        Set<PositionKey> positionKeys = new HashSet<>();
+        tradeIds.forEach(tradeId -> {
+            PositionKey formerPositionKey = recomputedPositionKeys.containsKey(tradeId)
+                    ? recomputedPositionKeys.get(tradeId)
+                    : fullBook.findPositionKey(tradeId);
+            if (formerPositionKey != null) {
+                positionKeys.add(formerPositionKey);
+            }
+        });
+        if (!tradeIds.isEmpty()) {
+            tradeRepository.findPricedByTradeIdIn(tradeIds)
+                    .forEach(pricedTrade -> positionKeys.add(pricedTrade.getPositionKey()));
+        }
+        curveIds.forEach(curveId ->
+                positionKeys.addAll(positionKeysByCurveId.getOrDefault(curveId, Collections.emptySet())));
+        if (positionKeys.size() > incrementalLimit) {
+            computeAll();
+            return;
+        }
+
+        /* all the trades of the accounts are read, then only those of the affected positions are computed */
+        Set<String> accounts = positionKeys.stream().map(PositionKey::getAccount).collect(Collectors.toSet());
+        List<PricedTrade> pricedTrades = accounts.isEmpty()
+                ? Collections.emptyList()
+                : tradeRepository.findPricedByAccountIn(accounts);
+        Map<Integer, Optional<LocalDateTime>> latestAsOfDates = new HashMap<>();
+        PnlBook pnlBook = pnlCalculator.compute(
+                pricedTrades.stream().filter(pricedTrade -> positionKeys.contains(pricedTrade.getPositionKey())),
+                benchmark -> mark(benchmark, latestAsOfDates));
+
+        pnlBook.forEachTrade(recomputedPositionKeys::put);
+        addPositionKeysByCurveId(pnlBook);
+
+        Map<PositionKey, PnlDTO> newPnls = new HashMap<>(pnls);
+        positionKeys.forEach(newPnls::remove);
+        for (int position = 0; position < pnlBook.size(); position++) {
+            newPnls.put(pnlBook.getPositionKey(position), toDTO(pnlBook, position));
+        }
+        pnls = newPnls;
+        log.info(LogConstants.PNL_RECOMPUTE_OK, tradeIds.size(), curveIds.size(),
+                System.currentTimeMillis() - start, pnlBook.size());
+    }
+
+
+    /**
+     * mark a benchmark against the points of its curve with the latest as-of date
+     *
+     * @param benchmark       benchmark of a trade, curveId/term
+     * @param latestAsOfDates latest as-of date of each curve id, read once per computation
+     * @return the value of the curve for the term, NaN if the benchmark or the curve does not exist
+     */
+    private double mark(String benchmark, Map<Integer, Optional<LocalDateTime>> latestAsOfDates) {
+        Benchmark parsedBenchmark = Benchmark.parse(benchmark);
+        if (parsedBenchmark == null) {
+            log.debug(LogConstants.PNL_MARK_KO, benchmark);
+            return Double.NaN;
+        }
+
+        LocalDateTime asOfDate = latestAsOfDates.computeIfAbsent(parsedBenchmark.getCurveId(), curveId ->
+                Optional.ofNullable(curvePointRepository.findLatestAsOfDate(curveId))).orElse(null);
+        Optional<YieldCurve> yieldCurve = curveEngine.findCurve(parsedBenchmark.getCurveId(), asOfDate);
+        if (!yieldCurve.isPresent()) {
+            log.debug(LogConstants.PNL_MARK_KO, benchmark);
+            return Double.NaN;
+        }
+        return yieldCurve.get().valueAt(parsedBenchmark.getTerm(), InterpolationMethod.LINEAR);
+    }
+
+
+    private void addPositionKeysByCurveId(PnlBook pnlBook) {
+        pnlBook.getPositionKeysByCurveId().forEach((curveId, curvePositionKeys) ->
+                positionKeysByCurveId.computeIfAbsent(curveId, ignored -> new HashSet<>()).addAll(curvePositionKeys));
+    }
+
+
+    private static Set<Integer> drain(Set<Integer> changedIds) {
+        Set<Integer> drainedIds = new HashSet<>();
+        for (Iterator<Integer> iterator = changedIds.iterator(); iterator.hasNext(); ) {
+            drainedIds.add(iterator.next());
+            iterator.remove();
+        }
+        return drainedIds;
+    }
+
+
+    private PnlDTO toDTO(PnlBook pnlBook, int position) {
+        PositionKey positionKey = pnlBook.getPositionKey(position);
+        double realisedPnl = pnlBook.getRealisedPnl(position);
+        double unrealisedPnl = pnlBook.getUnrealisedPnl(position);
+        return new PnlDTO(positionKey.getAccount(), positionKey.getBook(), positionKey.getSecurity(),
+                pnlBook.getTradeCount(position), pnlBook.getOpenQuantity(position), realisedPnl, unrealisedPnl,
+                realisedPnl + unrealisedPnl, pnlBook.getUnmarkedQuantity(position));
+    }
+}
@@ -0,0 +1,191 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.PositionDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.contracts.IPositionEngine;
+import com.nnk.springboot.services.position.Position;
+import com.nnk.springboot.services.position.PositionKey;
+import com.nnk.springboot.services.position.TradeChangedEvent;
+import com.nnk.springboot.services.position.TradeLeg;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * keeps the position of each account, book and security in memory, one immutable Position per key.
+ * The positions are seeded from the trades at startup, before the web server accepts requests,
+ * then each change committed by TradeService is applied as a delta: the former leg of the trade is removed
+ * from its position and its new leg added, without reading the other trades.
+ * Concurrent changes of different keys never wait for each other, the map locking only the bin of the key
+ * being changed, and the queries read the positions without lock.
+ * A reader may briefly see an updated trade in both its former and its new position
+ */
+@Slf4j
+@Service
+public class PositionEngine implements IPositionEngine, SmartInitializingSingleton {
+
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private static final Comparator<PositionDTO> POSITION_ORDER = Comparator
+            .comparing(PositionDTO::getAccount, NULLS_FIRST)
+            .thenComparing(PositionDTO::getBook, NULLS_FIRST)
+            .thenComparing(PositionDTO::getSecurity, NULLS_FIRST);
+
+    private final TradeRepository tradeRepository;
+
+    /* the trades are read in a transaction of their own, the listener running once the change has committed */
+    private final TransactionTemplate readTransactionTemplate;
+
+    private final Map<PositionKey, Position> positions = new ConcurrentHashMap<>();
+
+    /* leg of each trade as applied to its position, removed from it when the trade is updated or deleted */
+    private final Map<Integer, TradeLeg> tradeLegs = new ConcurrentHashMap<>();
+
+    @Autowired
+    PositionEngine(TradeRepository tradeRepository, PlatformTransactionManager transactionManager) {
+        this.tradeRepository = tradeRepository;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * seed the positions from all the trades, read from a database cursor with only the columns of the legs
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+
+        LongAdder tradeCount = new LongAdder();
+        readTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TradeLeg> tradeLegStream = tradeRepository.streamAllLegs()) {
+                tradeLegStream.forEach(tradeLeg -> {
+                    apply(tradeLeg);
+                    tradeCount.increment();
+                });
+            }
+        });
+        log.info(LogConstants.POSITION_SEED_OK, tradeCount.sum(), System.currentTimeMillis() - start, positions.size());
+    }
+
+
+    /**
+     * Get the position of an account on a security within a book
+     *
+     * @param account  account
+     * @param book     book (may be null)
+     * @param security security (may be null)
+     * @return the position, empty if there is no trade for this account, book and security
+     */
+    @Override
+    public Optional<PositionDTO> findPosition(String account, String book, String security) {
+        return Optional.ofNullable(positions.get(new PositionKey(account, book, security))).map(this::toDTO);
+    }
+
+
+    /**
+     * Get the positions of an account and a book
+     *
+     * @param account account, null for all the accounts
+     * @param book    book, null for all the books
+     * @return the positions ordered by account, book and security
+     */
+    @Override
+    public List<PositionDTO> findPositions(String account, String book) {
+        List<PositionDTO> positionDTOList = positions.values().stream()
+                .filter(position -> account == null || account.equals(position.getPositionKey().getAccount()))
+                .filter(position -> book == null || book.equals(position.getPositionKey().getBook()))
+                .map(this::toDTO)
+                .sorted(POSITION_ORDER)
+                .collect(Collectors.toList());
+        log.debug(LogConstants.FIND_POSITION_ALL_OK, positionDTOList.size());
+
+        return positionDTOList;
+    }
+
+
+    /**
+     * Apply the trades created, updated or deleted to their positions, once the change is committed
+     *
+     * @param tradeChangedEvent the changed trades
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeChanged(TradeChangedEvent tradeChangedEvent) {
+        log.debug(LogConstants.POSITION_APPLY_CALL, tradeChangedEvent.getSavedTradeLegs().size(),
+                tradeChangedEvent.getUpdatedTradeIds().size(), tradeChangedEvent.getDeletedTradeIds().size());
+
+        tradeChangedEvent.getSavedTradeLegs().forEach(this::apply);
+
+        if (!tradeChangedEvent.getUpdatedTradeIds().isEmpty()) {
+            Set<Integer> missingTradeIds = new HashSet<>(tradeChangedEvent.getUpdatedTradeIds());
+            List<TradeLeg> updatedTradeLegs = readTransactionTemplate.execute(status ->
+                    tradeRepository.findLegsByTradeIdIn(tradeChangedEvent.getUpdatedTradeIds()));
+            Objects.requireNonNull(updatedTradeLegs).forEach(tradeLeg -> {
+                missingTradeIds.remove(tradeLeg.getTradeId());
+                apply(tradeLeg);
+            });
+            /* deleted since they were updated */
+            missingTradeIds.forEach(this::remove);
+        }
+
+        tradeChangedEvent.getDeletedTradeIds().forEach(this::remove);
+    }
+
+
+    /**
+     * add the leg of a trade to its position, then remove its former leg if any.
+     * The former leg is removed by the thread that replaced it, after it was added by the thread that set it,
+     * so that concurrent changes of a trade add and remove each leg exactly once
+     *
+     * @param tradeLeg new leg of the trade
+     */
+    private void apply(TradeLeg tradeLeg) {
+        Position position = positions.merge(tradeLeg.getPositionKey(), Position.of(tradeLeg),
+                (formerPosition, ignored) -> formerPosition.plus(tradeLeg));
+
+        /* the legs share the key instance of their position, not the strings read with each trade */
+        TradeLeg formerTradeLeg = tradeLegs.put(tradeLeg.getTradeId(),
+                tradeLeg.withPositionKey(position.getPositionKey()));
+        if (formerTradeLeg != null) {
+            positions.computeIfPresent(formerTradeLeg.getPositionKey(),
+                    (positionKey, formerPosition) -> formerPosition.minus(formerTradeLeg));
+        }
+    }
+
+
+    private void remove(Integer tradeId) {
+        TradeLeg formerTradeLeg = tradeLegs.remove(tradeId);
+        if (formerTradeLeg != null) {
+            positions.computeIfPresent(formerTradeLeg.getPositionKey(),
+                    (positionKey, formerPosition) -> formerPosition.minus(formerTradeLeg));
+        }
+    }
+
+
+    private PositionDTO toDTO(Position position) {
+        PositionKey positionKey = position.getPositionKey();
+        return new PositionDTO(positionKey.getAccount(), positionKey.getBook(), positionKey.getSecurity(),
+                position.getTradeCount(), position.getBuyQuantity(), position.getSellQuantity(),
+                position.getNetQuantity(), position.getAverageBuyPrice(), position.getAverageSellPrice(),
+                position.getAveragePrice());
+    }
+}
@@ -0,0 +1,136 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.HibernateStatisticsDTO;
+import com.nnk.springboot.DTO.QueryStatisticsDTO;
+import com.nnk.springboot.DTO.SlowQueryDTO;
+import com.nnk.springboot.config.persistence.QueryStatisticsCollector;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.services.contracts.IQueryStatisticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class QueryStatisticsService implements IQueryStatisticsService {
+
+    private final QueryStatisticsCollector queryStatisticsCollector;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public QueryStatisticsService(QueryStatisticsCollector queryStatisticsCollector,
+                                  EntityManagerFactory entityManagerFactory) {
+        this.queryStatisticsCollector = queryStatisticsCollector;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Get the statements with the longest total execution time,
+     * where the N+1 selects and the full scans show up as many or slow executions
+     *
+     * @param top maximum number of statements to return
+     * @return the measures of each statement, the ones with the longest total time first
+     */
+    @Override
+    public List<QueryStatisticsDTO> findTopQueries(int top) {
+        log.debug(LogConstants.FIND_QUERY_STATISTICS_CALL, top);
+
+        List<QueryStatisticsDTO> queryStatisticsDTOList = queryStatisticsCollector.getQueryStatistics().entrySet()
+                .stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, QueryStatisticsCollector.QueryStatistics> entry) ->
+                                entry.getValue().getTotalNanos()).reversed())
+                .limit(Math.max(top, 0))
+                .map(entry -> toQueryStatisticsDTO(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        log.debug(LogConstants.FIND_QUERY_STATISTICS_OK, queryStatisticsDTOList.size());
+
+        return queryStatisticsDTOList;
+    }
+
+
+    /**
+     * Get the last statements slower than the slow query threshold
+     *
+     * @return the slow queries, the most recent first
+     */
+    @Override
+    public List<SlowQueryDTO> findSlowQueries() {
+        log.debug(LogConstants.FIND_SLOW_QUERIES_CALL);
+
+        List<SlowQueryDTO> slowQueryDTOList = queryStatisticsCollector.getSlowQueries();
+        log.debug(LogConstants.FIND_SLOW_QUERIES_OK, slowQueryDTOList.size());
+
+        return slowQueryDTOList;
+    }
+
+
+    /**
+     * Get the counters of the Hibernate statistics
+     *
+     * @return the counters, all at 0 if the Hibernate statistics are not enabled
+     */
+    @Override
+    public HibernateStatisticsDTO findHibernateStatistics() {
+        log.debug(LogConstants.FIND_HIBERNATE_STATISTICS_CALL);
+
+        Statistics statistics = hibernateStatistics();
+        HibernateStatisticsDTO hibernateStatisticsDTO = new HibernateStatisticsDTO();
+        hibernateStatisticsDTO.setEnabled(statistics.isStatisticsEnabled());
+        hibernateStatisticsDTO.setSessionOpenCount(statistics.getSessionOpenCount());
+        hibernateStatisticsDTO.setTransactionCount(statistics.getTransactionCount());
+        hibernateStatisticsDTO.setPrepareStatementCount(statistics.getPrepareStatementCount());
+        hibernateStatisticsDTO.setQueryExecutionCount(statistics.getQueryExecutionCount());
+        hibernateStatisticsDTO.setQueryExecutionMaxMillis(statistics.getQueryExecutionMaxTime());
+        hibernateStatisticsDTO.setSlowestQuery(statistics.getQueryExecutionMaxTimeQueryString());
+        hibernateStatisticsDTO.setEntityLoadCount(statistics.getEntityLoadCount());
+        hibernateStatisticsDTO.setEntityFetchCount(statistics.getEntityFetchCount());
+        hibernateStatisticsDTO.setCollectionFetchCount(statistics.getCollectionFetchCount());
+        hibernateStatisticsDTO.setFlushCount(statistics.getFlushCount());
+
+        return hibernateStatisticsDTO;
+    }
+
+
+    /**
+     * Clear the statement statistics, the slow queries and the Hibernate statistics,
+     * e.g. to measure a deployment or a load test on its own
+     */
+    @Override
+    public void reset() {
+        log.debug(LogConstants.RESET_QUERY_STATISTICS_CALL);
+
+        queryStatisticsCollector.reset();
+        hibernateStatistics().clear();
+    }
+
+
+    private Statistics hibernateStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+
+    private QueryStatisticsDTO toQueryStatisticsDTO(String sql, QueryStatisticsCollector.QueryStatistics queryStatistics) {
+        QueryStatisticsDTO queryStatisticsDTO = new QueryStatisticsDTO();
+        queryStatisticsDTO.setSql(sql);
+        long executionCount = queryStatistics.getExecutionCount();
+        queryStatisticsDTO.setExecutionCount(executionCount);
+        queryStatisticsDTO.setErrorCount(queryStatistics.getErrorCount());
+        queryStatisticsDTO.setTotalMillis(queryStatistics.getTotalNanos() / 1e6);
+        queryStatisticsDTO.setMaxMillis(queryStatistics.getMaxNanos() / 1e6);
+        if (executionCount > 0) {
+            queryStatisticsDTO.setMeanMillis(queryStatisticsDTO.getTotalMillis() / executionCount);
+            queryStatisticsDTO.setMeanBindCount((double) queryStatistics.getBindCount() / executionCount);
+        }
+        return queryStatisticsDTO;
+    }
+}
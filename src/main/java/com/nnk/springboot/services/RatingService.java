@@ -1,6 +1,7 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.DTO.RatingDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.constants.LogConstants;
 import com.nnk.springboot.domain.Rating;
 import com.nnk.springboot.repositories.RatingRepository;
@@ -8,10 +9,15 @@ import com.nnk.springboot.services.contracts.IRatingService;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,12 +26,16 @@ import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RATING_ID
 @Slf4j
 @Service
 @Transactional
+@CacheConfig(cacheNames = CacheConstants.RATING_CACHE)
 public class RatingService implements IRatingService {
     private final RatingRepository ratingRepository;
 
+    private final ModelMapper modelMapper;
+
     @Autowired
-    RatingService(RatingRepository ratingRepository) {
+    RatingService(RatingRepository ratingRepository, ModelMapper modelMapper) {
         this.ratingRepository = ratingRepository;
+        this.modelMapper = modelMapper;
     }
 
     /**
@@ -35,19 +45,19 @@ public class RatingService implements IRatingService {
      * @return the created rating
      */
     @Override
+    @CacheEvict(allEntries = true)
     public Optional<RatingDTO> create(RatingDTO ratingDTOToCreate) {
 
-        log.debug(LogConstants.CREATE_RATING_CALL + ratingDTOToCreate.toString());
+        log.debug(LogConstants.CREATE_RATING_CALL, ratingDTOToCreate);
 
-        ModelMapper modelMapper = new ModelMapper();
         Rating ratingCreated;
 
         try {
             ratingCreated = ratingRepository.save(modelMapper.map(ratingDTOToCreate, Rating.class));
-            log.debug(LogConstants.CREATE_RATING_OK + ratingCreated.getId());
+            log.debug(LogConstants.CREATE_RATING_OK, ratingCreated.getId());
 
         } catch (Exception exception) {
-            log.error(LogConstants.CREATE_RATING_ERROR + ratingDTOToCreate);
+            log.error(LogConstants.CREATE_RATING_ERROR, ratingDTOToCreate);
             throw exception;
         }
 
@@ -56,25 +66,64 @@ public class RatingService implements IRatingService {
 
 
     /**
-     * Get all rating
+     * Get all rating, with only the columns shown in the list view
      *
      * @return the list of rating
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable
     public List<RatingDTO> findAll() {
         log.debug(LogConstants.FIND_RATING_ALL_CALL);
 
-        List<Rating> ratingList = ratingRepository.findAll();
-        List<RatingDTO> ratingDTOList = new ArrayList<>();
-        ModelMapper modelMapper = new ModelMapper();
-        ratingList.forEach(rating ->
-                ratingDTOList.add(modelMapper.map(rating, RatingDTO.class)));
+        List<RatingDTO> ratingDTOList = ratingRepository.findAllForList();
         log.debug(LogConstants.FIND_RATING_ALL_OK, ratingDTOList.size());
 
         return ratingDTOList;
     }
 
 
+    /**
+     * Get a page of rating, with only the columns shown in the list view
+     *
+     * @param pageable page number, page size and sort of the requested page
+     * @return the requested page of rating
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable
+    public Page<RatingDTO> findAll(Pageable pageable) {
+        log.debug(LogConstants.FIND_RATING_PAGE_CALL, pageable);
+
+        Page<RatingDTO> ratingDTOPage = ratingRepository.findAllForList(pageable);
+        log.debug(LogConstants.FIND_RATING_PAGE_OK, ratingDTOPage.getNumberOfElements());
+
+        return ratingDTOPage;
+    }
+
+
+    /**
+     * Get the rating following a given id, ordered by id (keyset scrolling):
+     * the previous rows are neither counted nor skipped by the database
+     *
+     * @param lastRatingId id of the last rating already retrieved (null to start from the beginning)
+     * @param size         maximum number of rating to retrieve
+     * @return the list of rating following the given id
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable
+    public List<RatingDTO> findAllAfter(Integer lastRatingId, int size) {
+        log.debug(LogConstants.FIND_RATING_AFTER_CALL, lastRatingId);
+
+        List<RatingDTO> ratingDTOList = ratingRepository.findAllForListAfter(
+                lastRatingId == null ? 0 : lastRatingId, PageRequest.of(0, size));
+        log.debug(LogConstants.FIND_RATING_AFTER_OK, ratingDTOList.size());
+
+        return ratingDTOList;
+    }
+
+
     /**
      * Get a rating by its id
      *
@@ -83,16 +132,16 @@ public class RatingService implements IRatingService {
      * @throws IllegalArgumentException if no rating found
      */
     @Override
+    @Transactional(readOnly = true)
     public RatingDTO findById(Integer id) {
         log.debug(LogConstants.FIND_RATING_BY_ID_CALL);
 
         Optional<Rating> rating = ratingRepository.findById(id);
 
         if (rating.isPresent()) {
-            ModelMapper modelMapper = new ModelMapper();
             RatingDTO ratingDTO = modelMapper.map(rating.get(), RatingDTO.class);
 
-            log.debug(LogConstants.FIND_RATING_BY_ID_OK + id + "\n");
+            log.debug(LogConstants.FIND_RATING_BY_ID_OK, id);
             return ratingDTO;
         } else {
             log.error(RATING_ID_NOT_VALID + id);
@@ -108,18 +157,18 @@ public class RatingService implements IRatingService {
      * @return the created rating
      */
     @Override
+    @CacheEvict(allEntries = true)
     public RatingDTO update(RatingDTO ratingDTOToUpdate) {
-        log.debug(LogConstants.UPDATE_RATING_CALL + ratingDTOToUpdate.toString());
+        log.debug(LogConstants.UPDATE_RATING_CALL, ratingDTOToUpdate);
 
-        ModelMapper modelMapper = new ModelMapper();
         Rating ratingUpdated;
 
         try {
             ratingUpdated = ratingRepository.save(modelMapper.map(ratingDTOToUpdate, Rating.class));
-            log.debug(LogConstants.UPDATE_RATING_OK + ratingUpdated.getId());
+            log.debug(LogConstants.UPDATE_RATING_OK, ratingUpdated.getId());
 
         } catch (Exception exception) {
-            log.error(LogConstants.UPDATE_RATING_ERROR + ratingDTOToUpdate);
+            log.error(LogConstants.UPDATE_RATING_ERROR, ratingDTOToUpdate);
             throw exception;
         }
 
@@ -133,12 +182,13 @@ public class RatingService implements IRatingService {
      * @param id of the rating to delete
      */
     @Override
+    @CacheEvict(allEntries = true)
     public void delete(Integer id) {
 
-        log.debug(LogConstants.DELETE_RATING_CALL + id);
+        log.debug(LogConstants.DELETE_RATING_CALL, id);
 
         if (id == null) {
-            log.error(LogConstants.DELETE_RATING_ERROR + "id is null");
+            log.error(LogConstants.DELETE_RATING_ERROR, "id is null");
             throw new IllegalArgumentException(RATING_ID_NOT_VALID + "null");
         }
 
@@ -153,10 +203,10 @@ public class RatingService implements IRatingService {
         //Delete the rating
         try {
             ratingRepository.delete(rating);
-            log.debug(LogConstants.DELETE_RATING_OK + id);
+            log.debug(LogConstants.DELETE_RATING_OK, id);
 
         } catch (Exception exception) {
-            log.error(LogConstants.DELETE_RATING_ERROR + id);
+            log.error(LogConstants.DELETE_RATING_ERROR, id);
             throw exception;
         }
     }
@@ -0,0 +1,419 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.RuleEvaluationDTO;
+import com.nnk.springboot.constants.LogConstants;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.contracts.IRuleEngine;
+import com.nnk.springboot.services.orderbook.BidListChangedEvent;
+import com.nnk.springboot.services.orderbook.BidQuote;
+import com.nnk.springboot.services.position.TradeChangedEvent;
+import com.nnk.springboot.services.position.TradeLeg;
+import com.nnk.springboot.services.rule.CompiledRule;
+import com.nnk.springboot.services.rule.RuleDefinition;
+import com.nnk.springboot.services.rule.RuleNameChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RULE_EVALUATION_FAILED;
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RULE_EVALUATION_INTERRUPTED;
+
+/**
+ * evaluates the ruleName against the trades and the bidList. The json and sqlPart of each ruleName are compiled
+ * at startup into predicates over the fields of the entities, then compiled again only when RuleNameService
+ * changes them: a ruleName updated with the same json and sqlPart keeps its compiled predicates.
+ * Each trade and bidList saved through their service is evaluated against all the active rules once committed,
+ * and the whole population can be evaluated in bulk, batch by batch, each batch in parallel.
+ * The rules are published as a new RuleSet after each change, so the evaluations read them without lock
+ */
+@Slf4j
+@Service
+public class RuleEngine implements IRuleEngine, SmartInitializingSingleton {
+
+    private final RuleNameRepository ruleNameRepository;
+
+    private final TradeRepository tradeRepository;
+
+    private final BidListRepository bidListRepository;
+
+    private final EntityManager entityManager;
+
+    /* the rows are read in a transaction of their own, the listeners running once the change has committed */
+    private final TransactionTemplate readTransactionTemplate;
+
+    private final ForkJoinPool forkJoinPool;
+
+    private final int batchSize;
+
+    private volatile RuleSet ruleSet = new RuleSet(new HashMap<>());
+
+    @Autowired
+    RuleEngine(RuleNameRepository ruleNameRepository, TradeRepository tradeRepository,
+               BidListRepository bidListRepository, EntityManager entityManager,
+               PlatformTransactionManager transactionManager,
+               @Value("${poseidon.rule.parallelism:0}") int parallelism,
+               @Value("${poseidon.rule.batch-size:8192}") int batchSize) {
+        this.ruleNameRepository = ruleNameRepository;
+        this.tradeRepository = tradeRepository;
+        this.bidListRepository = bidListRepository;
+        this.entityManager = entityManager;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransactionTemplate.setReadOnly(true);
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.batchSize = batchSize;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forkJoinPool.shutdown();
+    }
+
+    /**
+     * compile all the ruleName
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+
+        List<RuleName> ruleNames = readTransactionTemplate.execute(status -> ruleNameRepository.findAll());
+        Map<Integer, CompiledRule> compiledRules = new HashMap<>();
+        if (ruleNames != null) {
+            ruleNames.forEach(ruleName -> compiledRules.put(ruleName.getId(), compile(RuleDefinition.of(ruleName))));
+        }
+        synchronized (this) {
+            ruleSet = new RuleSet(compiledRules);
+        }
+        log.info(LogConstants.RULE_SEED_OK, compiledRules.size(), System.currentTimeMillis() - start,
+                ruleSet.getActiveRuleCount());
+    }
+
+
+    /**
+     * Get the active rules matched by a trade
+     *
+     * @param trade trade
+     * @return the ids of the matching ruleName
+     */
+    @Override
+    public List<Integer> evaluate(Trade trade) {
+        List<Integer> ruleNameIdList = new ArrayList<>();
+        for (CompiledRule compiledRule : ruleSet.tradeRules) {
+            if (compiledRule.getTradePredicate().test(trade)) {
+                ruleNameIdList.add(compiledRule.getRuleNameId());
+            }
+        }
+        return ruleNameIdList;
+    }
+
+
+    /**
+     * Get the active rules matched by a bidList
+     *
+     * @param bidList bidList
+     * @return the ids of the matching ruleName
+     */
+    @Override
+    public List<Integer> evaluate(BidList bidList) {
+        List<Integer> ruleNameIdList = new ArrayList<>();
+        for (CompiledRule compiledRule : ruleSet.bidListRules) {
+            if (compiledRule.getBidListPredicate().test(bidList)) {
+                ruleNameIdList.add(compiledRule.getRuleNameId());
+            }
+        }
+        return ruleNameIdList;
+    }
+
+
+    /**
+     * Get the state of each rule and the incoming trades and bidList it evaluated and matched since it was compiled
+     *
+     * @return the evaluations ordered by ruleName id
+     */
+    @Override
+    public List<RuleEvaluationDTO> findAllEvaluations() {
+        return ruleSet.compiledRules.stream()
+                .map(compiledRule -> toDTO(compiledRule, compiledRule.getEvaluatedTradeCount(),
+                        compiledRule.getMatchedTradeCount(), compiledRule.getEvaluatedBidListCount(),
+                        compiledRule.getMatchedBidListCount()))
+                .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Evaluate all the trades and bidList in DB against the active rules, read from a database cursor
+     * and evaluated in parallel batch by batch
+     *
+     * @return for each rule, the trades and bidList evaluated and matched, ordered by ruleName id
+     */
+    @Override
+    public List<RuleEvaluationDTO> evaluateAll() {
+        long start = System.currentTimeMillis();
+        RuleSet evaluatedRuleSet = ruleSet;
+
+        long[][] matchCounts = new long[2][];
+        readTransactionTemplate.executeWithoutResult(status -> {
+            matchCounts[0] = evaluateAll(evaluatedRuleSet.tradeRules, CompiledRule::getTradePredicate,
+                    tradeRepository::streamAll);
+            matchCounts[1] = evaluateAll(evaluatedRuleSet.bidListRules, CompiledRule::getBidListPredicate,
+                    bidListRepository::streamAll);
+        });
+
+        Map<Integer, long[]> tradeMatchCounts = byRuleNameId(evaluatedRuleSet.tradeRules, matchCounts[0]);
+        Map<Integer, long[]> bidListMatchCounts = byRuleNameId(evaluatedRuleSet.bidListRules, matchCounts[1]);
+        List<RuleEvaluationDTO> ruleEvaluationDTOList = evaluatedRuleSet.compiledRules.stream()
+                .map(compiledRule -> {
+                    long[] tradeCounts = tradeMatchCounts.getOrDefault(compiledRule.getRuleNameId(), new long[2]);
+                    long[] bidListCounts = bidListMatchCounts.getOrDefault(compiledRule.getRuleNameId(), new long[2]);
+                    return toDTO(compiledRule, tradeCounts[0], tradeCounts[1], bidListCounts[0], bidListCounts[1]);
+                })
+                .collect(Collectors.toList());
+        log.info(LogConstants.RULE_EVALUATE_ALL_OK, rowCount(matchCounts[0]), rowCount(matchCounts[1]),
+                evaluatedRuleSet.getActiveRuleCount(), System.currentTimeMillis() - start);
+
+        return ruleEvaluationDTOList;
+    }
+
+
+    /**
+     * Compile the ruleName created or updated and drop the deleted ones, once the change is committed.
+     * A ruleName whose json and sqlPart are unchanged is not compiled again
+     *
+     * @param ruleNameChangedEvent the changed ruleName
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRuleNameChanged(RuleNameChangedEvent ruleNameChangedEvent) {
+        synchronized (this) {
+            Map<Integer, CompiledRule> compiledRules = new HashMap<>(ruleSet.compiledRulesById);
+            ruleNameChangedEvent.getSavedRuleDefinitions().forEach(ruleDefinition -> {
+                CompiledRule formerCompiledRule = compiledRules.get(ruleDefinition.getRuleNameId());
+                if (formerCompiledRule != null && formerCompiledRule.getRuleDefinition().hasSamePredicate(ruleDefinition)) {
+                    log.debug(LogConstants.RULE_COMPILE_SKIPPED, ruleDefinition.getRuleNameId());
+                    compiledRules.put(ruleDefinition.getRuleNameId(), formerCompiledRule.withRuleDefinition(ruleDefinition));
+                } else {
+                    compiledRules.put(ruleDefinition.getRuleNameId(), compile(ruleDefinition));
+                }
+            });
+            ruleNameChangedEvent.getDeletedRuleNameIds().forEach(compiledRules::remove);
+            ruleSet = new RuleSet(compiledRules);
+        }
+    }
+
+
+    /**
+     * Evaluate the trades created or updated against the active rules, once the change is committed
+     *
+     * @param tradeChangedEvent the changed trades
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeChanged(TradeChangedEvent tradeChangedEvent) {
+        RuleSet evaluatedRuleSet = ruleSet;
+        if (evaluatedRuleSet.tradeRules.length == 0) {
+            return;
+        }
+        Set<Integer> tradeIds = new HashSet<>(tradeChangedEvent.getUpdatedTradeIds());
+        tradeChangedEvent.getSavedTradeLegs().stream().map(TradeLeg::getTradeId).forEach(tradeIds::add);
+        if (tradeIds.isEmpty()) {
+            return;
+        }
+
+        readTransactionTemplate.executeWithoutResult(status ->
+                tradeRepository.findAllById(tradeIds).forEach(trade -> {
+                    List<Integer> ruleNameIdList = new ArrayList<>();
+                    for (CompiledRule compiledRule : evaluatedRuleSet.tradeRules) {
+                        if (compiledRule.evaluate(trade)) {
+                            ruleNameIdList.add(compiledRule.getRuleNameId());
+                        }
+                    }
+                    if (!ruleNameIdList.isEmpty()) {
+                        log.debug(LogConstants.RULE_MATCH_OK, "Trade", trade.getTradeId(), ruleNameIdList);
+                    }
+                }));
+    }
+
+
+    /**
+     * Evaluate the bidList created or updated against the active rules, once the change is committed
+     *
+     * @param bidListChangedEvent the changed bidList
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidListChanged(BidListChangedEvent bidListChangedEvent) {
+        RuleSet evaluatedRuleSet = ruleSet;
+        if (evaluatedRuleSet.bidListRules.length == 0) {
+            return;
+        }
+        Set<Integer> bidListIds = new HashSet<>(bidListChangedEvent.getUpdatedBidListIds());
+        bidListChangedEvent.getSavedBidQuotes().stream().map(BidQuote::getBidListId).forEach(bidListIds::add);
+        if (bidListIds.isEmpty()) {
+            return;
+        }
+
+        readTransactionTemplate.executeWithoutResult(status ->
+                bidListRepository.findAllById(bidListIds).forEach(bidList -> {
+                    List<Integer> ruleNameIdList = new ArrayList<>();
+                    for (CompiledRule compiledRule : evaluatedRuleSet.bidListRules) {
+                        if (compiledRule.evaluate(bidList)) {
+                            ruleNameIdList.add(compiledRule.getRuleNameId());
+                        }
+                    }
+                    if (!ruleNameIdList.isEmpty()) {
+                        log.debug(LogConstants.RULE_MATCH_OK, "BidList", bidList.getBidListId(), ruleNameIdList);
+                    }
+                }));
+    }
+
+
+    private static CompiledRule compile(RuleDefinition ruleDefinition) {
+        CompiledRule compiledRule = CompiledRule.compile(ruleDefinition);
+        if (compiledRule.isActive()) {
+            log.debug(LogConstants.RULE_COMPILE_OK, ruleDefinition.getRuleNameId(), compiledRule.appliesToTrades(),
+                    compiledRule.appliesToBidLists());
+        } else {
+            log.debug(LogConstants.RULE_COMPILE_KO, ruleDefinition.getRuleNameId(), compiledRule.getError());
+        }
+        return compiledRule;
+    }
+
+
+    /**
+     * evaluate the rows of a cursor against the predicates of the rules, a batch at a time:
+     * each row is detached once read, then the batch is split across the threads of the pool
+     *
+     * @return the number of rows matched by each rule, then the number of rows
+     */
+    @SuppressWarnings("unchecked")
+    private <T> long[] evaluateAll(CompiledRule[] compiledRules, Function<CompiledRule, Predicate<T>> predicateOfRule,
+                                   Supplier<Stream<T>> rowStreamSupplier) {
+        Predicate<T>[] predicates = Stream.of(compiledRules).map(predicateOfRule).toArray(Predicate[]::new);
+        long[] counts = new long[predicates.length + 1];
+        if (predicates.length == 0) {
+            return counts;
+        }
+
+        List<T> batch = new ArrayList<>(batchSize);
+        try (Stream<T> rowStream = rowStreamSupplier.get()) {
+            for (Iterator<T> rowIterator = rowStream.iterator(); rowIterator.hasNext(); ) {
+                T row = rowIterator.next();
+                entityManager.detach(row);
+                batch.add(row);
+                if (batch.size() == batchSize || !rowIterator.hasNext()) {
+                    add(counts, evaluateBatch(batch, predicates));
+                    batch.clear();
+                }
+            }
+        }
+        return counts;
+    }
+
+    private <T> long[] evaluateBatch(List<T> batch, Predicate<T>[] predicates) {
+        int ruleCount = predicates.length;
+        try {
+            return forkJoinPool.submit(() -> batch.parallelStream().collect(() -> new long[ruleCount + 1],
+                    (counts, row) -> {
+                        for (int rule = 0; rule < ruleCount; rule++) {
+                            if (predicates[rule].test(row)) {
+                                counts[rule]++;
+                            }
+                        }
+                        counts[ruleCount]++;
+                    },
+                    RuleEngine::add)).get();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(RULE_EVALUATION_INTERRUPTED, interruptedException);
+        } catch (ExecutionException executionException) {
+            throw new IllegalStateException(RULE_EVALUATION_FAILED, executionException.getCause());
+        }
+    }
+
+    private static void add(long[] counts, long[] addedCounts) {
+        for (int index = 0; index < counts.length; index++) {
+            counts[index] += addedCounts[index];
+        }
+    }
+
+    private static long rowCount(long[] counts) {
+        return counts[counts.length - 1];
+    }
+
+    /* rows evaluated and matched by each rule */
+    private static Map<Integer, long[]> byRuleNameId(CompiledRule[] compiledRules, long[] counts) {
+        Map<Integer, long[]> countsByRuleNameId = new HashMap<>();
+        for (int rule = 0; rule < compiledRules.length; rule++) {
+            countsByRuleNameId.put(compiledRules[rule].getRuleNameId(), new long[]{rowCount(counts), counts[rule]});
+        }
+        return countsByRuleNameId;
+    }
+
+
+    private static RuleEvaluationDTO toDTO(CompiledRule compiledRule, long evaluatedTradeCount, long matchedTradeCount,
+                                           long evaluatedBidListCount, long matchedBidListCount) {
+        RuleDefinition ruleDefinition = compiledRule.getRuleDefinition();
+        return new RuleEvaluationDTO(ruleDefinition.getRuleNameId(), ruleDefinition.getName(),
+                compiledRule.isActive(), compiledRule.getError(), compiledRule.appliesToTrades(),
+                compiledRule.appliesToBidLists(), evaluatedTradeCount, matchedTradeCount, evaluatedBidListCount,
+                matchedBidListCount);
+    }
+
+
+    /**
+     * the compiled rules at a point in time, with the active ones applying to each entity in arrays
+     */
+    private static final class RuleSet {
+
+        private final Map<Integer, CompiledRule> compiledRulesById;
+
+        private final List<CompiledRule> compiledRules;
+
+        private final CompiledRule[] tradeRules;
+
+        private final CompiledRule[] bidListRules;
+
+        private RuleSet(Map<Integer, CompiledRule> compiledRulesById) {
+            this.compiledRulesById = compiledRulesById;
+            this.compiledRules = compiledRulesById.values().stream()
+                    .sorted(Comparator.comparing(CompiledRule::getRuleNameId))
+                    .collect(Collectors.toList());
+            this.tradeRules = compiledRules.stream().filter(CompiledRule::appliesToTrades).toArray(CompiledRule[]::new);
+            this.bidListRules = compiledRules.stream().filter(CompiledRule::appliesToBidLists)
+                    .toArray(CompiledRule[]::new);
+        }
+
+        private long getActiveRuleCount() {
+            return compiledRules.stream().filter(CompiledRule::isActive).count();
+        }
+    }
+}
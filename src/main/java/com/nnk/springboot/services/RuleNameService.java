@@ -1,17 +1,26 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.DTO.RuleNameDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.constants.LogConstants;
 import com.nnk.springboot.domain.RuleName;
 import com.nnk.springboot.repositories.RuleNameRepository;
 import com.nnk.springboot.services.contracts.IRuleNameService;
+import com.nnk.springboot.services.rule.RuleDefinition;
+import com.nnk.springboot.services.rule.RuleNameChangedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,12 +29,20 @@ import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RULE_NAME
 @Slf4j
 @Service
 @Transactional
+@CacheConfig(cacheNames = CacheConstants.RULE_NAME_CACHE)
 public class RuleNameService implements IRuleNameService {
     private final RuleNameRepository ruleNameRepository;
 
+    private final ModelMapper modelMapper;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     @Autowired
-    RuleNameService(RuleNameRepository ruleNameRepository) {
+    RuleNameService(RuleNameRepository ruleNameRepository, ModelMapper modelMapper,
+                    ApplicationEventPublisher applicationEventPublisher) {
         this.ruleNameRepository = ruleNameRepository;
+        this.modelMapper = modelMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -35,19 +52,20 @@ public class RuleNameService implements IRuleNameService {
      * @return the created ruleName
      */
     @Override
+    @CacheEvict(allEntries = true)
     public Optional<RuleNameDTO> create(RuleNameDTO ruleNameDTOToCreate) {
 
-        log.debug(LogConstants.CREATE_RULE_NAME_CALL + ruleNameDTOToCreate.toString());
+        log.debug(LogConstants.CREATE_RULE_NAME_CALL, ruleNameDTOToCreate);
 
-        ModelMapper modelMapper = new ModelMapper();
         RuleName ruleNameCreated;
 
         try {
             ruleNameCreated = ruleNameRepository.save(modelMapper.map(ruleNameDTOToCreate, RuleName.class));
-            log.debug(LogConstants.CREATE_RULE_NAME_OK + ruleNameCreated.getId());
+            log.debug(LogConstants.CREATE_RULE_NAME_OK, ruleNameCreated.getId());
+            applicationEventPublisher.publishEvent(RuleNameChangedEvent.saved(RuleDefinition.of(ruleNameCreated)));
 
         } catch (Exception exception) {
-            log.error(LogConstants.CREATE_RULE_NAME_ERROR + ruleNameDTOToCreate);
+            log.error(LogConstants.CREATE_RULE_NAME_ERROR, ruleNameDTOToCreate);
             throw exception;
         }
 
@@ -56,25 +74,64 @@ public class RuleNameService implements IRuleNameService {
 
 
     /**
-     * Get all ruleName
+     * Get all ruleName, with only the columns shown in the list view
      *
      * @return the list of ruleName
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable
     public List<RuleNameDTO> findAll() {
         log.debug(LogConstants.FIND_RULE_NAME_ALL_CALL);
 
-        List<RuleName> ruleNameList = ruleNameRepository.findAll();
-        List<RuleNameDTO> ruleNameDTOList = new ArrayList<>();
-        ModelMapper modelMapper = new ModelMapper();
-        ruleNameList.forEach(ruleName ->
-                ruleNameDTOList.add(modelMapper.map(ruleName, RuleNameDTO.class)));
+        List<RuleNameDTO> ruleNameDTOList = ruleNameRepository.findAllForList();
         log.debug(LogConstants.FIND_RULE_NAME_ALL_OK, ruleNameDTOList.size());
 
         return ruleNameDTOList;
     }
 
 
+    /**
+     * Get a page of ruleName, with only the columns shown in the list view
+     *
+     * @param pageable page number, page size and sort of the requested page
+     * @return the requested page of ruleName
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable
+    public Page<RuleNameDTO> findAll(Pageable pageable) {
+        log.debug(LogConstants.FIND_RULE_NAME_PAGE_CALL, pageable);
+
+        Page<RuleNameDTO> ruleNameDTOPage = ruleNameRepository.findAllForList(pageable);
+        log.debug(LogConstants.FIND_RULE_NAME_PAGE_OK, ruleNameDTOPage.getNumberOfElements());
+
+        return ruleNameDTOPage;
+    }
+
+
+    /**
+     * Get the ruleName following a given id, ordered by id (keyset scrolling):
+     * the previous rows are neither counted nor skipped by the database
+     *
+     * @param lastRuleNameId id of the last ruleName already retrieved (null to start from the beginning)
+     * @param size           maximum number of ruleName to retrieve
+     * @return the list of ruleName following the given id
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable
+    public List<RuleNameDTO> findAllAfter(Integer lastRuleNameId, int size) {
+        log.debug(LogConstants.FIND_RULE_NAME_AFTER_CALL, lastRuleNameId);
+
+        List<RuleNameDTO> ruleNameDTOList = ruleNameRepository.findAllForListAfter(
+                lastRuleNameId == null ? 0 : lastRuleNameId, PageRequest.of(0, size));
+        log.debug(LogConstants.FIND_RULE_NAME_AFTER_OK, ruleNameDTOList.size());
+
+        return ruleNameDTOList;
+    }
+
+
     /**
      * Get a ruleName by its id
      *
@@ -83,16 +140,16 @@ public class RuleNameService implements IRuleNameService {
      * @throws IllegalArgumentException if no ruleName found
      */
     @Override
+    @Transactional(readOnly = true)
     public RuleNameDTO findById(Integer id) {
         log.debug(LogConstants.FIND_RULE_NAME_BY_ID_CALL);
 
         Optional<RuleName> ruleName = ruleNameRepository.findById(id);
 
         if (ruleName.isPresent()) {
-            ModelMapper modelMapper = new ModelMapper();
             RuleNameDTO ruleNameDTO = modelMapper.map(ruleName.get(), RuleNameDTO.class);
 
-            log.debug(LogConstants.FIND_RULE_NAME_BY_ID_OK + id + "\n");
+            log.debug(LogConstants.FIND_RULE_NAME_BY_ID_OK, id);
             return ruleNameDTO;
         } else {
             log.error(RULE_NAME_ID_NOT_VALID + id);
@@ -108,18 +165,19 @@ public class RuleNameService implements IRuleNameService {
      * @return the created ruleName
      */
     @Override
+    @CacheEvict(allEntries = true)
     public RuleNameDTO update(RuleNameDTO ruleNameDTOToUpdate) {
-        log.debug(LogConstants.UPDATE_RULE_NAME_CALL + ruleNameDTOToUpdate.toString());
+        log.debug(LogConstants.UPDATE_RULE_NAME_CALL, ruleNameDTOToUpdate);
 
-        ModelMapper modelMapper = new ModelMapper();
         RuleName ruleNameUpdated;
 
         try {
             ruleNameUpdated = ruleNameRepository.save(modelMapper.map(ruleNameDTOToUpdate, RuleName.class));
-            log.debug(LogConstants.UPDATE_RULE_NAME_OK + ruleNameUpdated.getId());
+            log.debug(LogConstants.UPDATE_RULE_NAME_OK, ruleNameUpdated.getId());
+            applicationEventPublisher.publishEvent(RuleNameChangedEvent.saved(RuleDefinition.of(ruleNameUpdated)));
 
         } catch (Exception exception) {
-            log.error(LogConstants.UPDATE_RULE_NAME_ERROR + ruleNameDTOToUpdate);
+            log.error(LogConstants.UPDATE_RULE_NAME_ERROR, ruleNameDTOToUpdate);
             throw exception;
         }
 
@@ -133,12 +191,13 @@ public class RuleNameService implements IRuleNameService {
      * @param id of the ruleName to delete
      */
     @Override
+    @CacheEvict(allEntries = true)
     public void delete(Integer id) {
 
-        log.debug(LogConstants.DELETE_RULE_NAME_CALL + id);
+        log.debug(LogConstants.DELETE_RULE_NAME_CALL, id);
 
         if (id == null) {
-            log.error(LogConstants.DELETE_RULE_NAME_ERROR + "id is null");
+            log.error(LogConstants.DELETE_RULE_NAME_ERROR, "id is null");
             throw new IllegalArgumentException(RULE_NAME_ID_NOT_VALID + "null");
         }
 
@@ -153,10 +212,11 @@ public class RuleNameService implements IRuleNameService {
         //Delete the ruleName
         try {
             ruleNameRepository.delete(ruleName);
-            log.debug(LogConstants.DELETE_RULE_NAME_OK + id);
+            log.debug(LogConstants.DELETE_RULE_NAME_OK, id);
+            applicationEventPublisher.publishEvent(RuleNameChangedEvent.deleted(id));
 
         } catch (Exception exception) {
-            log.error(LogConstants.DELETE_RULE_NAME_ERROR + id);
+            log.error(LogConstants.DELETE_RULE_NAME_ERROR, id);
             throw exception;
         }
     }
@@ -0,0 +1,82 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nnk.springboot.constants.ExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * writes a stream of entities to an output stream, row by row, as CSV or NDJSON.
+ * Each entity is detached once written so that neither the persistence context
+ * nor the heap grow with the size of the exported table
+ */
+@Component
+public class StreamingExporter {
+
+    private final ObjectMapper objectMapper;
+
+    private final CsvMapper csvMapper;
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public StreamingExporter(ObjectMapper objectMapper, EntityManager entityManager) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        /* CSV columns in the order of the entity fields, i.e. of the table columns */
+        this.csvMapper = new CsvMapper();
+        this.csvMapper.disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY);
+        this.csvMapper.registerModule(new JavaTimeModule());
+        this.csvMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * export the rows in the requested format, the output stream is flushed but left open
+     *
+     * @param rows         rows to export, read from an open cursor
+     * @param rowType      class of the rows, used for the CSV header
+     * @param format       export format
+     * @param outputStream where to write the rows
+     * @return the number of exported rows
+     * @throws IOException if the rows cannot be written
+     */
+    public <T> long export(Stream<T> rows, Class<T> rowType, ExportFormat format,
+                           OutputStream outputStream) throws IOException {
+
+        ObjectWriter objectWriter = (format == ExportFormat.CSV
+                ? csvMapper.writer(csvMapper.schemaFor(rowType).withHeader())
+                : objectMapper.writerFor(rowType).withRootValueSeparator("\n"))
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long exportedRows = 0;
+        try (SequenceWriter sequenceWriter = objectWriter.writeValues(outputStream)) {
+            Iterator<T> rowIterator = rows.iterator();
+            while (rowIterator.hasNext()) {
+                T row = rowIterator.next();
+                sequenceWriter.write(row);
+                entityManager.detach(row);
+                exportedRows++;
+            }
+        }
+
+        if (format == ExportFormat.NDJSON && exportedRows > 0) {
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+
+        return exportedRows;
+    }
+}
@@ -1,34 +1,82 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
 import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.constants.ExportFormat;
 import com.nnk.springboot.constants.LogConstants;
 import com.nnk.springboot.domain.Trade;
 import com.nnk.springboot.repositories.TradeRepository;
 import com.nnk.springboot.services.contracts.ITradeService;
+import com.nnk.springboot.services.orderbook.Fill;
+import com.nnk.springboot.services.position.TradeChangedEvent;
+import com.nnk.springboot.services.position.TradeLeg;
 import com.nnk.springboot.utils.DateUtil;
 import com.nnk.springboot.utils.UserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static com.nnk.springboot.constants.PoseidonExceptionsConstants.TRADE_ID_NOT_VALID;
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.TRADE_VERSION_CONFLICT;
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.TRADE_VERSION_REQUIRED;
 
 @Slf4j
 @Service
 @Transactional
 public class TradeService implements ITradeService {
 
+    /* type and sides of the trades created by the matching of the order books */
+    private static final String MATCHED_TRADE_TYPE = "MATCH";
+
+    private static final String MATCHED_BUY_SIDE = "BUY";
+
+    private static final String MATCHED_SELL_SIDE = "SELL";
+
     private final TradeRepository tradeRepository;
 
+    private final ModelMapper modelMapper;
+
+    private final BulkOperationExecutor bulkOperationExecutor;
+
+    private final StreamingExporter streamingExporter;
+
+    private final CsvImporter csvImporter;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     @Autowired
-    TradeService(TradeRepository tradeRepository) {
+    TradeService(TradeRepository tradeRepository, ModelMapper modelMapper,
+                 BulkOperationExecutor bulkOperationExecutor, StreamingExporter streamingExporter,
+                 CsvImporter csvImporter, ApplicationEventPublisher applicationEventPublisher) {
         this.tradeRepository = tradeRepository;
+        this.modelMapper = modelMapper;
+        this.bulkOperationExecutor = bulkOperationExecutor;
+        this.streamingExporter = streamingExporter;
+        this.csvImporter = csvImporter;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -40,9 +88,8 @@ public class TradeService implements ITradeService {
     @Override
     public Optional<TradeDTO> create(TradeDTO tradeDTOToCreate) {
 
-        log.debug(LogConstants.CREATE_TRADE_CALL + tradeDTOToCreate.toString());
+        log.debug(LogConstants.CREATE_TRADE_CALL, tradeDTOToCreate);
 
-        ModelMapper modelMapper = new ModelMapper();
         Trade tradeCreated;
 
         try {
@@ -50,10 +97,11 @@ public class TradeService implements ITradeService {
             tradeToCreate.setCreationDate(DateUtil.getCurrentLocalDateTime());
             tradeToCreate.setCreationName(UserUtil.getCurrentUser());
             tradeCreated = tradeRepository.save(tradeToCreate);
-            log.debug(LogConstants.CREATE_TRADE_OK + tradeCreated.getTradeId());
+            log.debug(LogConstants.CREATE_TRADE_OK, tradeCreated.getTradeId());
+            publishTradeChanged(TradeChangedEvent.saved(Collections.singletonList(TradeLeg.of(tradeCreated))));
 
         } catch (Exception exception) {
-            log.error(LogConstants.CREATE_TRADE_ERROR + tradeDTOToCreate);
+            log.error(LogConstants.CREATE_TRADE_ERROR, tradeDTOToCreate);
             throw exception;
         }
 
@@ -62,25 +110,61 @@ public class TradeService implements ITradeService {
 
 
     /**
-     * Get all trade
+     * Get all trade, with only the columns shown in the list view
      *
      * @return the list of trade
      */
     @Override
+    @Transactional(readOnly = true)
     public List<TradeDTO> findAll() {
         log.debug(LogConstants.FIND_TRADE_ALL_CALL);
 
-        List<Trade> tradeList = tradeRepository.findAll();
-        List<TradeDTO> tradeDTOList = new ArrayList<>();
-        ModelMapper modelMapper = new ModelMapper();
-        tradeList.forEach(trade ->
-                tradeDTOList.add(modelMapper.map(trade, TradeDTO.class)));
+        List<TradeDTO> tradeDTOList = tradeRepository.findAllForList();
         log.debug(LogConstants.FIND_TRADE_ALL_OK, tradeDTOList.size());
 
         return tradeDTOList;
     }
 
 
+    /**
+     * Get a page of trade, with only the columns shown in the list view
+     *
+     * @param pageable page number, page size and sort of the requested page
+     * @return the requested page of trade
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TradeDTO> findAll(Pageable pageable) {
+        log.debug(LogConstants.FIND_TRADE_PAGE_CALL, pageable);
+
+        Page<TradeDTO> tradeDTOPage = tradeRepository.findAllForList(pageable);
+        log.debug(LogConstants.FIND_TRADE_PAGE_OK, tradeDTOPage.getNumberOfElements());
+
+        return tradeDTOPage;
+    }
+
+
+    /**
+     * Get the trade following a given id, ordered by id (keyset scrolling):
+     * the previous rows are neither counted nor skipped by the database
+     *
+     * @param lastTradeId id of the last trade already retrieved (null to start from the beginning)
+     * @param size        maximum number of trade to retrieve
+     * @return the list of trade following the given id
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TradeDTO> findAllAfter(Integer lastTradeId, int size) {
+        log.debug(LogConstants.FIND_TRADE_AFTER_CALL, lastTradeId);
+
+        List<TradeDTO> tradeDTOList = tradeRepository.findAllForListAfter(
+                lastTradeId == null ? 0 : lastTradeId, PageRequest.of(0, size));
+        log.debug(LogConstants.FIND_TRADE_AFTER_OK, tradeDTOList.size());
+
+        return tradeDTOList;
+    }
+
+
     /**
      * Get a bitList by its id
      *
@@ -89,16 +173,16 @@ public class TradeService implements ITradeService {
      * @throws IllegalArgumentException if no trade found
      */
     @Override
+    @Transactional(readOnly = true)
     public TradeDTO findById(Integer id) {
         log.debug(LogConstants.FIND_TRADE_BY_ID_CALL);
 
         Optional<Trade> trade = tradeRepository.findById(id);
 
         if (trade.isPresent()) {
-            ModelMapper modelMapper = new ModelMapper();
             TradeDTO tradeDTO = modelMapper.map(trade.get(), TradeDTO.class);
 
-            log.debug(LogConstants.FIND_TRADE_BY_ID_OK + id + "\n");
+            log.debug(LogConstants.FIND_TRADE_BY_ID_OK, id);
             return tradeDTO;
         } else {
             log.error(TRADE_ID_NOT_VALID + id);
@@ -108,31 +192,55 @@ public class TradeService implements ITradeService {
 
 
     /**
-     * Update a trade
+     * Update the account, type and quantity of a trade with a single statement, the other columns being left as is.
+     * The update is rejected if the trade has been modified since the version held by the DTO was read
      *
-     * @param tradeDTOToUpdate a trade to update
-     * @return the created trade
+     * @param tradeDTOToUpdate a trade to update, with the version it was read with
+     * @return the updated trade, with its new revision date and version
+     * @throws IllegalArgumentException          if no trade found or no version sent
+     * @throws OptimisticLockingFailureException if the trade has been modified since it was read
      */
     @Override
     public TradeDTO update(TradeDTO tradeDTOToUpdate) {
-        log.debug(LogConstants.UPDATE_TRADE_CALL + tradeDTOToUpdate.toString());
+        log.debug(LogConstants.UPDATE_TRADE_CALL, tradeDTOToUpdate);
 
-        ModelMapper modelMapper = new ModelMapper();
-        Trade tradeUpdated;
+        Integer id = tradeDTOToUpdate.getTradeId();
+        if (id == null) {
+            log.error(LogConstants.UPDATE_TRADE_ERROR, tradeDTOToUpdate);
+            throw new IllegalArgumentException(TRADE_ID_NOT_VALID + "null");
+        }
+        if (tradeDTOToUpdate.getVersion() == null) {
+            log.error(TRADE_VERSION_REQUIRED + id);
+            throw new IllegalArgumentException(TRADE_VERSION_REQUIRED + id);
+        }
 
+        LocalDateTime revisionDate = DateUtil.getCurrentLocalDateTime();
+        int updatedRowCount;
         try {
-            Trade tradeToUpdate = modelMapper.map(tradeDTOToUpdate, Trade.class);
-            tradeToUpdate.setRevisionDate(DateUtil.getCurrentLocalDateTime());
-            tradeToUpdate.setRevisionName(UserUtil.getCurrentUser());
-            tradeUpdated = tradeRepository.save(tradeToUpdate);
-            log.debug(LogConstants.UPDATE_TRADE_OK + tradeUpdated.getTradeId());
+            updatedRowCount = tradeRepository.updateIfVersionMatches(id, tradeDTOToUpdate.getVersion(),
+                    tradeDTOToUpdate.getAccount(), tradeDTOToUpdate.getType(), tradeDTOToUpdate.getBuyQuantity(),
+                    revisionDate, UserUtil.getCurrentUser());
 
         } catch (Exception exception) {
-            log.error(LogConstants.UPDATE_TRADE_ERROR + tradeDTOToUpdate);
+            log.error(LogConstants.UPDATE_TRADE_ERROR, tradeDTOToUpdate);
             throw exception;
         }
 
-        return modelMapper.map(tradeUpdated, TradeDTO.class);
+        /* the row is read only when nothing was updated, to tell an unknown id from a concurrent update */
+        if (updatedRowCount == 0) {
+            if (tradeRepository.existsById(id)) {
+                log.error(TRADE_VERSION_CONFLICT + id);
+                throw new OptimisticLockingFailureException(TRADE_VERSION_CONFLICT + id);
+            }
+            log.error(TRADE_ID_NOT_VALID + id);
+            throw new IllegalArgumentException(TRADE_ID_NOT_VALID + id);
+        }
+        log.debug(LogConstants.UPDATE_TRADE_OK, id);
+        publishTradeChanged(TradeChangedEvent.updated(Collections.singletonList(id)));
+
+        tradeDTOToUpdate.setRevisionDate(revisionDate);
+        tradeDTOToUpdate.setVersion(tradeDTOToUpdate.getVersion() + 1);
+        return tradeDTOToUpdate;
     }
 
 
@@ -144,10 +252,10 @@ public class TradeService implements ITradeService {
     @Override
     public void delete(Integer id) {
 
-        log.debug(LogConstants.DELETE_TRADE_CALL + id);
+        log.debug(LogConstants.DELETE_TRADE_CALL, id);
 
         if (id == null) {
-            log.error(LogConstants.DELETE_TRADE_ERROR + "id is null");
+            log.error(LogConstants.DELETE_TRADE_ERROR, "id is null");
             throw new IllegalArgumentException(TRADE_ID_NOT_VALID + "null");
         }
 
@@ -162,11 +270,277 @@ public class TradeService implements ITradeService {
         //Delete the trade
         try {
             tradeRepository.delete(trade);
-            log.debug(LogConstants.DELETE_TRADE_OK + id);
+            log.debug(LogConstants.DELETE_TRADE_OK, id);
+            publishTradeChanged(TradeChangedEvent.deleted(Collections.singletonList(id)));
 
         } catch (Exception exception) {
-            log.error(LogConstants.DELETE_TRADE_ERROR + id);
+            log.error(LogConstants.DELETE_TRADE_ERROR, id);
             throw exception;
         }
     }
+
+
+    /**
+     * Create a list of trade, chunk by chunk, each chunk being inserted with JDBC batches
+     *
+     * @param tradeDTOListToCreate the trade to create
+     * @return the outcome of the creation of each trade, in the same order
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkResultDTO> createAll(List<TradeDTO> tradeDTOListToCreate) {
+        log.debug(LogConstants.CREATE_ALL_TRADE_CALL, tradeDTOListToCreate.size());
+
+        LocalDateTime creationDate = DateUtil.getCurrentLocalDateTime();
+        String creationName = UserUtil.getCurrentUser();
+
+        List<BulkResultDTO> bulkResultList = bulkOperationExecutor.execute(tradeDTOListToCreate,
+                TradeDTO::getTradeId,
+                bulkOperationExecutor::checkConstraints,
+                chunk -> createChunk(chunk, creationDate, creationName));
+
+        log.debug(LogConstants.CREATE_ALL_TRADE_OK,
+                bulkResultList.stream().filter(BulkResultDTO::isSuccess).count(), tradeDTOListToCreate.size());
+        return bulkResultList;
+    }
+
+
+    /**
+     * Update a list of trade, chunk by chunk: the trade of a chunk are loaded with one query
+     * and their updates are flushed with JDBC batches
+     *
+     * @param tradeDTOListToUpdate the trade to update
+     * @return the outcome of the update of each trade, in the same order
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkResultDTO> updateAll(List<TradeDTO> tradeDTOListToUpdate) {
+        log.debug(LogConstants.UPDATE_ALL_TRADE_CALL, tradeDTOListToUpdate.size());
+
+        LocalDateTime revisionDate = DateUtil.getCurrentLocalDateTime();
+        String revisionName = UserUtil.getCurrentUser();
+
+        List<BulkResultDTO> bulkResultList = bulkOperationExecutor.execute(tradeDTOListToUpdate,
+                TradeDTO::getTradeId,
+                this::checkUpdate,
+                chunk -> {
+                    List<Integer> tradeIdList = new ArrayList<>(chunk.size());
+                    chunk.forEach(tradeDTO -> tradeIdList.add(tradeDTO.getTradeId()));
+                    Map<Integer, Trade> tradeInDbById = new HashMap<>();
+                    tradeRepository.findAllById(tradeIdList).forEach(trade -> tradeInDbById.put(trade.getTradeId(), trade));
+
+                    List<BulkResultDTO> chunkResultList = new ArrayList<>(chunk.size());
+                    List<TradeLeg> tradeLegList = new ArrayList<>(chunk.size());
+                    chunk.forEach(tradeDTO -> {
+                        Trade tradeToUpdate = tradeInDbById.get(tradeDTO.getTradeId());
+                        if (tradeToUpdate == null) {
+                            chunkResultList.add(BulkResultDTO.ko(tradeDTO.getTradeId(), TRADE_ID_NOT_VALID + tradeDTO.getTradeId()));
+                        } else if (!tradeDTO.getVersion().equals(tradeToUpdate.getVersion())) {
+                            chunkResultList.add(BulkResultDTO.ko(tradeDTO.getTradeId(), TRADE_VERSION_CONFLICT + tradeDTO.getTradeId()));
+                        } else {
+                            modelMapper.map(tradeDTO, tradeToUpdate);
+                            tradeToUpdate.setRevisionDate(revisionDate);
+                            tradeToUpdate.setRevisionName(revisionName);
+                            tradeLegList.add(TradeLeg.of(tradeToUpdate));
+                            chunkResultList.add(BulkResultDTO.ok(tradeDTO.getTradeId()));
+                        }
+                    });
+                    publishTradeChanged(TradeChangedEvent.saved(tradeLegList));
+                    return chunkResultList;
+                });
+
+        log.debug(LogConstants.UPDATE_ALL_TRADE_OK,
+                bulkResultList.stream().filter(BulkResultDTO::isSuccess).count(), tradeDTOListToUpdate.size());
+        return bulkResultList;
+    }
+
+
+    /* an update needs the id of the trade and the version it was read with, on top of the constraints of a trade */
+    private String checkUpdate(TradeDTO tradeDTO) {
+        if (tradeDTO != null && tradeDTO.getTradeId() == null) {
+            return TRADE_ID_NOT_VALID + "null";
+        }
+        if (tradeDTO != null && tradeDTO.getVersion() == null) {
+            return TRADE_VERSION_REQUIRED + tradeDTO.getTradeId();
+        }
+        return bulkOperationExecutor.checkConstraints(tradeDTO);
+    }
+
+
+    /**
+     * Delete a list of trade, chunk by chunk, each chunk being deleted with one statement
+     *
+     * @param tradeIdListToDelete ids of the trade to delete
+     * @return the outcome of the deletion of each trade, in the same order
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkResultDTO> deleteAll(List<Integer> tradeIdListToDelete) {
+        log.debug(LogConstants.DELETE_ALL_TRADE_CALL, tradeIdListToDelete.size());
+
+        List<BulkResultDTO> bulkResultList = bulkOperationExecutor.execute(tradeIdListToDelete,
+                tradeId -> tradeId,
+                tradeId -> tradeId == null ? TRADE_ID_NOT_VALID + "null" : null,
+                chunk -> {
+                    List<Trade> tradeListToDelete = tradeRepository.findAllById(chunk);
+                    Set<Integer> tradeIdInDbSet = new HashSet<>();
+                    tradeListToDelete.forEach(trade -> tradeIdInDbSet.add(trade.getTradeId()));
+                    tradeRepository.deleteAllInBatch(tradeListToDelete);
+                    publishTradeChanged(TradeChangedEvent.deleted(tradeIdInDbSet));
+
+                    List<BulkResultDTO> chunkResultList = new ArrayList<>(chunk.size());
+                    chunk.forEach(tradeId -> chunkResultList.add(tradeIdInDbSet.contains(tradeId)
+                            ? BulkResultDTO.ok(tradeId)
+                            : BulkResultDTO.ko(tradeId, TRADE_ID_NOT_VALID + tradeId)));
+                    return chunkResultList;
+                });
+
+        log.debug(LogConstants.DELETE_ALL_TRADE_OK,
+                bulkResultList.stream().filter(BulkResultDTO::isSuccess).count(), tradeIdListToDelete.size());
+        return bulkResultList;
+    }
+
+
+    /**
+     * Export all the trade to an output stream, without loading the whole table:
+     * the trade are read from a database cursor and written one by one
+     *
+     * @param format       export format
+     * @param outputStream where to write the trade
+     * @return the number of exported trade
+     * @throws IOException if the trade cannot be written
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.debug(LogConstants.EXPORT_TRADE_CALL, format);
+
+        long exportedTradeCount;
+        try (Stream<Trade> tradeStream = tradeRepository.streamAll()) {
+            exportedTradeCount = streamingExporter.export(tradeStream, Trade.class, format, outputStream);
+        }
+        log.debug(LogConstants.EXPORT_TRADE_OK, exportedTradeCount);
+
+        return exportedTradeCount;
+    }
+
+
+    /**
+     * Import trade from a CSV file, parsed and validated as a pipeline and inserted with JDBC batches
+     *
+     * @param inputStream content of the CSV file, with a header line naming the trade fields
+     * @return the number of read, imported and rejected lines, with the reason of the first rejections
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportReportDTO importCsv(InputStream inputStream) throws IOException {
+        log.debug(LogConstants.IMPORT_TRADE_CALL);
+
+        LocalDateTime creationDate = DateUtil.getCurrentLocalDateTime();
+        String creationName = UserUtil.getCurrentUser();
+
+        ImportReportDTO importReport = csvImporter.importCsv(inputStream, TradeDTO.class,
+                chunk -> createChunk(chunk, creationDate, creationName));
+
+        log.debug(LogConstants.IMPORT_TRADE_OK, importReport.getImportedLineCount(), importReport.getReadLineCount());
+        return importReport;
+    }
+
+
+    /**
+     * Create the trades of bids and asks matched by the order books: a buy for the account of the bid
+     * and a sell for the account of the ask, each referring to its bidList as source
+     *
+     * @param fills the matched quantities
+     * @return the ids of the created trades, a buy then a sell per fill
+     */
+    @Override
+    public List<Integer> createFromFills(List<Fill> fills) {
+        log.debug(LogConstants.CREATE_TRADE_FROM_FILLS_CALL, fills.size());
+
+        LocalDateTime tradeDate = DateUtil.getCurrentLocalDateTime();
+        String creationName = UserUtil.getCurrentUser();
+        List<Trade> tradeListToCreate = new ArrayList<>(fills.size() * 2);
+        fills.forEach(fill -> {
+            Trade buy = newMatchedTrade(fill, fill.getBuyAccount(), fill.getBuyBidListId(), tradeDate, creationName);
+            buy.setBuyQuantity(fill.getQuantity());
+            buy.setBuyPrice(fill.getPrice());
+            buy.setSide(MATCHED_BUY_SIDE);
+            tradeListToCreate.add(buy);
+
+            Trade sell = newMatchedTrade(fill, fill.getSellAccount(), fill.getSellBidListId(), tradeDate, creationName);
+            sell.setSellQuantity(fill.getQuantity());
+            sell.setSellPrice(fill.getPrice());
+            sell.setSide(MATCHED_SELL_SIDE);
+            tradeListToCreate.add(sell);
+        });
+
+        List<Integer> tradeIdList = new ArrayList<>(tradeListToCreate.size());
+        List<TradeLeg> tradeLegList = new ArrayList<>(tradeListToCreate.size());
+        tradeRepository.saveAll(tradeListToCreate).forEach(tradeCreated -> {
+            tradeLegList.add(TradeLeg.of(tradeCreated));
+            tradeIdList.add(tradeCreated.getTradeId());
+        });
+        publishTradeChanged(TradeChangedEvent.saved(tradeLegList));
+        log.debug(LogConstants.CREATE_TRADE_FROM_FILLS_OK, tradeIdList.size());
+
+        return tradeIdList;
+    }
+
+
+    /**
+     * insert a chunk of trade, within the transaction of the caller
+     *
+     * @param chunk        the trade to create
+     * @param creationDate creation date of the trade
+     * @param creationName creation name of the trade
+     * @return the outcome of the creation of each trade, in the same order
+     */
+    private List<BulkResultDTO> createChunk(List<TradeDTO> chunk, LocalDateTime creationDate, String creationName) {
+        List<Trade> tradeListToCreate = new ArrayList<>(chunk.size());
+        chunk.forEach(tradeDTO -> {
+            Trade tradeToCreate = modelMapper.map(tradeDTO, Trade.class);
+            tradeToCreate.setTradeId(null);
+            tradeToCreate.setCreationDate(creationDate);
+            tradeToCreate.setCreationName(creationName);
+            tradeListToCreate.add(tradeToCreate);
+        });
+
+        List<BulkResultDTO> chunkResultList = new ArrayList<>(chunk.size());
+        List<TradeLeg> tradeLegList = new ArrayList<>(chunk.size());
+        tradeRepository.saveAll(tradeListToCreate).forEach(tradeCreated -> {
+            tradeLegList.add(TradeLeg.of(tradeCreated));
+            chunkResultList.add(BulkResultDTO.ok(tradeCreated.getTradeId()));
+        });
+        publishTradeChanged(TradeChangedEvent.saved(tradeLegList));
+        return chunkResultList;
+    }
+
+
+    private static Trade newMatchedTrade(Fill fill, String account, int bidListId, LocalDateTime tradeDate,
+                                         String creationName) {
+        Trade trade = new Trade();
+        trade.setAccount(account);
+        trade.setType(MATCHED_TRADE_TYPE);
+        trade.setSecurity(fill.getSecurity());
+        trade.setTradeDate(tradeDate);
+        trade.setSourceListId(String.valueOf(bidListId));
+        trade.setCreationDate(tradeDate);
+        trade.setCreationName(creationName);
+        return trade;
+    }
+
+
+    /**
+     * publish the trades changed by the current transaction: the positions are updated once it has committed,
+     * each chunk of a bulk operation being applied as soon as its own transaction has committed
+     *
+     * @param tradeChangedEvent the changed trades
+     */
+    private void publishTradeChanged(TradeChangedEvent tradeChangedEvent) {
+        if (!tradeChangedEvent.isEmpty()) {
+            applicationEventPublisher.publishEvent(tradeChangedEvent);
+        }
+    }
 }
@@ -1,14 +1,18 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.constants.LogConstants;
 import com.nnk.springboot.constants.PoseidonExceptionsConstants;
+import com.nnk.springboot.domain.User;
 import com.nnk.springboot.repositories.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Poseidon customisation of UserDetailsService to authenticate user in Poseidon database
@@ -25,18 +29,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     }
 
     /**
-     * load user data from his username
+     * load user data from his username, served from the user details cache
+     * (keyed on the lower-case username) once the user has been loaded
      *
      * @param username declare by user to access to the application
      * @return UserDetails filled with found user data information
      * @throws UsernameNotFoundException if no user found for this username
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConstants.USER_DETAILS_CACHE,
+            key = "T(com.nnk.springboot.domain.User).normalizeUsername(#username)", condition = "#username != null")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
-        log.info(LogConstants.USER_LOAD_CALL + username);
+        log.debug(LogConstants.USER_LOAD_CALL, username);
 
-        return userRepository.findByUsernameIgnoreCase(username)
+        return userRepository.findByUsernameLower(User.normalizeUsername(username))
                 .orElseThrow(() -> {
                     log.error(PoseidonExceptionsConstants.DOES_NOT_EXISTS_USER + " for: " + username);
                     return new UsernameNotFoundException(PoseidonExceptionsConstants.DOES_NOT_EXISTS_USER);
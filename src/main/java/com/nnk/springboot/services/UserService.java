@@ -1,6 +1,7 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.DTO.UserDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.constants.LogConstants;
 import com.nnk.springboot.constants.PoseidonExceptionsConstants;
 import com.nnk.springboot.domain.User;
@@ -9,11 +10,13 @@ import com.nnk.springboot.services.contracts.IUserService;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,9 +29,16 @@ public class UserService implements IUserService {
 
     private final UserRepository userRepository;
 
+    private final ModelMapper modelMapper;
+
+    private final PasswordHashingService passwordHashingService;
+
     @Autowired
-    UserService(UserRepository userRepository) {
+    UserService(UserRepository userRepository, ModelMapper modelMapper,
+                PasswordHashingService passwordHashingService) {
         this.userRepository = userRepository;
+        this.modelMapper = modelMapper;
+        this.passwordHashingService = passwordHashingService;
     }
 
     /**
@@ -40,27 +50,25 @@ public class UserService implements IUserService {
     @Override
     public Optional<UserDTO> create(UserDTO userDTOToCreate) throws Exception {
 
-        log.debug(LogConstants.CREATE_USER_CALL + userDTOToCreate.toString());
+        log.debug(LogConstants.CREATE_USER_CALL, userDTOToCreate);
 
-        if (userRepository.findByUsernameIgnoreCase(userDTOToCreate.getUsername()).isPresent()) {
+        if (userRepository.findByUsernameLower(User.normalizeUsername(userDTOToCreate.getUsername())).isPresent()) {
             log.error(PoseidonExceptionsConstants.ALREADY_EXISTS_USER + " for: " + userDTOToCreate.getUsername());
             throw new Exception(PoseidonExceptionsConstants.ALREADY_EXISTS_USER);
         }
 
-        ModelMapper modelMapper = new ModelMapper();
         User userCreated;
 
         try {
             User userToCreate = modelMapper.map(userDTOToCreate, User.class);
 
-            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-            userToCreate.setPassword(encoder.encode(userToCreate.getPassword()));
+            userToCreate.setPassword(passwordHashingService.encode(userToCreate.getPassword()));
 
             userCreated = userRepository.save(userToCreate);
-            log.debug(LogConstants.CREATE_USER_OK + userCreated.getId());
+            log.debug(LogConstants.CREATE_USER_OK, userCreated.getId());
 
         } catch (Exception exception) {
-            log.error(LogConstants.CREATE_USER_ERROR + userDTOToCreate);
+            log.error(LogConstants.CREATE_USER_ERROR, userDTOToCreate);
             throw exception;
         }
 
@@ -69,25 +77,61 @@ public class UserService implements IUserService {
 
 
     /**
-     * Get all user
+     * Get all user, with only the columns shown in the list view
      *
      * @return the list of user
      */
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> findAll() {
         log.debug(LogConstants.FIND_USER_ALL_CALL);
 
-        List<User> userList = userRepository.findAll();
-        List<UserDTO> userDTOList = new ArrayList<>();
-        ModelMapper modelMapper = new ModelMapper();
-        userList.forEach(user ->
-                userDTOList.add(modelMapper.map(user, UserDTO.class)));
+        List<UserDTO> userDTOList = userRepository.findAllForList();
         log.debug(LogConstants.FIND_USER_ALL_OK, userDTOList.size());
 
         return userDTOList;
     }
 
 
+    /**
+     * Get a page of user, with only the columns shown in the list view
+     *
+     * @param pageable page number, page size and sort of the requested page
+     * @return the requested page of user
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserDTO> findAll(Pageable pageable) {
+        log.debug(LogConstants.FIND_USER_PAGE_CALL, pageable);
+
+        Page<UserDTO> userDTOPage = userRepository.findAllForList(pageable);
+        log.debug(LogConstants.FIND_USER_PAGE_OK, userDTOPage.getNumberOfElements());
+
+        return userDTOPage;
+    }
+
+
+    /**
+     * Get the user following a given id, ordered by id (keyset scrolling):
+     * the previous rows are neither counted nor skipped by the database
+     *
+     * @param lastUserId id of the last user already retrieved (null to start from the beginning)
+     * @param size       maximum number of user to retrieve
+     * @return the list of user following the given id
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDTO> findAllAfter(Integer lastUserId, int size) {
+        log.debug(LogConstants.FIND_USER_AFTER_CALL, lastUserId);
+
+        List<UserDTO> userDTOList = userRepository.findAllForListAfter(
+                lastUserId == null ? 0 : lastUserId, PageRequest.of(0, size));
+        log.debug(LogConstants.FIND_USER_AFTER_OK, userDTOList.size());
+
+        return userDTOList;
+    }
+
+
     /**
      * Get a bitList by its id
      *
@@ -96,16 +140,16 @@ public class UserService implements IUserService {
      * @throws IllegalArgumentException if no user found
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDTO findById(Integer id) {
         log.debug(LogConstants.FIND_USER_BY_ID_CALL);
 
         Optional<User> user = userRepository.findById(id);
 
         if (user.isPresent()) {
-            ModelMapper modelMapper = new ModelMapper();
             UserDTO userDTO = modelMapper.map(user.get(), UserDTO.class);
 
-            log.debug(LogConstants.FIND_USER_BY_ID_OK + id + "\n");
+            log.debug(LogConstants.FIND_USER_BY_ID_OK, id);
             return userDTO;
         } else {
             log.error(USER_ID_NOT_VALID + id);
@@ -121,30 +165,34 @@ public class UserService implements IUserService {
      * @return the created user
      */
     @Override
+    @CacheEvict(cacheNames = CacheConstants.USER_DETAILS_CACHE, allEntries = true)
     public UserDTO update(UserDTO userDTOToUpdate) throws Exception {
-        log.debug(LogConstants.UPDATE_USER_CALL + userDTOToUpdate.toString());
+        log.debug(LogConstants.UPDATE_USER_CALL, userDTOToUpdate);
 
         /* checks that no other user already have the same username */
-        Optional<User> userInDb = userRepository.findByUsernameIgnoreCase(userDTOToUpdate.getUsername());
+        Optional<User> userInDb = userRepository.findByUsernameLower(
+                User.normalizeUsername(userDTOToUpdate.getUsername()));
         if (userInDb.isPresent() && !userInDb.get().getId().equals(userDTOToUpdate.getId())) {
             log.error(PoseidonExceptionsConstants.ALREADY_EXISTS_USER + " for: " + userDTOToUpdate.getUsername());
             throw new Exception(PoseidonExceptionsConstants.ALREADY_EXISTS_USER);
         }
 
-        ModelMapper modelMapper = new ModelMapper();
         User userUpdated;
 
         try {
             User userToUpdate = modelMapper.map(userDTOToUpdate, User.class);
 
-            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-            userToUpdate.setPassword(encoder.encode(userToUpdate.getPassword()));
+            /* the password is hashed again only if it is not the stored one */
+            String storedPassword = userRepository.findById(userDTOToUpdate.getId())
+                    .map(User::getPassword)
+                    .orElse(null);
+            userToUpdate.setPassword(passwordHashingService.encodeIfChanged(userToUpdate.getPassword(), storedPassword));
 
             userUpdated = userRepository.save(userToUpdate);
-            log.debug(LogConstants.UPDATE_USER_OK + userUpdated.getId());
+            log.debug(LogConstants.UPDATE_USER_OK, userUpdated.getId());
 
         } catch (Exception exception) {
-            log.error(LogConstants.UPDATE_USER_ERROR + userDTOToUpdate);
+            log.error(LogConstants.UPDATE_USER_ERROR, userDTOToUpdate);
             throw exception;
         }
 
@@ -158,12 +206,13 @@ public class UserService implements IUserService {
      * @param id of the user to delete
      */
     @Override
+    @CacheEvict(cacheNames = CacheConstants.USER_DETAILS_CACHE, allEntries = true)
     public void delete(Integer id) {
 
-        log.debug(LogConstants.DELETE_USER_CALL + id);
+        log.debug(LogConstants.DELETE_USER_CALL, id);
 
         if (id == null) {
-            log.error(LogConstants.DELETE_USER_ERROR + "id is null");
+            log.error(LogConstants.DELETE_USER_ERROR, "id is null");
             throw new IllegalArgumentException(USER_ID_NOT_VALID + "null");
         }
 
@@ -178,10 +227,10 @@ public class UserService implements IUserService {
         //Delete the user
         try {
             userRepository.delete(user);
-            log.debug(LogConstants.DELETE_USER_OK + id);
+            log.debug(LogConstants.DELETE_USER_OK, id);
 
         } catch (Exception exception) {
-            log.error(LogConstants.DELETE_USER_ERROR + id);
+            log.error(LogConstants.DELETE_USER_ERROR, id);
             throw exception;
         }
     }
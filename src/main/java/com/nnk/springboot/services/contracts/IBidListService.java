@@ -1,7 +1,15 @@
 package com.nnk.springboot.services.contracts;
 
 import com.nnk.springboot.DTO.BidListDTO;
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.constants.ExportFormat;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,9 +18,23 @@ public interface IBidListService {
 
     List<BidListDTO> findAll();
 
+    Page<BidListDTO> findAll(Pageable pageable);
+
+    List<BidListDTO> findAllAfter(Integer lastBidListId, int size);
+
     BidListDTO findById(Integer id);
 
     BidListDTO update(BidListDTO bidListDTOToUpdate);
 
     void delete(Integer id);
+
+    List<BulkResultDTO> createAll(List<BidListDTO> bidListDTOListToCreate);
+
+    List<BulkResultDTO> updateAll(List<BidListDTO> bidListDTOListToUpdate);
+
+    List<BulkResultDTO> deleteAll(List<Integer> bidListIdListToDelete);
+
+    long exportAll(ExportFormat format, OutputStream outputStream) throws IOException;
+
+    ImportReportDTO importCsv(InputStream inputStream) throws IOException;
 }
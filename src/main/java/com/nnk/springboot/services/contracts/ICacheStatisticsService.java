@@ -0,0 +1,9 @@
+package com.nnk.springboot.services.contracts;
+
+import com.nnk.springboot.DTO.CacheStatisticsDTO;
+
+import java.util.List;
+
+public interface ICacheStatisticsService {
+    List<CacheStatisticsDTO> findAll();
+}
@@ -0,0 +1,16 @@
+package com.nnk.springboot.services.contracts;
+
+import com.nnk.springboot.services.curve.CurveChangedEvent;
+import com.nnk.springboot.services.curve.InterpolationMethod;
+import com.nnk.springboot.services.curve.YieldCurve;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ICurveEngine {
+    Optional<YieldCurve> findCurve(Integer curveId, LocalDateTime asOfDate);
+
+    double valueAt(Integer curveId, LocalDateTime asOfDate, double term, InterpolationMethod method);
+
+    void onCurveChanged(CurveChangedEvent curveChangedEvent);
+}
@@ -1,7 +1,12 @@
 package com.nnk.springboot.services.contracts;
 
 import com.nnk.springboot.DTO.CurvePointDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,9 +15,15 @@ public interface ICurvePointService {
 
     List<CurvePointDTO> findAll();
 
+    Page<CurvePointDTO> findAll(Pageable pageable);
+
+    List<CurvePointDTO> findAllAfter(Integer lastCurvePointId, int size);
+
     CurvePointDTO findById(Integer id);
 
     CurvePointDTO update(CurvePointDTO curvePointDTOToUpdate);
 
     void delete(Integer id);
+
+    ImportReportDTO importCsv(InputStream inputStream) throws IOException;
 }
@@ -0,0 +1,5 @@
+package com.nnk.springboot.services.contracts;
+
+public interface IMessageService {
+    String formatOutputMessage(String patternCode, String value);
+}
@@ -0,0 +1,9 @@
+package com.nnk.springboot.services.contracts;
+
+import com.nnk.springboot.DTO.ServiceMetricsDTO;
+
+import java.util.List;
+
+public interface IMetricsService {
+    List<ServiceMetricsDTO> findServiceMetrics();
+}
@@ -0,0 +1,18 @@
+package com.nnk.springboot.services.contracts;
+
+import com.nnk.springboot.DTO.OrderBookDTO;
+import com.nnk.springboot.DTO.TopOfBookDTO;
+import com.nnk.springboot.services.orderbook.BidListChangedEvent;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IOrderBookEngine {
+    List<TopOfBookDTO> findAllTopOfBook();
+
+    Optional<TopOfBookDTO> findTopOfBook(String security);
+
+    Optional<OrderBookDTO> findDepth(String security, int levels);
+
+    void onBidListChanged(BidListChangedEvent bidListChangedEvent);
+}
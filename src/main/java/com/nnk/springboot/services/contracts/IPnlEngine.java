@@ -0,0 +1,17 @@
+package com.nnk.springboot.services.contracts;
+
+import com.nnk.springboot.DTO.PnlDTO;
+import com.nnk.springboot.services.curve.CurveChangedEvent;
+import com.nnk.springboot.services.position.TradeChangedEvent;
+
+import java.util.List;
+
+public interface IPnlEngine {
+    List<PnlDTO> findAll(String account, String book);
+
+    int recomputeAll();
+
+    void onTradeChanged(TradeChangedEvent tradeChangedEvent);
+
+    void onCurveChanged(CurveChangedEvent curveChangedEvent);
+}
@@ -0,0 +1,15 @@
+package com.nnk.springboot.services.contracts;
+
+import com.nnk.springboot.DTO.PositionDTO;
+import com.nnk.springboot.services.position.TradeChangedEvent;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IPositionEngine {
+    Optional<PositionDTO> findPosition(String account, String book, String security);
+
+    List<PositionDTO> findPositions(String account, String book);
+
+    void onTradeChanged(TradeChangedEvent tradeChangedEvent);
+}
@@ -0,0 +1,17 @@
+package com.nnk.springboot.services.contracts;
+
+import com.nnk.springboot.DTO.HibernateStatisticsDTO;
+import com.nnk.springboot.DTO.QueryStatisticsDTO;
+import com.nnk.springboot.DTO.SlowQueryDTO;
+
+import java.util.List;
+
+public interface IQueryStatisticsService {
+    List<QueryStatisticsDTO> findTopQueries(int top);
+
+    List<SlowQueryDTO> findSlowQueries();
+
+    HibernateStatisticsDTO findHibernateStatistics();
+
+    void reset();
+}
@@ -1,6 +1,8 @@
 package com.nnk.springboot.services.contracts;
 
 import com.nnk.springboot.DTO.RatingDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +12,10 @@ public interface IRatingService {
 
     List<RatingDTO> findAll();
 
+    Page<RatingDTO> findAll(Pageable pageable);
+
+    List<RatingDTO> findAllAfter(Integer lastRatingId, int size);
+
     RatingDTO findById(Integer id);
 
     RatingDTO update(RatingDTO ratingDTOToUpdate);
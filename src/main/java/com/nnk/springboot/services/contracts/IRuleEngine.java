@@ -0,0 +1,26 @@
+package com.nnk.springboot.services.contracts;
+
+import com.nnk.springboot.DTO.RuleEvaluationDTO;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.orderbook.BidListChangedEvent;
+import com.nnk.springboot.services.position.TradeChangedEvent;
+import com.nnk.springboot.services.rule.RuleNameChangedEvent;
+
+import java.util.List;
+
+public interface IRuleEngine {
+    List<Integer> evaluate(Trade trade);
+
+    List<Integer> evaluate(BidList bidList);
+
+    List<RuleEvaluationDTO> findAllEvaluations();
+
+    List<RuleEvaluationDTO> evaluateAll();
+
+    void onRuleNameChanged(RuleNameChangedEvent ruleNameChangedEvent);
+
+    void onTradeChanged(TradeChangedEvent tradeChangedEvent);
+
+    void onBidListChanged(BidListChangedEvent bidListChangedEvent);
+}
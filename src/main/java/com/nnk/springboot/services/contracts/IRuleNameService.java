@@ -1,6 +1,8 @@
 package com.nnk.springboot.services.contracts;
 
 import com.nnk.springboot.DTO.RuleNameDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +12,10 @@ public interface IRuleNameService {
 
         List<RuleNameDTO> findAll();
 
+        Page<RuleNameDTO> findAll(Pageable pageable);
+
+        List<RuleNameDTO> findAllAfter(Integer lastRuleNameId, int size);
+
         RuleNameDTO findById(Integer id);
 
         RuleNameDTO update(RuleNameDTO ruleNameDTOToUpdate);
@@ -1,7 +1,16 @@
 package com.nnk.springboot.services.contracts;
 
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
 import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.constants.ExportFormat;
+import com.nnk.springboot.services.orderbook.Fill;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,9 +19,25 @@ public interface ITradeService {
 
     List<TradeDTO> findAll();
 
+    Page<TradeDTO> findAll(Pageable pageable);
+
+    List<TradeDTO> findAllAfter(Integer lastTradeId, int size);
+
     TradeDTO findById(Integer id);
 
     TradeDTO update(TradeDTO tradeDTOToUpdate);
 
     void delete(Integer id);
+
+    List<BulkResultDTO> createAll(List<TradeDTO> tradeDTOListToCreate);
+
+    List<BulkResultDTO> updateAll(List<TradeDTO> tradeDTOListToUpdate);
+
+    List<BulkResultDTO> deleteAll(List<Integer> tradeIdListToDelete);
+
+    long exportAll(ExportFormat format, OutputStream outputStream) throws IOException;
+
+    ImportReportDTO importCsv(InputStream inputStream) throws IOException;
+
+    List<Integer> createFromFills(List<Fill> fills);
 }
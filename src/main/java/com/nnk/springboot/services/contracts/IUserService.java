@@ -1,6 +1,8 @@
 package com.nnk.springboot.services.contracts;
 
 import com.nnk.springboot.DTO.UserDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +12,10 @@ public interface IUserService {
 
     List<UserDTO> findAll();
 
+    Page<UserDTO> findAll(Pageable pageable);
+
+    List<UserDTO> findAllAfter(Integer lastUserId, int size);
+
     UserDTO findById(Integer id);
 
     UserDTO update(UserDTO userDTOToUpdate) throws Exception;
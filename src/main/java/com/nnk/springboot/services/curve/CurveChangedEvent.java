@@ -0,0 +1,18 @@
+package com.nnk.springboot.services.curve;
+
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * published by CurvePointService when points of some curves have been created, updated or deleted
+ */
+@Getter
+public class CurveChangedEvent {
+
+    private final Collection<CurveKey> curveKeys;
+
+    public CurveChangedEvent(Collection<CurveKey> curveKeys) {
+        this.curveKeys = curveKeys;
+    }
+}
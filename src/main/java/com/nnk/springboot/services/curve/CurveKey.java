@@ -0,0 +1,48 @@
+package com.nnk.springboot.services.curve;
+
+import com.nnk.springboot.domain.CurvePoint;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * identifies a curve: its curve id and the as-of date of its points (possibly null)
+ */
+@Getter
+public final class CurveKey {
+
+    private final Integer curveId;
+
+    private final LocalDateTime asOfDate;
+
+    public CurveKey(Integer curveId, LocalDateTime asOfDate) {
+        this.curveId = curveId;
+        this.asOfDate = asOfDate;
+    }
+
+    public static CurveKey of(CurvePoint curvePoint) {
+        return new CurveKey(curvePoint.getCurveId(), curvePoint.getAsOfDate());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CurveKey curveKey = (CurveKey) o;
+        return Objects.equals(curveId, curveKey.curveId) && Objects.equals(asOfDate, curveKey.asOfDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(curveId, asOfDate);
+    }
+
+    @Override
+    public String toString() {
+        return "CurveKey{" +
+                "curveId=" + curveId +
+                ", asOfDate=" + asOfDate +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.nnk.springboot.services.curve;
+
+/**
+ * interpolation methods between two points of a curve
+ */
+public enum InterpolationMethod {
+
+    /* straight line between the two surrounding points */
+    LINEAR,
+
+    /* straight line between the logarithms of the two surrounding values, for strictly positive curves */
+    LOG_LINEAR,
+
+    /* natural cubic spline through all the points of the curve */
+    CUBIC_SPLINE
+}
@@ -0,0 +1,175 @@
+package com.nnk.springboot.services.curve;
+
+import com.nnk.springboot.domain.CurvePoint;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.CURVE_NOT_LOG_INTERPOLABLE;
+
+/**
+ * immutable curve built from the points of one curve id and one as-of date:
+ * terms and values are held in sorted primitive arrays, with the logarithms of the values
+ * and the second derivatives of the natural cubic spline computed once at build time,
+ * so that a lookup is a binary search followed by a few arithmetic operations, without any allocation.
+ * Outside the range of its terms, the curve is extrapolated flat
+ */
+public final class YieldCurve {
+
+    private final CurveKey curveKey;
+
+    private final double[] terms;
+
+    private final double[] values;
+
+    /* null if a value is not strictly positive */
+    private final double[] logValues;
+
+    private final double[] splineSecondDerivatives;
+
+    private YieldCurve(CurveKey curveKey, double[] terms, double[] values) {
+        this.curveKey = curveKey;
+        this.terms = terms;
+        this.values = values;
+        this.logValues = logarithms(values);
+        this.splineSecondDerivatives = naturalSplineSecondDerivatives(terms, values);
+    }
+
+    /**
+     * build a curve from its points, points without term or value are ignored
+     * and only the last point is kept when several points have the same term
+     *
+     * @param curveKey    curve id and as-of date of the curve
+     * @param curvePoints points of the curve, in any order
+     * @return the curve, null if there is no point with a term and a value
+     */
+    public static YieldCurve of(CurveKey curveKey, List<CurvePoint> curvePoints) {
+        List<CurvePoint> sortedCurvePoints = curvePoints.stream()
+                .filter(curvePoint -> curvePoint.getTerm() != null && curvePoint.getValue() != null)
+                .sorted(Comparator.comparingDouble(CurvePoint::getTerm))
+                .collect(Collectors.toList());
+        if (sortedCurvePoints.isEmpty()) {
+            return null;
+        }
+
+        double[] terms = new double[sortedCurvePoints.size()];
+        double[] values = new double[sortedCurvePoints.size()];
+        int size = 0;
+        for (CurvePoint curvePoint : sortedCurvePoints) {
+            if (size > 0 && terms[size - 1] == curvePoint.getTerm()) {
+                size--;
+            }
+            terms[size] = curvePoint.getTerm();
+            values[size] = curvePoint.getValue();
+            size++;
+        }
+
+        return new YieldCurve(curveKey, Arrays.copyOf(terms, size), Arrays.copyOf(values, size));
+    }
+
+    /**
+     * interpolate the value of the curve for a term
+     *
+     * @param term   term to look up
+     * @param method interpolation method between the two surrounding points
+     * @return the value of the curve for this term
+     * @throws IllegalArgumentException if log-linear interpolation is requested on a curve with values not strictly positive
+     */
+    public double valueAt(double term, InterpolationMethod method) {
+        int last = terms.length - 1;
+        if (term <= terms[0]) {
+            return values[0];
+        }
+        if (term >= terms[last]) {
+            return values[last];
+        }
+
+        int index = Arrays.binarySearch(terms, term);
+        if (index >= 0) {
+            return values[index];
+        }
+        int upper = -index - 1;
+        int lower = upper - 1;
+        double width = terms[upper] - terms[lower];
+        double weight = (term - terms[lower]) / width;
+
+        switch (method) {
+            case LOG_LINEAR:
+                if (logValues == null) {
+                    throw new IllegalArgumentException(CURVE_NOT_LOG_INTERPOLABLE + curveKey.getCurveId());
+                }
+                return Math.exp(logValues[lower] + weight * (logValues[upper] - logValues[lower]));
+            case CUBIC_SPLINE:
+                double lowerWeight = 1 - weight;
+                return lowerWeight * values[lower] + weight * values[upper]
+                        + ((lowerWeight * lowerWeight * lowerWeight - lowerWeight) * splineSecondDerivatives[lower]
+                        + (weight * weight * weight - weight) * splineSecondDerivatives[upper]) * width * width / 6;
+            case LINEAR:
+            default:
+                return values[lower] + weight * (values[upper] - values[lower]);
+        }
+    }
+
+    public CurveKey getCurveKey() {
+        return curveKey;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public double[] getTerms() {
+        return terms.clone();
+    }
+
+    public double[] getValues() {
+        return values.clone();
+    }
+
+
+    private static double[] logarithms(double[] values) {
+        double[] logValues = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] <= 0) {
+                return null;
+            }
+            logValues[i] = Math.log(values[i]);
+        }
+        return logValues;
+    }
+
+
+    /**
+     * second derivatives of the natural cubic spline (null second derivative at both ends),
+     * solved as a tridiagonal system
+     *
+     * @param terms  sorted terms
+     * @param values values for these terms
+     * @return the second derivative of the spline at each term
+     */
+    private static double[] naturalSplineSecondDerivatives(double[] terms, double[] values) {
+        int size = terms.length;
+        double[] secondDerivatives = new double[size];
+        if (size < 3) {
+            return secondDerivatives;
+        }
+
+        double[] decomposition = new double[size];
+        for (int i = 1; i < size - 1; i++) {
+            double sigma = (terms[i] - terms[i - 1]) / (terms[i + 1] - terms[i - 1]);
+            double pivot = sigma * secondDerivatives[i - 1] + 2;
+            secondDerivatives[i] = (sigma - 1) / pivot;
+            double slopeChange = (values[i + 1] - values[i]) / (terms[i + 1] - terms[i])
+                    - (values[i] - values[i - 1]) / (terms[i] - terms[i - 1]);
+            decomposition[i] = (6 * slopeChange / (terms[i + 1] - terms[i - 1]) - sigma * decomposition[i - 1]) / pivot;
+        }
+
+        secondDerivatives[size - 1] = 0;
+        for (int i = size - 2; i >= 0; i--) {
+            secondDerivatives[i] = secondDerivatives[i] * secondDerivatives[i + 1] + decomposition[i];
+        }
+        return secondDerivatives;
+    }
+}
@@ -0,0 +1,45 @@
+package com.nnk.springboot.services.orderbook;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * published by BidListService, within the transaction of the change, when bidList have been created, updated or deleted
+ */
+@Getter
+public class BidListChangedEvent {
+
+    /* created or updated bidList, as they are committed */
+    private final Collection<BidQuote> savedBidQuotes;
+
+    /* bidList updated with a single statement, without their state: read back once committed */
+    private final Collection<Integer> updatedBidListIds;
+
+    /* deleted bidList, with the security of the book they are removed from */
+    private final Collection<BidQuote> deletedBidQuotes;
+
+    public BidListChangedEvent(Collection<BidQuote> savedBidQuotes, Collection<Integer> updatedBidListIds,
+                               Collection<BidQuote> deletedBidQuotes) {
+        this.savedBidQuotes = savedBidQuotes;
+        this.updatedBidListIds = updatedBidListIds;
+        this.deletedBidQuotes = deletedBidQuotes;
+    }
+
+    public boolean isEmpty() {
+        return savedBidQuotes.isEmpty() && updatedBidListIds.isEmpty() && deletedBidQuotes.isEmpty();
+    }
+
+    public static BidListChangedEvent saved(Collection<BidQuote> savedBidQuotes) {
+        return new BidListChangedEvent(savedBidQuotes, Collections.emptyList(), Collections.emptyList());
+    }
+
+    public static BidListChangedEvent updated(Collection<Integer> updatedBidListIds) {
+        return new BidListChangedEvent(Collections.emptyList(), updatedBidListIds, Collections.emptyList());
+    }
+
+    public static BidListChangedEvent deleted(Collection<BidQuote> deletedBidQuotes) {
+        return new BidListChangedEvent(Collections.emptyList(), Collections.emptyList(), deletedBidQuotes);
+    }
+}
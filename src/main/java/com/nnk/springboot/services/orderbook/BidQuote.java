@@ -0,0 +1,63 @@
+package com.nnk.springboot.services.orderbook;
+
+import com.nnk.springboot.domain.BidList;
+import lombok.Getter;
+
+/**
+ * columns of a bidList needed by the order books: a bid order and an ask order on its security,
+ * each one booked only when it has a price and a positive quantity
+ */
+@Getter
+public final class BidQuote {
+
+    private final Integer bidListId;
+
+    private final String account;
+
+    private final String security;
+
+    private final Double bid;
+
+    private final Double bidQuantity;
+
+    private final Double ask;
+
+    private final Double askQuantity;
+
+    /* constructor expression of the BidListRepository order book queries */
+    public BidQuote(Integer bidListId, String account, String security, Double bid, Double bidQuantity,
+                    Double ask, Double askQuantity) {
+        this.bidListId = bidListId;
+        this.account = account;
+        this.security = security;
+        this.bid = bid;
+        this.bidQuantity = bidQuantity;
+        this.ask = ask;
+        this.askQuantity = askQuantity;
+    }
+
+    public static BidQuote of(BidList bidList) {
+        return new BidQuote(bidList.getBidListId(), bidList.getAccount(), bidList.getSecurity(),
+                bidList.getBid(), bidList.getBidQuantity(), bidList.getAsk(), bidList.getAskQuantity());
+    }
+
+    public boolean hasBid() {
+        return bid != null && bidQuantity != null && bidQuantity > 0;
+    }
+
+    public boolean hasAsk() {
+        return ask != null && askQuantity != null && askQuantity > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BidQuote{" +
+                "bidListId=" + bidListId +
+                ", security='" + security + '\'' +
+                ", bid=" + bid +
+                ", bidQuantity=" + bidQuantity +
+                ", ask=" + ask +
+                ", askQuantity=" + askQuantity +
+                '}';
+    }
+}
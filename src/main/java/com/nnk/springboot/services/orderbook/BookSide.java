@@ -0,0 +1,269 @@
+package com.nnk.springboot.services.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * bids or asks of an order book, in price-time priority, held in primitive arrays.
+ * The price levels are sorted by key, the key being the price for the bids and minus the price for the asks,
+ * so that the best level is always the last one and the levels near the top of the book, which change the most,
+ * are inserted and removed by moving a few entries only.
+ * The orders of a level are linked in arrival order through the next and previous slot arrays,
+ * the slots of the removed orders being reused. Not thread-safe: written by the thread holding its OrderBook
+ */
+final class BookSide {
+
+    private static final int NONE = -1;
+
+    private final boolean bid;
+
+    private double[] levelKeys = new double[16];
+
+    private double[] levelQuantities = new double[16];
+
+    private int[] levelOrderCounts = new int[16];
+
+    private int[] levelHeads = new int[16];
+
+    private int[] levelTails = new int[16];
+
+    private int levelCount;
+
+    private int[] orderIds = new int[64];
+
+    private double[] orderKeys = new double[64];
+
+    private double[] orderQuantities = new double[64];
+
+    private String[] orderAccounts = new String[64];
+
+    private int[] nextSlots = new int[64];
+
+    private int[] previousSlots = new int[64];
+
+    private int usedSlotCount;
+
+    /* first free slot, the free slots being chained through nextSlots */
+    private int freeSlot = NONE;
+
+    private final OrderSlots orderSlots = new OrderSlots();
+
+    BookSide(boolean bid) {
+        this.bid = bid;
+    }
+
+    boolean isBid() {
+        return bid;
+    }
+
+    int getLevelCount() {
+        return levelCount;
+    }
+
+    int getOrderCount() {
+        return orderSlots.size();
+    }
+
+    /**
+     * @param depth 0 for the best level, 1 for the next one...
+     * @return the price of the level
+     */
+    double getPrice(int depth) {
+        return price(levelKeys[levelCount - 1 - depth]);
+    }
+
+    double getQuantity(int depth) {
+        return levelQuantities[levelCount - 1 - depth];
+    }
+
+    int getOrderCount(int depth) {
+        return levelOrderCounts[levelCount - 1 - depth];
+    }
+
+    /**
+     * @param price price of an incoming order of the other side
+     * @return true if the best level of this side can be matched at this price
+     */
+    boolean crosses(double price) {
+        return levelCount > 0 && levelKeys[levelCount - 1] >= key(price);
+    }
+
+    /**
+     * add an order behind the orders already at its price
+     */
+    void add(int orderId, String account, double price, double quantity) {
+        double key = key(price);
+        int level = Arrays.binarySearch(levelKeys, 0, levelCount, key);
+        if (level < 0) {
+            level = insertLevel(-level - 1, key);
+        }
+
+        int slot = allocateSlot();
+        orderIds[slot] = orderId;
+        orderKeys[slot] = key;
+        orderQuantities[slot] = quantity;
+        orderAccounts[slot] = account;
+        nextSlots[slot] = NONE;
+        previousSlots[slot] = levelTails[level];
+        if (levelTails[level] == NONE) {
+            levelHeads[level] = slot;
+        } else {
+            nextSlots[levelTails[level]] = slot;
+        }
+        levelTails[level] = slot;
+        levelQuantities[level] += quantity;
+        levelOrderCounts[level]++;
+        orderSlots.put(orderId, slot);
+    }
+
+    /**
+     * change the account of an order and lower its quantity at the same price, the order keeping its place in the queue
+     *
+     * @return false if the order is not in the book, is at another price or would grow:
+     * it has then to be removed and added again behind the orders at its new price
+     */
+    boolean amendInPlace(int orderId, String account, double price, double quantity) {
+        int slot = orderSlots.get(orderId);
+        if (slot == OrderSlots.NO_SLOT || orderKeys[slot] != key(price) || quantity > orderQuantities[slot]) {
+            return false;
+        }
+        orderAccounts[slot] = account;
+        if (quantity < orderQuantities[slot]) {
+            reduce(slot, findLevel(orderKeys[slot]), orderQuantities[slot] - quantity);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the order was in the book
+     */
+    boolean remove(int orderId) {
+        int slot = orderSlots.get(orderId);
+        if (slot == OrderSlots.NO_SLOT) {
+            return false;
+        }
+        reduce(slot, findLevel(orderKeys[slot]), orderQuantities[slot]);
+        return true;
+    }
+
+    /**
+     * match an incoming order of the other side against the orders of this side, best price first,
+     * then first in at each price. An order is never matched against itself (same id on both sides)
+     *
+     * @param incomingOrderId id of the incoming order
+     * @param price           limit price of the incoming order
+     * @param quantity        quantity of the incoming order
+     * @param fillListener    called for each resting order matched
+     * @return the quantity of the incoming order left unmatched
+     */
+    double match(int incomingOrderId, double price, double quantity, FillListener fillListener) {
+        double limitKey = key(price);
+        for (int level = levelCount - 1; quantity > 0 && level >= 0 && levelKeys[level] >= limitKey; level--) {
+            double levelPrice = price(levelKeys[level]);
+            int slot = levelHeads[level];
+            while (quantity > 0 && slot != NONE) {
+                int nextSlot = nextSlots[slot];
+                if (orderIds[slot] != incomingOrderId) {
+                    double filledQuantity = Math.min(quantity, orderQuantities[slot]);
+                    fillListener.onFill(orderIds[slot], orderAccounts[slot], levelPrice, filledQuantity);
+                    quantity -= filledQuantity;
+                    /* an emptied level is removed: only the levels above it, already walked through, move */
+                    reduce(slot, level, filledQuantity);
+                }
+                slot = nextSlot;
+            }
+        }
+        return quantity;
+    }
+
+
+    private void reduce(int slot, int level, double quantity) {
+        levelQuantities[level] -= quantity;
+        orderQuantities[slot] -= quantity;
+        if (orderQuantities[slot] > 0) {
+            return;
+        }
+
+        if (previousSlots[slot] == NONE) {
+            levelHeads[level] = nextSlots[slot];
+        } else {
+            nextSlots[previousSlots[slot]] = nextSlots[slot];
+        }
+        if (nextSlots[slot] == NONE) {
+            levelTails[level] = previousSlots[slot];
+        } else {
+            previousSlots[nextSlots[slot]] = previousSlots[slot];
+        }
+        orderSlots.remove(orderIds[slot]);
+        orderAccounts[slot] = null;
+        nextSlots[slot] = freeSlot;
+        freeSlot = slot;
+
+        if (--levelOrderCounts[level] == 0) {
+            removeLevel(level);
+        }
+    }
+
+    private int findLevel(double key) {
+        return Arrays.binarySearch(levelKeys, 0, levelCount, key);
+    }
+
+    private int insertLevel(int level, double key) {
+        if (levelCount == levelKeys.length) {
+            int capacity = levelCount * 2;
+            levelKeys = Arrays.copyOf(levelKeys, capacity);
+            levelQuantities = Arrays.copyOf(levelQuantities, capacity);
+            levelOrderCounts = Arrays.copyOf(levelOrderCounts, capacity);
+            levelHeads = Arrays.copyOf(levelHeads, capacity);
+            levelTails = Arrays.copyOf(levelTails, capacity);
+        }
+        int movedLevelCount = levelCount - level;
+        System.arraycopy(levelKeys, level, levelKeys, level + 1, movedLevelCount);
+        System.arraycopy(levelQuantities, level, levelQuantities, level + 1, movedLevelCount);
+        System.arraycopy(levelOrderCounts, level, levelOrderCounts, level + 1, movedLevelCount);
+        System.arraycopy(levelHeads, level, levelHeads, level + 1, movedLevelCount);
+        System.arraycopy(levelTails, level, levelTails, level + 1, movedLevelCount);
+        levelKeys[level] = key;
+        levelQuantities[level] = 0;
+        levelOrderCounts[level] = 0;
+        levelHeads[level] = NONE;
+        levelTails[level] = NONE;
+        levelCount++;
+        return level;
+    }
+
+    private void removeLevel(int level) {
+        int movedLevelCount = levelCount - level - 1;
+        System.arraycopy(levelKeys, level + 1, levelKeys, level, movedLevelCount);
+        System.arraycopy(levelQuantities, level + 1, levelQuantities, level, movedLevelCount);
+        System.arraycopy(levelOrderCounts, level + 1, levelOrderCounts, level, movedLevelCount);
+        System.arraycopy(levelHeads, level + 1, levelHeads, level, movedLevelCount);
+        System.arraycopy(levelTails, level + 1, levelTails, level, movedLevelCount);
+        levelCount--;
+    }
+
+    private int allocateSlot() {
+        if (freeSlot != NONE) {
+            int slot = freeSlot;
+            freeSlot = nextSlots[slot];
+            return slot;
+        }
+        if (usedSlotCount == orderIds.length) {
+            int capacity = usedSlotCount * 2;
+            orderIds = Arrays.copyOf(orderIds, capacity);
+            orderKeys = Arrays.copyOf(orderKeys, capacity);
+            orderQuantities = Arrays.copyOf(orderQuantities, capacity);
+            orderAccounts = Arrays.copyOf(orderAccounts, capacity);
+            nextSlots = Arrays.copyOf(nextSlots, capacity);
+            previousSlots = Arrays.copyOf(previousSlots, capacity);
+        }
+        return usedSlotCount++;
+    }
+
+    private double key(double price) {
+        return bid ? price : -price;
+    }
+
+    private double price(double key) {
+        return bid ? key : -key;
+    }
+}
@@ -0,0 +1,46 @@
+package com.nnk.springboot.services.orderbook;
+
+import lombok.Getter;
+
+/**
+ * quantity of a security exchanged between a bid and an ask that crossed, at the price of the resting order
+ */
+@Getter
+public final class Fill {
+
+    private final String security;
+
+    private final double price;
+
+    private final double quantity;
+
+    private final int buyBidListId;
+
+    private final String buyAccount;
+
+    private final int sellBidListId;
+
+    private final String sellAccount;
+
+    public Fill(String security, double price, double quantity, int buyBidListId, String buyAccount,
+                int sellBidListId, String sellAccount) {
+        this.security = security;
+        this.price = price;
+        this.quantity = quantity;
+        this.buyBidListId = buyBidListId;
+        this.buyAccount = buyAccount;
+        this.sellBidListId = sellBidListId;
+        this.sellAccount = sellAccount;
+    }
+
+    @Override
+    public String toString() {
+        return "Fill{" +
+                "security='" + security + '\'' +
+                ", price=" + price +
+                ", quantity=" + quantity +
+                ", buyBidListId=" + buyBidListId +
+                ", sellBidListId=" + sellBidListId +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.nnk.springboot.services.orderbook;
+
+/**
+ * called by BookSide for each resting order matched by an incoming order, without boxing the price and quantity
+ */
+@FunctionalInterface
+interface FillListener {
+
+    /**
+     * @param restingOrderId id of the resting order, the id of its bidList
+     * @param restingAccount account of the resting order
+     * @param price          price of the resting order, at which the quantity is filled
+     * @param quantity       filled quantity
+     */
+    void onFill(int restingOrderId, String restingAccount, double price, double quantity);
+}
@@ -0,0 +1,117 @@
+package com.nnk.springboot.services.orderbook;
+
+import com.nnk.springboot.DTO.OrderBookDTO;
+import com.nnk.springboot.DTO.PriceLevelDTO;
+import com.nnk.springboot.DTO.TopOfBookDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * bids and asks of one security in price-time priority, each bidList placing at most one bid and one ask
+ * under its own id. A single thread at a time changes or reads a book, holding its lock:
+ * the books of different securities are changed in parallel
+ */
+public final class OrderBook {
+
+    private final String security;
+
+    private final BookSide bids = new BookSide(true);
+
+    private final BookSide asks = new BookSide(false);
+
+    public OrderBook(String security) {
+        this.security = security;
+    }
+
+    public String getSecurity() {
+        return security;
+    }
+
+    /**
+     * place the bid and the ask of a bidList, replacing its former orders. An order whose price is unchanged
+     * and whose quantity does not grow keeps its place in the queue, the others are placed behind the orders
+     * already at their price. A side without price or quantity is removed from the book
+     *
+     * @param bidQuote the bidList
+     * @param fills    where to add the fills of the orders crossing the other side,
+     *                 null to book them without matching
+     */
+    public synchronized void place(BidQuote bidQuote, List<Fill> fills) {
+        int bidListId = bidQuote.getBidListId();
+        if (bidQuote.hasBid()) {
+            place(bids, asks, bidListId, bidQuote.getAccount(), bidQuote.getBid(), bidQuote.getBidQuantity(), fills);
+        } else {
+            bids.remove(bidListId);
+        }
+        if (bidQuote.hasAsk()) {
+            place(asks, bids, bidListId, bidQuote.getAccount(), bidQuote.getAsk(), bidQuote.getAskQuantity(), fills);
+        } else {
+            asks.remove(bidListId);
+        }
+    }
+
+    /**
+     * remove the bid and the ask of a bidList
+     *
+     * @param bidListId id of the bidList
+     */
+    public synchronized void cancel(int bidListId) {
+        bids.remove(bidListId);
+        asks.remove(bidListId);
+    }
+
+    public synchronized boolean isEmpty() {
+        return bids.getOrderCount() == 0 && asks.getOrderCount() == 0;
+    }
+
+    public synchronized int getOrderCount() {
+        return bids.getOrderCount() + asks.getOrderCount();
+    }
+
+    public synchronized TopOfBookDTO getTopOfBook() {
+        boolean hasBid = bids.getLevelCount() > 0;
+        boolean hasAsk = asks.getLevelCount() > 0;
+        return new TopOfBookDTO(security,
+                hasBid ? bids.getPrice(0) : null, hasBid ? bids.getQuantity(0) : null,
+                hasAsk ? asks.getPrice(0) : null, hasAsk ? asks.getQuantity(0) : null);
+    }
+
+    /**
+     * @param levels maximum number of price levels per side
+     * @return the best price levels of each side
+     */
+    public synchronized OrderBookDTO getDepth(int levels) {
+        return new OrderBookDTO(security, getDepth(bids, levels), getDepth(asks, levels));
+    }
+
+
+    private void place(BookSide side, BookSide otherSide, int orderId, String account, double price,
+                       double quantity, List<Fill> fills) {
+        if (side.amendInPlace(orderId, account, price, quantity)) {
+            return;
+        }
+        side.remove(orderId);
+
+        double remainingQuantity = quantity;
+        if (fills != null && otherSide.crosses(price)) {
+            remainingQuantity = otherSide.match(orderId, price, quantity,
+                    (restingOrderId, restingAccount, fillPrice, fillQuantity) -> fills.add(side.isBid()
+                            ? new Fill(security, fillPrice, fillQuantity, orderId, account, restingOrderId, restingAccount)
+                            : new Fill(security, fillPrice, fillQuantity, restingOrderId, restingAccount, orderId, account)));
+        }
+        if (remainingQuantity > 0) {
+            side.add(orderId, account, price, remainingQuantity);
+        }
+    }
+
+    private static List<PriceLevelDTO> getDepth(BookSide side, int levels) {
+        int levelCount = Math.min(levels, side.getLevelCount());
+        List<PriceLevelDTO> priceLevelDTOList = new ArrayList<>(levelCount);
+        for (int depth = 0; depth < levelCount; depth++) {
+            priceLevelDTOList.add(new PriceLevelDTO(side.getPrice(depth), side.getQuantity(depth),
+                    side.getOrderCount(depth)));
+        }
+        return priceLevelDTOList;
+    }
+}
@@ -0,0 +1,101 @@
+package com.nnk.springboot.services.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * slot of each order id in the arrays of a BookSide: open addressing with linear probing over int arrays,
+ * so that looking up an order neither boxes its id nor allocates an entry
+ */
+final class OrderSlots {
+
+    static final int NO_SLOT = -1;
+
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private int[] orderIds = new int[64];
+
+    private int[] slots = new int[64];
+
+    private int size;
+
+    OrderSlots() {
+        Arrays.fill(orderIds, FREE);
+    }
+
+    int get(int orderId) {
+        int mask = orderIds.length - 1;
+        for (int index = hash(orderId) & mask; orderIds[index] != FREE; index = (index + 1) & mask) {
+            if (orderIds[index] == orderId) {
+                return slots[index];
+            }
+        }
+        return NO_SLOT;
+    }
+
+    void put(int orderId, int slot) {
+        if (orderId == FREE) {
+            throw new IllegalArgumentException("order id " + orderId);
+        }
+        if (2 * (size + 1) > orderIds.length) {
+            resize(orderIds.length * 2);
+        }
+        int mask = orderIds.length - 1;
+        int index = hash(orderId) & mask;
+        while (orderIds[index] != FREE && orderIds[index] != orderId) {
+            index = (index + 1) & mask;
+        }
+        if (orderIds[index] == FREE) {
+            size++;
+        }
+        orderIds[index] = orderId;
+        slots[index] = slot;
+    }
+
+    /* the entries following the removed one are shifted back, so that no probe sequence is broken */
+    void remove(int orderId) {
+        int mask = orderIds.length - 1;
+        int index = hash(orderId) & mask;
+        while (orderIds[index] != orderId) {
+            if (orderIds[index] == FREE) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        size--;
+
+        int next = (index + 1) & mask;
+        while (orderIds[next] != FREE) {
+            int home = hash(orderIds[next]) & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                orderIds[index] = orderIds[next];
+                slots[index] = slots[next];
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        orderIds[index] = FREE;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        int[] formerOrderIds = orderIds;
+        int[] formerSlots = slots;
+        orderIds = new int[capacity];
+        slots = new int[capacity];
+        Arrays.fill(orderIds, FREE);
+        size = 0;
+        for (int index = 0; index < formerOrderIds.length; index++) {
+            if (formerOrderIds[index] != FREE) {
+                put(formerOrderIds[index], formerSlots[index]);
+            }
+        }
+    }
+
+    private static int hash(int orderId) {
+        int hash = orderId * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,46 @@
+package com.nnk.springboot.services.pnl;
+
+import lombok.Getter;
+
+/**
+ * benchmark of a trade, written curveId/term: the trade is marked against the value of this curve for this term
+ */
+@Getter
+public final class Benchmark {
+
+    private final int curveId;
+
+    private final double term;
+
+    private Benchmark(int curveId, double term) {
+        this.curveId = curveId;
+        this.term = term;
+    }
+
+    /**
+     * @param benchmark benchmark of a trade, e.g. 3/10 for the 10 term of curve 3
+     * @return the benchmark, null if it does not name a curve id and a term
+     */
+    public static Benchmark parse(String benchmark) {
+        if (benchmark == null) {
+            return null;
+        }
+        int separator = benchmark.indexOf('/');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            double term = Double.parseDouble(benchmark.substring(separator + 1).trim());
+            return Double.isFinite(term)
+                    ? new Benchmark(Integer.parseInt(benchmark.substring(0, separator).trim()), term)
+                    : null;
+        } catch (NumberFormatException numberFormatException) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return curveId + "/" + term;
+    }
+}
@@ -0,0 +1,117 @@
+package com.nnk.springboot.services.pnl;
+
+import com.nnk.springboot.services.position.PositionKey;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * P&amp;L of the positions of a population of trades, as computed by PnlCalculator, position by position,
+ * with the position of each trade and the positions marked against each curve
+ */
+public final class PnlBook {
+
+    private final PositionKey[] positionKeys;
+
+    private final int[] tradeCounts;
+
+    private final double[] realisedPnls;
+
+    private final double[] unrealisedPnls;
+
+    private final double[] openQuantities;
+
+    private final double[] unmarkedQuantities;
+
+    /* trade id in the high half, position index in the low half, sorted: looked up by binary search */
+    private final long[] positionOfTrades;
+
+    private final Map<Integer, Set<PositionKey>> positionKeysByCurveId;
+
+    PnlBook(PositionKey[] positionKeys, int[] tradeCounts, double[] realisedPnls, double[] unrealisedPnls,
+            double[] openQuantities, double[] unmarkedQuantities, long[] positionOfTrades,
+            Map<Integer, Set<PositionKey>> positionKeysByCurveId) {
+        this.positionKeys = positionKeys;
+        this.tradeCounts = tradeCounts;
+        this.realisedPnls = realisedPnls;
+        this.unrealisedPnls = unrealisedPnls;
+        this.openQuantities = openQuantities;
+        this.unmarkedQuantities = unmarkedQuantities;
+        this.positionOfTrades = positionOfTrades;
+        this.positionKeysByCurveId = positionKeysByCurveId;
+    }
+
+    public int size() {
+        return positionKeys.length;
+    }
+
+    public PositionKey getPositionKey(int position) {
+        return positionKeys[position];
+    }
+
+    public int getTradeCount(int position) {
+        return tradeCounts[position];
+    }
+
+    /**
+     * @return the P&amp;L of the legs of the position matched with each other
+     */
+    public double getRealisedPnl(int position) {
+        return realisedPnls[position];
+    }
+
+    /**
+     * @return the P&amp;L of the legs left open, against the mark of their benchmark
+     */
+    public double getUnrealisedPnl(int position) {
+        return unrealisedPnls[position];
+    }
+
+    /**
+     * @return the quantity left open once the legs are matched: positive if long, negative if short
+     */
+    public double getOpenQuantity(int position) {
+        return openQuantities[position];
+    }
+
+    /**
+     * @return the open quantity of the trades whose benchmark has no mark, not counted in the unrealised P&amp;L
+     */
+    public double getUnmarkedQuantity(int position) {
+        return unmarkedQuantities[position];
+    }
+
+    /**
+     * @param tradeId trade id
+     * @return the position of the trade, null if the trade is not part of this book
+     */
+    public PositionKey findPositionKey(int tradeId) {
+        int index = Arrays.binarySearch(positionOfTrades, (long) tradeId << 32);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index < positionOfTrades.length && (int) (positionOfTrades[index] >>> 32) == tradeId) {
+            return positionKeys[(int) positionOfTrades[index]];
+        }
+        return null;
+    }
+
+    /**
+     * @param action called with the id and the position of each trade of the book
+     */
+    public void forEachTrade(BiConsumer<Integer, PositionKey> action) {
+        for (long positionOfTrade : positionOfTrades) {
+            action.accept((int) (positionOfTrade >>> 32), positionKeys[(int) positionOfTrade]);
+        }
+    }
+
+    /**
+     * @return the positions holding trades marked against each curve id
+     */
+    public Map<Integer, Set<PositionKey>> getPositionKeysByCurveId() {
+        return Collections.unmodifiableMap(positionKeysByCurveId);
+    }
+}
@@ -0,0 +1,319 @@
+package com.nnk.springboot.services.pnl;
+
+import com.nnk.springboot.services.position.PositionKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * computes the P&amp;L of each position of a population of trades in three passes:
+ * the trades are loaded into primitive columns, then grouped position by position with a counting sort
+ * that keeps their booking order, then the positions are computed in parallel by fork/join tasks,
+ * each task splitting its positions in two halves of about the same number of trades until it holds
+ * less than leafSize trades.
+ * Within a position the legs are matched first in, first out: each match realises
+ * quantity x (sell price - buy price), and the quantities left open are marked against the mark
+ * of the benchmark of their trade. Legs without a price are left out
+ */
+public class PnlCalculator {
+
+    private final ForkJoinPool forkJoinPool;
+
+    private final int leafSize;
+
+    /**
+     * @param forkJoinPool pool running the computation of the positions
+     * @param leafSize     number of trades below which a range of positions is computed sequentially
+     */
+    public PnlCalculator(ForkJoinPool forkJoinPool, int leafSize) {
+        this.forkJoinPool = forkJoinPool;
+        this.leafSize = leafSize;
+    }
+
+    /**
+     * compute the P&amp;L of the positions of some trades
+     *
+     * @param pricedTrades    trades, in booking order
+     * @param markOfBenchmark value of a benchmark, NaN if it cannot be marked: called once per distinct benchmark
+     * @return the P&amp;L of each position holding one of the trades
+     */
+    public PnlBook compute(Stream<PricedTrade> pricedTrades, ToDoubleFunction<String> markOfBenchmark) {
+        TradeColumns tradeColumns = new TradeColumns();
+        pricedTrades.forEach(tradeColumns::add);
+
+        int tradeCount = tradeColumns.size;
+        int positionCount = tradeColumns.positionKeys.size();
+
+        double[] marks = new double[tradeColumns.benchmarks.size()];
+        int[] curveIds = new int[marks.length];
+        for (int benchmark = 0; benchmark < marks.length; benchmark++) {
+            marks[benchmark] = markOfBenchmark.applyAsDouble(tradeColumns.benchmarks.get(benchmark));
+            Benchmark parsedBenchmark = Benchmark.parse(tradeColumns.benchmarks.get(benchmark));
+            curveIds[benchmark] = parsedBenchmark == null ? -1 : parsedBenchmark.getCurveId();
+        }
+
+        /* counting sort of the trades by position, each position keeping its trades in booking order */
+        int[] positionStarts = new int[positionCount + 1];
+        for (int trade = 0; trade < tradeCount; trade++) {
+            positionStarts[tradeColumns.positions[trade] + 1]++;
+        }
+        for (int position = 0; position < positionCount; position++) {
+            positionStarts[position + 1] += positionStarts[position];
+        }
+
+        Legs legs = new Legs(positionStarts, tradeCount);
+        int[] cursors = Arrays.copyOf(positionStarts, positionCount);
+        long[] positionOfTrades = new long[tradeCount];
+        Map<Integer, Set<PositionKey>> positionKeysByCurveId = new HashMap<>();
+        for (int trade = 0; trade < tradeCount; trade++) {
+            int position = tradeColumns.positions[trade];
+            int leg = cursors[position]++;
+            int benchmark = tradeColumns.benchmarkIndexes[trade];
+            legs.buyQuantities[leg] = tradeColumns.buyQuantities[trade];
+            legs.buyPrices[leg] = tradeColumns.buyPrices[trade];
+            legs.sellQuantities[leg] = tradeColumns.sellQuantities[trade];
+            legs.sellPrices[leg] = tradeColumns.sellPrices[trade];
+            legs.marks[leg] = benchmark < 0 ? Double.NaN : marks[benchmark];
+
+            positionOfTrades[trade] = (long) tradeColumns.tradeIds[trade] << 32 | position;
+            if (benchmark >= 0 && curveIds[benchmark] >= 0) {
+                positionKeysByCurveId.computeIfAbsent(curveIds[benchmark], curveId -> new HashSet<>())
+                        .add(tradeColumns.positionKeys.get(position));
+            }
+        }
+        Arrays.sort(positionOfTrades);
+
+        if (positionCount > 0) {
+            forkJoinPool.invoke(new PositionRangeTask(legs, 0, positionCount, leafSize));
+        }
+
+        int[] tradeCounts = new int[positionCount];
+        for (int position = 0; position < positionCount; position++) {
+            tradeCounts[position] = positionStarts[position + 1] - positionStarts[position];
+        }
+        return new PnlBook(tradeColumns.positionKeys.toArray(new PositionKey[0]), tradeCounts,
+                legs.realisedPnls, legs.unrealisedPnls, legs.openQuantities, legs.unmarkedQuantities,
+                positionOfTrades, positionKeysByCurveId);
+    }
+
+
+    /**
+     * columns of the trades in booking order, with the index of their position and of their benchmark.
+     * A quantity without value is 0, a price without value NaN
+     */
+    private static final class TradeColumns {
+
+        private final Map<PositionKey, Integer> positionIndexes = new HashMap<>();
+
+        private final List<PositionKey> positionKeys = new ArrayList<>();
+
+        private final Map<String, Integer> benchmarkIndexes0 = new HashMap<>();
+
+        private final List<String> benchmarks = new ArrayList<>();
+
+        private int size;
+
+        private int[] tradeIds = new int[1024];
+
+        private int[] positions = new int[1024];
+
+        private int[] benchmarkIndexes = new int[1024];
+
+        private double[] buyQuantities = new double[1024];
+
+        private double[] buyPrices = new double[1024];
+
+        private double[] sellQuantities = new double[1024];
+
+        private double[] sellPrices = new double[1024];
+
+        private void add(PricedTrade pricedTrade) {
+            if (size == tradeIds.length) {
+                int capacity = size * 2;
+                tradeIds = Arrays.copyOf(tradeIds, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+                benchmarkIndexes = Arrays.copyOf(benchmarkIndexes, capacity);
+                buyQuantities = Arrays.copyOf(buyQuantities, capacity);
+                buyPrices = Arrays.copyOf(buyPrices, capacity);
+                sellQuantities = Arrays.copyOf(sellQuantities, capacity);
+                sellPrices = Arrays.copyOf(sellPrices, capacity);
+            }
+
+            tradeIds[size] = pricedTrade.getTradeId();
+            positions[size] = positionIndexes.computeIfAbsent(pricedTrade.getPositionKey(), positionKey -> {
+                positionKeys.add(positionKey);
+                return positionKeys.size() - 1;
+            });
+            benchmarkIndexes[size] = pricedTrade.getBenchmark() == null ? -1
+                    : benchmarkIndexes0.computeIfAbsent(pricedTrade.getBenchmark(), benchmark -> {
+                benchmarks.add(benchmark);
+                return benchmarks.size() - 1;
+            });
+            buyQuantities[size] = pricedTrade.getBuyQuantity() == null ? 0 : pricedTrade.getBuyQuantity();
+            buyPrices[size] = pricedTrade.getBuyPrice() == null ? Double.NaN : pricedTrade.getBuyPrice();
+            sellQuantities[size] = pricedTrade.getSellQuantity() == null ? 0 : pricedTrade.getSellQuantity();
+            sellPrices[size] = pricedTrade.getSellPrice() == null ? Double.NaN : pricedTrade.getSellPrice();
+            size++;
+        }
+    }
+
+
+    /**
+     * legs of the trades grouped by position, and the P&amp;L of each position once computed
+     */
+    private static final class Legs {
+
+        private final int[] positionStarts;
+
+        private final double[] buyQuantities;
+
+        private final double[] buyPrices;
+
+        private final double[] sellQuantities;
+
+        private final double[] sellPrices;
+
+        private final double[] marks;
+
+        private final double[] realisedPnls;
+
+        private final double[] unrealisedPnls;
+
+        private final double[] openQuantities;
+
+        private final double[] unmarkedQuantities;
+
+        private Legs(int[] positionStarts, int tradeCount) {
+            int positionCount = positionStarts.length - 1;
+            this.positionStarts = positionStarts;
+            this.buyQuantities = new double[tradeCount];
+            this.buyPrices = new double[tradeCount];
+            this.sellQuantities = new double[tradeCount];
+            this.sellPrices = new double[tradeCount];
+            this.marks = new double[tradeCount];
+            this.realisedPnls = new double[positionCount];
+            this.unrealisedPnls = new double[positionCount];
+            this.openQuantities = new double[positionCount];
+            this.unmarkedQuantities = new double[positionCount];
+        }
+    }
+
+
+    /**
+     * computes the positions [from, to), splitting them while they hold more than leafSize trades
+     */
+    private static final class PositionRangeTask extends RecursiveAction {
+
+        private final Legs legs;
+
+        private final int from;
+
+        private final int to;
+
+        private final int leafSize;
+
+        private PositionRangeTask(Legs legs, int from, int to, int leafSize) {
+            this.legs = legs;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            int[] positionStarts = legs.positionStarts;
+            if (to - from == 1 || positionStarts[to] - positionStarts[from] <= leafSize) {
+                for (int position = from; position < to; position++) {
+                    computePosition(position);
+                }
+                return;
+            }
+
+            /* split on the trades rather than on the positions, a few positions holding most of the trades */
+            int middleTrade = (positionStarts[from] + positionStarts[to]) >>> 1;
+            int middle = Arrays.binarySearch(positionStarts, from + 1, to, middleTrade);
+            if (middle < 0) {
+                middle = -middle - 1;
+            }
+            middle = Math.max(from + 1, Math.min(to - 1, middle));
+            invokeAll(new PositionRangeTask(legs, from, middle, leafSize),
+                    new PositionRangeTask(legs, middle, to, leafSize));
+        }
+
+        private void computePosition(int position) {
+            int start = legs.positionStarts[position];
+            int end = legs.positionStarts[position + 1];
+
+            /* quantity left open by each trade: positive for a bought lot, negative for a sold one.
+             * All the open lots are on the same side, the lots before head being closed */
+            double[] openLots = new double[end - start];
+            int head = 0;
+            double realisedPnl = 0;
+
+            for (int lot = 0; lot < openLots.length; lot++) {
+                int leg = start + lot;
+                for (int side = 1; side >= -1; side -= 2) {
+                    double quantity = side > 0 ? legs.buyQuantities[leg] : legs.sellQuantities[leg];
+                    double price = side > 0 ? legs.buyPrices[leg] : legs.sellPrices[leg];
+                    if (quantity <= 0 || Double.isNaN(price)) {
+                        continue;
+                    }
+
+                    while (quantity > 0) {
+                        double openLot = openLots[head];
+                        if (openLot == 0) {
+                            if (head == lot) {
+                                break;
+                            }
+                            head++;
+                            continue;
+                        }
+                        if (openLot > 0 == side > 0) {
+                            break;
+                        }
+                        double matchedQuantity = Math.min(quantity, Math.abs(openLot));
+                        double openPrice = openLot > 0 ? legs.buyPrices[start + head] : legs.sellPrices[start + head];
+                        realisedPnl += side > 0
+                                ? matchedQuantity * (openPrice - price)
+                                : matchedQuantity * (price - openPrice);
+                        openLots[head] = openLot > 0 ? openLot - matchedQuantity : openLot + matchedQuantity;
+                        quantity -= matchedQuantity;
+                    }
+                    openLots[lot] += side * quantity;
+                }
+            }
+
+            double unrealisedPnl = 0;
+            double openQuantity = 0;
+            double unmarkedQuantity = 0;
+            for (int lot = head; lot < openLots.length; lot++) {
+                double openLot = openLots[lot];
+                if (openLot == 0) {
+                    continue;
+                }
+                int leg = start + lot;
+                openQuantity += openLot;
+                if (Double.isNaN(legs.marks[leg])) {
+                    unmarkedQuantity += Math.abs(openLot);
+                } else {
+                    double openPrice = openLot > 0 ? legs.buyPrices[leg] : legs.sellPrices[leg];
+                    unrealisedPnl += openLot * (legs.marks[leg] - openPrice);
+                }
+            }
+
+            legs.realisedPnls[position] = realisedPnl;
+            legs.unrealisedPnls[position] = unrealisedPnl;
+            legs.openQuantities[position] = openQuantity;
+            legs.unmarkedQuantities[position] = unmarkedQuantity;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.nnk.springboot.services.pnl;
+
+import com.nnk.springboot.services.position.PositionKey;
+import lombok.Getter;
+
+/**
+ * columns of a trade needed by its P&amp;L: its position, its benchmark and its priced legs
+ */
+@Getter
+public final class PricedTrade {
+
+    private final Integer tradeId;
+
+    private final PositionKey positionKey;
+
+    private final String benchmark;
+
+    private final Double buyQuantity;
+
+    private final Double buyPrice;
+
+    private final Double sellQuantity;
+
+    private final Double sellPrice;
+
+    /* constructor expression of the TradeRepository P&L queries */
+    public PricedTrade(Integer tradeId, String account, String book, String security, String benchmark,
+                       Double buyQuantity, Double buyPrice, Double sellQuantity, Double sellPrice) {
+        this.tradeId = tradeId;
+        this.positionKey = new PositionKey(account, book, security);
+        this.benchmark = benchmark;
+        this.buyQuantity = buyQuantity;
+        this.buyPrice = buyPrice;
+        this.sellQuantity = sellQuantity;
+        this.sellPrice = sellPrice;
+    }
+
+    @Override
+    public String toString() {
+        return "PricedTrade{" +
+                "tradeId=" + tradeId +
+                ", positionKey=" + positionKey +
+                ", benchmark='" + benchmark + '\'' +
+                '}';
+    }
+}
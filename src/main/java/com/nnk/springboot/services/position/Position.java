@@ -0,0 +1,116 @@
+package com.nnk.springboot.services.position;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * immutable aggregate of the legs of the trades of a position key.
+ * A leg is added or removed by building a new Position, so that a reader never sees a partly applied leg.
+ * The sums are exact decimals: removing a leg restores exactly the sums held before it was added,
+ * so that a side whose priced legs have all been removed has no average price and a flat position no side
+ */
+public final class Position {
+
+    @Getter
+    private final PositionKey positionKey;
+
+    @Getter
+    private final int tradeCount;
+
+    private final BigDecimal buyQuantity;
+
+    private final BigDecimal pricedBuyQuantity;
+
+    private final BigDecimal buyAmount;
+
+    private final BigDecimal sellQuantity;
+
+    private final BigDecimal pricedSellQuantity;
+
+    private final BigDecimal sellAmount;
+
+    private Position(PositionKey positionKey, int tradeCount,
+                     BigDecimal buyQuantity, BigDecimal pricedBuyQuantity, BigDecimal buyAmount,
+                     BigDecimal sellQuantity, BigDecimal pricedSellQuantity, BigDecimal sellAmount) {
+        this.positionKey = positionKey;
+        this.tradeCount = tradeCount;
+        this.buyQuantity = buyQuantity;
+        this.pricedBuyQuantity = pricedBuyQuantity;
+        this.buyAmount = buyAmount;
+        this.sellQuantity = sellQuantity;
+        this.pricedSellQuantity = pricedSellQuantity;
+        this.sellAmount = sellAmount;
+    }
+
+    public static Position of(TradeLeg tradeLeg) {
+        return new Position(tradeLeg.getPositionKey(), 1,
+                tradeLeg.getBuyQuantity(), tradeLeg.getPricedBuyQuantity(), tradeLeg.getBuyAmount(),
+                tradeLeg.getSellQuantity(), tradeLeg.getPricedSellQuantity(), tradeLeg.getSellAmount());
+    }
+
+    public Position plus(TradeLeg tradeLeg) {
+        return new Position(positionKey, tradeCount + 1,
+                buyQuantity.add(tradeLeg.getBuyQuantity()),
+                pricedBuyQuantity.add(tradeLeg.getPricedBuyQuantity()),
+                buyAmount.add(tradeLeg.getBuyAmount()),
+                sellQuantity.add(tradeLeg.getSellQuantity()),
+                pricedSellQuantity.add(tradeLeg.getPricedSellQuantity()),
+                sellAmount.add(tradeLeg.getSellAmount()));
+    }
+
+    /**
+     * @param tradeLeg leg previously added to this position
+     * @return the position without this leg, null if it was the last one
+     */
+    public Position minus(TradeLeg tradeLeg) {
+        if (tradeCount <= 1) {
+            return null;
+        }
+        return new Position(positionKey, tradeCount - 1,
+                buyQuantity.subtract(tradeLeg.getBuyQuantity()),
+                pricedBuyQuantity.subtract(tradeLeg.getPricedBuyQuantity()),
+                buyAmount.subtract(tradeLeg.getBuyAmount()),
+                sellQuantity.subtract(tradeLeg.getSellQuantity()),
+                pricedSellQuantity.subtract(tradeLeg.getPricedSellQuantity()),
+                sellAmount.subtract(tradeLeg.getSellAmount()));
+    }
+
+    public double getBuyQuantity() {
+        return buyQuantity.doubleValue();
+    }
+
+    public double getSellQuantity() {
+        return sellQuantity.doubleValue();
+    }
+
+    public double getNetQuantity() {
+        return buyQuantity.subtract(sellQuantity).doubleValue();
+    }
+
+    /**
+     * @return the weighted average price of the bought quantities with a price, null if none
+     */
+    public Double getAverageBuyPrice() {
+        return pricedBuyQuantity.signum() == 0 ? null : buyAmount.doubleValue() / pricedBuyQuantity.doubleValue();
+    }
+
+    /**
+     * @return the weighted average price of the sold quantities with a price, null if none
+     */
+    public Double getAverageSellPrice() {
+        return pricedSellQuantity.signum() == 0 ? null : sellAmount.doubleValue() / pricedSellQuantity.doubleValue();
+    }
+
+    /**
+     * @return the average price of the side the position is held on: the average buy price of a long position,
+     * the average sell price of a short one, null if the position is flat
+     */
+    public Double getAveragePrice() {
+        int netQuantitySign = buyQuantity.compareTo(sellQuantity);
+        if (netQuantitySign > 0) {
+            return getAverageBuyPrice();
+        }
+        return netQuantitySign < 0 ? getAverageSellPrice() : null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.nnk.springboot.services.position;
+
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * identifies a position: the account, book and security of its trades (book and security possibly null)
+ */
+@Getter
+public final class PositionKey {
+
+    private final String account;
+
+    private final String book;
+
+    private final String security;
+
+    public PositionKey(String account, String book, String security) {
+        this.account = account;
+        this.book = book;
+        this.security = security;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PositionKey positionKey = (PositionKey) o;
+        return Objects.equals(account, positionKey.account) && Objects.equals(book, positionKey.book)
+                && Objects.equals(security, positionKey.security);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(account, book, security);
+    }
+
+    @Override
+    public String toString() {
+        return "PositionKey{" +
+                "account='" + account + '\'' +
+                ", book='" + book + '\'' +
+                ", security='" + security + '\'' +
+                '}';
+    }
+}
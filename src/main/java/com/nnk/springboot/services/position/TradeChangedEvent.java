@@ -0,0 +1,44 @@
+package com.nnk.springboot.services.position;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * published by TradeService, within the transaction of the change, when trades have been created, updated or deleted
+ */
+@Getter
+public class TradeChangedEvent {
+
+    /* created or updated trades, as they are committed */
+    private final Collection<TradeLeg> savedTradeLegs;
+
+    /* trades updated with a single statement, without their state: read back once committed */
+    private final Collection<Integer> updatedTradeIds;
+
+    private final Collection<Integer> deletedTradeIds;
+
+    public TradeChangedEvent(Collection<TradeLeg> savedTradeLegs, Collection<Integer> updatedTradeIds,
+                             Collection<Integer> deletedTradeIds) {
+        this.savedTradeLegs = savedTradeLegs;
+        this.updatedTradeIds = updatedTradeIds;
+        this.deletedTradeIds = deletedTradeIds;
+    }
+
+    public boolean isEmpty() {
+        return savedTradeLegs.isEmpty() && updatedTradeIds.isEmpty() && deletedTradeIds.isEmpty();
+    }
+
+    public static TradeChangedEvent saved(Collection<TradeLeg> savedTradeLegs) {
+        return new TradeChangedEvent(savedTradeLegs, Collections.emptyList(), Collections.emptyList());
+    }
+
+    public static TradeChangedEvent updated(Collection<Integer> updatedTradeIds) {
+        return new TradeChangedEvent(Collections.emptyList(), updatedTradeIds, Collections.emptyList());
+    }
+
+    public static TradeChangedEvent deleted(Collection<Integer> deletedTradeIds) {
+        return new TradeChangedEvent(Collections.emptyList(), Collections.emptyList(), deletedTradeIds);
+    }
+}
@@ -0,0 +1,86 @@
+package com.nnk.springboot.services.position;
+
+import com.nnk.springboot.domain.Trade;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * contribution of one trade to its position: its bought and sold quantities and, for the quantities traded
+ * with a price, their amount (quantity x price). A quantity without price counts in the net quantity
+ * but not in the average prices.
+ * The quantities and amounts are exact decimals, so that a leg removed from a position cancels what it added
+ */
+@Getter
+public final class TradeLeg {
+
+    private final Integer tradeId;
+
+    private final PositionKey positionKey;
+
+    private final BigDecimal buyQuantity;
+
+    private final BigDecimal pricedBuyQuantity;
+
+    private final BigDecimal buyAmount;
+
+    private final BigDecimal sellQuantity;
+
+    private final BigDecimal pricedSellQuantity;
+
+    private final BigDecimal sellAmount;
+
+    /* constructor expression of TradeRepository.streamAllLegs and findLegsByTradeIdIn */
+    public TradeLeg(Integer tradeId, String account, String book, String security,
+                    Double buyQuantity, Double buyPrice, Double sellQuantity, Double sellPrice) {
+        this.tradeId = tradeId;
+        this.positionKey = new PositionKey(account, book, security);
+        this.buyQuantity = decimal(buyQuantity);
+        this.pricedBuyQuantity = buyPrice == null ? BigDecimal.ZERO : this.buyQuantity;
+        this.buyAmount = buyPrice == null ? BigDecimal.ZERO : this.buyQuantity.multiply(decimal(buyPrice));
+        this.sellQuantity = decimal(sellQuantity);
+        this.pricedSellQuantity = sellPrice == null ? BigDecimal.ZERO : this.sellQuantity;
+        this.sellAmount = sellPrice == null ? BigDecimal.ZERO : this.sellQuantity.multiply(decimal(sellPrice));
+    }
+
+    private TradeLeg(TradeLeg tradeLeg, PositionKey positionKey) {
+        this.tradeId = tradeLeg.tradeId;
+        this.positionKey = positionKey;
+        this.buyQuantity = tradeLeg.buyQuantity;
+        this.pricedBuyQuantity = tradeLeg.pricedBuyQuantity;
+        this.buyAmount = tradeLeg.buyAmount;
+        this.sellQuantity = tradeLeg.sellQuantity;
+        this.pricedSellQuantity = tradeLeg.pricedSellQuantity;
+        this.sellAmount = tradeLeg.sellAmount;
+    }
+
+    /* the shortest decimal printing the same double: 0.1 is read as 0.1, not as its binary approximation */
+    private static BigDecimal decimal(Double value) {
+        return value == null ? BigDecimal.ZERO : BigDecimal.valueOf(value);
+    }
+
+    public static TradeLeg of(Trade trade) {
+        return new TradeLeg(trade.getTradeId(), trade.getAccount(), trade.getBook(), trade.getSecurity(),
+                trade.getBuyQuantity(), trade.getBuyPrice(), trade.getSellQuantity(), trade.getSellPrice());
+    }
+
+    /**
+     * @param positionKey key equal to the key of this leg, shared by the other legs of the position
+     * @return this leg holding the given key instance
+     */
+    public TradeLeg withPositionKey(PositionKey positionKey) {
+        return positionKey == this.positionKey ? this : new TradeLeg(this, positionKey);
+    }
+
+    @Override
+    public String toString() {
+        return "TradeLeg{" +
+                "tradeId=" + tradeId +
+                ", positionKey=" + positionKey +
+                ", buyQuantity=" + buyQuantity +
+                ", buyAmount=" + buyAmount +
+                ", sellQuantity=" + sellQuantity +
+                ", sellAmount=" + sellAmount +
+                '}';
+    }
+}
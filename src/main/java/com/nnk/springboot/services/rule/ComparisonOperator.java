@@ -0,0 +1,63 @@
+package com.nnk.springboot.services.rule;
+
+/**
+ * comparison operators of the rule predicates, applied to the result of compareTo between a field and a literal
+ */
+enum ComparisonOperator {
+
+    EQUAL("="),
+
+    NOT_EQUAL("<>"),
+
+    LESS("<"),
+
+    LESS_OR_EQUAL("<="),
+
+    GREATER(">"),
+
+    GREATER_OR_EQUAL(">=");
+
+    private final String symbol;
+
+    ComparisonOperator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    boolean test(int comparison) {
+        switch (this) {
+            case EQUAL:
+                return comparison == 0;
+            case NOT_EQUAL:
+                return comparison != 0;
+            case LESS:
+                return comparison < 0;
+            case LESS_OR_EQUAL:
+                return comparison <= 0;
+            case GREATER:
+                return comparison > 0;
+            default:
+                return comparison >= 0;
+        }
+    }
+
+    /**
+     * @param symbol =, &lt;&gt; or !=, &lt;, &lt;=, &gt; or &gt;=
+     * @return the operator, null if the symbol is not a comparison
+     */
+    static ComparisonOperator of(String symbol) {
+        if ("!=".equals(symbol)) {
+            return NOT_EQUAL;
+        }
+        for (ComparisonOperator comparisonOperator : values()) {
+            if (comparisonOperator.symbol.equals(symbol)) {
+                return comparisonOperator;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return symbol;
+    }
+}
@@ -0,0 +1,189 @@
+package com.nnk.springboot.services.rule;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RULE_FIELD_UNKNOWN;
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RULE_PREDICATE_EMPTY;
+
+/**
+ * predicate of a ruleName compiled once for the trades and once for the bidList, a rule applying to an entity
+ * only if the entity has all the fields it tests. The sqlPart and the json, when both are set, must both hold;
+ * a json which is not a JSON object is not a predicate and is ignored.
+ * A rule whose predicate cannot be compiled is kept, not active, with the reason why.
+ * Counts the incoming trades and bidList evaluated and matched since it was compiled
+ */
+public final class CompiledRule {
+
+    private final RuleDefinition ruleDefinition;
+
+    private final Predicate<Trade> tradePredicate;
+
+    private final Predicate<BidList> bidListPredicate;
+
+    private final String error;
+
+    private final LongAdder evaluatedTradeCount;
+
+    private final LongAdder matchedTradeCount;
+
+    private final LongAdder evaluatedBidListCount;
+
+    private final LongAdder matchedBidListCount;
+
+    private CompiledRule(RuleDefinition ruleDefinition, Predicate<Trade> tradePredicate,
+                         Predicate<BidList> bidListPredicate, String error, CompiledRule counted) {
+        this.ruleDefinition = ruleDefinition;
+        this.tradePredicate = tradePredicate;
+        this.bidListPredicate = bidListPredicate;
+        this.error = error;
+        this.evaluatedTradeCount = counted == null ? new LongAdder() : counted.evaluatedTradeCount;
+        this.matchedTradeCount = counted == null ? new LongAdder() : counted.matchedTradeCount;
+        this.evaluatedBidListCount = counted == null ? new LongAdder() : counted.evaluatedBidListCount;
+        this.matchedBidListCount = counted == null ? new LongAdder() : counted.matchedBidListCount;
+    }
+
+    /**
+     * parse the sqlPart and the json of a rule and bind them to the fields of the trades and of the bidList
+     *
+     * @param ruleDefinition the rule
+     * @return the compiled rule, not active if its predicate is not valid
+     */
+    public static CompiledRule compile(RuleDefinition ruleDefinition) {
+        try {
+            List<RuleExpression> ruleExpressions = new ArrayList<>(2);
+            if (ruleDefinition.getSqlPart() != null && !ruleDefinition.getSqlPart().trim().isEmpty()) {
+                ruleExpressions.add(SqlPartParser.parse(ruleDefinition.getSqlPart()));
+            }
+            if (ruleDefinition.getJson() != null && ruleDefinition.getJson().trim().startsWith("{")) {
+                ruleExpressions.add(JsonRuleParser.parse(ruleDefinition.getJson()));
+            }
+            if (ruleExpressions.isEmpty()) {
+                throw new IllegalArgumentException(RULE_PREDICATE_EMPTY);
+            }
+
+            RuleExpression ruleExpression = RuleExpression.and(ruleExpressions);
+            Set<String> fieldNames = new HashSet<>();
+            ruleExpression.collectFieldNames(fieldNames);
+            Predicate<Trade> tradePredicate = RuleFields.TRADE.containsAll(fieldNames)
+                    ? ruleExpression.bind(RuleFields.TRADE)
+                    : null;
+            Predicate<BidList> bidListPredicate = RuleFields.BID_LIST.containsAll(fieldNames)
+                    ? ruleExpression.bind(RuleFields.BID_LIST)
+                    : null;
+            if (tradePredicate == null && bidListPredicate == null) {
+                throw new IllegalArgumentException(RULE_FIELD_UNKNOWN + fieldNames);
+            }
+            return new CompiledRule(ruleDefinition, tradePredicate, bidListPredicate, null, null);
+
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return new CompiledRule(ruleDefinition, null, null, illegalArgumentException.getMessage(), null);
+        }
+    }
+
+    /**
+     * @param ruleDefinition new definition of the rule, with the same predicate
+     * @return the rule renamed, keeping its compiled predicates and its counts
+     */
+    public CompiledRule withRuleDefinition(RuleDefinition ruleDefinition) {
+        return new CompiledRule(ruleDefinition, tradePredicate, bidListPredicate, error, this);
+    }
+
+    public RuleDefinition getRuleDefinition() {
+        return ruleDefinition;
+    }
+
+    public Integer getRuleNameId() {
+        return ruleDefinition.getRuleNameId();
+    }
+
+    /**
+     * @return why the rule is not active, null if it is
+     */
+    public String getError() {
+        return error;
+    }
+
+    public boolean isActive() {
+        return error == null;
+    }
+
+    public boolean appliesToTrades() {
+        return tradePredicate != null;
+    }
+
+    public boolean appliesToBidLists() {
+        return bidListPredicate != null;
+    }
+
+    /**
+     * @return the predicate of the rule on the trades, null if it does not apply to them
+     */
+    public Predicate<Trade> getTradePredicate() {
+        return tradePredicate;
+    }
+
+    /**
+     * @return the predicate of the rule on the bidList, null if it does not apply to them
+     */
+    public Predicate<BidList> getBidListPredicate() {
+        return bidListPredicate;
+    }
+
+    /**
+     * evaluate an incoming trade, counting it
+     *
+     * @return true if the rule applies to the trades and matches this one
+     */
+    public boolean evaluate(Trade trade) {
+        if (tradePredicate == null) {
+            return false;
+        }
+        evaluatedTradeCount.increment();
+        if (tradePredicate.test(trade)) {
+            matchedTradeCount.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * evaluate an incoming bidList, counting it
+     *
+     * @return true if the rule applies to the bidList and matches this one
+     */
+    public boolean evaluate(BidList bidList) {
+        if (bidListPredicate == null) {
+            return false;
+        }
+        evaluatedBidListCount.increment();
+        if (bidListPredicate.test(bidList)) {
+            matchedBidListCount.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public long getEvaluatedTradeCount() {
+        return evaluatedTradeCount.sum();
+    }
+
+    public long getMatchedTradeCount() {
+        return matchedTradeCount.sum();
+    }
+
+    public long getEvaluatedBidListCount() {
+        return evaluatedBidListCount.sum();
+    }
+
+    public long getMatchedBidListCount() {
+        return matchedBidListCount.sum();
+    }
+}
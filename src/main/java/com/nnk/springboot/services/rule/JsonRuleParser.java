@@ -0,0 +1,124 @@
+package com.nnk.springboot.services.rule;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RULE_PREDICATE_NOT_VALID;
+
+/**
+ * parses the json of a rule, a predicate over the fields of a Trade or a BidList written as a JSON object:
+ * {"field": "buyQuantity", "op": "&gt;", "value": 100} with op one of =, &lt;&gt;, !=, &lt;, &lt;=, &gt;, &gt;=
+ * (= by default), in and notIn (value an array), between and notBetween (value [low, high]),
+ * like and notLike, isNull and isNotNull (no value); {"and": [...]}, {"or": [...]} and {"not": {...}}
+ */
+final class JsonRuleParser {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String json;
+
+    private JsonRuleParser(String json) {
+        this.json = json;
+    }
+
+    /**
+     * @param json the JSON object
+     * @return the parsed predicate
+     * @throws IllegalArgumentException if the JSON is not a valid predicate
+     */
+    static RuleExpression parse(String json) {
+        JsonRuleParser jsonRuleParser = new JsonRuleParser(json);
+        try {
+            return jsonRuleParser.parse(OBJECT_MAPPER.readTree(json));
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw jsonRuleParser.notValid(jsonProcessingException.getOriginalMessage());
+        }
+    }
+
+
+    private RuleExpression parse(JsonNode node) {
+        if (!node.isObject()) {
+            throw notValid(node.toString());
+        }
+        if (node.has("and") || node.has("or")) {
+            boolean and = node.has("and");
+            JsonNode operandNodes = node.get(and ? "and" : "or");
+            if (!operandNodes.isArray() || operandNodes.size() == 0 || node.size() != 1) {
+                throw notValid(node.toString());
+            }
+            List<RuleExpression> operands = new ArrayList<>();
+            operandNodes.forEach(operandNode -> operands.add(parse(operandNode)));
+            return and ? RuleExpression.and(operands) : RuleExpression.or(operands);
+        }
+        if (node.has("not")) {
+            if (node.size() != 1) {
+                throw notValid(node.toString());
+            }
+            return RuleExpression.not(parse(node.get("not")));
+        }
+        return parseCondition(node);
+    }
+
+    private RuleExpression parseCondition(JsonNode node) {
+        JsonNode fieldNode = node.get("field");
+        if (fieldNode == null || !fieldNode.isTextual()) {
+            throw notValid(node.toString());
+        }
+        String fieldName = fieldNode.asText();
+        String operator = node.has("op") ? node.get("op").asText() : "=";
+        JsonNode valueNode = node.get("value");
+
+        switch (operator.toLowerCase(Locale.ROOT)) {
+            case "isnull":
+            case "isnotnull":
+                return RuleExpression.isNull(fieldName, operator.equalsIgnoreCase("isNotNull"));
+            case "in":
+            case "notin":
+                if (valueNode == null || !valueNode.isArray() || valueNode.size() == 0) {
+                    throw notValid(node.toString());
+                }
+                List<Object> literals = new ArrayList<>();
+                valueNode.forEach(literalNode -> literals.add(parseLiteral(literalNode)));
+                return RuleExpression.in(fieldName, literals, operator.equalsIgnoreCase("notIn"));
+            case "between":
+            case "notbetween":
+                if (valueNode == null || !valueNode.isArray() || valueNode.size() != 2) {
+                    throw notValid(node.toString());
+                }
+                return RuleExpression.between(fieldName, parseLiteral(valueNode.get(0)), parseLiteral(valueNode.get(1)),
+                        operator.equalsIgnoreCase("notBetween"));
+            case "like":
+            case "notlike":
+                if (valueNode == null || !valueNode.isTextual()) {
+                    throw notValid(node.toString());
+                }
+                return RuleExpression.like(fieldName, valueNode.asText(), operator.equalsIgnoreCase("notLike"));
+            default:
+                ComparisonOperator comparisonOperator = ComparisonOperator.of(operator);
+                if (comparisonOperator == null || valueNode == null) {
+                    throw notValid(node.toString());
+                }
+                return RuleExpression.compare(fieldName, comparisonOperator, parseLiteral(valueNode));
+        }
+    }
+
+    /* a Double or a String */
+    private Object parseLiteral(JsonNode literalNode) {
+        if (literalNode.isNumber()) {
+            return literalNode.asDouble();
+        }
+        if (literalNode.isTextual()) {
+            return literalNode.asText();
+        }
+        throw notValid(literalNode.toString());
+    }
+
+    private IllegalArgumentException notValid(String found) {
+        return new IllegalArgumentException(RULE_PREDICATE_NOT_VALID + json + " (" + found + ")");
+    }
+}
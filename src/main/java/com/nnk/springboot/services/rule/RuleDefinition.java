@@ -0,0 +1,49 @@
+package com.nnk.springboot.services.rule;
+
+import com.nnk.springboot.domain.RuleName;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * columns of a ruleName needed by the rule engine
+ */
+@Getter
+public final class RuleDefinition {
+
+    private final Integer ruleNameId;
+
+    private final String name;
+
+    private final String json;
+
+    private final String sqlPart;
+
+    public RuleDefinition(Integer ruleNameId, String name, String json, String sqlPart) {
+        this.ruleNameId = ruleNameId;
+        this.name = name;
+        this.json = json;
+        this.sqlPart = sqlPart;
+    }
+
+    public static RuleDefinition of(RuleName ruleName) {
+        return new RuleDefinition(ruleName.getId(), ruleName.getName(), ruleName.getJson(), ruleName.getSqlPart());
+    }
+
+    /**
+     * @return true if the other definition compiles to the same predicate
+     */
+    public boolean hasSamePredicate(RuleDefinition ruleDefinition) {
+        return Objects.equals(json, ruleDefinition.json) && Objects.equals(sqlPart, ruleDefinition.sqlPart);
+    }
+
+    @Override
+    public String toString() {
+        return "RuleDefinition{" +
+                "ruleNameId=" + ruleNameId +
+                ", name='" + name + '\'' +
+                ", json='" + json + '\'' +
+                ", sqlPart='" + sqlPart + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,297 @@
+package com.nnk.springboot.services.rule;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RULE_FIELD_UNKNOWN;
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RULE_PREDICATE_NOT_VALID;
+
+/**
+ * predicate of a rule as parsed from its sqlPart or its json, before it is bound to the fields of an entity.
+ * Binding converts the literals to the class of their field once, so that the bound predicate tests a row
+ * by calling getters and compareTo only, without allocating.
+ * A comparison, IN, BETWEEN or LIKE is false when the field is null, even when negated;
+ * NOT applied to a group of conditions is a plain negation
+ */
+abstract class RuleExpression {
+
+    /**
+     * @param fields fields of the entity the predicate applies to
+     * @return the predicate testing a row of the entity
+     * @throws IllegalArgumentException if a field is unknown or cannot be compared with its literal
+     */
+    abstract <T> Predicate<T> bind(RuleFields<T> fields);
+
+    abstract void collectFieldNames(Set<String> fieldNames);
+
+
+    static RuleExpression and(List<RuleExpression> operands) {
+        return operands.size() == 1 ? operands.get(0) : new Junction(true, operands);
+    }
+
+    static RuleExpression or(List<RuleExpression> operands) {
+        return operands.size() == 1 ? operands.get(0) : new Junction(false, operands);
+    }
+
+    static RuleExpression not(RuleExpression operand) {
+        return new Not(operand);
+    }
+
+    static RuleExpression compare(String fieldName, ComparisonOperator comparisonOperator, Object literal) {
+        return new Comparison(fieldName, comparisonOperator, literal);
+    }
+
+    static RuleExpression in(String fieldName, List<Object> literals, boolean negated) {
+        return new In(fieldName, literals, negated);
+    }
+
+    static RuleExpression between(String fieldName, Object low, Object high, boolean negated) {
+        return new Between(fieldName, low, high, negated);
+    }
+
+    static RuleExpression isNull(String fieldName, boolean negated) {
+        return new IsNull(fieldName, negated);
+    }
+
+    static RuleExpression like(String fieldName, String pattern, boolean negated) {
+        return new Like(fieldName, pattern, negated);
+    }
+
+
+    private static <T> RuleField<T> field(RuleFields<T> fields, String fieldName) {
+        RuleField<T> ruleField = fields.find(fieldName);
+        if (ruleField == null) {
+            throw new IllegalArgumentException(RULE_FIELD_UNKNOWN + fieldName);
+        }
+        return ruleField;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Comparable value, Comparable literal) {
+        return value.compareTo(literal);
+    }
+
+    /**
+     * SQL LIKE, % matching any sequence of characters and _ any single character, without escape.
+     * Backtracks to the last % only, so that it runs in place
+     */
+    static boolean like(String value, String pattern) {
+        int valueIndex = 0;
+        int patternIndex = 0;
+        int lastPercentIndex = -1;
+        int valueIndexAtLastPercent = 0;
+        while (valueIndex < value.length()) {
+            if (patternIndex < pattern.length() && pattern.charAt(patternIndex) == '%') {
+                lastPercentIndex = patternIndex++;
+                valueIndexAtLastPercent = valueIndex;
+            } else if (patternIndex < pattern.length()
+                    && (pattern.charAt(patternIndex) == '_' || pattern.charAt(patternIndex) == value.charAt(valueIndex))) {
+                patternIndex++;
+                valueIndex++;
+            } else if (lastPercentIndex >= 0) {
+                patternIndex = lastPercentIndex + 1;
+                valueIndex = ++valueIndexAtLastPercent;
+            } else {
+                return false;
+            }
+        }
+        while (patternIndex < pattern.length() && pattern.charAt(patternIndex) == '%') {
+            patternIndex++;
+        }
+        return patternIndex == pattern.length();
+    }
+
+
+    private static final class Junction extends RuleExpression {
+
+        private final boolean and;
+
+        private final List<RuleExpression> operands;
+
+        private Junction(boolean and, List<RuleExpression> operands) {
+            this.and = and;
+            this.operands = operands;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <T> Predicate<T> bind(RuleFields<T> fields) {
+            Predicate<T>[] predicates = operands.stream().map(operand -> operand.bind(fields)).toArray(Predicate[]::new);
+            if (and) {
+                return row -> {
+                    for (Predicate<T> predicate : predicates) {
+                        if (!predicate.test(row)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+            return row -> {
+                for (Predicate<T> predicate : predicates) {
+                    if (predicate.test(row)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+
+        @Override
+        void collectFieldNames(Set<String> fieldNames) {
+            operands.forEach(operand -> operand.collectFieldNames(fieldNames));
+        }
+    }
+
+    private static final class Not extends RuleExpression {
+
+        private final RuleExpression operand;
+
+        private Not(RuleExpression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        <T> Predicate<T> bind(RuleFields<T> fields) {
+            Predicate<T> predicate = operand.bind(fields);
+            return row -> !predicate.test(row);
+        }
+
+        @Override
+        void collectFieldNames(Set<String> fieldNames) {
+            operand.collectFieldNames(fieldNames);
+        }
+    }
+
+    private abstract static class Condition extends RuleExpression {
+
+        final String fieldName;
+
+        private Condition(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        void collectFieldNames(Set<String> fieldNames) {
+            fieldNames.add(fieldName);
+        }
+    }
+
+    private static final class Comparison extends Condition {
+
+        private final ComparisonOperator comparisonOperator;
+
+        private final Object literal;
+
+        private Comparison(String fieldName, ComparisonOperator comparisonOperator, Object literal) {
+            super(fieldName);
+            this.comparisonOperator = comparisonOperator;
+            this.literal = literal;
+        }
+
+        @Override
+        <T> Predicate<T> bind(RuleFields<T> fields) {
+            RuleField<T> ruleField = field(fields, fieldName);
+            Comparable<?> convertedLiteral = ruleField.convert(literal);
+            return row -> {
+                Comparable<?> value = ruleField.get(row);
+                return value != null && comparisonOperator.test(compareValues(value, convertedLiteral));
+            };
+        }
+    }
+
+    private static final class In extends Condition {
+
+        private final List<Object> literals;
+
+        private final boolean negated;
+
+        private In(String fieldName, List<Object> literals, boolean negated) {
+            super(fieldName);
+            this.literals = literals;
+            this.negated = negated;
+        }
+
+        @Override
+        <T> Predicate<T> bind(RuleFields<T> fields) {
+            RuleField<T> ruleField = field(fields, fieldName);
+            Set<Object> convertedLiterals = new HashSet<>();
+            literals.forEach(literal -> convertedLiterals.add(ruleField.convert(literal)));
+            return row -> {
+                Comparable<?> value = ruleField.get(row);
+                return value != null && convertedLiterals.contains(value) != negated;
+            };
+        }
+    }
+
+    private static final class Between extends Condition {
+
+        private final Object low;
+
+        private final Object high;
+
+        private final boolean negated;
+
+        private Between(String fieldName, Object low, Object high, boolean negated) {
+            super(fieldName);
+            this.low = low;
+            this.high = high;
+            this.negated = negated;
+        }
+
+        @Override
+        <T> Predicate<T> bind(RuleFields<T> fields) {
+            RuleField<T> ruleField = field(fields, fieldName);
+            Comparable<?> convertedLow = ruleField.convert(low);
+            Comparable<?> convertedHigh = ruleField.convert(high);
+            return row -> {
+                Comparable<?> value = ruleField.get(row);
+                return value != null
+                        && (compareValues(value, convertedLow) >= 0 && compareValues(value, convertedHigh) <= 0) != negated;
+            };
+        }
+    }
+
+    private static final class IsNull extends Condition {
+
+        private final boolean negated;
+
+        private IsNull(String fieldName, boolean negated) {
+            super(fieldName);
+            this.negated = negated;
+        }
+
+        @Override
+        <T> Predicate<T> bind(RuleFields<T> fields) {
+            RuleField<T> ruleField = field(fields, fieldName);
+            return row -> (ruleField.get(row) == null) != negated;
+        }
+    }
+
+    private static final class Like extends Condition {
+
+        private final String pattern;
+
+        private final boolean negated;
+
+        private Like(String fieldName, String pattern, boolean negated) {
+            super(fieldName);
+            this.pattern = pattern;
+            this.negated = negated;
+        }
+
+        @Override
+        <T> Predicate<T> bind(RuleFields<T> fields) {
+            RuleField<T> ruleField = field(fields, fieldName);
+            if (ruleField.getType() != RuleField.Type.STRING) {
+                throw new IllegalArgumentException(RULE_PREDICATE_NOT_VALID + "LIKE on " + fieldName);
+            }
+            return row -> {
+                Comparable<?> value = ruleField.get(row);
+                return value != null && like((String) value, pattern) != negated;
+            };
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.nnk.springboot.services.rule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.function.Function;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RULE_PREDICATE_NOT_VALID;
+
+/**
+ * field of a Trade or a BidList a rule predicate can test, read through its getter:
+ * the value is compared as stored in the entity, without conversion
+ */
+final class RuleField<T> {
+
+    enum Type {
+        INTEGER, NUMBER, STRING, DATE
+    }
+
+    private final String name;
+
+    private final Type type;
+
+    private final Function<T, ? extends Comparable<?>> getter;
+
+    RuleField(String name, Type type, Function<T, ? extends Comparable<?>> getter) {
+        this.name = name;
+        this.type = type;
+        this.getter = getter;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    Comparable<?> get(T row) {
+        return getter.apply(row);
+    }
+
+    /**
+     * convert a literal of a predicate, once, to the class of the field values
+     *
+     * @param literal a Double or a String, dates being written yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss
+     * @return the literal as an Integer, a Double, a String or a LocalDateTime
+     * @throws IllegalArgumentException if the literal cannot be compared with the field
+     */
+    Comparable<?> convert(Object literal) {
+        switch (type) {
+            case INTEGER:
+                if (literal instanceof Double && (Double) literal == Math.rint((Double) literal)) {
+                    return ((Double) literal).intValue();
+                }
+                break;
+            case NUMBER:
+                if (literal instanceof Double) {
+                    return (Double) literal;
+                }
+                break;
+            case STRING:
+                if (literal instanceof String) {
+                    return (String) literal;
+                }
+                break;
+            default:
+                if (literal instanceof String) {
+                    try {
+                        String text = (String) literal;
+                        return text.length() == 10
+                                ? LocalDate.parse(text).atStartOfDay()
+                                : LocalDateTime.parse(text);
+                    } catch (DateTimeParseException dateTimeParseException) {
+                        break;
+                    }
+                }
+        }
+        throw new IllegalArgumentException(RULE_PREDICATE_NOT_VALID + name + " cannot be compared with " + literal);
+    }
+}
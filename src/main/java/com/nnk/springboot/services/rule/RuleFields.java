@@ -0,0 +1,105 @@
+package com.nnk.springboot.services.rule;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * fields of an entity the rule predicates can test, found by name whatever its case
+ */
+final class RuleFields<T> {
+
+    static final RuleFields<Trade> TRADE = new RuleFields<Trade>()
+            .integer("tradeId", Trade::getTradeId)
+            .integer("version", Trade::getVersion)
+            .string("account", Trade::getAccount)
+            .string("type", Trade::getType)
+            .number("buyQuantity", Trade::getBuyQuantity)
+            .number("sellQuantity", Trade::getSellQuantity)
+            .number("buyPrice", Trade::getBuyPrice)
+            .number("sellPrice", Trade::getSellPrice)
+            .date("tradeDate", Trade::getTradeDate)
+            .string("security", Trade::getSecurity)
+            .string("status", Trade::getStatus)
+            .string("trader", Trade::getTrader)
+            .string("benchmark", Trade::getBenchmark)
+            .string("book", Trade::getBook)
+            .string("creationName", Trade::getCreationName)
+            .date("creationDate", Trade::getCreationDate)
+            .string("revisionName", Trade::getRevisionName)
+            .date("revisionDate", Trade::getRevisionDate)
+            .string("dealName", Trade::getDealName)
+            .string("dealType", Trade::getDealType)
+            .string("sourceListId", Trade::getSourceListId)
+            .string("side", Trade::getSide);
+
+    static final RuleFields<BidList> BID_LIST = new RuleFields<BidList>()
+            .integer("bidListId", BidList::getBidListId)
+            .integer("version", BidList::getVersion)
+            .string("account", BidList::getAccount)
+            .string("type", BidList::getType)
+            .number("bidQuantity", BidList::getBidQuantity)
+            .number("askQuantity", BidList::getAskQuantity)
+            .number("bid", BidList::getBid)
+            .number("ask", BidList::getAsk)
+            .string("benchmark", BidList::getBenchmark)
+            .date("bidListDate", BidList::getBidListDate)
+            .string("commentary", BidList::getCommentary)
+            .string("security", BidList::getSecurity)
+            .string("status", BidList::getStatus)
+            .string("trader", BidList::getTrader)
+            .string("book", BidList::getBook)
+            .string("creationName", BidList::getCreationName)
+            .date("creationDate", BidList::getCreationDate)
+            .string("revisionName", BidList::getRevisionName)
+            .date("revisionDate", BidList::getRevisionDate)
+            .string("dealName", BidList::getDealName)
+            .string("dealType", BidList::getDealType)
+            .string("sourceListId", BidList::getSourceListId)
+            .string("side", BidList::getSide);
+
+    private final Map<String, RuleField<T>> fieldsByName = new HashMap<>();
+
+    private RuleFields() {
+    }
+
+    /**
+     * @param name name of the field, in any case
+     * @return the field, null if the entity has no such field
+     */
+    RuleField<T> find(String name) {
+        return fieldsByName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    boolean containsAll(Collection<String> names) {
+        return names.stream().allMatch(name -> find(name) != null);
+    }
+
+
+    private RuleFields<T> integer(String name, Function<T, Integer> getter) {
+        return add(new RuleField<>(name, RuleField.Type.INTEGER, getter));
+    }
+
+    private RuleFields<T> number(String name, Function<T, Double> getter) {
+        return add(new RuleField<>(name, RuleField.Type.NUMBER, getter));
+    }
+
+    private RuleFields<T> string(String name, Function<T, String> getter) {
+        return add(new RuleField<>(name, RuleField.Type.STRING, getter));
+    }
+
+    private RuleFields<T> date(String name, Function<T, LocalDateTime> getter) {
+        return add(new RuleField<>(name, RuleField.Type.DATE, getter));
+    }
+
+    private RuleFields<T> add(RuleField<T> ruleField) {
+        fieldsByName.put(ruleField.getName().toLowerCase(Locale.ROOT), ruleField);
+        return this;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nnk.springboot.services.rule;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * published by RuleNameService, within the transaction of the change, when ruleName have been created, updated or deleted
+ */
+@Getter
+public class RuleNameChangedEvent {
+
+    /* created or updated ruleName, as they are committed */
+    private final Collection<RuleDefinition> savedRuleDefinitions;
+
+    private final Collection<Integer> deletedRuleNameIds;
+
+    public RuleNameChangedEvent(Collection<RuleDefinition> savedRuleDefinitions, Collection<Integer> deletedRuleNameIds) {
+        this.savedRuleDefinitions = savedRuleDefinitions;
+        this.deletedRuleNameIds = deletedRuleNameIds;
+    }
+
+    public static RuleNameChangedEvent saved(RuleDefinition savedRuleDefinition) {
+        return new RuleNameChangedEvent(Collections.singletonList(savedRuleDefinition), Collections.emptyList());
+    }
+
+    public static RuleNameChangedEvent deleted(Integer deletedRuleNameId) {
+        return new RuleNameChangedEvent(Collections.emptyList(), Collections.singletonList(deletedRuleNameId));
+    }
+}
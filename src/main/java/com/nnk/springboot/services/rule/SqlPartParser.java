@@ -0,0 +1,249 @@
+package com.nnk.springboot.services.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.nnk.springboot.constants.PoseidonExceptionsConstants.RULE_PREDICATE_NOT_VALID;
+
+/**
+ * parses the sqlPart of a rule, a WHERE clause over the fields of a Trade or a BidList:
+ * comparisons (=, &lt;&gt;, !=, &lt;, &lt;=, &gt;, &gt;=) of a field with a number or a quoted string,
+ * [NOT] IN, [NOT] BETWEEN, IS [NOT] NULL and [NOT] LIKE, combined with AND, OR, NOT and parentheses.
+ * A leading WHERE and the table alias of the fields (t.account) are ignored.
+ * Recursive descent, AND binding tighter than OR
+ */
+final class SqlPartParser {
+
+    private static final String END = "";
+
+    private final String sqlPart;
+
+    private final List<String> tokens;
+
+    /* string literals, kept apart from the keywords and fields they could be mistaken for */
+    private final List<Boolean> quoted;
+
+    private int position;
+
+    private SqlPartParser(String sqlPart) {
+        this.sqlPart = sqlPart;
+        this.tokens = new ArrayList<>();
+        this.quoted = new ArrayList<>();
+        tokenize();
+    }
+
+    /**
+     * @param sqlPart the WHERE clause
+     * @return the parsed predicate
+     * @throws IllegalArgumentException if the clause is not valid
+     */
+    static RuleExpression parse(String sqlPart) {
+        SqlPartParser sqlPartParser = new SqlPartParser(sqlPart);
+        sqlPartParser.acceptKeyword("WHERE");
+        RuleExpression ruleExpression = sqlPartParser.parseOr();
+        if (sqlPartParser.position < sqlPartParser.tokens.size() - 1) {
+            throw sqlPartParser.notValid();
+        }
+        return ruleExpression;
+    }
+
+
+    private RuleExpression parseOr() {
+        List<RuleExpression> operands = new ArrayList<>();
+        operands.add(parseAnd());
+        while (acceptKeyword("OR")) {
+            operands.add(parseAnd());
+        }
+        return RuleExpression.or(operands);
+    }
+
+    private RuleExpression parseAnd() {
+        List<RuleExpression> operands = new ArrayList<>();
+        operands.add(parseNot());
+        while (acceptKeyword("AND")) {
+            operands.add(parseNot());
+        }
+        return RuleExpression.and(operands);
+    }
+
+    private RuleExpression parseNot() {
+        if (acceptKeyword("NOT")) {
+            return RuleExpression.not(parseNot());
+        }
+        if (accept("(")) {
+            RuleExpression ruleExpression = parseOr();
+            expect(")");
+            return ruleExpression;
+        }
+        return parseCondition();
+    }
+
+    private RuleExpression parseCondition() {
+        String fieldName = parseFieldName();
+
+        if (acceptKeyword("IS")) {
+            boolean negated = acceptKeyword("NOT");
+            expectKeyword("NULL");
+            return RuleExpression.isNull(fieldName, negated);
+        }
+
+        boolean negated = acceptKeyword("NOT");
+        if (acceptKeyword("IN")) {
+            expect("(");
+            List<Object> literals = new ArrayList<>();
+            do {
+                literals.add(parseLiteral());
+            } while (accept(","));
+            expect(")");
+            return RuleExpression.in(fieldName, literals, negated);
+        }
+        if (acceptKeyword("BETWEEN")) {
+            Object low = parseLiteral();
+            expectKeyword("AND");
+            return RuleExpression.between(fieldName, low, parseLiteral(), negated);
+        }
+        if (acceptKeyword("LIKE")) {
+            Object pattern = parseLiteral();
+            if (!(pattern instanceof String)) {
+                throw notValid();
+            }
+            return RuleExpression.like(fieldName, (String) pattern, negated);
+        }
+        if (negated) {
+            throw notValid();
+        }
+
+        ComparisonOperator comparisonOperator = quoted.get(position) ? null : ComparisonOperator.of(peek());
+        if (comparisonOperator == null) {
+            throw notValid();
+        }
+        position++;
+        return RuleExpression.compare(fieldName, comparisonOperator, parseLiteral());
+    }
+
+    private String parseFieldName() {
+        String token = peek();
+        if (quoted.get(position) || token.isEmpty() || !Character.isJavaIdentifierStart(token.charAt(0))) {
+            throw notValid();
+        }
+        position++;
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
+
+    /* a Double or a String */
+    private Object parseLiteral() {
+        String token = peek();
+        if (quoted.get(position)) {
+            position++;
+            return token;
+        }
+        try {
+            double number = Double.parseDouble(token);
+            position++;
+            return number;
+        } catch (NumberFormatException numberFormatException) {
+            throw notValid();
+        }
+    }
+
+
+    private String peek() {
+        return tokens.get(position);
+    }
+
+    private boolean accept(String symbol) {
+        if (!quoted.get(position) && peek().equals(symbol)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (!quoted.get(position) && peek().equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!accept(symbol)) {
+            throw notValid();
+        }
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!acceptKeyword(keyword)) {
+            throw notValid();
+        }
+    }
+
+    private IllegalArgumentException notValid() {
+        String found = position == tokens.size() - 1 ? "end" : "'" + peek() + "'";
+        return new IllegalArgumentException(RULE_PREDICATE_NOT_VALID + sqlPart + " (" + found + " unexpected)");
+    }
+
+
+    /* identifiers, numbers, quoted strings ('' for a quote), operators and punctuation, then END */
+    private void tokenize() {
+        int index = 0;
+        while (index < sqlPart.length()) {
+            char character = sqlPart.charAt(index);
+            int start = index;
+            if (Character.isWhitespace(character)) {
+                index++;
+                continue;
+            }
+            if (character == '\'') {
+                StringBuilder literal = new StringBuilder();
+                index++;
+                while (true) {
+                    if (index >= sqlPart.length()) {
+                        throw new IllegalArgumentException(RULE_PREDICATE_NOT_VALID + sqlPart + " (unclosed quote)");
+                    }
+                    if (sqlPart.charAt(index) == '\'') {
+                        if (index + 1 < sqlPart.length() && sqlPart.charAt(index + 1) == '\'') {
+                            literal.append('\'');
+                            index += 2;
+                            continue;
+                        }
+                        index++;
+                        break;
+                    }
+                    literal.append(sqlPart.charAt(index++));
+                }
+                add(literal.toString(), true);
+                continue;
+            }
+            if (Character.isJavaIdentifierStart(character)) {
+                while (index < sqlPart.length()
+                        && (Character.isJavaIdentifierPart(sqlPart.charAt(index)) || sqlPart.charAt(index) == '.')) {
+                    index++;
+                }
+            } else if (Character.isDigit(character) || character == '.'
+                    || (character == '-' && index + 1 < sqlPart.length()
+                    && (Character.isDigit(sqlPart.charAt(index + 1)) || sqlPart.charAt(index + 1) == '.'))) {
+                index++;
+                while (index < sqlPart.length() && (Character.isLetterOrDigit(sqlPart.charAt(index))
+                        || sqlPart.charAt(index) == '.'
+                        || ((sqlPart.charAt(index) == '-' || sqlPart.charAt(index) == '+')
+                        && Character.toLowerCase(sqlPart.charAt(index - 1)) == 'e'))) {
+                    index++;
+                }
+            } else if ((character == '<' || character == '>' || character == '!') && index + 1 < sqlPart.length()
+                    && (sqlPart.charAt(index + 1) == '=' || (character == '<' && sqlPart.charAt(index + 1) == '>'))) {
+                index += 2;
+            } else {
+                index++;
+            }
+            add(sqlPart.substring(start, index), false);
+        }
+        add(END, false);
+    }
+
+    private void add(String token, boolean quotedToken) {
+        tokens.add(token);
+        quoted.add(quotedToken);
+    }
+}
@@ -0,0 +1,62 @@
+package com.nnk.springboot.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public class ConditionalGetUtil {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ConditionalGetUtil() {
+    }
+
+    /**
+     * return a resource with its ETag, a hash of its JSON representation that changes with any of its fields,
+     * and its Last-Modified date when known.
+     * Spring MVC answers 304 Not Modified without body when the If-None-Match or If-Modified-Since header
+     * of the request matches them
+     *
+     * @param resource     resource to return
+     * @param lastModified last modification of the resource (revision date, else creation date), null if unknown
+     * @return the response with the resource and its validators
+     */
+    public static <T> ResponseEntity<T> ok(T resource, LocalDateTime lastModified) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(entityTag(resource));
+        if (lastModified != null) {
+            response.lastModified(lastModified.atZone(ZoneId.systemDefault()));
+        }
+        return response.body(resource);
+    }
+
+
+    /**
+     * return a resource with its ETag, for the resources without audit dates
+     *
+     * @param resource resource to return
+     * @return the response with the resource and its ETag
+     */
+    public static <T> ResponseEntity<T> ok(T resource) {
+        return ok(resource, null);
+    }
+
+
+    /**
+     * return the ETag of a resource
+     *
+     * @param resource resource returned by the REST API
+     * @return the MD5 hash of its JSON representation
+     */
+    public static String entityTag(Object resource) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(OBJECT_MAPPER.writeValueAsBytes(resource)) + "\"";
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
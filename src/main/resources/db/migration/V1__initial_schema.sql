@@ -0,0 +1,111 @@
+-- schema formerly created by hand with doc/data.sql, column for column: a database created that way,
+-- without migration history, is recorded as being at this version and the next migrations bring it up to date.
+-- The table names are those of the entities, the former upper-case names resolving to them on MySQL
+-- with case-insensitive table names
+
+CREATE TABLE bidlist
+(
+    BidListId    TINYINT(4)  NOT NULL AUTO_INCREMENT,
+    account      VARCHAR(30) NOT NULL,
+    type         VARCHAR(30) NOT NULL,
+    bidQuantity  DOUBLE,
+    askQuantity  DOUBLE,
+    bid          DOUBLE,
+    ask          DOUBLE,
+    benchmark    VARCHAR(125),
+    bidListDate  TIMESTAMP,
+    commentary   VARCHAR(125),
+    security     VARCHAR(125),
+    status       VARCHAR(10),
+    trader       VARCHAR(125),
+    book         VARCHAR(125),
+    creationName VARCHAR(125),
+    creationDate TIMESTAMP,
+    revisionName VARCHAR(125),
+    revisionDate TIMESTAMP,
+    dealName     VARCHAR(125),
+    dealType     VARCHAR(125),
+    sourceListId VARCHAR(125),
+    side         VARCHAR(125),
+
+    PRIMARY KEY (BidListId)
+);
+
+CREATE TABLE trade
+(
+    TradeId      TINYINT(4)  NOT NULL AUTO_INCREMENT,
+    account      VARCHAR(30) NOT NULL,
+    type         VARCHAR(30) NOT NULL,
+    buyQuantity  DOUBLE,
+    sellQuantity DOUBLE,
+    buyPrice     DOUBLE,
+    sellPrice    DOUBLE,
+    tradeDate    TIMESTAMP,
+    security     VARCHAR(125),
+    status       VARCHAR(10),
+    trader       VARCHAR(125),
+    benchmark    VARCHAR(125),
+    book         VARCHAR(125),
+    creationName VARCHAR(125),
+    creationDate TIMESTAMP,
+    revisionName VARCHAR(125),
+    revisionDate TIMESTAMP,
+    dealName     VARCHAR(125),
+    dealType     VARCHAR(125),
+    sourceListId VARCHAR(125),
+    side         VARCHAR(125),
+
+    PRIMARY KEY (TradeId)
+);
+
+CREATE TABLE curvepoint
+(
+    Id           TINYINT(4) NOT NULL AUTO_INCREMENT,
+    CurveId      TINYINT,
+    asOfDate     TIMESTAMP,
+    term         DOUBLE,
+    value        DOUBLE,
+    creationDate TIMESTAMP,
+
+    PRIMARY KEY (Id)
+);
+
+CREATE TABLE rating
+(
+    Id           TINYINT(4) NOT NULL AUTO_INCREMENT,
+    moodysRating VARCHAR(125),
+    sandPRating  VARCHAR(125),
+    fitchRating  VARCHAR(125),
+    orderNumber  TINYINT,
+
+    PRIMARY KEY (Id)
+);
+
+CREATE TABLE rulename
+(
+    Id          TINYINT(4) NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(125),
+    description VARCHAR(125),
+    json        VARCHAR(125),
+    template    VARCHAR(512),
+    sqlStr      VARCHAR(125),
+    sqlPart     VARCHAR(125),
+
+    PRIMARY KEY (Id)
+);
+
+CREATE TABLE users
+(
+    Id       TINYINT(4) NOT NULL AUTO_INCREMENT,
+    username VARCHAR(125),
+    password VARCHAR(125),
+    fullname VARCHAR(125),
+    role     VARCHAR(125),
+
+    PRIMARY KEY (Id)
+);
+
+INSERT INTO users(fullname, username, password, role)
+VALUES ('Administrator', 'admin', '$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa', 'ADMIN');
+INSERT INTO users(fullname, username, password, role)
+VALUES ('User', 'user', '$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa', 'USER');
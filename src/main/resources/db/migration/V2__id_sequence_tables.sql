@@ -0,0 +1,37 @@
+-- ids of bidlist, trade and curvepoint are allocated by Hibernate from the *_seq tables, 50 at a time,
+-- so that bulk inserts can be sent as JDBC batches: the keys lose their AUTO_INCREMENT and are widened to INT.
+-- A table holding n hands out the ids n-49 to n, so each one starts 50 above the highest id already used
+ALTER TABLE bidlist MODIFY BidListId INT NOT NULL;
+ALTER TABLE trade MODIFY TradeId INT NOT NULL;
+ALTER TABLE curvepoint MODIFY Id INT NOT NULL;
+
+CREATE TABLE bidlist_seq
+(
+    next_val BIGINT
+);
+INSERT INTO bidlist_seq SELECT COALESCE(MAX(BidListId), 0) + 50 FROM bidlist;
+
+CREATE TABLE trade_seq
+(
+    next_val BIGINT
+);
+INSERT INTO trade_seq SELECT COALESCE(MAX(TradeId), 0) + 50 FROM trade;
+
+CREATE TABLE curvepoint_seq
+(
+    next_val BIGINT
+);
+INSERT INTO curvepoint_seq SELECT COALESCE(MAX(Id), 0) + 50 FROM curvepoint;
+
+-- ids of rating, rulename and users are allocated by Hibernate from this table, one at a time, after the highest id
+-- already used. The table may have been created by hand on a database created with doc/data.sql
+CREATE TABLE IF NOT EXISTS hibernate_sequence
+(
+    next_val BIGINT
+);
+INSERT INTO hibernate_sequence
+SELECT GREATEST(COALESCE((SELECT MAX(Id) FROM rating), 0),
+                COALESCE((SELECT MAX(Id) FROM rulename), 0),
+                COALESCE((SELECT MAX(Id) FROM users), 0)) + 1
+FROM DUAL
+WHERE NOT EXISTS (SELECT * FROM hibernate_sequence);
@@ -0,0 +1,6 @@
+-- users are looked up at login by their lower-case username, unique whatever its case.
+-- The column is filled from the existing usernames before being made mandatory
+ALTER TABLE users ADD COLUMN usernameLower VARCHAR(125);
+UPDATE users SET usernameLower = LOWER(username);
+ALTER TABLE users MODIFY usernameLower VARCHAR(125) NOT NULL;
+CREATE UNIQUE INDEX users_username_lower_idx ON users (usernameLower);
@@ -0,0 +1,3 @@
+-- version of trade and bidlist, incremented on each update: an update based on an older version is rejected
+ALTER TABLE trade ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE bidlist ADD COLUMN version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- TINYINT keys capped each table at 127 rows: the keys not widened by V2 and the curve ids are widened to INT,
+-- the type of the entity fields
+ALTER TABLE curvepoint MODIFY CurveId INT;
+
+ALTER TABLE rating MODIFY Id INT NOT NULL AUTO_INCREMENT;
+ALTER TABLE rating MODIFY orderNumber INT;
+
+ALTER TABLE rulename MODIFY Id INT NOT NULL AUTO_INCREMENT;
+
+ALTER TABLE users MODIFY Id INT NOT NULL AUTO_INCREMENT;
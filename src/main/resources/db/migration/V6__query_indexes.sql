@@ -0,0 +1,8 @@
+-- indexes declared on the entities for the repository queries, checked at startup by the SchemaIndexValidator
+
+-- list pages and API sorted by account
+CREATE INDEX trade_account_type_idx ON trade (account, type);
+CREATE INDEX bidlist_account_type_idx ON bidlist (account, type);
+
+-- CurvePointRepository.findByCurveIdAndAsOfDate, run for each curve built by the curve service
+CREATE INDEX curvepoint_curve_id_as_of_date_idx ON curvepoint (CurveId, asOfDate);
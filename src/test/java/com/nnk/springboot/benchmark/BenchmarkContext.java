@@ -0,0 +1,62 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * starts the Poseidon application context for the benchmarks and the load tests,
+ * against an embedded H2 database
+ */
+public class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * start the application context, without web server, on an embedded H2 database
+     *
+     * @param databaseName name of the in-memory H2 database
+     * @param arguments    additional command line arguments (--property=value)
+     * @return the started application context (to be closed at the end of the benchmark)
+     */
+    public static ConfigurableApplicationContext start(String databaseName, String... arguments) {
+        return start(WebApplicationType.NONE, databaseName, arguments);
+    }
+
+    /**
+     * start the application with its web server on a random port (local.server.port), on an embedded H2 database
+     *
+     * @param databaseName name of the in-memory H2 database
+     * @param arguments    additional command line arguments (--property=value)
+     * @return the started application context (to be closed at the end of the load test)
+     */
+    public static ConfigurableApplicationContext startServer(String databaseName, String... arguments) {
+        /* started from a main method, the devtools would restart the application with its arguments twice */
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> commandLine = new ArrayList<>(Arrays.asList(arguments));
+        commandLine.add(0, "--server.port=0");
+        return start(WebApplicationType.SERVLET, databaseName, commandLine.toArray(new String[0]));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType,
+                                                        String databaseName, String... arguments) {
+        List<String> commandLine = new ArrayList<>(Arrays.asList(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--logging.level.root=WARN"));
+        commandLine.addAll(Arrays.asList(arguments));
+
+        return new SpringApplicationBuilder(Application.class)
+                .web(webApplicationType)
+                .run(commandLine.toArray(new String[0]));
+    }
+}
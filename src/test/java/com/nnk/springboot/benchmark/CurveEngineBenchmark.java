@@ -0,0 +1,96 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.services.curve.CurveKey;
+import com.nnk.springboot.services.curve.InterpolationMethod;
+import com.nnk.springboot.services.curve.YieldCurve;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compares a curve value lookup done by scanning and sorting the curve points on each call
+ * with a lookup in a YieldCurve built once by the CurveEngine.
+ * Run with the gc profiler to check that the YieldCurve lookups do not allocate:
+ * java -cp &lt;test classpath&gt; org.openjdk.jmh.Main CurveEngineBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CurveEngineBenchmark {
+
+    @Param({"10", "1000"})
+    private int points;
+
+    private List<CurvePoint> curvePointList;
+
+    private YieldCurve yieldCurve;
+
+    private double term;
+
+    @Setup
+    public void setUp() {
+        curvePointList = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            CurvePoint curvePoint = new CurvePoint();
+            curvePoint.setCurveId(1);
+            curvePoint.setTerm((double) i);
+            curvePoint.setValue(1 + Math.sqrt(i));
+            curvePointList.add(curvePoint);
+        }
+        yieldCurve = YieldCurve.of(new CurveKey(1, null), curvePointList);
+        term = points / 3.0 + 0.5;
+    }
+
+    @Benchmark
+    public double valueByScanningCurvePoints() {
+        List<CurvePoint> sortedCurvePoints = new ArrayList<>(curvePointList);
+        sortedCurvePoints.sort(Comparator.comparing(CurvePoint::getTerm));
+        for (int i = 1; i < sortedCurvePoints.size(); i++) {
+            CurvePoint upper = sortedCurvePoints.get(i);
+            if (upper.getTerm() >= term) {
+                CurvePoint lower = sortedCurvePoints.get(i - 1);
+                return lower.getValue() + (term - lower.getTerm()) / (upper.getTerm() - lower.getTerm())
+                        * (upper.getValue() - lower.getValue());
+            }
+        }
+        return sortedCurvePoints.get(sortedCurvePoints.size() - 1).getValue();
+    }
+
+    @Benchmark
+    public double linearValueFromYieldCurve() {
+        return yieldCurve.valueAt(term, InterpolationMethod.LINEAR);
+    }
+
+    @Benchmark
+    public double cubicSplineValueFromYieldCurve() {
+        return yieldCurve.valueAt(term, InterpolationMethod.CUBIC_SPLINE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CurveEngineBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,106 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.contracts.ICurveEngine;
+import com.nnk.springboot.services.curve.InterpolationMethod;
+import com.nnk.springboot.services.curve.YieldCurve;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures a curve value lookup through the CurveEngine of the application context, the curve being in memory,
+ * against the same lookup on the YieldCurve itself, and the lookup of a curve known to have no point.
+ * None of these lookups should reach the database nor open a transaction:
+ * mvn -Pbenchmark test -Djmh.include=CurveEngineLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CurveEngineLookupBenchmark {
+
+    private static final Integer CURVE_ID = 1;
+
+    private static final Integer UNKNOWN_CURVE_ID = 2;
+
+    @Param({"10", "1000"})
+    private int points;
+
+    private ConfigurableApplicationContext context;
+
+    private ICurveEngine curveEngine;
+
+    private YieldCurve yieldCurve;
+
+    private double term;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("curveEngineLookupBenchmark");
+        curveEngine = context.getBean(ICurveEngine.class);
+
+        List<CurvePoint> curvePointList = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            CurvePoint curvePoint = new CurvePoint();
+            curvePoint.setCurveId(CURVE_ID);
+            curvePoint.setTerm((double) i);
+            curvePoint.setValue(1 + Math.sqrt(i));
+            curvePointList.add(curvePoint);
+        }
+        context.getBean(CurvePointRepository.class).saveAll(curvePointList);
+
+        yieldCurve = curveEngine.findCurve(CURVE_ID, null).orElseThrow(IllegalStateException::new);
+        curveEngine.findCurve(UNKNOWN_CURVE_ID, null);
+        term = points / 3.0 + 0.5;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public double linearValueFromYieldCurve() {
+        return yieldCurve.valueAt(term, InterpolationMethod.LINEAR);
+    }
+
+    @Benchmark
+    public double linearValueFromCurveEngine() {
+        return curveEngine.valueAt(CURVE_ID, null, term, InterpolationMethod.LINEAR);
+    }
+
+    @Benchmark
+    public Optional<YieldCurve> unknownCurveFromCurveEngine() {
+        return curveEngine.findCurve(UNKNOWN_CURVE_ID, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CurveEngineLookupBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
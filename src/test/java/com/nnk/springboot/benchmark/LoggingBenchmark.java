@@ -0,0 +1,113 @@
+package com.nnk.springboot.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.constants.LogConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compares, on the request thread, the cost of the debug log of a service call with the message built eagerly
+ * (former call sites: constant + dto.toString()) and with a placeholder template,
+ * when the DEBUG level is disabled (production) and enabled.
+ * Run with the gc profiler to get allocations per call:
+ * java -cp &lt;test classpath&gt; org.openjdk.jmh.Main LoggingBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"INFO", "DEBUG"})
+    private String level;
+
+    private LoggerContext loggerContext;
+
+    private Logger logger;
+
+    private TradeDTO tradeDTO;
+
+    @Setup
+    public void setUp() {
+        loggerContext = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d %-5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                /* the cost of the console is not measured */
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                /* the cost of the console is not measured */
+            }
+        });
+        appender.start();
+
+        logger = loggerContext.getLogger(LoggingBenchmark.class);
+        logger.setLevel(Level.toLevel(level));
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+
+        tradeDTO = new TradeDTO();
+        tradeDTO.setTradeId(42);
+        tradeDTO.setAccount("Trade account");
+        tradeDTO.setType("Trade type");
+        tradeDTO.setBuyQuantity(10.0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void logWithEagerMessage() {
+        logger.debug("Call to createTrade with Trade: " + tradeDTO.toString());
+    }
+
+    @Benchmark
+    public void logWithPlaceholder() {
+        logger.debug(LogConstants.CREATE_TRADE_CALL, tradeDTO);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LoggingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.services.MessageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compares the formatting of the message shown after a redirect with the bundle looked up
+ * and the pattern parsed on each call (former MessageUtil.formatOutputMessage),
+ * with the MessageSource used directly, and with the compiled templates of MessageService,
+ * on 4 threads as concurrent requests would do.
+ * Run with the gc profiler to get allocations per message:
+ * java -cp &lt;test classpath&gt; org.openjdk.jmh.Main MessageFormattingBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(4)
+@Fork(1)
+public class MessageFormattingBenchmark {
+
+    private static final String PATTERN_CODE = "trade.update.ok";
+
+    private static final String VALUE = "42";
+
+    private ResourceBundleMessageSource messageSource;
+
+    private MessageService messageService;
+
+    @Setup
+    public void setUp() {
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageService = new MessageService(messageSource, 32);
+        LocaleContextHolder.setDefaultLocale(Locale.UK);
+    }
+
+    @Benchmark
+    public String formatWithBundleLookupPerCall() {
+        ResourceBundle bundle = ResourceBundle.getBundle("messages", Locale.UK);
+        String pattern = bundle.getString(PATTERN_CODE);
+        MessageFormat formatter = new MessageFormat(pattern);
+        return formatter.format(new Object[]{VALUE});
+    }
+
+    @Benchmark
+    public String formatWithMessageSource() {
+        return messageSource.getMessage(PATTERN_CODE, new Object[]{VALUE}, LocaleContextHolder.getLocale());
+    }
+
+    @Benchmark
+    public String formatWithMessageService() {
+        return messageService.formatOutputMessage(PATTERN_CODE, VALUE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MessageFormattingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.config.mapping.ModelMapperConfig;
+import com.nnk.springboot.domain.Trade;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compares the mapping of a trade list to DTO with a ModelMapper built on each call
+ * (former behaviour of the services) and with the shared ModelMapper of ModelMapperConfig.
+ * Run with the gc profiler to get allocations per row:
+ * java -cp &lt;test classpath&gt; org.openjdk.jmh.Main ModelMapperBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ModelMapperBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private List<Trade> tradeList;
+
+    private ModelMapper sharedModelMapper;
+
+    @Setup
+    public void setUp() {
+        tradeList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Trade trade = new Trade();
+            trade.setTradeId(i);
+            trade.setAccount("Account " + i);
+            trade.setType("Type " + (i % 10));
+            trade.setBuyQuantity((double) i);
+            tradeList.add(trade);
+        }
+        sharedModelMapper = new ModelMapperConfig().modelMapper();
+    }
+
+    @Benchmark
+    public List<TradeDTO> mapWithModelMapperPerCall() {
+        List<TradeDTO> tradeDTOList = new ArrayList<>();
+        ModelMapper modelMapper = new ModelMapper();
+        tradeList.forEach(trade ->
+                tradeDTOList.add(modelMapper.map(trade, TradeDTO.class)));
+        return tradeDTOList;
+    }
+
+    @Benchmark
+    public List<TradeDTO> mapWithSharedModelMapper() {
+        List<TradeDTO> tradeDTOList = new ArrayList<>();
+        tradeList.forEach(trade ->
+                tradeDTOList.add(sharedModelMapper.map(trade, TradeDTO.class)));
+        return tradeDTOList;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ModelMapperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
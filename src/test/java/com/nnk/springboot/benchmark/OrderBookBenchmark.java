@@ -0,0 +1,135 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.services.orderbook.BidQuote;
+import com.nnk.springboot.services.orderbook.Fill;
+import com.nnk.springboot.services.orderbook.OrderBook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures the book updates per second a single writer applies to the order book of one security:
+ * a replayed sequence of bidList moving their bid or ask around the mid, lowering their quantity in place,
+ * or cancelled, placed without matching as at startup, then with the crossing orders matched.
+ * The prices are on a 0.01 tick within a few percent of the mid, as in the load test data:
+ * mvn -Pbenchmark test -Djmh.include=OrderBookBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OrderBookBenchmark {
+
+    private static final String SECURITY = "SEC";
+
+    private static final int UPDATES = 1 << 20;
+
+    /* number of bidList resting in the book */
+    @Param({"1000", "100000"})
+    private int orders;
+
+    /* replayed updates, null for a cancel */
+    private BidQuote[] bidQuotes;
+
+    private int[] bidListIds;
+
+    private int next;
+
+    private OrderBook orderBook;
+
+    private OrderBook matchingOrderBook;
+
+    private final List<Fill> fills = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        orderBook = new OrderBook(SECURITY);
+        matchingOrderBook = new OrderBook(SECURITY);
+        double[] quantities = new double[orders];
+        for (int bidListId = 0; bidListId < orders; bidListId++) {
+            quantities[bidListId] = 1 + random.nextInt(1000);
+            BidQuote bidQuote = quote(random, bidListId, quantities[bidListId]);
+            orderBook.place(bidQuote, null);
+            matchingOrderBook.place(bidQuote, null);
+        }
+
+        bidQuotes = new BidQuote[UPDATES];
+        bidListIds = new int[UPDATES];
+        for (int update = 0; update < UPDATES; update++) {
+            int bidListId = random.nextInt(orders);
+            bidListIds[update] = bidListId;
+            int action = random.nextInt(10);
+            if (action < 2) {
+                bidQuotes[update] = null;
+            } else if (action < 4 && quantities[bidListId] > 1) {
+                /* same price when the order has not moved since: lowered in place */
+                quantities[bidListId]--;
+                bidQuotes[update] = quote(new Random(bidListId), bidListId, quantities[bidListId]);
+            } else {
+                quantities[bidListId] = 1 + random.nextInt(1000);
+                bidQuotes[update] = quote(random, bidListId, quantities[bidListId]);
+            }
+        }
+    }
+
+    /* a bid below the mid or an ask above it, a few crossing it when matched */
+    private static BidQuote quote(Random random, int bidListId, double quantity) {
+        boolean bid = random.nextBoolean();
+        double price = Math.round((100 + (bid ? -1 : 1) * (2 * random.nextGaussian() + 0.5)) * 100) / 100.0;
+        return bid
+                ? new BidQuote(bidListId, "ACC", SECURITY, price, quantity, null, null)
+                : new BidQuote(bidListId, "ACC", SECURITY, null, null, price, quantity);
+    }
+
+    @Benchmark
+    public int placeWithoutMatching() {
+        int update = next++ & (UPDATES - 1);
+        BidQuote bidQuote = bidQuotes[update];
+        if (bidQuote == null) {
+            orderBook.cancel(bidListIds[update]);
+        } else {
+            orderBook.place(bidQuote, null);
+        }
+        return update;
+    }
+
+    @Benchmark
+    public int placeWithMatching() {
+        int update = next++ & (UPDATES - 1);
+        BidQuote bidQuote = bidQuotes[update];
+        if (bidQuote == null) {
+            matchingOrderBook.cancel(bidListIds[update]);
+        } else {
+            fills.clear();
+            matchingOrderBook.place(bidQuote, fills);
+        }
+        return fills.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OrderBookBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.DTO.UserDTO;
+import com.nnk.springboot.services.PasswordHashingService;
+import com.nnk.springboot.services.contracts.IUserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * measures the BCrypt hashing of the passwords for each cost factor: a hash alone on the hashing pool,
+ * the check of a password at login, and the creation of a user by the UserService on the embedded H2 database,
+ * where the hash is expected to take nearly all the time.
+ * Four threads hash at once, as concurrent logins would:
+ * java -cp &lt;test classpath&gt; org.openjdk.jmh.Main PasswordHashingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(4)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "ExistingP@ssword1";
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private ConfigurableApplicationContext context;
+
+    private PasswordHashingService passwordHashingService;
+
+    private IUserService userService;
+
+    private String encodedPassword;
+
+    /* the usernames are unique */
+    private final AtomicLong userCount = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("passwordHashingBenchmark",
+                "--poseidon.password.bcrypt.strength=" + strength);
+        passwordHashingService = context.getBean(PasswordHashingService.class);
+        userService = context.getBean(IUserService.class);
+        encodedPassword = passwordHashingService.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordHashingService.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordHashingService.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public Optional<UserDTO> createUser() throws Exception {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("user" + userCount.incrementAndGet());
+        userDTO.setFullname("Benchmark user");
+        userDTO.setPassword(PASSWORD);
+        userDTO.setRole("USER");
+        return userService.create(userDTO);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.config.validation.PasswordPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.passay.CharacterRule;
+import org.passay.EnglishCharacterData;
+import org.passay.LengthRule;
+import org.passay.PasswordData;
+import org.passay.PasswordValidator;
+import org.passay.RuleResult;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compares the validation of a password with a Passay validator built on each call
+ * (former behaviour of PasswordConstraintValidator) and with the PasswordPolicy built once,
+ * which also searches the breached passwords.
+ * Run with the gc profiler to get allocations per validation:
+ * java -cp &lt;test classpath&gt; org.openjdk.jmh.Main PasswordValidationBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PasswordValidationBenchmark {
+
+    private static final String PASSWORD = "ExistingP@ssword1";
+
+    private PasswordPolicy passwordPolicy;
+
+    @Setup
+    public void setUp() throws IOException {
+        passwordPolicy = new PasswordPolicy(8, 125, 1, 0, 1, 1,
+                new ClassPathResource("password/breached-passwords.txt"), 0.001);
+    }
+
+    @Benchmark
+    public boolean validateWithValidatorPerCall() {
+        PasswordValidator validator = new PasswordValidator(Arrays.asList(
+                new LengthRule(8, 125),
+                new CharacterRule(EnglishCharacterData.UpperCase, 1),
+                new CharacterRule(EnglishCharacterData.Special, 1),
+                new CharacterRule(EnglishCharacterData.Digit, 1)));
+        RuleResult result = validator.validate(new PasswordData(PASSWORD));
+        return result.isValid();
+    }
+
+    @Benchmark
+    public List<String> validateWithPasswordPolicy() {
+        return passwordPolicy.validate(PASSWORD);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PasswordValidationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
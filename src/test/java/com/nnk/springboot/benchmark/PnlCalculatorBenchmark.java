@@ -0,0 +1,98 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.services.pnl.PnlBook;
+import com.nnk.springboot.services.pnl.PnlCalculator;
+import com.nnk.springboot.services.pnl.PricedTrade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * compares the P&amp;L of a book of synthetic trades computed by a single task with the same computation
+ * split across fork/join tasks, one per available processor.
+ * The accounts are skewed as in the load test data, a few positions holding most of the trades:
+ * mvn -Pbenchmark test -Djmh.include=PnlCalculatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PnlCalculatorBenchmark {
+
+    private static final ToDoubleFunction<String> MARKS = benchmark -> 100 + benchmark.length();
+
+    @Param({"100000", "1000000"})
+    private int trades;
+
+    private List<PricedTrade> pricedTrades;
+
+    private ForkJoinPool forkJoinPool;
+
+    private PnlCalculator sequentialPnlCalculator;
+
+    private PnlCalculator forkJoinPnlCalculator;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        pricedTrades = new ArrayList<>(trades);
+        for (int tradeId = 0; tradeId < trades; tradeId++) {
+            String account = "ACC" + (int) Math.floor(Math.pow(random.nextDouble(), 3) * 500);
+            String security = "SEC" + random.nextInt(50);
+            String benchmark = (1 + random.nextInt(20)) + "/" + (1 + random.nextInt(30));
+            double quantity = Math.round(Math.exp(6 + 1.5 * random.nextGaussian()));
+            double price = Math.round(Math.max(0.01, 100 + 15 * random.nextGaussian()) * 100) / 100.0;
+            pricedTrades.add(random.nextBoolean()
+                    ? new PricedTrade(tradeId, account, "Book", security, benchmark, quantity, price, null, null)
+                    : new PricedTrade(tradeId, account, "Book", security, benchmark, null, null, quantity, price));
+        }
+
+        forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        sequentialPnlCalculator = new PnlCalculator(forkJoinPool, Integer.MAX_VALUE);
+        forkJoinPnlCalculator = new PnlCalculator(forkJoinPool, 4096);
+    }
+
+    @TearDown
+    public void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Benchmark
+    public PnlBook sequential() {
+        return sequentialPnlCalculator.compute(pricedTrades.stream(), MARKS);
+    }
+
+    @Benchmark
+    public PnlBook forkJoin() {
+        return forkJoinPnlCalculator.compute(pricedTrades.stream(), MARKS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PnlCalculatorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compares the load of a large trade list in a read-write transaction
+ * (entity snapshots kept for dirty checking and flush at commit)
+ * and in a read-only transaction (read-only session, flush mode MANUAL).
+ * Run with the gc profiler to get the allocations of each mode:
+ * java -cp &lt;test classpath&gt; org.openjdk.jmh.Main ReadOnlyTransactionBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private TradeRepository tradeRepository;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("readOnlyTransactionBenchmark");
+        tradeRepository = context.getBean(TradeRepository.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        List<Trade> tradeList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Trade trade = new Trade();
+            trade.setAccount("Account " + i);
+            trade.setType("Type " + (i % 10));
+            trade.setBuyQuantity((double) i);
+            tradeList.add(trade);
+        }
+        tradeRepository.saveAll(tradeList);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Trade> findAllInReadWriteTransaction() {
+        return readWriteTransaction.execute(status -> tradeRepository.findAll());
+    }
+
+    @Benchmark
+    public List<Trade> findAllInReadOnlyTransaction() {
+        return readOnlyTransaction.execute(status -> tradeRepository.findAll());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ReadOnlyTransactionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
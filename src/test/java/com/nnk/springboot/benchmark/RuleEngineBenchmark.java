@@ -0,0 +1,139 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.rule.CompiledRule;
+import com.nnk.springboot.services.rule.RuleDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * measures the trades per second evaluated against every rule: one incoming trade at a time,
+ * then a bulk evaluation of all the trades, sequential or with a parallel stream as RuleEngine.evaluateAll does.
+ * The rules mix comparisons, IN lists, BETWEEN, LIKE and dates, as a sqlPart or a json:
+ * mvn -Pbenchmark test -Djmh.include=RuleEngineBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RuleEngineBenchmark {
+
+    private static final int TRADES = 1 << 16;
+
+    private static final String[] ACCOUNTS = {"ACC1", "ACC2", "ACC3", "ACC4", "ACC5"};
+
+    private static final String[] BOOKS = {"EQ-EUR", "EQ-USD", "FI-EUR", "FI-USD"};
+
+    /* number of rules every trade is evaluated against */
+    @Param({"10", "100"})
+    private int rules;
+
+    private Predicate<Trade>[] tradePredicates;
+
+    private Trade[] trades;
+
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Random random = new Random(42);
+        tradePredicates = new Predicate[rules];
+        for (int rule = 0; rule < rules; rule++) {
+            int quantity = 100 * (1 + random.nextInt(50));
+            String account = ACCOUNTS[random.nextInt(ACCOUNTS.length)];
+            String book = BOOKS[random.nextInt(BOOKS.length)];
+            String json = null;
+            String sqlPart = null;
+            switch (rule % 4) {
+                case 0:
+                    sqlPart = "buyQuantity > " + quantity + " AND account IN ('" + account + "', 'ACC9')";
+                    break;
+                case 1:
+                    sqlPart = "book LIKE '" + book.substring(0, 3) + "%' OR buyPrice BETWEEN 99 AND " + (100 + rule);
+                    break;
+                case 2:
+                    json = "{\"and\": [{\"field\": \"tradeDate\", \"op\": \">=\", \"value\": \"2021-06-" +
+                            (10 + rule % 10) + "\"}, {\"field\": \"book\", \"value\": \"" + book + "\"}]}";
+                    break;
+                default:
+                    json = "{\"not\": {\"field\": \"sellQuantity\", \"op\": \"between\", \"value\": [0, " +
+                            quantity + "]}}";
+            }
+            CompiledRule compiledRule = CompiledRule.compile(new RuleDefinition(rule, "Rule " + rule, json, sqlPart));
+            if (!compiledRule.isActive()) {
+                throw new IllegalStateException(compiledRule.getError());
+            }
+            tradePredicates[rule] = compiledRule.getTradePredicate();
+        }
+
+        trades = new Trade[TRADES];
+        for (int tradeId = 0; tradeId < TRADES; tradeId++) {
+            Trade trade = new Trade();
+            trade.setTradeId(tradeId);
+            trade.setAccount(ACCOUNTS[random.nextInt(ACCOUNTS.length)]);
+            trade.setBook(BOOKS[random.nextInt(BOOKS.length)]);
+            trade.setBuyQuantity((double) random.nextInt(5000));
+            trade.setSellQuantity((double) random.nextInt(5000));
+            trade.setBuyPrice(Math.round((100 + 2 * random.nextGaussian()) * 100) / 100.0);
+            trade.setTradeDate(LocalDateTime.of(2021, 6, 1, 9, 0).plusMinutes(random.nextInt(30 * 24 * 60)));
+            trades[tradeId] = trade;
+        }
+    }
+
+    private long matches(Trade trade) {
+        long matches = 0;
+        for (Predicate<Trade> tradePredicate : tradePredicates) {
+            if (tradePredicate.test(trade)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public long evaluateIncoming() {
+        return matches(trades[next++ & (TRADES - 1)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRADES)
+    public long evaluateAllSequential() {
+        return Arrays.stream(trades).mapToLong(this::matches).sum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRADES)
+    public long evaluateAllParallel() {
+        return Arrays.stream(trades).parallel().mapToLong(this::matches).sum();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RuleEngineBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
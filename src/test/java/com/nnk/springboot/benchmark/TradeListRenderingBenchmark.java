@@ -0,0 +1,156 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.contracts.ITradeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures the rendering of the trade list page (trade/list.html) by the Thymeleaf engine of the application,
+ * for pages of 1k to 100k rows read from the embedded H2 database:
+ * the rendering alone, and the load of the page by the TradeService followed by its rendering.
+ * The page is written to a writer discarding it, so that only the engine is measured.
+ * Run with the gc profiler to get allocations per page:
+ * java -cp &lt;test classpath&gt; org.openjdk.jmh.Main TradeListRenderingBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TradeListRenderingBenchmark {
+
+    private static final String TRADE_LIST_TEMPLATE = "trade/list";
+
+    private static final int INSERT_CHUNK_SIZE = 10000;
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private ITradeService tradeService;
+
+    private SpringTemplateEngine templateEngine;
+
+    private Pageable pageable;
+
+    private Page<TradeDTO> tradePage;
+
+    private final MockServletContext servletContext = new MockServletContext();
+
+    private final Writer discardingWriter = new Writer() {
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            /* the page is discarded */
+        }
+
+        @Override
+        public void flush() {
+            /* nothing to flush */
+        }
+
+        @Override
+        public void close() {
+            /* nothing to close */
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("tradeListRenderingBenchmark");
+        tradeService = context.getBean(ITradeService.class);
+        templateEngine = context.getBean(SpringTemplateEngine.class);
+
+        TradeRepository tradeRepository = context.getBean(TradeRepository.class);
+        List<Trade> tradeList = new ArrayList<>(INSERT_CHUNK_SIZE);
+        for (int i = 0; i < rows; i++) {
+            Trade trade = new Trade();
+            trade.setAccount("Account " + i);
+            trade.setType("Type " + (i % 10));
+            trade.setBuyQuantity((double) i);
+            tradeList.add(trade);
+            if (tradeList.size() == INSERT_CHUNK_SIZE || i == rows - 1) {
+                tradeRepository.saveAll(tradeList);
+                tradeList.clear();
+            }
+        }
+
+        pageable = PageRequest.of(0, rows, Sort.by("tradeId"));
+        tradePage = tradeService.findAll(pageable);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void render() {
+        renderTradeList(tradePage);
+    }
+
+    @Benchmark
+    public void findAndRender() {
+        renderTradeList(tradeService.findAll(pageable));
+    }
+
+    /**
+     * render the page with the model set by TradeController.home
+     *
+     * @param page page of trade to show
+     */
+    private void renderTradeList(Page<TradeDTO> page) {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/trade/list");
+        request.setRemoteUser("user");
+        Map<String, Object> model = new HashMap<>();
+        model.put("tradeAll", page.getContent());
+        model.put("tradePage", page);
+
+        WebContext webContext = new WebContext(request, new MockHttpServletResponse(), servletContext,
+                Locale.ENGLISH, model);
+        templateEngine.process(TRADE_LIST_TEMPLATE, webContext, discardingWriter);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TradeListRenderingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
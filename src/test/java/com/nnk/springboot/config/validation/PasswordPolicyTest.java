@@ -0,0 +1,116 @@
+package com.nnk.springboot.config.validation;
+
+import com.nnk.springboot.testconstants.TestConstants;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordPolicyTest {
+
+    private static PasswordPolicy passwordPolicy;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        passwordPolicy = new PasswordPolicy(8, 125, 1, 0, 1, 1,
+                new ClassPathResource("password/breached-passwords.txt"), 0.001);
+    }
+
+    @Nested
+    @DisplayName("validate tests")
+    class ValidateTest {
+
+        @Test
+        @DisplayName("GIVEN a password following the policy " +
+                "WHEN validating it " +
+                "THEN no message is returned")
+        void validateTest_WithValidPassword() {
+            //THEN
+            assertThat(passwordPolicy.validate(TestConstants.EXISTING_USER_PASSWORD)).isEmpty();
+            assertThat(passwordPolicy.validate(TestConstants.NEW_USER_PASSWORD)).isEmpty();
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a password too short and without digit " +
+                "WHEN validating it " +
+                "THEN one message per broken rule is returned")
+        void validateTest_WithPasswordBreakingRules() {
+            //WHEN
+            List<String> messages = passwordPolicy.validate("P@ss");
+
+            //THEN
+            assertEquals(2, messages.size());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a password following the rules but in the list of breached passwords " +
+                "WHEN validating it, whatever its case " +
+                "THEN it is refused with a message not showing the password")
+        void validateTest_WithBreachedPassword() {
+            //WHEN
+            List<String> messages = passwordPolicy.validate("PASSW0RD!");
+
+            //THEN
+            assertEquals(1, messages.size());
+            assertThat(messages.get(0)).doesNotContainIgnoringCase("passw0rd");
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the default policy " +
+                "WHEN validating a password of the list of breached passwords " +
+                "THEN only the length and character rules are checked")
+        void validateTest_WithDefaultPolicy() {
+            //GIVEN
+            PasswordPolicy defaultPolicy = PasswordPolicy.defaultPolicy();
+
+            //THEN
+            assertThat(defaultPolicy.validate("Passw0rd!")).isEmpty();
+            assertEquals(1, defaultPolicy.validate("Passw0rd").size());
+        }
+    }
+
+
+    @Nested
+    @DisplayName("BreachedPasswordFilter tests")
+    class BreachedPasswordFilterTest {
+
+        @Test
+        @DisplayName("GIVEN a filter of 10000 passwords " +
+                "WHEN searching the passwords of the filter and other passwords " +
+                "THEN all the passwords of the filter are found " +
+                "AND the other passwords are found with about the configured false positive rate")
+        void searchTest() {
+            //GIVEN
+            BreachedPasswordFilter breachedPasswordFilter = new BreachedPasswordFilter(10000, 0.01);
+            for (int i = 0; i < 10000; i++) {
+                breachedPasswordFilter.put("Breached" + i);
+            }
+
+            //WHEN
+            int falsePositives = 0;
+            for (int i = 0; i < 10000; i++) {
+                assertTrue(breachedPasswordFilter.search("breached" + i));
+                if (breachedPasswordFilter.search("Other" + i)) {
+                    falsePositives++;
+                }
+            }
+
+            //THEN
+            assertEquals(10000, breachedPasswordFilter.size());
+            assertThat(falsePositives).isLessThan(300);
+            assertFalse(breachedPasswordFilter.search(TestConstants.EXISTING_USER_PASSWORD));
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.DTO.BidListDTO;
+import com.nnk.springboot.constants.PoseidonExceptionsConstants;
 import com.nnk.springboot.services.UserDetailsServiceImpl;
 import com.nnk.springboot.services.contracts.IBidListService;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +14,9 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,6 +26,7 @@ import java.util.Optional;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,6 +48,9 @@ class BidListControllerTest {
     @MockBean
     private IBidListService bidListServiceMock;
 
+    @MockBean
+    private IMessageService messageServiceMock;
+
     @MockBean
     private UserDetailsServiceImpl userDetailsServiceMock;
 
@@ -68,6 +77,9 @@ class BidListControllerTest {
         @DisplayName("WHEN asking for the bidList list page while logged in " +
                 " THEN return status is ok and the expected view is the bidList list page")
         void homeTest_LoggedIn() throws Exception {
+            //GIVEN
+            when(bidListServiceMock.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
             //WHEN-THEN
             mockMvc.perform(get("/bidList/list"))
                     .andExpect(status().isOk())
@@ -75,7 +87,7 @@ class BidListControllerTest {
                     .andExpect(view().name("bidList/list"));
 
             verify(bidListServiceMock, Mockito.times(1))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
 
 
@@ -91,7 +103,7 @@ class BidListControllerTest {
             verify(userDetailsServiceMock, Mockito.times(0))
                     .loadUserByUsername(anyString());
             verify(bidListServiceMock, Mockito.times(0))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
     }
 
@@ -433,6 +445,36 @@ class BidListControllerTest {
         }
 
 
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a bidList modified by another user since it was displayed " +
+                "THEN the returned code is ok " +
+                "AND the expected view is the bidList/update/{id} page filled with entered bidList")
+        void updateBidTest_WithStaleVersion() throws Exception {
+            //GIVEN
+            when(bidListServiceMock.update(any(BidListDTO.class)))
+                    .thenThrow(new OptimisticLockingFailureException(PoseidonExceptionsConstants.BID_LIST_VERSION_CONFLICT
+                            + TestConstants.EXISTING_BID_LIST_ID));
+
+            //WHEN-THEN
+            mockMvc.perform(post("/bidList/update/{id}", TestConstants.EXISTING_BID_LIST_ID)
+                    .param("version", "3")
+                    .param("account", TestConstants.EXISTING_BID_LIST_ACCOUNT)
+                    .param("type", TestConstants.EXISTING_BID_LIST_TYPE)
+                    .param("bidQuantity", TestConstants.NEW_BID_LIST_BID_QUANTITY.toString())
+                    .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(model().hasNoErrors())
+                    .andExpect(view().name("bidList/update"));
+
+            verify(messageServiceMock, Mockito.times(1))
+                    .formatOutputMessage("bidList.update.conflict", TestConstants.EXISTING_BID_LIST_ID.toString());
+
+            verify(bidListServiceMock, Mockito.times(1))
+                    .update(argThat(bidListDTO -> bidListDTO.getVersion() == 3));
+        }
+
+
         @WithMockUser
         @Test
         @DisplayName("GIVEN no returned value when updating the new bidList " +
@@ -3,6 +3,7 @@ package com.nnk.springboot.controllers;
 import com.nnk.springboot.DTO.CurvePointDTO;
 import com.nnk.springboot.services.UserDetailsServiceImpl;
 import com.nnk.springboot.services.contracts.ICurvePointService;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +13,8 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -42,6 +45,9 @@ class CurveControllerTest {
     @MockBean
     private ICurvePointService curvePointServiceMock;
 
+    @MockBean
+    private IMessageService messageServiceMock;
+
     @MockBean
     private UserDetailsServiceImpl userDetailsServiceMock;
 
@@ -68,6 +74,9 @@ class CurveControllerTest {
         @DisplayName("WHEN asking for the curvePoint list page while logged in " +
                 " THEN return status is ok and the expected view is the curvePoint list page")
         void homeTest_LoggedIn() throws Exception {
+            //GIVEN
+            when(curvePointServiceMock.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
             //WHEN-THEN
             mockMvc.perform(get("/curvePoint/list"))
                     .andExpect(status().isOk())
@@ -75,7 +84,7 @@ class CurveControllerTest {
                     .andExpect(view().name("curvePoint/list"));
 
             verify(curvePointServiceMock, Mockito.times(1))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
 
 
@@ -91,7 +100,7 @@ class CurveControllerTest {
             verify(userDetailsServiceMock, Mockito.times(0))
                     .loadUserByUsername(anyString());
             verify(curvePointServiceMock, Mockito.times(0))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
     }
 
@@ -0,0 +1,78 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.DTO.ServiceMetricsDTO;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IMetricsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+@WebMvcTest(controllers = MetricsController.class)
+class MetricsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IMetricsService metricsServiceMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+    @Nested
+    @DisplayName("dashboard tests")
+    class DashboardTest {
+
+        @WithMockUser(authorities = "ROLE_ADMIN")
+        @Test
+        @DisplayName("WHEN asking for the metrics dashboard while logged in as admin " +
+                "THEN return status is ok and the page shows the measures of each service method")
+        void dashboardTest_LoggedInAsAdmin() throws Exception {
+            //GIVEN
+            ServiceMetricsDTO serviceMetricsDTO = new ServiceMetricsDTO();
+            serviceMetricsDTO.setService("TradeService");
+            serviceMetricsDTO.setMethod("findAll");
+            serviceMetricsDTO.setCount(3);
+            when(metricsServiceMock.findServiceMetrics()).thenReturn(Collections.singletonList(serviceMetricsDTO));
+
+            //WHEN-THEN
+            mockMvc.perform(get("/admin/metrics"))
+                    .andExpect(status().isOk())
+                    .andExpect(model().attributeExists("serviceMetrics"))
+                    .andExpect(view().name("admin/metrics"))
+                    .andExpect(content().string(containsString("TradeService")));
+            verify(metricsServiceMock).findServiceMetrics();
+        }
+
+
+        @WithMockUser(authorities = "ROLE_USER")
+        @Test
+        @DisplayName("WHEN asking for the metrics dashboard while logged in as user " +
+                "THEN return status is forbidden")
+        void dashboardTest_LoggedInAsUser() throws Exception {
+            //WHEN-THEN
+            mockMvc.perform(get("/admin/metrics"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.DTO.RatingDTO;
 import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.services.contracts.IRatingService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.BeforeAll;
@@ -12,6 +13,8 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -42,6 +45,9 @@ class RatingControllerTest {
     @MockBean
     private IRatingService ratingServiceMock;
 
+    @MockBean
+    private IMessageService messageServiceMock;
+
     @MockBean
     private UserDetailsServiceImpl userDetailsServiceMock;
 
@@ -69,6 +75,9 @@ class RatingControllerTest {
         @DisplayName("WHEN asking for the rating list page while logged in " +
                 " THEN return status is ok and the expected view is the rating list page")
         void homeTest_LoggedIn() throws Exception {
+            //GIVEN
+            when(ratingServiceMock.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
             //WHEN-THEN
             mockMvc.perform(get("/rating/list"))
                     .andExpect(status().isOk())
@@ -76,7 +85,7 @@ class RatingControllerTest {
                     .andExpect(view().name("rating/list"));
 
             verify(ratingServiceMock, Mockito.times(1))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
 
 
@@ -92,7 +101,7 @@ class RatingControllerTest {
             verify(userDetailsServiceMock, Mockito.times(0))
                     .loadUserByUsername(anyString());
             verify(ratingServiceMock, Mockito.times(0))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
     }
 
@@ -2,6 +2,7 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.DTO.RuleNameDTO;
 import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.services.contracts.IRuleNameService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.BeforeAll;
@@ -12,6 +13,8 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -42,6 +45,9 @@ class RuleNameControllerTest {
     @MockBean
     private IRuleNameService ruleNameServiceMock;
 
+    @MockBean
+    private IMessageService messageServiceMock;
+
     @MockBean
     private UserDetailsServiceImpl userDetailsServiceMock;
 
@@ -71,6 +77,9 @@ class RuleNameControllerTest {
         @DisplayName("WHEN asking for the ruleName list page while logged in " +
                 " THEN return status is ok and the expected view is the ruleName list page")
         void homeTest_LoggedIn() throws Exception {
+            //GIVEN
+            when(ruleNameServiceMock.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
             //WHEN-THEN
             mockMvc.perform(get("/ruleName/list"))
                     .andExpect(status().isOk())
@@ -78,7 +87,7 @@ class RuleNameControllerTest {
                     .andExpect(view().name("ruleName/list"));
 
             verify(ruleNameServiceMock, Mockito.times(1))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
 
 
@@ -94,7 +103,7 @@ class RuleNameControllerTest {
             verify(userDetailsServiceMock, Mockito.times(0))
                     .loadUserByUsername(anyString());
             verify(ruleNameServiceMock, Mockito.times(0))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
     }
 
@@ -1,7 +1,9 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.constants.PoseidonExceptionsConstants;
 import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.services.contracts.ITradeService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.BeforeAll;
@@ -12,6 +14,11 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,6 +28,7 @@ import java.util.Optional;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,6 +50,9 @@ class TradeControllerTest {
     @MockBean
     private ITradeService tradeServiceMock;
 
+    @MockBean
+    private IMessageService messageServiceMock;
+
     @MockBean
     private UserDetailsServiceImpl userDetailsServiceMock;
 
@@ -68,6 +79,9 @@ class TradeControllerTest {
         @DisplayName("WHEN asking for the trade list page while logged in " +
                 " THEN return status is ok and the expected view is the trade list page")
         void homeTest_LoggedIn() throws Exception {
+            //GIVEN
+            when(tradeServiceMock.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
             //WHEN-THEN
             mockMvc.perform(get("/trade/list"))
                     .andExpect(status().isOk())
@@ -75,7 +89,29 @@ class TradeControllerTest {
                     .andExpect(view().name("trade/list"));
 
             verify(tradeServiceMock, Mockito.times(1))
-                    .findAll();
+                    .findAll(any(Pageable.class));
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("WHEN asking for a given page of the trade list while logged in " +
+                " THEN the requested page, size and sort are passed to the service")
+        void homeTest_WithPageParameters() throws Exception {
+            //GIVEN
+            when(tradeServiceMock.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
+            //WHEN-THEN
+            mockMvc.perform(get("/trade/list")
+                            .param("page", "2")
+                            .param("size", "10")
+                            .param("sort", "account,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(model().attributeExists("tradePage"))
+                    .andExpect(view().name("trade/list"));
+
+            verify(tradeServiceMock, Mockito.times(1))
+                    .findAll(PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "account")));
         }
 
 
@@ -91,7 +127,7 @@ class TradeControllerTest {
             verify(userDetailsServiceMock, Mockito.times(0))
                     .loadUserByUsername(anyString());
             verify(tradeServiceMock, Mockito.times(0))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
     }
 
@@ -433,6 +469,36 @@ class TradeControllerTest {
         }
 
 
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a trade modified by another user since it was displayed " +
+                "THEN the returned code is ok " +
+                "AND the expected view is the trade/update/{id} page filled with entered trade")
+        void updateTradeTest_WithStaleVersion() throws Exception {
+            //GIVEN
+            when(tradeServiceMock.update(any(TradeDTO.class)))
+                    .thenThrow(new OptimisticLockingFailureException(PoseidonExceptionsConstants.TRADE_VERSION_CONFLICT
+                            + TestConstants.EXISTING_TRADE_ID));
+
+            //WHEN-THEN
+            mockMvc.perform(post("/trade/update/{id}", TestConstants.EXISTING_TRADE_ID)
+                    .param("version", "3")
+                    .param("account", TestConstants.EXISTING_TRADE_ACCOUNT)
+                    .param("type", TestConstants.NEW_TRADE_TYPE)
+                    .param("buyQuantity", TestConstants.EXISTING_TRADE_BUY_QUANTITY.toString())
+                    .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(model().hasNoErrors())
+                    .andExpect(view().name("trade/update"));
+
+            verify(messageServiceMock, Mockito.times(1))
+                    .formatOutputMessage("trade.update.conflict", TestConstants.EXISTING_TRADE_ID.toString());
+
+            verify(tradeServiceMock, Mockito.times(1))
+                    .update(argThat(tradeDTO -> tradeDTO.getVersion() == 3));
+        }
+
+
         @WithMockUser
         @Test
         @DisplayName("GIVEN no returned value when updating the new trade " +
@@ -2,6 +2,7 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.DTO.UserDTO;
 import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IMessageService;
 import com.nnk.springboot.services.contracts.IUserService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.BeforeAll;
@@ -12,6 +13,8 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -42,6 +45,9 @@ class UserControllerTest {
     @MockBean
     private IUserService userServiceMock;
 
+    @MockBean
+    private IMessageService messageServiceMock;
+
     @MockBean
     private UserDetailsServiceImpl userDetailsServiceMock;
 
@@ -69,6 +75,9 @@ class UserControllerTest {
         @DisplayName("WHEN asking for the user list page while logged in as ADMIN " +
                 "THEN return status is ok and the expected view is the user list page")
         void homeTest_LoggedInAsAdmin() throws Exception {
+            //GIVEN
+            when(userServiceMock.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
             //WHEN-THEN
             mockMvc.perform(get("/user/list"))
                     .andExpect(status().isOk())
@@ -76,7 +85,7 @@ class UserControllerTest {
                     .andExpect(view().name("user/list"));
 
             verify(userServiceMock, Mockito.times(1))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
 
 
@@ -90,7 +99,7 @@ class UserControllerTest {
                     .andExpect(status().isForbidden());
 
             verify(userServiceMock, Mockito.times(0))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
 
 
@@ -106,7 +115,7 @@ class UserControllerTest {
             verify(userDetailsServiceMock, Mockito.times(0))
                     .loadUserByUsername(anyString());
             verify(userServiceMock, Mockito.times(0))
-                    .findAll();
+                    .findAll(any(Pageable.class));
         }
     }
 
@@ -0,0 +1,411 @@
+package com.nnk.springboot.controllers.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.DTO.BidListDTO;
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.constants.ExportFormat;
+import com.nnk.springboot.constants.PoseidonExceptionsConstants;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IBidListService;
+import com.nnk.springboot.testconstants.TestConstants;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BidListRestController.class)
+class BidListRestControllerTest {
+
+    private static final String BID_LIST_BULK_JSON = "[{\"account\": \"" + TestConstants.NEW_BID_LIST_ACCOUNT +
+            "\", \"type\": \"" + TestConstants.NEW_BID_LIST_TYPE + "\"}]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IBidListService bidListServiceMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private BidListDTO bidListDTO;
+
+    @BeforeEach
+    void setUp() {
+        bidListDTO = new BidListDTO(TestConstants.EXISTING_BID_LIST_ID, TestConstants.EXISTING_BID_LIST_ACCOUNT,
+                TestConstants.EXISTING_BID_LIST_TYPE, TestConstants.EXISTING_BID_LIST_BID_QUANTITY);
+        bidListDTO.setCreationDate(LocalDateTime.of(2021, 6, 1, 10, 0));
+        bidListDTO.setVersion(3);
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the bulk creation of bidList " +
+            "THEN the outcome of each row is returned")
+    void createAllTest() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.createAll(anyList()))
+                .thenReturn(Collections.singletonList(BulkResultDTO.ok(TestConstants.NEW_BID_LIST_ID)));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/bidList/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BID_LIST_BULK_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].id").value(TestConstants.NEW_BID_LIST_ID));
+
+        verify(bidListServiceMock, Mockito.times(1)).createAll(anyList());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the bulk update of bidList " +
+            "THEN the outcome of each row is returned")
+    void updateAllTest() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.updateAll(anyList()))
+                .thenReturn(Collections.singletonList(BulkResultDTO.ok(TestConstants.EXISTING_BID_LIST_ID)));
+
+        //THEN
+        mockMvc.perform(put("/api/v1/bidList/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BID_LIST_BULK_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true));
+
+        verify(bidListServiceMock, Mockito.times(1)).updateAll(anyList());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the bulk deletion of bidList " +
+            "THEN the outcome of each row is returned")
+    void deleteAllTest() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.deleteAll(anyList())).thenReturn(Arrays.asList(
+                BulkResultDTO.ok(TestConstants.EXISTING_BID_LIST_ID),
+                BulkResultDTO.ko(TestConstants.UNKNOWN_BID_LIST_ID, "unknown")));
+
+        //THEN
+        mockMvc.perform(delete("/api/v1/bidList/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + TestConstants.EXISTING_BID_LIST_ID + ", " + TestConstants.UNKNOWN_BID_LIST_ID + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].success").value(false));
+
+        verify(bidListServiceMock, Mockito.times(1)).deleteAll(anyList());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN no authenticated user " +
+            "WHEN asking for the bulk creation of bidList " +
+            "THEN an unauthorized status is returned instead of the login page")
+    void createAllTest_WithNoAuthentication() throws Exception {
+        mockMvc.perform(post("/api/v1/bidList/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BID_LIST_BULK_JSON))
+                .andExpect(status().isUnauthorized());
+
+        verify(bidListServiceMock, Mockito.times(0)).createAll(anyList());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the export of bidList as NDJSON " +
+            "THEN the bidList are written to the response as a NDJSON attachment")
+    void exportAllTest() throws Exception {
+        mockMvc.perform(get("/api/v1/bidList/export")
+                .param("format", ExportFormat.NDJSON.name()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportFormat.NDJSON.getContentType()))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bidList.ndjson\""));
+
+        verify(bidListServiceMock, Mockito.times(1)).exportAll(eq(ExportFormat.NDJSON), any(OutputStream.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN uploading a CSV file of bidList " +
+            "THEN the import report is returned")
+    void importCsvTest() throws Exception {
+        //GIVEN
+        ImportReportDTO importReport = new ImportReportDTO();
+        importReport.setReadLineCount(1);
+        importReport.setImportedLineCount(1);
+        when(bidListServiceMock.importCsv(any(InputStream.class))).thenReturn(importReport);
+
+        //THEN
+        mockMvc.perform(multipart("/api/v1/bidList/import")
+                .file(new MockMultipartFile("file", "bidList.csv", "text/csv",
+                        "account,type\nAccount Test,Type Test\n".getBytes())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedLineCount").value(1));
+
+        verify(bidListServiceMock, Mockito.times(1)).importCsv(any(InputStream.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for a page of bidList " +
+            "THEN the page content is returned with its totals")
+    void findAllTest() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(bidListDTO), PageRequest.of(0, 20), 1));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/bidList"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].bidListId").value(TestConstants.EXISTING_BID_LIST_ID))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        verify(bidListServiceMock, Mockito.times(1)).findAll(any(Pageable.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing bidList " +
+            "WHEN asking for it " +
+            "THEN it is returned with its validators")
+    void findByIdTest() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.findById(TestConstants.EXISTING_BID_LIST_ID)).thenReturn(bidListDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/bidList/" + TestConstants.EXISTING_BID_LIST_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.bidListId").value(TestConstants.EXISTING_BID_LIST_ID));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a bidList already held by the client " +
+            "WHEN asking for it again with its ETag " +
+            "THEN Not Modified (304) is returned without body")
+    void findByIdTest_NotModified() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.findById(TestConstants.EXISTING_BID_LIST_ID)).thenReturn(bidListDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/bidList/" + TestConstants.EXISTING_BID_LIST_ID)
+                .header("If-None-Match", ConditionalGetUtil.entityTag(bidListDTO)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown bidList id " +
+            "WHEN asking for this bidList " +
+            "THEN Not Found (404) is returned")
+    void findByIdTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.findById(TestConstants.UNKNOWN_BID_LIST_ID)).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/bidList/" + TestConstants.UNKNOWN_BID_LIST_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a new bidList " +
+            "WHEN asking for its creation " +
+            "THEN Created (201) is returned with its location")
+    void createTest() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.create(any(BidListDTO.class))).thenReturn(Optional.of(bidListDTO));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/bidList")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bidListDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/v1/bidList/" + TestConstants.EXISTING_BID_LIST_ID));
+
+        verify(bidListServiceMock, Mockito.times(1)).create(any(BidListDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a bidList with a missing field " +
+            "WHEN asking for its creation " +
+            "THEN Bad Request (400) is returned with the rejected field")
+    void createTest_WithInvalidBody() throws Exception {
+        mockMvc.perform(post("/api/v1/bidList")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"account\": \"" + TestConstants.NEW_BID_LIST_ACCOUNT + "\", \"bidQuantity\": 10}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.type").exists());
+
+        verify(bidListServiceMock, Mockito.times(0)).create(any(BidListDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing bidList " +
+            "WHEN asking for its update " +
+            "THEN the updated bidList is returned")
+    void updateTest() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.update(any(BidListDTO.class))).thenReturn(bidListDTO);
+
+        //THEN
+        mockMvc.perform(put("/api/v1/bidList/" + TestConstants.EXISTING_BID_LIST_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bidListDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bidListId").value(TestConstants.EXISTING_BID_LIST_ID));
+
+        verify(bidListServiceMock, Mockito.times(1)).update(any(BidListDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing bidList sent without the version it was read with " +
+            "WHEN asking for its update " +
+            "THEN Precondition Required (428) is returned AND the bidList is not updated")
+    void updateTest_WithoutVersion() throws Exception {
+        //GIVEN
+        bidListDTO.setVersion(null);
+
+        //THEN
+        mockMvc.perform(put("/api/v1/bidList/" + TestConstants.EXISTING_BID_LIST_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bidListDTO)))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.message").value(PoseidonExceptionsConstants.BID_LIST_VERSION_REQUIRED
+                        + TestConstants.EXISTING_BID_LIST_ID));
+
+        verify(bidListServiceMock, Mockito.never()).update(any(BidListDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown bidList id " +
+            "WHEN asking for the update of this bidList " +
+            "THEN Not Found (404) is returned")
+    void updateTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.update(any(BidListDTO.class))).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(put("/api/v1/bidList/" + TestConstants.UNKNOWN_BID_LIST_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bidListDTO)))
+                .andExpect(status().isNotFound());
+
+        verify(bidListServiceMock, Mockito.times(0)).findById(anyInt());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a bidList modified since the version sent was read " +
+            "WHEN asking for its update " +
+            "THEN Conflict (409) is returned")
+    void updateTest_WithStaleVersion() throws Exception {
+        //GIVEN
+        when(bidListServiceMock.update(any(BidListDTO.class)))
+                .thenThrow(new OptimisticLockingFailureException(PoseidonExceptionsConstants.BID_LIST_VERSION_CONFLICT
+                        + TestConstants.EXISTING_BID_LIST_ID));
+
+        //THEN
+        mockMvc.perform(put("/api/v1/bidList/" + TestConstants.EXISTING_BID_LIST_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bidListDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value(PoseidonExceptionsConstants.BID_LIST_VERSION_CONFLICT
+                        + TestConstants.EXISTING_BID_LIST_ID));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing bidList " +
+            "WHEN asking for its deletion " +
+            "THEN No Content (204) is returned")
+    void deleteTest() throws Exception {
+        mockMvc.perform(delete("/api/v1/bidList/" + TestConstants.EXISTING_BID_LIST_ID))
+                .andExpect(status().isNoContent());
+
+        verify(bidListServiceMock, Mockito.times(1)).delete(TestConstants.EXISTING_BID_LIST_ID);
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown bidList id " +
+            "WHEN asking for the deletion of this bidList " +
+            "THEN Not Found (404) is returned")
+    void deleteTest_WithUnknownId() throws Exception {
+        //GIVEN
+        doThrow(new IllegalArgumentException("unknown")).when(bidListServiceMock).delete(TestConstants.UNKNOWN_BID_LIST_ID);
+
+        //THEN
+        mockMvc.perform(delete("/api/v1/bidList/" + TestConstants.UNKNOWN_BID_LIST_ID))
+                .andExpect(status().isNotFound());
+    }
+}
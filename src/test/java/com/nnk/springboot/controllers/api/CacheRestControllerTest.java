@@ -0,0 +1,71 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.CacheStatisticsDTO;
+import com.nnk.springboot.constants.CacheConstants;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.ICacheStatisticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = CacheRestController.class)
+class CacheRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ICacheStatisticsService cacheStatisticsServiceMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    @Test
+    @DisplayName("GIVEN an admin user " +
+            "WHEN asking for the cache statistics " +
+            "THEN the statistics of each cache are returned")
+    void statisticsTest() throws Exception {
+        //GIVEN
+        when(cacheStatisticsServiceMock.findAll()).thenReturn(Collections.singletonList(
+                new CacheStatisticsDTO(CacheConstants.RATING_CACHE, 1, 9, 1, 0.9, 0)));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/admin/cache/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value(CacheConstants.RATING_CACHE))
+                .andExpect(jsonPath("$[0].hitCount").value(9));
+
+        verify(cacheStatisticsServiceMock, Mockito.times(1)).findAll();
+    }
+
+
+    @WithMockUser(authorities = "ROLE_USER")
+    @Test
+    @DisplayName("GIVEN a user without admin role " +
+            "WHEN asking for the cache statistics " +
+            "THEN a forbidden status is returned")
+    void statisticsTest_WithUserRole() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/cache/statistics"))
+                .andExpect(status().isForbidden());
+
+        verify(cacheStatisticsServiceMock, Mockito.times(0)).findAll();
+    }
+}
@@ -0,0 +1,319 @@
+package com.nnk.springboot.controllers.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.DTO.CurvePointDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.constants.PoseidonExceptionsConstants;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.ICurveEngine;
+import com.nnk.springboot.services.contracts.ICurvePointService;
+import com.nnk.springboot.services.curve.InterpolationMethod;
+import com.nnk.springboot.testconstants.TestConstants;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = CurvePointRestController.class)
+class CurvePointRestControllerTest {
+
+    private static final MockMultipartFile CURVE_POINT_CSV_FILE = new MockMultipartFile("file",
+            "curvePoint.csv", "text/csv", "curveId,term,value\n1,10,20\n".getBytes());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ICurvePointService curvePointServiceMock;
+
+    @MockBean
+    private ICurveEngine curveEngineMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private CurvePointDTO curvePointDTO;
+
+    @BeforeEach
+    void setUp() {
+        curvePointDTO = new CurvePointDTO();
+        curvePointDTO.setId(TestConstants.EXISTING_CURVE_POINT_ID);
+        curvePointDTO.setCurveId(TestConstants.EXISTING_CURVE_POINT_CURVE_ID);
+        curvePointDTO.setTerm(TestConstants.EXISTING_CURVE_POINT_TERM);
+        curvePointDTO.setValue(TestConstants.EXISTING_CURVE_POINT_VALUE);
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN uploading a CSV file of curvePoint " +
+            "THEN the import report is returned")
+    void importCsvTest() throws Exception {
+        //GIVEN
+        ImportReportDTO importReport = new ImportReportDTO();
+        importReport.setReadLineCount(1);
+        importReport.setImportedLineCount(1);
+        when(curvePointServiceMock.importCsv(any(InputStream.class))).thenReturn(importReport);
+
+        //THEN
+        mockMvc.perform(multipart("/api/v1/curvePoint/import").file(CURVE_POINT_CSV_FILE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedLineCount").value(1));
+
+        verify(curvePointServiceMock, Mockito.times(1)).importCsv(any(InputStream.class));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN no authenticated user " +
+            "WHEN uploading a CSV file of curvePoint " +
+            "THEN an unauthorized status is returned")
+    void importCsvTest_WithNoAuthentication() throws Exception {
+        mockMvc.perform(multipart("/api/v1/curvePoint/import").file(CURVE_POINT_CSV_FILE))
+                .andExpect(status().isUnauthorized());
+
+        verify(curvePointServiceMock, Mockito.times(0)).importCsv(any(InputStream.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the value of a curve for a term " +
+            "THEN the interpolated value is returned")
+    void curveValueTest() throws Exception {
+        //GIVEN
+        when(curveEngineMock.valueAt(1, null, 2.5, InterpolationMethod.CUBIC_SPLINE)).thenReturn(25D);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/curvePoint/curve/1/value")
+                .param("term", "2.5")
+                .param("method", "CUBIC_SPLINE"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("25.0"));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a curve without point " +
+            "WHEN asking for its value for a term " +
+            "THEN a not found status is returned")
+    void curveValueTest_WithUnknownCurve() throws Exception {
+        //GIVEN
+        when(curveEngineMock.valueAt(any(Integer.class), any(), any(Double.class), any(InterpolationMethod.class)))
+                .thenThrow(new IllegalArgumentException(PoseidonExceptionsConstants.CURVE_NOT_FOUND + 1));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/curvePoint/curve/1/value")
+                .param("term", "2.5"))
+                .andExpect(status().isNotFound());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for a page of curvePoint " +
+            "THEN the page content is returned with its totals")
+    void findAllTest() throws Exception {
+        //GIVEN
+        when(curvePointServiceMock.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(curvePointDTO), PageRequest.of(0, 20), 1));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/curvePoint"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(TestConstants.EXISTING_CURVE_POINT_ID))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        verify(curvePointServiceMock, Mockito.times(1)).findAll(any(Pageable.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing curvePoint " +
+            "WHEN asking for it " +
+            "THEN it is returned with its validators")
+    void findByIdTest() throws Exception {
+        //GIVEN
+        when(curvePointServiceMock.findById(TestConstants.EXISTING_CURVE_POINT_ID)).thenReturn(curvePointDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/curvePoint/" + TestConstants.EXISTING_CURVE_POINT_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.id").value(TestConstants.EXISTING_CURVE_POINT_ID));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a curvePoint already held by the client " +
+            "WHEN asking for it again with its ETag " +
+            "THEN Not Modified (304) is returned without body")
+    void findByIdTest_NotModified() throws Exception {
+        //GIVEN
+        when(curvePointServiceMock.findById(TestConstants.EXISTING_CURVE_POINT_ID)).thenReturn(curvePointDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/curvePoint/" + TestConstants.EXISTING_CURVE_POINT_ID)
+                .header("If-None-Match", ConditionalGetUtil.entityTag(curvePointDTO)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown curvePoint id " +
+            "WHEN asking for this curvePoint " +
+            "THEN Not Found (404) is returned")
+    void findByIdTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(curvePointServiceMock.findById(TestConstants.UNKNOWN_CURVE_POINT_ID)).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/curvePoint/" + TestConstants.UNKNOWN_CURVE_POINT_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a new curvePoint " +
+            "WHEN asking for its creation " +
+            "THEN Created (201) is returned with its location")
+    void createTest() throws Exception {
+        //GIVEN
+        when(curvePointServiceMock.create(any(CurvePointDTO.class))).thenReturn(Optional.of(curvePointDTO));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/curvePoint")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(curvePointDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/v1/curvePoint/" + TestConstants.EXISTING_CURVE_POINT_ID));
+
+        verify(curvePointServiceMock, Mockito.times(1)).create(any(CurvePointDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a curvePoint with a missing field " +
+            "WHEN asking for its creation " +
+            "THEN Bad Request (400) is returned with the rejected field")
+    void createTest_WithInvalidBody() throws Exception {
+        mockMvc.perform(post("/api/v1/curvePoint")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"term\": 10, \"value\": 20}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.curveId").exists());
+
+        verify(curvePointServiceMock, Mockito.times(0)).create(any(CurvePointDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing curvePoint " +
+            "WHEN asking for its update " +
+            "THEN the updated curvePoint is returned")
+    void updateTest() throws Exception {
+        //GIVEN
+        when(curvePointServiceMock.findById(TestConstants.EXISTING_CURVE_POINT_ID)).thenReturn(curvePointDTO);
+        when(curvePointServiceMock.update(any(CurvePointDTO.class))).thenReturn(curvePointDTO);
+
+        //THEN
+        mockMvc.perform(put("/api/v1/curvePoint/" + TestConstants.EXISTING_CURVE_POINT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(curvePointDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(TestConstants.EXISTING_CURVE_POINT_ID));
+
+        verify(curvePointServiceMock, Mockito.times(1)).update(any(CurvePointDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown curvePoint id " +
+            "WHEN asking for the update of this curvePoint " +
+            "THEN Not Found (404) is returned")
+    void updateTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(curvePointServiceMock.findById(TestConstants.UNKNOWN_CURVE_POINT_ID)).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(put("/api/v1/curvePoint/" + TestConstants.UNKNOWN_CURVE_POINT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(curvePointDTO)))
+                .andExpect(status().isNotFound());
+
+        verify(curvePointServiceMock, Mockito.times(0)).update(any(CurvePointDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing curvePoint " +
+            "WHEN asking for its deletion " +
+            "THEN No Content (204) is returned")
+    void deleteTest() throws Exception {
+        mockMvc.perform(delete("/api/v1/curvePoint/" + TestConstants.EXISTING_CURVE_POINT_ID))
+                .andExpect(status().isNoContent());
+
+        verify(curvePointServiceMock, Mockito.times(1)).delete(TestConstants.EXISTING_CURVE_POINT_ID);
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown curvePoint id " +
+            "WHEN asking for the deletion of this curvePoint " +
+            "THEN Not Found (404) is returned")
+    void deleteTest_WithUnknownId() throws Exception {
+        //GIVEN
+        doThrow(new IllegalArgumentException("unknown")).when(curvePointServiceMock).delete(TestConstants.UNKNOWN_CURVE_POINT_ID);
+
+        //THEN
+        mockMvc.perform(delete("/api/v1/curvePoint/" + TestConstants.UNKNOWN_CURVE_POINT_ID))
+                .andExpect(status().isNotFound());
+    }
+}
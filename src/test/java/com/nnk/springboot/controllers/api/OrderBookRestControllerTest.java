@@ -0,0 +1,94 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.OrderBookDTO;
+import com.nnk.springboot.DTO.PriceLevelDTO;
+import com.nnk.springboot.DTO.TopOfBookDTO;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IOrderBookEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = OrderBookRestController.class)
+class OrderBookRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IOrderBookEngine orderBookEngineMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+    private final TopOfBookDTO topOfBookDTO = new TopOfBookDTO("Security", 99D, 30D, 101D, 7D);
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the top of the books " +
+            "THEN the best bid and ask of each security are returned")
+    void findAllTest() throws Exception {
+        //GIVEN
+        when(orderBookEngineMock.findAllTopOfBook()).thenReturn(Collections.singletonList(topOfBookDTO));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/orderBook"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].security").value("Security"))
+                .andExpect(jsonPath("$[0].bid").value(99D));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the depth of the book of a security " +
+            "THEN its best price levels are returned")
+    void findDepthTest() throws Exception {
+        //GIVEN
+        when(orderBookEngineMock.findDepth("Security", 2)).thenReturn(Optional.of(new OrderBookDTO("Security",
+                Collections.singletonList(new PriceLevelDTO(99, 30, 2)), Collections.emptyList())));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/orderBook/Security/depth").param("levels", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bids[0].quantity").value(30D))
+                .andExpect(jsonPath("$.bids[0].orderCount").value(2))
+                .andExpect(jsonPath("$.asks").isEmpty());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN no bid nor ask for a security " +
+            "WHEN asking for its top of book or its depth " +
+            "THEN a not found status is returned")
+    void findOneTest_WithUnknownSecurity() throws Exception {
+        //GIVEN
+        when(orderBookEngineMock.findTopOfBook(any())).thenReturn(Optional.empty());
+        when(orderBookEngineMock.findDepth(any(), anyInt())).thenReturn(Optional.empty());
+
+        //THEN
+        mockMvc.perform(get("/api/v1/orderBook/Security"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/orderBook/Security/depth"))
+                .andExpect(status().isNotFound());
+    }
+}
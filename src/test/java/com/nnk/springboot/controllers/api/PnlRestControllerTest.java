@@ -0,0 +1,76 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.PnlDTO;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IPnlEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = PnlRestController.class)
+class PnlRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IPnlEngine pnlEngineMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the P&L of an account and a book " +
+            "THEN the P&L of their positions are returned")
+    void findAllTest() throws Exception {
+        //GIVEN
+        when(pnlEngineMock.findAll("Account", "Book")).thenReturn(Collections.singletonList(
+                new PnlDTO("Account", "Book", "Security", 3, 5, 50, -10, 40, 0)));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/pnl").param("account", "Account").param("book", "Book"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].security").value("Security"))
+                .andExpect(jsonPath("$[0].realisedPnl").value(50))
+                .andExpect(jsonPath("$[0].totalPnl").value(40));
+
+        verify(pnlEngineMock, Mockito.times(1)).findAll("Account", "Book");
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for a full recomputation " +
+            "THEN the number of positions computed is returned")
+    void recomputeTest() throws Exception {
+        //GIVEN
+        when(pnlEngineMock.recomputeAll()).thenReturn(12);
+
+        //THEN
+        mockMvc.perform(post("/api/v1/pnl/recompute"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("12"));
+
+        verify(pnlEngineMock, Mockito.times(1)).recomputeAll();
+    }
+}
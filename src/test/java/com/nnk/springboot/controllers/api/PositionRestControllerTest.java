@@ -0,0 +1,91 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.PositionDTO;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IPositionEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = PositionRestController.class)
+class PositionRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IPositionEngine positionEngineMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+    private final PositionDTO positionDTO = new PositionDTO("Account", "Book", "Security",
+            2, 30, 10, 20, 103D, 110D, 103D);
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the positions of an account " +
+            "THEN its positions are returned")
+    void findAllTest() throws Exception {
+        //GIVEN
+        when(positionEngineMock.findPositions("Account", null)).thenReturn(Collections.singletonList(positionDTO));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/position").param("account", "Account"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].security").value("Security"))
+                .andExpect(jsonPath("$[0].netQuantity").value(20));
+
+        verify(positionEngineMock, Mockito.times(1)).findPositions("Account", null);
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the position of an account on a security within a book " +
+            "THEN the position is returned")
+    void findOneTest() throws Exception {
+        //GIVEN
+        when(positionEngineMock.findPosition("Account", "Book", "Security")).thenReturn(Optional.of(positionDTO));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/position/Account/Security").param("book", "Book"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averagePrice").value(103D))
+                .andExpect(jsonPath("$.tradeCount").value(2));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN no trade for an account and a security " +
+            "WHEN asking for their position " +
+            "THEN a not found status is returned")
+    void findOneTest_WithUnknownPosition() throws Exception {
+        //GIVEN
+        when(positionEngineMock.findPosition(any(), any(), any())).thenReturn(Optional.empty());
+
+        //THEN
+        mockMvc.perform(get("/api/v1/position/Account/Security"))
+                .andExpect(status().isNotFound());
+    }
+}
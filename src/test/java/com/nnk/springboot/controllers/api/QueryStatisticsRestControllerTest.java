@@ -0,0 +1,132 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.HibernateStatisticsDTO;
+import com.nnk.springboot.DTO.QueryStatisticsDTO;
+import com.nnk.springboot.DTO.SlowQueryDTO;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IQueryStatisticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = QueryStatisticsRestController.class)
+class QueryStatisticsRestControllerTest {
+
+    private static final String SELECT_TRADE = "select trade0_.trade_id from trade trade0_ limit ?";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IQueryStatisticsService queryStatisticsServiceMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    @Test
+    @DisplayName("GIVEN an admin user " +
+            "WHEN asking for the top 5 queries " +
+            "THEN the statistics of the statements are returned")
+    void statisticsTest() throws Exception {
+        //GIVEN
+        QueryStatisticsDTO queryStatisticsDTO = new QueryStatisticsDTO();
+        queryStatisticsDTO.setSql(SELECT_TRADE);
+        queryStatisticsDTO.setExecutionCount(12);
+        when(queryStatisticsServiceMock.findTopQueries(5)).thenReturn(Collections.singletonList(queryStatisticsDTO));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/admin/queries/statistics").param("top", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sql").value(SELECT_TRADE))
+                .andExpect(jsonPath("$[0].executionCount").value(12));
+
+        verify(queryStatisticsServiceMock, Mockito.times(1)).findTopQueries(5);
+    }
+
+
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    @Test
+    @DisplayName("GIVEN an admin user " +
+            "WHEN asking for the slow queries " +
+            "THEN the slow queries are returned with their bind count")
+    void slowQueriesTest() throws Exception {
+        //GIVEN
+        when(queryStatisticsServiceMock.findSlowQueries()).thenReturn(Collections.singletonList(
+                new SlowQueryDTO(LocalDateTime.now(), 250, SELECT_TRADE, 1, 0)));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/admin/queries/slow"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sql").value(SELECT_TRADE))
+                .andExpect(jsonPath("$[0].bindCount").value(1));
+
+        verify(queryStatisticsServiceMock, Mockito.times(1)).findSlowQueries();
+    }
+
+
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    @Test
+    @DisplayName("GIVEN an admin user " +
+            "WHEN asking for the Hibernate statistics " +
+            "THEN their counters are returned")
+    void hibernateStatisticsTest() throws Exception {
+        //GIVEN
+        HibernateStatisticsDTO hibernateStatisticsDTO = new HibernateStatisticsDTO();
+        hibernateStatisticsDTO.setEnabled(true);
+        hibernateStatisticsDTO.setEntityFetchCount(20);
+        when(queryStatisticsServiceMock.findHibernateStatistics()).thenReturn(hibernateStatisticsDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/admin/queries/hibernate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.entityFetchCount").value(20));
+    }
+
+
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    @Test
+    @DisplayName("GIVEN an admin user " +
+            "WHEN resetting the query statistics " +
+            "THEN they are cleared and a no content status is returned")
+    void resetTest() throws Exception {
+        mockMvc.perform(delete("/api/v1/admin/queries/statistics"))
+                .andExpect(status().isNoContent());
+
+        verify(queryStatisticsServiceMock, Mockito.times(1)).reset();
+    }
+
+
+    @WithMockUser(authorities = "ROLE_USER")
+    @Test
+    @DisplayName("GIVEN a user without admin role " +
+            "WHEN asking for the top queries " +
+            "THEN a forbidden status is returned")
+    void statisticsTest_WithUserRole() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/queries/statistics"))
+                .andExpect(status().isForbidden());
+
+        verify(queryStatisticsServiceMock, Mockito.times(0)).findTopQueries(anyInt());
+    }
+}
@@ -0,0 +1,242 @@
+package com.nnk.springboot.controllers.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.DTO.RatingDTO;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IRatingService;
+import com.nnk.springboot.testconstants.TestConstants;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = RatingRestController.class)
+class RatingRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IRatingService ratingServiceMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private RatingDTO ratingDTO;
+
+    @BeforeEach
+    void setUp() {
+        ratingDTO = new RatingDTO();
+        ratingDTO.setId(TestConstants.EXISTING_RATING_ID);
+        ratingDTO.setMoodysRating(TestConstants.EXISTING_RATING_MOODYS_RATING);
+        ratingDTO.setSandPRating(TestConstants.EXISTING_RATING_SANDP_RATING);
+        ratingDTO.setFitchRating(TestConstants.EXISTING_RATING_FITCH);
+        ratingDTO.setOrderNumber(TestConstants.EXISTING_RATING_ORDER_NUMBER);
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for a page of rating " +
+            "THEN the page content is returned with its totals")
+    void findAllTest() throws Exception {
+        //GIVEN
+        when(ratingServiceMock.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(ratingDTO), PageRequest.of(0, 20), 1));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/rating"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(TestConstants.EXISTING_RATING_ID))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        verify(ratingServiceMock, Mockito.times(1)).findAll(any(Pageable.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing rating " +
+            "WHEN asking for it " +
+            "THEN it is returned with its validators")
+    void findByIdTest() throws Exception {
+        //GIVEN
+        when(ratingServiceMock.findById(TestConstants.EXISTING_RATING_ID)).thenReturn(ratingDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/rating/" + TestConstants.EXISTING_RATING_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.id").value(TestConstants.EXISTING_RATING_ID));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a rating already held by the client " +
+            "WHEN asking for it again with its ETag " +
+            "THEN Not Modified (304) is returned without body")
+    void findByIdTest_NotModified() throws Exception {
+        //GIVEN
+        when(ratingServiceMock.findById(TestConstants.EXISTING_RATING_ID)).thenReturn(ratingDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/rating/" + TestConstants.EXISTING_RATING_ID)
+                .header("If-None-Match", ConditionalGetUtil.entityTag(ratingDTO)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown rating id " +
+            "WHEN asking for this rating " +
+            "THEN Not Found (404) is returned")
+    void findByIdTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(ratingServiceMock.findById(TestConstants.UNKNOWN_RATING_ID)).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/rating/" + TestConstants.UNKNOWN_RATING_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a new rating " +
+            "WHEN asking for its creation " +
+            "THEN Created (201) is returned with its location")
+    void createTest() throws Exception {
+        //GIVEN
+        when(ratingServiceMock.create(any(RatingDTO.class))).thenReturn(Optional.of(ratingDTO));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/rating")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ratingDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/v1/rating/" + TestConstants.EXISTING_RATING_ID));
+
+        verify(ratingServiceMock, Mockito.times(1)).create(any(RatingDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a rating with a missing field " +
+            "WHEN asking for its creation " +
+            "THEN Bad Request (400) is returned with the rejected field")
+    void createTest_WithInvalidBody() throws Exception {
+        mockMvc.perform(post("/api/v1/rating")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sandPRating\": \"" + TestConstants.NEW_RATING_SANDP_RATING_WITH_TOO_LONG_SIZE + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.sandPRating").exists());
+
+        verify(ratingServiceMock, Mockito.times(0)).create(any(RatingDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing rating " +
+            "WHEN asking for its update " +
+            "THEN the updated rating is returned")
+    void updateTest() throws Exception {
+        //GIVEN
+        when(ratingServiceMock.findById(TestConstants.EXISTING_RATING_ID)).thenReturn(ratingDTO);
+        when(ratingServiceMock.update(any(RatingDTO.class))).thenReturn(ratingDTO);
+
+        //THEN
+        mockMvc.perform(put("/api/v1/rating/" + TestConstants.EXISTING_RATING_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ratingDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(TestConstants.EXISTING_RATING_ID));
+
+        verify(ratingServiceMock, Mockito.times(1)).update(any(RatingDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown rating id " +
+            "WHEN asking for the update of this rating " +
+            "THEN Not Found (404) is returned")
+    void updateTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(ratingServiceMock.findById(TestConstants.UNKNOWN_RATING_ID)).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(put("/api/v1/rating/" + TestConstants.UNKNOWN_RATING_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ratingDTO)))
+                .andExpect(status().isNotFound());
+
+        verify(ratingServiceMock, Mockito.times(0)).update(any(RatingDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing rating " +
+            "WHEN asking for its deletion " +
+            "THEN No Content (204) is returned")
+    void deleteTest() throws Exception {
+        mockMvc.perform(delete("/api/v1/rating/" + TestConstants.EXISTING_RATING_ID))
+                .andExpect(status().isNoContent());
+
+        verify(ratingServiceMock, Mockito.times(1)).delete(TestConstants.EXISTING_RATING_ID);
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown rating id " +
+            "WHEN asking for the deletion of this rating " +
+            "THEN Not Found (404) is returned")
+    void deleteTest_WithUnknownId() throws Exception {
+        //GIVEN
+        doThrow(new IllegalArgumentException("unknown")).when(ratingServiceMock).delete(TestConstants.UNKNOWN_RATING_ID);
+
+        //THEN
+        mockMvc.perform(delete("/api/v1/rating/" + TestConstants.UNKNOWN_RATING_ID))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,75 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.RuleEvaluationDTO;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IRuleEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = RuleEvaluationRestController.class)
+class RuleEvaluationRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IRuleEngine ruleEngineMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+    private final RuleEvaluationDTO ruleEvaluationDTO = new RuleEvaluationDTO(1, "Large trades", true, null,
+            true, false, 5, 2, 0, 0);
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the rule evaluations " +
+            "THEN the incoming trades and bidList matched by each rule are returned")
+    void findAllTest() throws Exception {
+        //GIVEN
+        when(ruleEngineMock.findAllEvaluations()).thenReturn(Collections.singletonList(ruleEvaluationDTO));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/ruleEvaluation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Large trades"))
+                .andExpect(jsonPath("$[0].matchedTradeCount").value(2));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the evaluation of the rules against all the trades and bidList " +
+            "THEN the rows matched by each rule are returned")
+    void evaluateAllTest() throws Exception {
+        //GIVEN
+        when(ruleEngineMock.evaluateAll()).thenReturn(Collections.singletonList(ruleEvaluationDTO));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/ruleEvaluation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].evaluatedTradeCount").value(5))
+                .andExpect(jsonPath("$[0].appliesToTrades").value(true));
+
+        verify(ruleEngineMock, Mockito.times(1)).evaluateAll();
+    }
+}
@@ -0,0 +1,244 @@
+package com.nnk.springboot.controllers.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.DTO.RuleNameDTO;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IRuleNameService;
+import com.nnk.springboot.testconstants.TestConstants;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = RuleNameRestController.class)
+class RuleNameRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IRuleNameService ruleNameServiceMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private RuleNameDTO ruleNameDTO;
+
+    @BeforeEach
+    void setUp() {
+        ruleNameDTO = new RuleNameDTO();
+        ruleNameDTO.setId(TestConstants.EXISTING_RULE_NAME_ID);
+        ruleNameDTO.setName(TestConstants.EXISTING_RULE_NAME_NAME);
+        ruleNameDTO.setDescription(TestConstants.EXISTING_RULE_NAME_DESCRIPTION);
+        ruleNameDTO.setJson(TestConstants.EXISTING_RULE_NAME_JSON);
+        ruleNameDTO.setTemplate(TestConstants.EXISTING_RULE_NAME_TEMPLATE);
+        ruleNameDTO.setSqlStr(TestConstants.EXISTING_RULE_NAME_SQLSTR);
+        ruleNameDTO.setSqlPart(TestConstants.EXISTING_RULE_NAME_SQLPART);
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for a page of ruleName " +
+            "THEN the page content is returned with its totals")
+    void findAllTest() throws Exception {
+        //GIVEN
+        when(ruleNameServiceMock.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(ruleNameDTO), PageRequest.of(0, 20), 1));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/ruleName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(TestConstants.EXISTING_RULE_NAME_ID))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        verify(ruleNameServiceMock, Mockito.times(1)).findAll(any(Pageable.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing ruleName " +
+            "WHEN asking for it " +
+            "THEN it is returned with its validators")
+    void findByIdTest() throws Exception {
+        //GIVEN
+        when(ruleNameServiceMock.findById(TestConstants.EXISTING_RULE_NAME_ID)).thenReturn(ruleNameDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/ruleName/" + TestConstants.EXISTING_RULE_NAME_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.id").value(TestConstants.EXISTING_RULE_NAME_ID));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a ruleName already held by the client " +
+            "WHEN asking for it again with its ETag " +
+            "THEN Not Modified (304) is returned without body")
+    void findByIdTest_NotModified() throws Exception {
+        //GIVEN
+        when(ruleNameServiceMock.findById(TestConstants.EXISTING_RULE_NAME_ID)).thenReturn(ruleNameDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/ruleName/" + TestConstants.EXISTING_RULE_NAME_ID)
+                .header("If-None-Match", ConditionalGetUtil.entityTag(ruleNameDTO)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown ruleName id " +
+            "WHEN asking for this ruleName " +
+            "THEN Not Found (404) is returned")
+    void findByIdTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(ruleNameServiceMock.findById(TestConstants.UNKNOWN_RULE_NAME_ID)).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/ruleName/" + TestConstants.UNKNOWN_RULE_NAME_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a new ruleName " +
+            "WHEN asking for its creation " +
+            "THEN Created (201) is returned with its location")
+    void createTest() throws Exception {
+        //GIVEN
+        when(ruleNameServiceMock.create(any(RuleNameDTO.class))).thenReturn(Optional.of(ruleNameDTO));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/ruleName")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ruleNameDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/v1/ruleName/" + TestConstants.EXISTING_RULE_NAME_ID));
+
+        verify(ruleNameServiceMock, Mockito.times(1)).create(any(RuleNameDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a ruleName with a missing field " +
+            "WHEN asking for its creation " +
+            "THEN Bad Request (400) is returned with the rejected field")
+    void createTest_WithInvalidBody() throws Exception {
+        mockMvc.perform(post("/api/v1/ruleName")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\": \"" + TestConstants.NEW_RULE_NAME_DESCRIPTION_WITH_TOO_LONG_SIZE + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.description").exists());
+
+        verify(ruleNameServiceMock, Mockito.times(0)).create(any(RuleNameDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing ruleName " +
+            "WHEN asking for its update " +
+            "THEN the updated ruleName is returned")
+    void updateTest() throws Exception {
+        //GIVEN
+        when(ruleNameServiceMock.findById(TestConstants.EXISTING_RULE_NAME_ID)).thenReturn(ruleNameDTO);
+        when(ruleNameServiceMock.update(any(RuleNameDTO.class))).thenReturn(ruleNameDTO);
+
+        //THEN
+        mockMvc.perform(put("/api/v1/ruleName/" + TestConstants.EXISTING_RULE_NAME_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ruleNameDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(TestConstants.EXISTING_RULE_NAME_ID));
+
+        verify(ruleNameServiceMock, Mockito.times(1)).update(any(RuleNameDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown ruleName id " +
+            "WHEN asking for the update of this ruleName " +
+            "THEN Not Found (404) is returned")
+    void updateTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(ruleNameServiceMock.findById(TestConstants.UNKNOWN_RULE_NAME_ID)).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(put("/api/v1/ruleName/" + TestConstants.UNKNOWN_RULE_NAME_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ruleNameDTO)))
+                .andExpect(status().isNotFound());
+
+        verify(ruleNameServiceMock, Mockito.times(0)).update(any(RuleNameDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing ruleName " +
+            "WHEN asking for its deletion " +
+            "THEN No Content (204) is returned")
+    void deleteTest() throws Exception {
+        mockMvc.perform(delete("/api/v1/ruleName/" + TestConstants.EXISTING_RULE_NAME_ID))
+                .andExpect(status().isNoContent());
+
+        verify(ruleNameServiceMock, Mockito.times(1)).delete(TestConstants.EXISTING_RULE_NAME_ID);
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown ruleName id " +
+            "WHEN asking for the deletion of this ruleName " +
+            "THEN Not Found (404) is returned")
+    void deleteTest_WithUnknownId() throws Exception {
+        //GIVEN
+        doThrow(new IllegalArgumentException("unknown")).when(ruleNameServiceMock).delete(TestConstants.UNKNOWN_RULE_NAME_ID);
+
+        //THEN
+        mockMvc.perform(delete("/api/v1/ruleName/" + TestConstants.UNKNOWN_RULE_NAME_ID))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,465 @@
+package com.nnk.springboot.controllers.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.constants.ExportFormat;
+import com.nnk.springboot.constants.PoseidonExceptionsConstants;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.ITradeService;
+import com.nnk.springboot.testconstants.TestConstants;
+import com.nnk.springboot.utils.ConditionalGetUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = TradeRestController.class)
+class TradeRestControllerTest {
+
+    private static final String TRADE_BULK_JSON = "[{\"account\": \"" + TestConstants.NEW_TRADE_ACCOUNT +
+            "\", \"type\": \"" + TestConstants.NEW_TRADE_TYPE + "\"}]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ITradeService tradeServiceMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private TradeDTO tradeDTO;
+
+    @BeforeEach
+    void setUp() {
+        tradeDTO = new TradeDTO(TestConstants.EXISTING_TRADE_ID, TestConstants.EXISTING_TRADE_ACCOUNT,
+                TestConstants.EXISTING_TRADE_TYPE, TestConstants.EXISTING_TRADE_BUY_QUANTITY);
+        tradeDTO.setRevisionDate(LocalDateTime.of(2021, 6, 1, 10, 0));
+        tradeDTO.setVersion(3);
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the bulk creation of trade " +
+            "THEN the outcome of each row is returned")
+    void createAllTest() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.createAll(anyList()))
+                .thenReturn(Collections.singletonList(BulkResultDTO.ok(TestConstants.NEW_TRADE_ID)));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/trade/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TRADE_BULK_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].id").value(TestConstants.NEW_TRADE_ID));
+
+        verify(tradeServiceMock, Mockito.times(1)).createAll(anyList());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the bulk update of trade " +
+            "THEN the outcome of each row is returned")
+    void updateAllTest() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.updateAll(anyList()))
+                .thenReturn(Collections.singletonList(BulkResultDTO.ok(TestConstants.EXISTING_TRADE_ID)));
+
+        //THEN
+        mockMvc.perform(put("/api/v1/trade/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TRADE_BULK_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true));
+
+        verify(tradeServiceMock, Mockito.times(1)).updateAll(anyList());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the bulk deletion of trade " +
+            "THEN the outcome of each row is returned")
+    void deleteAllTest() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.deleteAll(anyList())).thenReturn(Arrays.asList(
+                BulkResultDTO.ok(TestConstants.EXISTING_TRADE_ID),
+                BulkResultDTO.ko(TestConstants.UNKNOWN_TRADE_ID, "unknown")));
+
+        //THEN
+        mockMvc.perform(delete("/api/v1/trade/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + TestConstants.EXISTING_TRADE_ID + ", " + TestConstants.UNKNOWN_TRADE_ID + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].success").value(false));
+
+        verify(tradeServiceMock, Mockito.times(1)).deleteAll(anyList());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN no authenticated user " +
+            "WHEN asking for the bulk creation of trade " +
+            "THEN an unauthorized status is returned instead of the login page")
+    void createAllTest_WithNoAuthentication() throws Exception {
+        mockMvc.perform(post("/api/v1/trade/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TRADE_BULK_JSON))
+                .andExpect(status().isUnauthorized());
+
+        verify(tradeServiceMock, Mockito.times(0)).createAll(anyList());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a user connected through the login form " +
+            "WHEN a page posts a bulk creation of trade with the session cookie only " +
+            "THEN an unauthorized status is returned, the API not using the session")
+    void createAllTest_WithSessionOnly() throws Exception {
+        //GIVEN
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                new SecurityContextImpl(new UsernamePasswordAuthenticationToken("user", null,
+                        AuthorityUtils.createAuthorityList("ROLE_USER"))));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/trade/bulk")
+                .session(session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TRADE_BULK_JSON))
+                .andExpect(status().isUnauthorized());
+
+        verify(tradeServiceMock, Mockito.times(0)).createAll(anyList());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a user authenticated with basic authentication " +
+            "WHEN asking for the bulk creation of trade without CSRF token " +
+            "THEN the trade are created and no session is created")
+    void createAllTest_WithBasicAuthentication() throws Exception {
+        //GIVEN
+        when(userDetailsServiceMock.loadUserByUsername("user")).thenReturn(
+                new User("user", "encoded", AuthorityUtils.createAuthorityList("ROLE_USER")));
+        when(passwordEncoderMock.matches("password", "encoded")).thenReturn(true);
+        when(tradeServiceMock.createAll(anyList())).thenReturn(Collections.singletonList(BulkResultDTO.ok(1)));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/trade/bulk")
+                .with(httpBasic("user", "password"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TRADE_BULK_JSON))
+                .andExpect(status().isOk())
+                .andExpect(request().sessionAttributeDoesNotExist(
+                        HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY));
+
+        verify(tradeServiceMock, Mockito.times(1)).createAll(anyList());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for the export of trade as NDJSON " +
+            "THEN the trade are written to the response as a NDJSON attachment")
+    void exportAllTest() throws Exception {
+        mockMvc.perform(get("/api/v1/trade/export")
+                .param("format", ExportFormat.NDJSON.name()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportFormat.NDJSON.getContentType()))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"trade.ndjson\""));
+
+        verify(tradeServiceMock, Mockito.times(1)).exportAll(eq(ExportFormat.NDJSON), any(OutputStream.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN uploading a CSV file of trade " +
+            "THEN the import report is returned")
+    void importCsvTest() throws Exception {
+        //GIVEN
+        ImportReportDTO importReport = new ImportReportDTO();
+        importReport.setReadLineCount(1);
+        importReport.setImportedLineCount(1);
+        when(tradeServiceMock.importCsv(any(InputStream.class))).thenReturn(importReport);
+
+        //THEN
+        mockMvc.perform(multipart("/api/v1/trade/import")
+                .file(new MockMultipartFile("file", "trade.csv", "text/csv",
+                        "account,type\nAccount Test,Type Test\n".getBytes())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedLineCount").value(1));
+
+        verify(tradeServiceMock, Mockito.times(1)).importCsv(any(InputStream.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN asking for a page of trade " +
+            "THEN the page content is returned with its totals")
+    void findAllTest() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(tradeDTO), PageRequest.of(0, 20), 1));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/trade"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].tradeId").value(TestConstants.EXISTING_TRADE_ID))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        verify(tradeServiceMock, Mockito.times(1)).findAll(any(Pageable.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing trade " +
+            "WHEN asking for it " +
+            "THEN it is returned with its validators")
+    void findByIdTest() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.findById(TestConstants.EXISTING_TRADE_ID)).thenReturn(tradeDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/trade/" + TestConstants.EXISTING_TRADE_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.tradeId").value(TestConstants.EXISTING_TRADE_ID));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a trade already held by the client " +
+            "WHEN asking for it again with its ETag " +
+            "THEN Not Modified (304) is returned without body")
+    void findByIdTest_NotModified() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.findById(TestConstants.EXISTING_TRADE_ID)).thenReturn(tradeDTO);
+
+        //THEN
+        mockMvc.perform(get("/api/v1/trade/" + TestConstants.EXISTING_TRADE_ID)
+                .header("If-None-Match", ConditionalGetUtil.entityTag(tradeDTO)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown trade id " +
+            "WHEN asking for this trade " +
+            "THEN Not Found (404) is returned")
+    void findByIdTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.findById(TestConstants.UNKNOWN_TRADE_ID)).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/trade/" + TestConstants.UNKNOWN_TRADE_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a new trade " +
+            "WHEN asking for its creation " +
+            "THEN Created (201) is returned with its location")
+    void createTest() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.create(any(TradeDTO.class))).thenReturn(Optional.of(tradeDTO));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/trade")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tradeDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/v1/trade/" + TestConstants.EXISTING_TRADE_ID));
+
+        verify(tradeServiceMock, Mockito.times(1)).create(any(TradeDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a trade with a missing field " +
+            "WHEN asking for its creation " +
+            "THEN Bad Request (400) is returned with the rejected field")
+    void createTest_WithInvalidBody() throws Exception {
+        mockMvc.perform(post("/api/v1/trade")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\": \"" + TestConstants.NEW_TRADE_TYPE + "\", \"buyQuantity\": 10}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.account").exists());
+
+        verify(tradeServiceMock, Mockito.times(0)).create(any(TradeDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing trade " +
+            "WHEN asking for its update " +
+            "THEN the updated trade is returned")
+    void updateTest() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.update(any(TradeDTO.class))).thenReturn(tradeDTO);
+
+        //THEN
+        mockMvc.perform(put("/api/v1/trade/" + TestConstants.EXISTING_TRADE_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tradeDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tradeId").value(TestConstants.EXISTING_TRADE_ID));
+
+        verify(tradeServiceMock, Mockito.times(1)).update(any(TradeDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing trade sent without the version it was read with " +
+            "WHEN asking for its update " +
+            "THEN Precondition Required (428) is returned AND the trade is not updated")
+    void updateTest_WithoutVersion() throws Exception {
+        //GIVEN
+        tradeDTO.setVersion(null);
+
+        //THEN
+        mockMvc.perform(put("/api/v1/trade/" + TestConstants.EXISTING_TRADE_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tradeDTO)))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.message").value(PoseidonExceptionsConstants.TRADE_VERSION_REQUIRED
+                        + TestConstants.EXISTING_TRADE_ID));
+
+        verify(tradeServiceMock, Mockito.never()).update(any(TradeDTO.class));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown trade id " +
+            "WHEN asking for the update of this trade " +
+            "THEN Not Found (404) is returned")
+    void updateTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.update(any(TradeDTO.class))).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(put("/api/v1/trade/" + TestConstants.UNKNOWN_TRADE_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tradeDTO)))
+                .andExpect(status().isNotFound());
+
+        verify(tradeServiceMock, Mockito.times(0)).findById(anyInt());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a trade modified since the version sent was read " +
+            "WHEN asking for its update " +
+            "THEN Conflict (409) is returned")
+    void updateTest_WithStaleVersion() throws Exception {
+        //GIVEN
+        when(tradeServiceMock.update(any(TradeDTO.class)))
+                .thenThrow(new OptimisticLockingFailureException(PoseidonExceptionsConstants.TRADE_VERSION_CONFLICT
+                        + TestConstants.EXISTING_TRADE_ID));
+
+        //THEN
+        mockMvc.perform(put("/api/v1/trade/" + TestConstants.EXISTING_TRADE_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tradeDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value(PoseidonExceptionsConstants.TRADE_VERSION_CONFLICT
+                        + TestConstants.EXISTING_TRADE_ID));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an existing trade " +
+            "WHEN asking for its deletion " +
+            "THEN No Content (204) is returned")
+    void deleteTest() throws Exception {
+        mockMvc.perform(delete("/api/v1/trade/" + TestConstants.EXISTING_TRADE_ID))
+                .andExpect(status().isNoContent());
+
+        verify(tradeServiceMock, Mockito.times(1)).delete(TestConstants.EXISTING_TRADE_ID);
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN an unknown trade id " +
+            "WHEN asking for the deletion of this trade " +
+            "THEN Not Found (404) is returned")
+    void deleteTest_WithUnknownId() throws Exception {
+        //GIVEN
+        doThrow(new IllegalArgumentException("unknown")).when(tradeServiceMock).delete(TestConstants.UNKNOWN_TRADE_ID);
+
+        //THEN
+        mockMvc.perform(delete("/api/v1/trade/" + TestConstants.UNKNOWN_TRADE_ID))
+                .andExpect(status().isNotFound());
+    }
+}
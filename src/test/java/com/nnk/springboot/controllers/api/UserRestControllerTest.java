@@ -0,0 +1,164 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.DTO.UserDTO;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import com.nnk.springboot.services.contracts.IUserService;
+import com.nnk.springboot.testconstants.TestConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserRestController.class)
+class UserRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IUserService userServiceMock;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsServiceMock;
+
+    @MockBean
+    private PasswordEncoder passwordEncoderMock;
+
+    private UserDTO userDTO;
+
+    @BeforeEach
+    void setUp() {
+        userDTO = new UserDTO();
+        userDTO.setId(TestConstants.NEW_USER_ID);
+        userDTO.setUsername(TestConstants.NEW_USER_USERNAME);
+        userDTO.setPassword(TestConstants.NEW_USER_PASSWORD);
+        userDTO.setFullname(TestConstants.NEW_USER_FULLNAME);
+        userDTO.setRole(TestConstants.USER_ROLE_USER);
+    }
+
+    private String userJson() {
+        return "{\"username\": \"" + TestConstants.NEW_USER_USERNAME +
+                "\", \"password\": \"" + TestConstants.NEW_USER_PASSWORD +
+                "\", \"fullname\": \"" + TestConstants.NEW_USER_FULLNAME +
+                "\", \"role\": \"" + TestConstants.USER_ROLE_USER + "\"}";
+    }
+
+
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    @Test
+    @DisplayName("WHEN asking for a page of user while logged in as ADMIN " +
+            "THEN the page content is returned without the passwords")
+    void findAllTest() throws Exception {
+        //GIVEN
+        when(userServiceMock.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(userDTO), PageRequest.of(0, 20), 1));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/admin/user"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].username").value(TestConstants.NEW_USER_USERNAME))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist());
+    }
+
+
+    @WithMockUser(username = "user", roles = "USER")
+    @Test
+    @DisplayName("WHEN asking for a page of user while logged in as USER " +
+            "THEN return status is Forbidden (403)")
+    void findAllTest_LoggedInAsUser() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/user"))
+                .andExpect(status().isForbidden());
+
+        verify(userServiceMock, Mockito.times(0)).findAll(any(Pageable.class));
+    }
+
+
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    @Test
+    @DisplayName("GIVEN an unknown user id " +
+            "WHEN asking for this user " +
+            "THEN Not Found (404) is returned")
+    void findByIdTest_WithUnknownId() throws Exception {
+        //GIVEN
+        when(userServiceMock.findById(TestConstants.UNKNOWN_USER_ID)).thenThrow(new IllegalArgumentException("unknown"));
+
+        //THEN
+        mockMvc.perform(get("/api/v1/admin/user/" + TestConstants.UNKNOWN_USER_ID))
+                .andExpect(status().isNotFound());
+    }
+
+
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    @Test
+    @DisplayName("GIVEN a new user " +
+            "WHEN asking for its creation " +
+            "THEN Created (201) is returned with its location and without its password")
+    void createTest() throws Exception {
+        //GIVEN
+        when(userServiceMock.create(any(UserDTO.class))).thenReturn(Optional.of(userDTO));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/admin/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson()))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/v1/admin/user/" + TestConstants.NEW_USER_ID))
+                .andExpect(jsonPath("$.password").doesNotExist());
+
+        verify(userServiceMock, Mockito.times(1)).create(any(UserDTO.class));
+    }
+
+
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    @Test
+    @DisplayName("GIVEN a new user with an existing username " +
+            "WHEN asking for its creation " +
+            "THEN Conflict (409) is returned")
+    void createTest_WithExistingUsername() throws Exception {
+        //GIVEN
+        when(userServiceMock.create(any(UserDTO.class))).thenThrow(new Exception("already exists"));
+
+        //THEN
+        mockMvc.perform(post("/api/v1/admin/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("already exists"));
+    }
+
+
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    @Test
+    @DisplayName("GIVEN an existing user " +
+            "WHEN asking for its deletion " +
+            "THEN No Content (204) is returned")
+    void deleteTest() throws Exception {
+        mockMvc.perform(delete("/api/v1/admin/user/" + TestConstants.EXISTING_USER_ID))
+                .andExpect(status().isNoContent());
+
+        verify(userServiceMock, Mockito.times(1)).delete(TestConstants.EXISTING_USER_ID);
+    }
+}
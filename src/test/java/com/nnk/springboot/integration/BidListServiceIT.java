@@ -1,9 +1,14 @@
 package com.nnk.springboot.integration;
 
 import com.nnk.springboot.DTO.BidListDTO;
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.DTO.TopOfBookDTO;
+import com.nnk.springboot.constants.ExportFormat;
 import com.nnk.springboot.domain.BidList;
 import com.nnk.springboot.repositories.BidListRepository;
 import com.nnk.springboot.services.contracts.IBidListService;
+import com.nnk.springboot.services.contracts.IOrderBookEngine;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +18,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +40,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ActiveProfiles("test")
@@ -34,6 +52,12 @@ public class BidListServiceIT {
     @Autowired
     private BidListRepository bidListRepository;
 
+    @Autowired
+    private IOrderBookEngine orderBookEngine;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private BidList bidListInDb;
     private BidListDTO bidListDTO;
 
@@ -96,6 +120,34 @@ public class BidListServiceIT {
     }
 
 
+    @Test
+    @DisplayName("WHEN asking for the first page of bidList " +
+            "THEN the returned value is the first page of bidList in DB")
+    public void findAllPageIT_WithSuccess() {
+
+        //WHEN
+        Page<BidListDTO> bidListDTOPage = bidListService.findAll(PageRequest.of(0, 10, Sort.by("bidListId")));
+
+        //THEN
+        assertThat(bidListDTOPage.getTotalElements()).isGreaterThan(0);
+        assertEquals(bidListInDb.getBidListId(), bidListDTOPage.getContent().get(0).getBidListId());
+    }
+
+
+    @Test
+    @DisplayName("WHEN asking for the bidList following a given id " +
+            "THEN the returned value is the list of bidList in DB after this id")
+    public void findAllAfterIT_WithSuccess() {
+
+        //WHEN
+        List<BidListDTO> bidListDTOList = bidListService.findAllAfter(bidListInDb.getBidListId() - 1, 10);
+
+        //THEN
+        assertThat(bidListDTOList.size()).isGreaterThan(0);
+        assertEquals(bidListInDb.getBidListId(), bidListDTOList.get(0).getBidListId());
+    }
+
+
     @Test
     @DisplayName("WHEN asking for a bidList with a specified id " +
             "THEN the returned value is the bidList in DB")
@@ -120,6 +172,7 @@ public class BidListServiceIT {
 
         //GIVEN
         bidListDTO.setBidListId(bidListInDb.getBidListId());
+        bidListDTO.setVersion(bidListInDb.getVersion());
         bidListDTO.setBidQuantity(TestConstants.NEW_BID_LIST_BID_QUANTITY);
 
         //WHEN
@@ -136,6 +189,38 @@ public class BidListServiceIT {
     }
 
 
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN updating a bidList twice with the version it was read with " +
+            "THEN the first update increments its version in DB, " +
+            "AND the second update is rejected without modifying the bidList")
+    public void updateIT_WithStaleVersion() {
+
+        //GIVEN
+        bidListDTO.setBidListId(bidListInDb.getBidListId());
+        bidListDTO.setVersion(bidListInDb.getVersion());
+        bidListDTO.setType(TestConstants.NEW_BID_LIST_TYPE);
+        BidListDTO bidListDTOConcurrent = new BidListDTO();
+        bidListDTOConcurrent.setBidListId(bidListInDb.getBidListId());
+        bidListDTOConcurrent.setVersion(bidListInDb.getVersion());
+        bidListDTOConcurrent.setAccount(TestConstants.NEW_BID_LIST_ACCOUNT);
+        bidListDTOConcurrent.setType(TestConstants.EXISTING_BID_LIST_TYPE);
+
+        //WHEN
+        BidListDTO bidListDTOUpdated = bidListService.update(bidListDTO);
+
+        //THEN
+        assertEquals(bidListInDb.getVersion() + 1, bidListDTOUpdated.getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> bidListService.update(bidListDTOConcurrent));
+
+        Optional<BidList> bidListUpdated = bidListRepository.findById(bidListInDb.getBidListId());
+        assertTrue(bidListUpdated.isPresent());
+        assertEquals(bidListInDb.getVersion() + 1, bidListUpdated.get().getVersion());
+        assertEquals(TestConstants.NEW_BID_LIST_TYPE, bidListUpdated.get().getType());
+        assertEquals(TestConstants.EXISTING_BID_LIST_ACCOUNT, bidListUpdated.get().getAccount());
+    }
+
+
     @Test
     @Tag("SkipCleanUp")
     @DisplayName("WHEN deleting a bidList with correct informations  " +
@@ -149,4 +234,176 @@ public class BidListServiceIT {
         //THEN
         assertFalse(bidListDeleted.isPresent());
     }
+
+
+    @WithMockUser
+    @Test
+    @Tag("SkipCleanUp")
+    @DisplayName("GIVEN a bidList with a bid on a security " +
+            "WHEN updating then deleting it " +
+            "THEN its bid is booked with the quantity read back from DB, then removed from the book")
+    public void orderBookIT_FollowsBidListChanges() {
+
+        //GIVEN
+        bidListInDb.setSecurity("OrderBookSecurity");
+        bidListInDb.setBid(100D);
+        bidListInDb = bidListRepository.save(bidListInDb);
+        bidListDTO.setBidListId(bidListInDb.getBidListId());
+        bidListDTO.setVersion(bidListInDb.getVersion());
+        bidListDTO.setBidQuantity(TestConstants.NEW_BID_LIST_BID_QUANTITY);
+
+        //WHEN
+        bidListService.update(bidListDTO);
+
+        //THEN
+        TopOfBookDTO topOfBookDTO = orderBookEngine.findTopOfBook("OrderBookSecurity").get();
+        assertEquals(100D, topOfBookDTO.getBid());
+        assertEquals(TestConstants.NEW_BID_LIST_BID_QUANTITY, topOfBookDTO.getBidQuantity());
+
+        bidListService.delete(bidListInDb.getBidListId());
+        assertFalse(orderBookEngine.findTopOfBook("OrderBookSecurity").isPresent());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a bidList with a bid quantity of 100 " +
+            "WHEN taking fills of 150 then 40 off its bid, then a fill off a bidList that no longer exists " +
+            "THEN only the fill of 40 updates a row, its quantity and version being updated in DB")
+    public void reduceBidQuantityIT_GuardedByQuantity() {
+
+        //GIVEN
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer bidListId = bidListInDb.getBidListId();
+
+        //WHEN
+        Integer overFilledRowCount = transactionTemplate.execute(status ->
+                bidListRepository.reduceBidQuantity(bidListId, 150D));
+        Integer filledRowCount = transactionTemplate.execute(status ->
+                bidListRepository.reduceBidQuantity(bidListId, 40D));
+        Integer goneRowCount = transactionTemplate.execute(status ->
+                bidListRepository.reduceBidQuantity(Integer.MAX_VALUE, 40D));
+
+        //THEN
+        assertEquals(0, overFilledRowCount);
+        assertEquals(1, filledRowCount);
+        assertEquals(0, goneRowCount);
+        BidList bidListReduced = bidListRepository.findById(bidListId).get();
+        assertEquals(60D, bidListReduced.getBidQuantity());
+        assertEquals(bidListInDb.getVersion() + 1, bidListReduced.getVersion());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN creating a list of bidList in bulk " +
+            "THEN each row is reported as created, " +
+            "AND the bidList are added in DB")
+    public void createAllIT_WithSuccess() {
+
+        //GIVEN
+        BidListDTO otherBidListDTO = new BidListDTO();
+        otherBidListDTO.setAccount(TestConstants.NEW_BID_LIST_ACCOUNT);
+        otherBidListDTO.setType(TestConstants.NEW_BID_LIST_TYPE);
+        otherBidListDTO.setBidQuantity(TestConstants.NEW_BID_LIST_BID_QUANTITY);
+
+        //WHEN
+        List<BulkResultDTO> bulkResultList = bidListService.createAll(Arrays.asList(bidListDTO, otherBidListDTO));
+
+        //THEN
+        assertEquals(2, bulkResultList.size());
+        bulkResultList.forEach(bulkResult -> {
+            assertTrue(bulkResult.isSuccess());
+            assertTrue(bidListRepository.findById(bulkResult.getId()).isPresent());
+        });
+
+        //cleaning of DB at the end of the test by deleting the bidList created during the test
+        bulkResultList.forEach(bulkResult -> bidListRepository.deleteById(bulkResult.getId()));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN updating a list of bidList in bulk " +
+            "THEN each row is reported as updated, " +
+            "AND the bidList are updated in DB")
+    public void updateAllIT_WithSuccess() {
+
+        //GIVEN
+        bidListDTO.setBidListId(bidListInDb.getBidListId());
+        bidListDTO.setVersion(bidListInDb.getVersion());
+        bidListDTO.setType(TestConstants.NEW_BID_LIST_TYPE);
+
+        //WHEN
+        List<BulkResultDTO> bulkResultList = bidListService.updateAll(Collections.singletonList(bidListDTO));
+        Optional<BidList> bidListUpdated = bidListRepository.findById(bidListInDb.getBidListId());
+
+        //THEN
+        assertTrue(bulkResultList.get(0).isSuccess());
+        assertTrue(bidListUpdated.isPresent());
+        assertEquals(TestConstants.NEW_BID_LIST_TYPE, bidListUpdated.get().getType());
+        assertNotNull(bidListUpdated.get().getRevisionDate());
+    }
+
+
+    @Test
+    @Tag("SkipCleanUp")
+    @DisplayName("WHEN deleting a list of bidList in bulk " +
+            "THEN each existing bidList is reported as deleted, " +
+            "AND the bidList are deleted in DB")
+    public void deleteAllIT_WithSuccess() {
+
+        //WHEN
+        List<BulkResultDTO> bulkResultList = bidListService.deleteAll(
+                Arrays.asList(bidListInDb.getBidListId(), TestConstants.UNKNOWN_BID_LIST_ID));
+
+        //THEN
+        assertTrue(bulkResultList.get(0).isSuccess());
+        assertFalse(bulkResultList.get(1).isSuccess());
+        assertFalse(bidListRepository.findById(bidListInDb.getBidListId()).isPresent());
+    }
+
+
+    @Test
+    @DisplayName("WHEN exporting all the bidList as CSV " +
+            "THEN all the bidList in DB are written to the output stream")
+    public void exportAllIT_WithSuccess() throws IOException {
+
+        //GIVEN
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //WHEN
+        long exportedBidListCount = bidListService.exportAll(ExportFormat.CSV, outputStream);
+
+        //THEN
+        assertEquals(bidListRepository.count(), exportedBidListCount);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8.name())).contains(bidListInDb.getAccount());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN importing a CSV file of bidList " +
+            "THEN the valid lines are added in DB and the others are reported")
+    public void importCsvIT_WithSuccess() throws IOException {
+
+        //GIVEN
+        String csv = "account,type,bidQuantity\n" +
+                "Account Test,Type Test,10\n" +
+                "Account Test,Type Test,10\n" +
+                "Account Test,,10\n";
+
+        //WHEN
+        ImportReportDTO importReport = bidListService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        List<BidListDTO> bidListDTOImportedList =
+                bidListService.findAllAfter(bidListInDb.getBidListId(), 10);
+
+        //THEN
+        assertEquals(2, importReport.getImportedLineCount());
+        assertEquals(1, importReport.getRejectedLineCount());
+        assertThat(bidListDTOImportedList.size()).isEqualTo(2);
+
+        //cleaning of DB at the end of the test by deleting the bidList imported during the test
+        bidListDTOImportedList.forEach(bidListDTO -> bidListRepository.deleteById(bidListDTO.getBidListId()));
+    }
 }
@@ -1,9 +1,13 @@
 package com.nnk.springboot.integration;
 
 import com.nnk.springboot.DTO.CurvePointDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.contracts.ICurveEngine;
 import com.nnk.springboot.services.contracts.ICurvePointService;
+import com.nnk.springboot.services.curve.InterpolationMethod;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,8 +17,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,11 +45,20 @@ public class CurvePointServiceIT {
     @Autowired
     private CurvePointRepository curvePointRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ICurveEngine curveEngine;
+
     private CurvePoint curvePointInDb;
     private CurvePointDTO curvePointDTO;
 
     @BeforeEach
     private void initPerTest() {
+        //the curvePoint in DB for test is saved without the service, so the cached lists of curvePoint are cleared first
+        cacheManager.getCache(CacheConstants.CURVE_POINT_CACHE).clear();
+
         //init a curvePoint in DB for test
         curvePointInDb = new CurvePoint();
         curvePointInDb.setCurveId(TestConstants.EXISTING_CURVE_POINT_CURVE_ID);
@@ -94,6 +115,34 @@ public class CurvePointServiceIT {
     }
 
 
+    @Test
+    @DisplayName("WHEN asking for the first page of curvePoint " +
+            "THEN the returned value is the first page of curvePoint in DB")
+    public void findAllPageIT_WithSuccess() {
+
+        //WHEN
+        Page<CurvePointDTO> curvePointDTOPage = curvePointService.findAll(PageRequest.of(0, 10, Sort.by("id")));
+
+        //THEN
+        assertThat(curvePointDTOPage.getTotalElements()).isGreaterThan(0);
+        assertEquals(curvePointInDb.getId(), curvePointDTOPage.getContent().get(0).getId());
+    }
+
+
+    @Test
+    @DisplayName("WHEN asking for the curvePoint following a given id " +
+            "THEN the returned value is the list of curvePoint in DB after this id")
+    public void findAllAfterIT_WithSuccess() {
+
+        //WHEN
+        List<CurvePointDTO> curvePointDTOList = curvePointService.findAllAfter(curvePointInDb.getId() - 1, 10);
+
+        //THEN
+        assertThat(curvePointDTOList.size()).isGreaterThan(0);
+        assertEquals(curvePointInDb.getId(), curvePointDTOList.get(0).getId());
+    }
+
+
     @Test
     @DisplayName("WHEN asking for a curvePoint with a specified id " +
             "THEN the returned value is the curvePoint in DB")
@@ -134,6 +183,33 @@ public class CurvePointServiceIT {
     }
 
 
+    @Test
+    @DisplayName("WHEN updating a curvePoint of a curve already looked up " +
+            "THEN the curve engine returns the value of the updated curve")
+    public void updateIT_RebuildsCurve() {
+
+        //GIVEN a curve of its own, with the curvePoint in DB and a second point
+        Integer curveId = curvePointInDb.getId() + 100000;
+        curvePointInDb.setCurveId(curveId);
+        curvePointInDb.setTerm(1D);
+        curvePointInDb.setValue(10D);
+        curvePointRepository.save(curvePointInDb);
+        CurvePointDTO secondCurvePointDTO = curvePointService.create(new CurvePointDTO(null, curveId, 2D, 20D)).get();
+        assertEquals(15, curveEngine.valueAt(curveId, null, 1.5, InterpolationMethod.LINEAR), 1e-9);
+
+        //WHEN
+        secondCurvePointDTO.setValue(40D);
+        curvePointService.update(secondCurvePointDTO);
+
+        //THEN
+        assertEquals(25, curveEngine.valueAt(curveId, null, 1.5, InterpolationMethod.LINEAR), 1e-9);
+
+        //cleaning of DB at the end of the test by deleting the curvePoint created during the test
+        curvePointService.delete(secondCurvePointDTO.getId());
+        assertEquals(10, curveEngine.valueAt(curveId, null, 1.5, InterpolationMethod.LINEAR), 1e-9);
+    }
+
+
     @Test
     @Tag("SkipCleanUp")
     @DisplayName("WHEN deleting a curvePoint with correct informations  " +
@@ -147,4 +223,32 @@ public class CurvePointServiceIT {
         //THEN
         assertFalse(curvePointDeleted.isPresent());
     }    
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN importing a CSV file of curvePoint " +
+            "THEN the valid lines are added in DB and the others are reported")
+    public void importCsvIT_WithSuccess() throws IOException {
+
+        //GIVEN
+        String csv = "curveId,term,value\n" +
+                "1,10,20\n" +
+                "1,10,20\n" +
+                ",10,20\n";
+
+        //WHEN
+        ImportReportDTO importReport = curvePointService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        List<CurvePointDTO> curvePointDTOImportedList =
+                curvePointService.findAllAfter(curvePointInDb.getId(), 10);
+
+        //THEN
+        assertEquals(2, importReport.getImportedLineCount());
+        assertEquals(1, importReport.getRejectedLineCount());
+        assertThat(curvePointDTOImportedList.size()).isEqualTo(2);
+
+        //cleaning of DB at the end of the test by deleting the curvePoint imported during the test
+        curvePointDTOImportedList.forEach(curvePointDTO -> curvePointRepository.deleteById(curvePointDTO.getId()));
+    }
 }
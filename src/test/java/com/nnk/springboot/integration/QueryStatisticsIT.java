@@ -0,0 +1,98 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.DTO.QueryStatisticsDTO;
+import com.nnk.springboot.DTO.SlowQueryDTO;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.contracts.IQueryStatisticsService;
+import com.nnk.springboot.testconstants.TestConstants;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.nnk.springboot.constants.MetricsConstants.REQUEST_ENTITY_LOADS_SUMMARY;
+import static com.nnk.springboot.constants.MetricsConstants.REQUEST_STATEMENTS_SUMMARY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/* every statement is slower than a threshold of 0 ms */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "poseidon.query-statistics.slow-query-threshold-ms=0")
+@AutoConfigureMockMvc
+public class QueryStatisticsIT {
+
+    @Autowired
+    private IQueryStatisticsService queryStatisticsService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Trade tradeInDb;
+
+    @BeforeEach
+    private void initPerTest() {
+        //init a trade in DB for test
+        tradeInDb = new Trade();
+        tradeInDb.setAccount(TestConstants.EXISTING_TRADE_ACCOUNT);
+        tradeInDb.setType(TestConstants.EXISTING_TRADE_TYPE);
+        tradeInDb.setBuyQuantity(TestConstants.EXISTING_TRADE_BUY_QUANTITY);
+        tradeInDb = tradeRepository.save(tradeInDb);
+        queryStatisticsService.reset();
+    }
+
+    @AfterEach
+    private void cleanPerTest() {
+        //clean DB at the end of the test by deleting the trade created at initialization
+        tradeRepository.deleteById(tradeInDb.getTradeId());
+    }
+
+    @WithMockUser(authorities = "ROLE_USER")
+    @Test
+    @DisplayName("WHEN requesting the trade update page " +
+            "THEN its statements and entity loads are counted for the request " +
+            "AND the select of the trade shows in the top queries and in the slow queries with its bind count")
+    public void queryStatisticsIT() throws Exception {
+        //GIVEN
+        DistributionSummary statementsSummary = meterRegistry.get(REQUEST_STATEMENTS_SUMMARY).summary();
+        DistributionSummary entityLoadsSummary = meterRegistry.get(REQUEST_ENTITY_LOADS_SUMMARY).summary();
+        long requestCountBefore = statementsSummary.count();
+        double statementsBefore = statementsSummary.totalAmount();
+        double entityLoadsBefore = entityLoadsSummary.totalAmount();
+
+        //WHEN
+        mockMvc.perform(get("/trade/update/" + tradeInDb.getTradeId())).andExpect(status().isOk());
+
+        //THEN
+        assertEquals(requestCountBefore + 1, statementsSummary.count());
+        assertThat(statementsSummary.totalAmount() - statementsBefore).isGreaterThanOrEqualTo(1);
+        assertThat(entityLoadsSummary.totalAmount() - entityLoadsBefore).isGreaterThanOrEqualTo(1);
+
+        List<QueryStatisticsDTO> queryStatisticsDTOList = queryStatisticsService.findTopQueries(20);
+        assertThat(queryStatisticsDTOList)
+                .anyMatch(queryStatisticsDTO -> queryStatisticsDTO.getSql().contains("from trade"));
+
+        List<SlowQueryDTO> slowQueryDTOList = queryStatisticsService.findSlowQueries();
+        assertThat(slowQueryDTOList)
+                .anyMatch(slowQueryDTO -> slowQueryDTO.getSql().contains("from trade")
+                        && slowQueryDTO.getBindCount() >= 1);
+    }
+}
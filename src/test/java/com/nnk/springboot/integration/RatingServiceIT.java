@@ -1,6 +1,7 @@
 package com.nnk.springboot.integration;
 
 import com.nnk.springboot.DTO.RatingDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.domain.Rating;
 import com.nnk.springboot.repositories.RatingRepository;
 import com.nnk.springboot.services.contracts.IRatingService;
@@ -13,6 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -33,11 +38,17 @@ public class RatingServiceIT {
     @Autowired
     private RatingRepository ratingRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private Rating ratingInDb;
     private RatingDTO ratingDTO;
 
     @BeforeEach
     private void initPerTest() {
+        //the rating in DB for test is saved without the service, so the cached lists of rating are cleared first
+        cacheManager.getCache(CacheConstants.RATING_CACHE).clear();
+
         //init a rating in DB for test
         ratingInDb = new Rating();
         ratingInDb.setMoodysRating(TestConstants.EXISTING_RATING_MOODYS_RATING);
@@ -96,6 +107,34 @@ public class RatingServiceIT {
     }
 
 
+    @Test
+    @DisplayName("WHEN asking for the first page of rating " +
+            "THEN the returned value is the first page of rating in DB")
+    public void findAllPageIT_WithSuccess() {
+
+        //WHEN
+        Page<RatingDTO> ratingDTOPage = ratingService.findAll(PageRequest.of(0, 10, Sort.by("id")));
+
+        //THEN
+        assertThat(ratingDTOPage.getTotalElements()).isGreaterThan(0);
+        assertEquals(ratingInDb.getId(), ratingDTOPage.getContent().get(0).getId());
+    }
+
+
+    @Test
+    @DisplayName("WHEN asking for the rating following a given id " +
+            "THEN the returned value is the list of rating in DB after this id")
+    public void findAllAfterIT_WithSuccess() {
+
+        //WHEN
+        List<RatingDTO> ratingDTOList = ratingService.findAllAfter(ratingInDb.getId() - 1, 10);
+
+        //THEN
+        assertThat(ratingDTOList.size()).isGreaterThan(0);
+        assertEquals(ratingInDb.getId(), ratingDTOList.get(0).getId());
+    }
+
+
     @Test
     @DisplayName("WHEN asking for a rating with a specified id " +
             "THEN the returned value is the rating in DB")
@@ -0,0 +1,145 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.DTO.CacheStatisticsDTO;
+import com.nnk.springboot.DTO.CurvePointDTO;
+import com.nnk.springboot.DTO.RatingDTO;
+import com.nnk.springboot.DTO.RuleNameDTO;
+import com.nnk.springboot.constants.CacheConstants;
+import com.nnk.springboot.services.contracts.ICacheStatisticsService;
+import com.nnk.springboot.services.contracts.ICurvePointService;
+import com.nnk.springboot.services.contracts.IRatingService;
+import com.nnk.springboot.services.contracts.IRuleNameService;
+import com.nnk.springboot.testconstants.TestConstants;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ReferenceDataCacheIT {
+
+    @Autowired
+    private IRatingService ratingService;
+
+    @Autowired
+    private IRuleNameService ruleNameService;
+
+    @Autowired
+    private ICurvePointService curvePointService;
+
+    @Autowired
+    private ICacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private final Pageable pageable = PageRequest.of(0, 20);
+
+    @BeforeEach
+    private void initPerTest() {
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("WHEN viewing the same pages of rating, ruleName and curvePoint several times " +
+            "THEN only the first view of each page issues SQL statements")
+    public void findAllPageIT_FromCache() {
+
+        //WHEN
+        ratingService.findAll(pageable);
+        ruleNameService.findAll(pageable);
+        curvePointService.findAll(pageable);
+        long statementCountAfterFirstViews = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 10; i++) {
+            ratingService.findAll(pageable);
+            ruleNameService.findAll(pageable);
+            curvePointService.findAll(pageable);
+        }
+
+        //THEN
+        assertThat(statementCountAfterFirstViews).isGreaterThan(0);
+        assertEquals(statementCountAfterFirstViews, statistics.getPrepareStatementCount());
+        assertThat(cacheStatisticsService.findAll())
+                .filteredOn(cacheStatisticsDTO -> cacheStatisticsDTO.getName().equals(CacheConstants.RATING_CACHE))
+                .extracting(CacheStatisticsDTO::getHitCount)
+                .allMatch(hitCount -> hitCount >= 10);
+    }
+
+
+    @Test
+    @DisplayName("GIVEN pages of rating, ruleName and curvePoint already viewed " +
+            "WHEN one of each is created, updated and deleted " +
+            "THEN the next view of each page reads the DB again and shows the change")
+    public void findAllPageIT_AfterWrites() {
+
+        //GIVEN
+        long ratingCount = ratingService.findAll(pageable).getTotalElements();
+        long ruleNameCount = ruleNameService.findAll(pageable).getTotalElements();
+        long curvePointCount = curvePointService.findAll(pageable).getTotalElements();
+
+        //WHEN created
+        RatingDTO ratingDTO = new RatingDTO();
+        ratingDTO.setMoodysRating(TestConstants.EXISTING_RATING_MOODYS_RATING);
+        ratingDTO.setSandPRating(TestConstants.EXISTING_RATING_SANDP_RATING);
+        ratingDTO.setFitchRating(TestConstants.EXISTING_RATING_FITCH);
+        ratingDTO.setOrderNumber(TestConstants.EXISTING_RATING_ORDER_NUMBER);
+        ratingDTO = ratingService.create(ratingDTO).get();
+
+        RuleNameDTO ruleNameDTO = new RuleNameDTO();
+        ruleNameDTO.setName(TestConstants.EXISTING_RULE_NAME_NAME);
+        ruleNameDTO.setDescription(TestConstants.EXISTING_RULE_NAME_DESCRIPTION);
+        ruleNameDTO = ruleNameService.create(ruleNameDTO).get();
+
+        CurvePointDTO curvePointDTO = curvePointService.create(new CurvePointDTO(null,
+                TestConstants.EXISTING_CURVE_POINT_CURVE_ID,
+                TestConstants.EXISTING_CURVE_POINT_TERM,
+                TestConstants.EXISTING_CURVE_POINT_VALUE)).get();
+
+        //THEN
+        assertEquals(ratingCount + 1, ratingService.findAll(pageable).getTotalElements());
+        assertEquals(ruleNameCount + 1, ruleNameService.findAll(pageable).getTotalElements());
+        assertEquals(curvePointCount + 1, curvePointService.findAll(pageable).getTotalElements());
+
+        //WHEN updated
+        long statementCountBeforeUpdate = statistics.getPrepareStatementCount();
+        ratingDTO.setFitchRating(TestConstants.NEW_RATING_FITCH_RATING);
+        ratingService.update(ratingDTO);
+        long statementCountAfterUpdate = statistics.getPrepareStatementCount();
+        ratingService.findAll(pageable);
+
+        //THEN
+        assertThat(statementCountAfterUpdate).isGreaterThan(statementCountBeforeUpdate);
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(statementCountAfterUpdate);
+
+        //WHEN deleted
+        ratingService.delete(ratingDTO.getId());
+        ruleNameService.delete(ruleNameDTO.getId());
+        curvePointService.delete(curvePointDTO.getId());
+
+        //THEN
+        assertEquals(ratingCount, ratingService.findAll(pageable).getTotalElements());
+        assertEquals(ruleNameCount, ruleNameService.findAll(pageable).getTotalElements());
+        assertEquals(curvePointCount, curvePointService.findAll(pageable).getTotalElements());
+    }
+}
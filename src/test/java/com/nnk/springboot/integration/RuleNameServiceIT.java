@@ -1,6 +1,7 @@
 package com.nnk.springboot.integration;
 
 import com.nnk.springboot.DTO.RuleNameDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.domain.RuleName;
 import com.nnk.springboot.repositories.RuleNameRepository;
 import com.nnk.springboot.services.contracts.IRuleNameService;
@@ -13,6 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -33,11 +38,17 @@ public class RuleNameServiceIT {
     @Autowired
     private RuleNameRepository ruleNameRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private RuleName ruleNameInDb;
     private RuleNameDTO ruleNameDTO;
 
     @BeforeEach
     private void initPerTest() {
+        //the ruleName in DB for test is saved without the service, so the cached lists of ruleName are cleared first
+        cacheManager.getCache(CacheConstants.RULE_NAME_CACHE).clear();
+
         //init a ruleName in DB for test
         ruleNameInDb = new RuleName();
         ruleNameInDb.setName(TestConstants.EXISTING_RULE_NAME_NAME);
@@ -100,6 +111,34 @@ public class RuleNameServiceIT {
     }
 
 
+    @Test
+    @DisplayName("WHEN asking for the first page of ruleName " +
+            "THEN the returned value is the first page of ruleName in DB")
+    public void findAllPageIT_WithSuccess() {
+
+        //WHEN
+        Page<RuleNameDTO> ruleNameDTOPage = ruleNameService.findAll(PageRequest.of(0, 10, Sort.by("id")));
+
+        //THEN
+        assertThat(ruleNameDTOPage.getTotalElements()).isGreaterThan(0);
+        assertEquals(ruleNameInDb.getId(), ruleNameDTOPage.getContent().get(0).getId());
+    }
+
+
+    @Test
+    @DisplayName("WHEN asking for the ruleName following a given id " +
+            "THEN the returned value is the list of ruleName in DB after this id")
+    public void findAllAfterIT_WithSuccess() {
+
+        //WHEN
+        List<RuleNameDTO> ruleNameDTOList = ruleNameService.findAllAfter(ruleNameInDb.getId() - 1, 10);
+
+        //THEN
+        assertThat(ruleNameDTOList.size()).isGreaterThan(0);
+        assertEquals(ruleNameInDb.getId(), ruleNameDTOList.get(0).getId());
+    }
+
+
     @Test
     @DisplayName("WHEN asking for a ruleName with a specified id " +
             "THEN the returned value is the ruleName in DB")
@@ -0,0 +1,143 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.config.persistence.SchemaIndexValidator;
+import com.nnk.springboot.constants.PoseidonExceptionsConstants;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/* the schema is created by the migrations, then validated by Hibernate against the entities,
+ * the MySQL dialect reading the sequences from tables as in production */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schemamigration;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQL57Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+public class SchemaMigrationIT {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private SchemaIndexValidator schemaIndexValidator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static List<String> appliedVersions(Flyway flyway) {
+        return Arrays.stream(flyway.info().applied())
+                .map(migrationInfo -> migrationInfo.getVersion().getVersion())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("WHEN the application starts on an empty database " +
+            "THEN each migration is applied and recorded, " +
+            "AND the keys hold values above the former tinyint limit")
+    public void migrateIT_OnEmptyDatabase() {
+
+        //THEN
+        assertEquals(Arrays.asList("1", "2", "3", "4", "5", "6"), appliedVersions(flyway));
+        assertEquals(0, flyway.migrate().migrationsExecuted);
+
+        jdbcTemplate.update("INSERT INTO rating (Id, moodysRating, orderNumber) VALUES (1000, 'Aaa', 1000)");
+        assertEquals(1000, jdbcTemplate.queryForObject("SELECT orderNumber FROM rating WHERE Id = 1000", Integer.class));
+        jdbcTemplate.update("DELETE FROM rating WHERE Id = 1000");
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a database created by hand with the former doc/data.sql and holding rows, without history " +
+            "WHEN migrating it with the configuration of the application " +
+            "THEN it is recorded at the first version, the next migrations are applied " +
+            "AND the existing rows get a version, a lower-case username and ids allocated after theirs")
+    public void migrateIT_OnSchemaCreatedBeforeMigrations() {
+
+        //GIVEN
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:schemabaseline;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/baseline/data.sql")).execute(dataSource);
+        JdbcTemplate baselineJdbcTemplate = new JdbcTemplate(dataSource);
+        baselineJdbcTemplate.update("INSERT INTO trade (TradeId, account, type) VALUES (120, 'Account', 'Type')");
+        baselineJdbcTemplate.update("INSERT INTO bidlist (BidListId, account, type) VALUES (7, 'Account', 'Type')");
+        baselineJdbcTemplate.update("INSERT INTO rulename (Id, name) VALUES (10, 'Rule')");
+        baselineJdbcTemplate.update("INSERT INTO users (username, password, role) VALUES ('MixedCase', 'x', 'USER')");
+        Flyway baselineFlyway = Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(dataSource)
+                .load();
+
+        try {
+            //WHEN
+            int migrationsExecuted = baselineFlyway.migrate().migrationsExecuted;
+
+            //THEN
+            assertEquals(5, migrationsExecuted);
+            assertEquals(Arrays.asList("1", "2", "3", "4", "5", "6"), appliedVersions(baselineFlyway));
+            assertEquals(MigrationType.BASELINE, baselineFlyway.info().applied()[0].getType());
+            assertEquals(0, baselineJdbcTemplate.queryForObject(
+                    "SELECT version FROM trade WHERE TradeId = 120", Integer.class));
+            assertEquals(0, baselineJdbcTemplate.queryForObject(
+                    "SELECT version FROM bidlist WHERE BidListId = 7", Integer.class));
+            assertEquals("mixedcase", baselineJdbcTemplate.queryForObject(
+                    "SELECT usernameLower FROM users WHERE username = 'MixedCase'", String.class));
+            assertEquals(170, baselineJdbcTemplate.queryForObject("SELECT next_val FROM trade_seq", Integer.class));
+            assertEquals(57, baselineJdbcTemplate.queryForObject("SELECT next_val FROM bidlist_seq", Integer.class));
+            assertEquals(50, baselineJdbcTemplate.queryForObject("SELECT next_val FROM curvepoint_seq", Integer.class));
+            assertEquals(11, baselineJdbcTemplate.queryForObject(
+                    "SELECT next_val FROM hibernate_sequence", Integer.class));
+
+            baselineJdbcTemplate.update("INSERT INTO trade (TradeId, account, type) VALUES (1000, 'Account', 'Type')");
+            assertThrows(DataIntegrityViolationException.class, () -> baselineJdbcTemplate.update(
+                    "INSERT INTO users (username, usernameLower, password, role) " +
+                            "VALUES ('mixedCASE', 'mixedcase', 'x', 'USER')"));
+        } finally {
+            baselineJdbcTemplate.execute("DROP ALL OBJECTS");
+        }
+    }
+
+
+    @Test
+    @DisplayName("GIVEN an index needed by the repository queries dropped from the schema " +
+            "WHEN checking the indexes " +
+            "THEN it is reported as missing and the check fails")
+    public void checkIndexesIT_WithMissingIndex() {
+
+        //GIVEN
+        assertTrue(schemaIndexValidator.findMissingIndexes().isEmpty());
+        jdbcTemplate.execute("DROP INDEX curvepoint_curve_id_as_of_date_idx");
+
+        try {
+            //WHEN
+            List<String> missingIndexes = schemaIndexValidator.findMissingIndexes();
+
+            //THEN
+            assertEquals(Collections.singletonList("curvepoint(CurveId, asOfDate)"), missingIndexes);
+            Exception exception = assertThrows(IllegalStateException.class,
+                    () -> schemaIndexValidator.afterSingletonsInstantiated());
+            assertEquals(PoseidonExceptionsConstants.SCHEMA_INDEXES_MISSING + "curvepoint(CurveId, asOfDate)",
+                    exception.getMessage());
+        } finally {
+            jdbcTemplate.execute("CREATE INDEX curvepoint_curve_id_as_of_date_idx ON curvepoint (CurveId, asOfDate)");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.contracts.ITradeService;
+import com.nnk.springboot.testconstants.TestConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.nnk.springboot.constants.MetricsConstants.ACTION_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.ENTITY_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.EXCEPTION_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.METHOD_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_ERROR;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_SUCCESS;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.REPOSITORY_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.REPOSITORY_TIMER;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_QUERY_TIMER;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_ROWS_SUMMARY;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_TIMER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class ServiceMetricsIT {
+
+    @Autowired
+    private ITradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Trade tradeInDb;
+
+    @BeforeEach
+    private void initPerTest() {
+        //init a trade in DB for test
+        tradeInDb = new Trade();
+        tradeInDb.setAccount(TestConstants.EXISTING_TRADE_ACCOUNT);
+        tradeInDb.setType(TestConstants.EXISTING_TRADE_TYPE);
+        tradeInDb.setBuyQuantity(TestConstants.EXISTING_TRADE_BUY_QUANTITY);
+        tradeInDb = tradeRepository.save(tradeInDb);
+    }
+
+    @AfterEach
+    private void cleanPerTest() {
+        //clean DB at the end of the test by deleting the trade created at initialization
+        tradeRepository.deleteById(tradeInDb.getTradeId());
+    }
+
+    @Test
+    @DisplayName("WHEN calling a service method with success and with an error " +
+            "THEN the calls are timed by outcome, with the rows returned and the time spent in the repository")
+    public void serviceMetricsIT() {
+        //GIVEN
+        long successCountBefore = countOf(serviceTimer("findAll", OUTCOME_SUCCESS));
+        long errorCountBefore = countOf(serviceTimer("findById", OUTCOME_ERROR));
+
+        //WHEN
+        tradeService.findAll(PageRequest.of(0, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeService.findById(TestConstants.UNKNOWN_TRADE_ID));
+
+        //THEN
+        assertEquals(successCountBefore + 1, countOf(serviceTimer("findAll", OUTCOME_SUCCESS)));
+        assertEquals(errorCountBefore + 1, countOf(serviceTimer("findById", OUTCOME_ERROR)));
+        assertEquals(IllegalArgumentException.class.getSimpleName(),
+                serviceTimer("findById", OUTCOME_ERROR).getId().getTag(EXCEPTION_TAG));
+
+        assertThat(meterRegistry.get(SERVICE_ROWS_SUMMARY)
+                .tag(SERVICE_TAG, "TradeService").tag(METHOD_TAG, "findAll")
+                .summary().max()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get(SERVICE_QUERY_TIMER)
+                .tag(SERVICE_TAG, "TradeService").tag(METHOD_TAG, "findAll")
+                .timer().totalTime(TimeUnit.NANOSECONDS)).isPositive();
+        assertNotNull(meterRegistry.find(REPOSITORY_TIMER).tag(REPOSITORY_TAG, "TradeRepository").timer());
+    }
+
+
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    @Test
+    @DisplayName("WHEN requesting the trade list page and then scraping the metrics " +
+            "THEN the request is measured with its entity and action " +
+            "AND the Prometheus endpoint returns the service and request meters")
+    public void controllerAndPrometheusMetricsIT() throws Exception {
+        //WHEN
+        mockMvc.perform(get("/trade/list")).andExpect(status().isOk());
+
+        //THEN
+        assertNotNull(meterRegistry.find("http.server.requests")
+                .tag(ENTITY_TAG, "trade").tag(ACTION_TAG, "home").timer());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "poseidon_service_seconds_bucket")))
+                .andExpect(content().string(containsString(
+                        "entity=\"trade\"")));
+    }
+
+
+    private Timer serviceTimer(String method, String outcome) {
+        return meterRegistry.find(SERVICE_TIMER)
+                .tag(SERVICE_TAG, "TradeService").tag(METHOD_TAG, method).tag(OUTCOME_TAG, outcome)
+                .timer();
+    }
+
+    private static long countOf(Timer timer) {
+        return timer == null ? 0 : timer.count();
+    }
+}
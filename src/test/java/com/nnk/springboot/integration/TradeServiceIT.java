@@ -1,8 +1,15 @@
 package com.nnk.springboot.integration;
 
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.DTO.PnlDTO;
+import com.nnk.springboot.DTO.PositionDTO;
 import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.constants.ExportFormat;
 import com.nnk.springboot.domain.Trade;
 import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.contracts.IPnlEngine;
+import com.nnk.springboot.services.contracts.IPositionEngine;
 import com.nnk.springboot.services.contracts.ITradeService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.AfterEach;
@@ -13,9 +20,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +40,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ActiveProfiles("test")
@@ -34,6 +52,12 @@ public class TradeServiceIT {
     @Autowired
     private TradeRepository tradeRepository;
 
+    @Autowired
+    private IPositionEngine positionEngine;
+
+    @Autowired
+    private IPnlEngine pnlEngine;
+
     private Trade tradeInDb;
     private TradeDTO tradeDTO;
 
@@ -96,6 +120,34 @@ public class TradeServiceIT {
     }
 
 
+    @Test
+    @DisplayName("WHEN asking for the first page of trade " +
+            "THEN the returned value is the first page of trade in DB")
+    public void findAllPageIT_WithSuccess() {
+
+        //WHEN
+        Page<TradeDTO> tradeDTOPage = tradeService.findAll(PageRequest.of(0, 10, Sort.by("tradeId")));
+
+        //THEN
+        assertThat(tradeDTOPage.getTotalElements()).isGreaterThan(0);
+        assertEquals(tradeInDb.getTradeId(), tradeDTOPage.getContent().get(0).getTradeId());
+    }
+
+
+    @Test
+    @DisplayName("WHEN asking for the trade following a given id " +
+            "THEN the returned value is the list of trade in DB after this id")
+    public void findAllAfterIT_WithSuccess() {
+
+        //WHEN
+        List<TradeDTO> tradeDTOList = tradeService.findAllAfter(tradeInDb.getTradeId() - 1, 10);
+
+        //THEN
+        assertThat(tradeDTOList.size()).isGreaterThan(0);
+        assertEquals(tradeInDb.getTradeId(), tradeDTOList.get(0).getTradeId());
+    }
+
+
     @Test
     @DisplayName("WHEN asking for a trade with a specified id " +
             "THEN the returned value is the trade in DB")
@@ -121,6 +173,7 @@ public class TradeServiceIT {
 
         //GIVEN
         tradeDTO.setTradeId(tradeInDb.getTradeId());
+        tradeDTO.setVersion(tradeInDb.getVersion());
         tradeDTO.setType(TestConstants.NEW_TRADE_TYPE);
 
         //WHEN
@@ -136,6 +189,38 @@ public class TradeServiceIT {
     }
 
 
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN updating a trade twice with the version it was read with " +
+            "THEN the first update increments its version in DB, " +
+            "AND the second update is rejected without modifying the trade")
+    public void updateIT_WithStaleVersion() {
+
+        //GIVEN
+        tradeDTO.setTradeId(tradeInDb.getTradeId());
+        tradeDTO.setVersion(tradeInDb.getVersion());
+        tradeDTO.setType(TestConstants.NEW_TRADE_TYPE);
+        TradeDTO tradeDTOConcurrent = new TradeDTO();
+        tradeDTOConcurrent.setTradeId(tradeInDb.getTradeId());
+        tradeDTOConcurrent.setVersion(tradeInDb.getVersion());
+        tradeDTOConcurrent.setAccount(TestConstants.NEW_TRADE_ACCOUNT);
+        tradeDTOConcurrent.setType(TestConstants.EXISTING_TRADE_TYPE);
+
+        //WHEN
+        TradeDTO tradeDTOUpdated = tradeService.update(tradeDTO);
+
+        //THEN
+        assertEquals(tradeInDb.getVersion() + 1, tradeDTOUpdated.getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> tradeService.update(tradeDTOConcurrent));
+
+        Optional<Trade> tradeUpdated = tradeRepository.findById(tradeInDb.getTradeId());
+        assertTrue(tradeUpdated.isPresent());
+        assertEquals(tradeInDb.getVersion() + 1, tradeUpdated.get().getVersion());
+        assertEquals(TestConstants.NEW_TRADE_TYPE, tradeUpdated.get().getType());
+        assertEquals(TestConstants.EXISTING_TRADE_ACCOUNT, tradeUpdated.get().getAccount());
+    }
+
+
     @Test
     @Tag("SkipCleanUp")
     @DisplayName("WHEN deleting a trade with correct informations  " +
@@ -149,4 +234,188 @@ public class TradeServiceIT {
         //THEN
         assertFalse(tradeDeleted.isPresent());
     }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN creating, updating and deleting trades through the service " +
+            "THEN each committed change is applied to the positions")
+    public void positionIT_FollowsTradeChanges() {
+
+        //GIVEN
+        tradeDTO.setAccount("PositionAccount");
+        TradeDTO tradeDTOCreated = tradeService.create(tradeDTO).get();
+        Integer otherTradeId = tradeService.create(tradeDTO).get().getTradeId();
+        PositionDTO positionDTO = positionEngine.findPosition("PositionAccount", null, null).get();
+        assertEquals(2, positionDTO.getTradeCount());
+        assertEquals(2 * TestConstants.EXISTING_TRADE_BUY_QUANTITY, positionDTO.getNetQuantity());
+
+        //WHEN
+        tradeDTO.setTradeId(tradeDTOCreated.getTradeId());
+        tradeDTO.setVersion(tradeDTOCreated.getVersion());
+        tradeDTO.setBuyQuantity(TestConstants.EXISTING_TRADE_BUY_QUANTITY + 1);
+        tradeService.update(tradeDTO);
+        tradeService.delete(otherTradeId);
+
+        //THEN
+        positionDTO = positionEngine.findPosition("PositionAccount", null, null).get();
+        assertEquals(1, positionDTO.getTradeCount());
+        assertEquals(TestConstants.EXISTING_TRADE_BUY_QUANTITY + 1, positionDTO.getNetQuantity());
+
+        tradeService.delete(tradeDTOCreated.getTradeId());
+        assertFalse(positionEngine.findPosition("PositionAccount", null, null).isPresent());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN the P&L computed for a buy partly sold " +
+            "WHEN deleting the sell through the service " +
+            "THEN the position is recomputed from the trades in DB")
+    public void pnlIT_FollowsTradeChanges() {
+
+        //GIVEN
+        Trade buy = new Trade();
+        buy.setAccount("PnlAccount");
+        buy.setType(TestConstants.EXISTING_TRADE_TYPE);
+        buy.setBuyQuantity(10D);
+        buy.setBuyPrice(100D);
+        buy = tradeRepository.save(buy);
+        Trade sell = new Trade();
+        sell.setAccount("PnlAccount");
+        sell.setType(TestConstants.EXISTING_TRADE_TYPE);
+        sell.setSellQuantity(4D);
+        sell.setSellPrice(110D);
+        sell = tradeRepository.save(sell);
+        pnlEngine.recomputeAll();
+        PnlDTO pnlDTO = pnlEngine.findAll("PnlAccount", null).get(0);
+        assertEquals(40, pnlDTO.getRealisedPnl());
+        assertEquals(6, pnlDTO.getOpenQuantity());
+
+        //WHEN
+        tradeService.delete(sell.getTradeId());
+
+        //THEN
+        pnlDTO = pnlEngine.findAll("PnlAccount", null).get(0);
+        assertEquals(1, pnlDTO.getTradeCount());
+        assertEquals(0, pnlDTO.getRealisedPnl());
+        assertEquals(10, pnlDTO.getOpenQuantity());
+
+        tradeService.delete(buy.getTradeId());
+        assertTrue(pnlEngine.findAll("PnlAccount", null).isEmpty());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN creating a list of trade in bulk " +
+            "THEN each row is reported as created, " +
+            "AND the trade are added in DB")
+    public void createAllIT_WithSuccess() {
+
+        //GIVEN
+        TradeDTO otherTradeDTO = new TradeDTO();
+        otherTradeDTO.setAccount(TestConstants.NEW_TRADE_ACCOUNT);
+        otherTradeDTO.setType(TestConstants.NEW_TRADE_TYPE);
+        otherTradeDTO.setBuyQuantity(TestConstants.NEW_TRADE_BUY_QUANTITY);
+
+        //WHEN
+        List<BulkResultDTO> bulkResultList = tradeService.createAll(Arrays.asList(tradeDTO, otherTradeDTO));
+
+        //THEN
+        assertEquals(2, bulkResultList.size());
+        bulkResultList.forEach(bulkResult -> {
+            assertTrue(bulkResult.isSuccess());
+            assertTrue(tradeRepository.findById(bulkResult.getId()).isPresent());
+        });
+
+        //cleaning of DB at the end of the test by deleting the trade created during the test
+        bulkResultList.forEach(bulkResult -> tradeRepository.deleteById(bulkResult.getId()));
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN updating a list of trade in bulk " +
+            "THEN each row is reported as updated, " +
+            "AND the trade are updated in DB")
+    public void updateAllIT_WithSuccess() {
+
+        //GIVEN
+        tradeDTO.setTradeId(tradeInDb.getTradeId());
+        tradeDTO.setVersion(tradeInDb.getVersion());
+        tradeDTO.setType(TestConstants.NEW_TRADE_TYPE);
+
+        //WHEN
+        List<BulkResultDTO> bulkResultList = tradeService.updateAll(Collections.singletonList(tradeDTO));
+        Optional<Trade> tradeUpdated = tradeRepository.findById(tradeInDb.getTradeId());
+
+        //THEN
+        assertTrue(bulkResultList.get(0).isSuccess());
+        assertTrue(tradeUpdated.isPresent());
+        assertEquals(TestConstants.NEW_TRADE_TYPE, tradeUpdated.get().getType());
+        assertNotNull(tradeUpdated.get().getRevisionDate());
+    }
+
+
+    @Test
+    @Tag("SkipCleanUp")
+    @DisplayName("WHEN deleting a list of trade in bulk " +
+            "THEN each existing trade is reported as deleted, " +
+            "AND the trade are deleted in DB")
+    public void deleteAllIT_WithSuccess() {
+
+        //WHEN
+        List<BulkResultDTO> bulkResultList = tradeService.deleteAll(
+                Arrays.asList(tradeInDb.getTradeId(), TestConstants.UNKNOWN_TRADE_ID));
+
+        //THEN
+        assertTrue(bulkResultList.get(0).isSuccess());
+        assertFalse(bulkResultList.get(1).isSuccess());
+        assertFalse(tradeRepository.findById(tradeInDb.getTradeId()).isPresent());
+    }
+
+
+    @Test
+    @DisplayName("WHEN exporting all the trade as CSV " +
+            "THEN all the trade in DB are written to the output stream")
+    public void exportAllIT_WithSuccess() throws IOException {
+
+        //GIVEN
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //WHEN
+        long exportedTradeCount = tradeService.exportAll(ExportFormat.CSV, outputStream);
+
+        //THEN
+        assertEquals(tradeRepository.count(), exportedTradeCount);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8.name())).contains(tradeInDb.getAccount());
+    }
+
+
+    @WithMockUser
+    @Test
+    @DisplayName("WHEN importing a CSV file of trade " +
+            "THEN the valid lines are added in DB and the others are reported")
+    public void importCsvIT_WithSuccess() throws IOException {
+
+        //GIVEN
+        String csv = "account,type,buyQuantity\n" +
+                "Account Test,Type Test,10\n" +
+                "Account Test,Type Test,10\n" +
+                "Account Test,,10\n";
+
+        //WHEN
+        ImportReportDTO importReport = tradeService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        List<TradeDTO> tradeDTOImportedList =
+                tradeService.findAllAfter(tradeInDb.getTradeId(), 10);
+
+        //THEN
+        assertEquals(2, importReport.getImportedLineCount());
+        assertEquals(1, importReport.getRejectedLineCount());
+        assertThat(tradeDTOImportedList.size()).isEqualTo(2);
+
+        //cleaning of DB at the end of the test by deleting the trade imported during the test
+        tradeDTOImportedList.forEach(tradeDTO -> tradeRepository.deleteById(tradeDTO.getTradeId()));
+    }
 }
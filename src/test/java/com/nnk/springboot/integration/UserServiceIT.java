@@ -1,8 +1,10 @@
 package com.nnk.springboot.integration;
 
 import com.nnk.springboot.DTO.UserDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.domain.User;
 import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
 import com.nnk.springboot.services.contracts.IUserService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.AfterEach;
@@ -13,6 +15,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -34,11 +42,20 @@ public class UserServiceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     private User userInDb;
     private UserDTO userDTO;
 
     @BeforeEach
     private void initPerTest() {
+        //the user in DB for test is saved without the service, so the cached users are cleared first
+        cacheManager.getCache(CacheConstants.USER_DETAILS_CACHE).clear();
+
         //init a user in DB for test
         userInDb = new User();
         userInDb.setUsername(TestConstants.EXISTING_USER_USERNAME);
@@ -98,6 +115,34 @@ public class UserServiceIT {
     }
 
 
+    @Test
+    @DisplayName("WHEN asking for the first page of user " +
+            "THEN the returned value is the first page of user in DB")
+    public void findAllPageIT_WithSuccess() {
+
+        //WHEN
+        Page<UserDTO> userDTOPage = userService.findAll(PageRequest.of(0, 10, Sort.by("id")));
+
+        //THEN
+        assertThat(userDTOPage.getTotalElements()).isGreaterThan(0);
+        assertEquals(userInDb.getId(), userDTOPage.getContent().get(0).getId());
+    }
+
+
+    @Test
+    @DisplayName("WHEN asking for the user following a given id " +
+            "THEN the returned value is the list of user in DB after this id")
+    public void findAllAfterIT_WithSuccess() {
+
+        //WHEN
+        List<UserDTO> userDTOList = userService.findAllAfter(userInDb.getId() - 1, 10);
+
+        //THEN
+        assertThat(userDTOList.size()).isGreaterThan(0);
+        assertEquals(userInDb.getId(), userDTOList.get(0).getId());
+    }
+
+
     @Test
     @DisplayName("WHEN asking for a user with a specified id " +
             "THEN the returned value is the user in DB")
@@ -138,6 +183,31 @@ public class UserServiceIT {
     }
 
 
+    @WithMockUser
+    @Test
+    @DisplayName("GIVEN a user already loaded with a username in another case " +
+            "WHEN updating this user " +
+            "THEN the user loaded next has the updated informations")
+    public void loadUserByUsernameIT_AfterUpdate() throws Exception {
+
+        //GIVEN
+        UserDetails userDetails = userDetailsService.loadUserByUsername(
+                TestConstants.EXISTING_USER_USERNAME.toUpperCase());
+        assertEquals(userInDb.getId(), ((User) userDetails).getId());
+
+        //WHEN
+        userDTO.setId(userInDb.getId());
+        userDTO.setUsername(TestConstants.EXISTING_USER_USERNAME);
+        userDTO.setRole(TestConstants.USER_ROLE_ADMIN);
+        userService.update(userDTO);
+
+        //THEN
+        userDetails = userDetailsService.loadUserByUsername(TestConstants.EXISTING_USER_USERNAME);
+        assertTrue(userDetails.getAuthorities().contains(
+                new SimpleGrantedAuthority("ROLE_" + TestConstants.USER_ROLE_ADMIN)));
+    }
+
+
     @Test
     @Tag("SkipCleanUp")
     @DisplayName("WHEN deleting a user with correct informations  " +
@@ -0,0 +1,386 @@
+package com.nnk.springboot.loadtest;
+
+import com.nnk.springboot.benchmark.BenchmarkContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * fills the bidlist, trade, curvepoint, rating, rulename and users tables with synthetic rows,
+ * drawn from a seeded random generator so that two runs with the same seed and volumes give the same data:
+ * accounts, traders and books follow a skewed distribution (a few accounts hold most of the trades),
+ * quantities are log-normal, prices normal, dates spread over the last two years,
+ * and the curve points form one curve of standard terms per curve id and as-of date.
+ * Rows are inserted with JDBC batches after the rows already in the tables, then the id sequences of
+ * Hibernate are moved past them. The generated users all have the password LOAD_TEST_PASSWORD.
+ * <p>
+ * Run against a MySQL database migrated by the scripts of db/migration:
+ * java -cp &lt;test classpath&gt; com.nnk.springboot.loadtest.DataGenerator
+ * --spring.datasource.url=jdbc:mysql://localhost:3306/demo?rewriteBatchedStatements=true
+ * --spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver --spring.jpa.hibernate.ddl-auto=none
+ * --poseidon.generator.trades=10000000
+ */
+public class DataGenerator {
+
+    public static final String LOAD_TEST_PASSWORD = "LoadTest@2021";
+
+    public static final String LOAD_TEST_USERNAME_PREFIX = "loaduser";
+
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    private static final double[] CURVE_TERMS = {0.25, 0.5, 1, 2, 3, 5, 7, 10, 15, 20, 30};
+
+    private static final int CURVE_IDS = 20;
+
+    private static final String[] TRADE_TYPES = {"BUY", "SELL", "SWAP", "FORWARD", "OPTION"};
+
+    private static final double[] TRADE_TYPE_WEIGHTS = {0.4, 0.35, 0.1, 0.1, 0.05};
+
+    private static final String[] STATUSES = {"OPEN", "FILLED", "PARTIAL", "CANCELLED"};
+
+    private static final double[] STATUS_WEIGHTS = {0.2, 0.6, 0.15, 0.05};
+
+    private static final String[] SIDES = {"BUY", "SELL"};
+
+    private static final String[] MOODYS_RATINGS = {"Aaa", "Aa1", "Aa2", "Aa3", "A1", "A2", "A3",
+            "Baa1", "Baa2", "Baa3", "Ba1", "Ba2", "Ba3", "B1", "B2", "B3", "Caa1"};
+
+    private static final String[] SP_RATINGS = {"AAA", "AA+", "AA", "AA-", "A+", "A", "A-",
+            "BBB+", "BBB", "BBB-", "BB+", "BB", "BB-", "B+", "B", "B-", "CCC+"};
+
+    private static final int ACCOUNTS = 1000;
+
+    private static final int TRADERS = 50;
+
+    private static final int BOOKS = 20;
+
+    private static final int SECURITIES = 500;
+
+    private static final int DAYS = 730;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Random random;
+
+    private final int batchSize;
+
+    private final LocalDateTime now = LocalDate.now().atStartOfDay();
+
+    public DataGenerator(DataSource dataSource, long seed, int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.random = new Random(seed);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * generate the rows of the six tables
+     *
+     * @param volumes number of rows of each table
+     */
+    public void generate(Volumes volumes) {
+        insertTrades(volumes.trades);
+        insertBidLists(volumes.bidLists);
+        insertCurvePoints(volumes.curvePoints);
+        insertRatings(volumes.ratings);
+        insertRuleNames(volumes.ruleNames);
+        insertUsers(volumes.users);
+        resetSequences();
+    }
+
+
+    private void insertTrades(long count) {
+        String sql = "insert into trade (tradeId, version, account, type, buyQuantity, sellQuantity, buyPrice, sellPrice, "
+                + "tradeDate, security, status, trader, benchmark, book, creationName, creationDate, "
+                + "dealName, dealType, sourceListId, side) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        long firstId = nextId("trade", "tradeId");
+
+        insertInBatches("trade", sql, count, index -> {
+            String type = pick(TRADE_TYPES, TRADE_TYPE_WEIGHTS);
+            boolean buy = !"SELL".equals(type);
+            Timestamp tradeDate = randomDate();
+            return new Object[]{firstId + index, 0, account(), type,
+                    buy ? quantity() : null, buy ? null : quantity(),
+                    buy ? price() : null, buy ? null : price(),
+                    tradeDate, "SEC" + skewed(SECURITIES), pick(STATUSES, STATUS_WEIGHTS), trader(),
+                    benchmark(), book(), trader(), tradeDate,
+                    "Deal " + random.nextInt(10000), type, "SRC" + random.nextInt(100), buy ? SIDES[0] : SIDES[1]};
+        });
+    }
+
+
+    private void insertBidLists(long count) {
+        String sql = "insert into bidlist (BidListId, version, account, type, bidQuantity, askQuantity, bid, ask, "
+                + "benchmark, bidListDate, commentary, security, status, trader, book, creationName, creationDate, "
+                + "dealName, dealType, sourceListId, side) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        long firstId = nextId("bidlist", "BidListId");
+
+        insertInBatches("bidlist", sql, count, index -> {
+            String type = pick(TRADE_TYPES, TRADE_TYPE_WEIGHTS);
+            double bid = price();
+            Timestamp bidListDate = randomDate();
+            return new Object[]{firstId + index, 0, account(), type, quantity(), quantity(),
+                    bid, bid + Math.abs(random.nextGaussian()) * 0.5,
+                    benchmark(), bidListDate, null, "SEC" + skewed(SECURITIES),
+                    pick(STATUSES, STATUS_WEIGHTS), trader(), book(), trader(), bidListDate,
+                    "Deal " + random.nextInt(10000), type, "SRC" + random.nextInt(100),
+                    SIDES[random.nextInt(SIDES.length)]};
+        });
+    }
+
+
+    /* one curve of all the standard terms per curve id and as-of date, the as-of dates going back from today */
+    private void insertCurvePoints(long count) {
+        String sql = "insert into curvepoint (id, CurveId, asOfDate, term, value, creationDate) "
+                + "values (?, ?, ?, ?, ?, ?)";
+        long firstId = nextId("curvepoint", "id");
+        double[] levels = new double[CURVE_IDS];
+        for (int curveId = 0; curveId < CURVE_IDS; curveId++) {
+            levels[curveId] = 0.5 + random.nextDouble() * 3;
+        }
+
+        insertInBatches("curvepoint", sql, count, index -> {
+            int term = (int) (index % CURVE_TERMS.length);
+            int curveId = (int) (index / CURVE_TERMS.length % CURVE_IDS);
+            long day = index / ((long) CURVE_TERMS.length * CURVE_IDS);
+            Timestamp asOfDate = Timestamp.valueOf(now.minusDays(day));
+            double value = levels[curveId] + 0.6 * Math.log1p(CURVE_TERMS[term]) + random.nextGaussian() * 0.02;
+            return new Object[]{firstId + index, curveId + 1, asOfDate, CURVE_TERMS[term], value, asOfDate};
+        });
+    }
+
+
+    /* the three agencies agree within one notch */
+    private void insertRatings(long count) {
+        String sql = "insert into rating (id, moodysRating, sandPRating, fitchRating, orderNumber) "
+                + "values (?, ?, ?, ?, ?)";
+        long firstId = nextId("rating", "id");
+
+        insertInBatches("rating", sql, count, index -> {
+            int notch = skewed(MOODYS_RATINGS.length);
+            int otherNotch = Math.min(SP_RATINGS.length - 1, Math.max(0, notch + random.nextInt(3) - 1));
+            return new Object[]{firstId + index, MOODYS_RATINGS[notch], SP_RATINGS[notch], SP_RATINGS[otherNotch],
+                    (int) (index % 127) + 1};
+        });
+    }
+
+
+    private void insertRuleNames(long count) {
+        String sql = "insert into rulename (id, name, description, json, template, sqlStr, sqlPart) "
+                + "values (?, ?, ?, ?, ?, ?, ?)";
+        long firstId = nextId("rulename", "id");
+
+        insertInBatches("rulename", sql, count, index -> {
+            int threshold = 1000 * (1 + random.nextInt(100));
+            return new Object[]{firstId + index, "Rule " + (firstId + index),
+                    "Alert on trades above " + threshold,
+                    "{\"threshold\": " + threshold + "}",
+                    "Trade {account} above {threshold}",
+                    "select * from trade where buyQuantity > " + threshold,
+                    "buyQuantity > " + threshold};
+        });
+    }
+
+
+    /* one hash shared by all the users, so that the generation does not take a BCrypt hash per user */
+    private void insertUsers(long count) {
+        String sql = "insert into users (id, username, usernameLower, password, fullname, role) "
+                + "values (?, ?, ?, ?, ?, ?)";
+        long firstId = nextId("users", "id");
+        String encodedPassword = new BCryptPasswordEncoder(10).encode(LOAD_TEST_PASSWORD);
+
+        insertInBatches("users", sql, count, index -> {
+            String username = LOAD_TEST_USERNAME_PREFIX + (firstId + index);
+            return new Object[]{firstId + index, username, username, encodedPassword,
+                    "Load test user " + (firstId + index), random.nextInt(10) == 0 ? "ADMIN" : "USER"};
+        });
+    }
+
+
+    private void insertInBatches(String table, String sql, long count, RowGenerator rowGenerator) {
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long index = 0; index < count; index++) {
+            batch.add(rowGenerator.row(index));
+            if (batch.size() == batchSize || index == count - 1) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        System.out.printf("%-10s %,12d rows in %,d ms%n", table, count,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+
+    private long nextId(String table, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + table, Long.class);
+        return maxId == null ? 1 : maxId + 1;
+    }
+
+
+    /**
+     * move the id sequences of Hibernate past the generated rows: real sequences on H2,
+     * tables of one row on MySQL (where rating, rulename and users have auto-increment ids)
+     */
+    private void resetSequences() {
+        resetSequence("trade_seq", nextId("trade", "tradeId"));
+        resetSequence("bidlist_seq", nextId("bidlist", "BidListId"));
+        resetSequence("curvepoint_seq", nextId("curvepoint", "id"));
+        resetSequence("hibernate_sequence", Math.max(nextId("rating", "id"),
+                Math.max(nextId("rulename", "id"), nextId("users", "id"))));
+    }
+
+    private void resetSequence(String sequence, long nextId) {
+        long restartValue = nextId + SEQUENCE_ALLOCATION_SIZE;
+        if (isH2()) {
+            jdbcTemplate.execute("alter sequence if exists " + sequence + " restart with " + restartValue);
+        } else if (tableExists(sequence)) {
+            jdbcTemplate.update("update " + sequence + " set next_val = ?", restartValue);
+        }
+    }
+
+    private boolean isH2() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) ->
+                connection.getMetaData().getDatabaseProductName().contains("H2")));
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, table, null)) {
+                return tables.next();
+            } catch (SQLException exception) {
+                return false;
+            }
+        }));
+    }
+
+
+    /* a few accounts, traders and books get most of the rows */
+    private int skewed(int size) {
+        double draw = random.nextDouble();
+        return (int) (size * draw * draw * draw);
+    }
+
+    private String account() {
+        return "ACC" + skewed(ACCOUNTS);
+    }
+
+    private String trader() {
+        return "Trader " + skewed(TRADERS);
+    }
+
+    private String book() {
+        return "Book " + skewed(BOOKS);
+    }
+
+    /* curveId/term of one of the generated curves, the benchmark the P&L marks the trade against */
+    private String benchmark() {
+        int index = random.nextInt(CURVE_IDS * CURVE_TERMS.length);
+        return (index / CURVE_TERMS.length + 1) + "/" + CURVE_TERMS[index % CURVE_TERMS.length];
+    }
+
+    private double quantity() {
+        return Math.round(Math.exp(6 + 1.5 * random.nextGaussian()));
+    }
+
+    private double price() {
+        return Math.round(Math.max(0.01, 100 + 15 * random.nextGaussian()) * 100) / 100.0;
+    }
+
+    private Timestamp randomDate() {
+        return Timestamp.valueOf(now.minusMinutes((long) (random.nextDouble() * DAYS * 24 * 60)));
+    }
+
+    private String pick(String[] values, double[] weights) {
+        double draw = random.nextDouble();
+        for (int i = 0; i < values.length - 1; i++) {
+            draw -= weights[i];
+            if (draw < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+
+    @FunctionalInterface
+    private interface RowGenerator {
+        Object[] row(long index);
+    }
+
+
+    /**
+     * number of rows to generate in each table
+     */
+    public static class Volumes {
+
+        private final long trades;
+
+        private final long bidLists;
+
+        private final long curvePoints;
+
+        private final long ratings;
+
+        private final long ruleNames;
+
+        private final long users;
+
+        public Volumes(long trades, long bidLists, long curvePoints, long ratings, long ruleNames, long users) {
+            this.trades = trades;
+            this.bidLists = bidLists;
+            this.curvePoints = curvePoints;
+            this.ratings = ratings;
+            this.ruleNames = ruleNames;
+            this.users = users;
+        }
+
+        /**
+         * read the volumes from the poseidon.generator.* properties
+         *
+         * @param environment environment of the application
+         * @return the volumes, 100k trades, bid lists and curve points, 100 ratings, rule names and users by default
+         */
+        public static Volumes of(Environment environment) {
+            return new Volumes(
+                    environment.getProperty("poseidon.generator.trades", Long.class, 100000L),
+                    environment.getProperty("poseidon.generator.bid-lists", Long.class, 100000L),
+                    environment.getProperty("poseidon.generator.curve-points", Long.class, 100000L),
+                    environment.getProperty("poseidon.generator.ratings", Long.class, 100L),
+                    environment.getProperty("poseidon.generator.rule-names", Long.class, 100L),
+                    environment.getProperty("poseidon.generator.users", Long.class, 100L));
+        }
+    }
+
+
+    /**
+     * generate the rows in the database of the command line arguments, an embedded H2 database by default
+     *
+     * @param args Spring Boot command line arguments (--spring.datasource.*, --poseidon.generator.*)
+     */
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = BenchmarkContext.start("dataGenerator", args)) {
+            Environment environment = context.getEnvironment();
+            new DataGenerator(context.getBean(DataSource.class),
+                    environment.getProperty("poseidon.generator.seed", Long.class, 42L),
+                    environment.getProperty("poseidon.generator.batch-size", Integer.class, 5000))
+                    .generate(Volumes.of(environment));
+        }
+    }
+}
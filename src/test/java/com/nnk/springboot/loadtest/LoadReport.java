@@ -0,0 +1,96 @@
+package com.nnk.springboot.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * throughput and latency percentiles of each action of a load scenario,
+ * printed as a table and written as JSON so that runs can be compared
+ */
+public class LoadReport {
+
+    private static final double MICROSECONDS_PER_MILLISECOND = 1000.0;
+
+    private final Map<String, Object> report = new LinkedHashMap<>();
+
+    LoadReport(String baseUrl, int virtualUsers, long elapsedNanos,
+               Map<String, LoadScenario.ActionStatistics> statistics) {
+        double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        report.put("baseUrl", baseUrl);
+        report.put("virtualUsers", virtualUsers);
+        report.put("durationSeconds", elapsedSeconds);
+
+        Map<String, Object> actions = new LinkedHashMap<>();
+        long totalCount = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, LoadScenario.ActionStatistics> action : statistics.entrySet()) {
+            Histogram latencies = action.getValue().getLatencies();
+            Map<String, Object> actionReport = new LinkedHashMap<>();
+            actionReport.put("count", latencies.getTotalCount());
+            actionReport.put("errors", action.getValue().getErrors());
+            actionReport.put("throughputPerSecond", latencies.getTotalCount() / elapsedSeconds);
+            actionReport.put("p50Millis", percentile(latencies, 50));
+            actionReport.put("p95Millis", percentile(latencies, 95));
+            actionReport.put("p99Millis", percentile(latencies, 99));
+            actionReport.put("maxMillis", latencies.getMaxValue() / MICROSECONDS_PER_MILLISECOND);
+            actions.put(action.getKey(), actionReport);
+            totalCount += latencies.getTotalCount();
+            totalErrors += action.getValue().getErrors();
+        }
+        report.put("requests", totalCount);
+        report.put("errors", totalErrors);
+        report.put("throughputPerSecond", totalCount / elapsedSeconds);
+        report.put("actions", actions);
+    }
+
+    private static double percentile(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / MICROSECONDS_PER_MILLISECOND;
+    }
+
+    /**
+     * print the report on the standard output
+     */
+    @SuppressWarnings("unchecked")
+    public void print() {
+        System.out.printf("%s, %d virtual users, %.0f s: %,d requests (%.1f/s), %,d errors%n",
+                report.get("baseUrl"), (Integer) report.get("virtualUsers"), (Double) report.get("durationSeconds"),
+                (Long) report.get("requests"), (Double) report.get("throughputPerSecond"), (Long) report.get("errors"));
+        System.out.printf("%-12s %10s %8s %10s %10s %10s %10s %10s%n",
+                "action", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        ((Map<String, Map<String, Object>>) report.get("actions")).forEach((action, actionReport) ->
+                System.out.printf("%-12s %,10d %,8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", action,
+                        actionReport.get("count"), actionReport.get("errors"), actionReport.get("throughputPerSecond"),
+                        actionReport.get("p50Millis"), actionReport.get("p95Millis"),
+                        actionReport.get("p99Millis"), actionReport.get("maxMillis")));
+    }
+
+    /**
+     * write the report as JSON in a directory
+     *
+     * @param directory directory of the reports, created if needed
+     * @return the written file
+     * @throws IOException if the file cannot be written
+     */
+    public File write(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        File file = new File(directory, "loadtest-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        return file;
+    }
+
+    public Map<String, Object> getReport() {
+        return report;
+    }
+}
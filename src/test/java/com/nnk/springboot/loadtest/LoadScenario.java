@@ -0,0 +1,345 @@
+package com.nnk.springboot.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * drives the trade pages of a running Poseidon application the way users do:
+ * each virtual user logs in through the login form, then loops over
+ * list, add form, create, update form, update and delete of a trade, with its own session cookie and CSRF token.
+ * The latency of each action is recorded in a histogram once the warm-up is over,
+ * so that the report gives the throughput and the latency percentiles of each action
+ */
+public class LoadScenario {
+
+    private static final Pattern CSRF_PATTERN = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+
+    private static final Pattern SESSION_COOKIE_PATTERN = Pattern.compile("JSESSIONID=([^;]+)");
+
+    private static final String[] ACTIONS = {"login", "list", "addForm", "create", "updateForm", "update", "delete"};
+
+    private static final long HIGHEST_TRACKABLE_MICROSECONDS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final int TIMEOUT_MILLISECONDS = 30000;
+
+    private final String baseUrl;
+
+    private final int virtualUsers;
+
+    private final long warmUpSeconds;
+
+    private final long durationSeconds;
+
+    private final List<String> usernames;
+
+    private final String password;
+
+    private final Map<String, ActionStatistics> statistics = new LinkedHashMap<>();
+
+    private final AtomicLong tradeSequence = new AtomicLong();
+
+    private volatile boolean recording;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param baseUrl         URL of the application, e.g. http://localhost:8080
+     * @param virtualUsers    number of users running the scenario concurrently
+     * @param warmUpSeconds   duration of the warm-up, not recorded
+     * @param durationSeconds duration of the recorded run
+     * @param usernames       usernames the virtual users log in with, in turn
+     * @param password        password of these users
+     */
+    public LoadScenario(String baseUrl, int virtualUsers, long warmUpSeconds, long durationSeconds,
+                        List<String> usernames, String password) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.virtualUsers = virtualUsers;
+        this.warmUpSeconds = warmUpSeconds;
+        this.durationSeconds = durationSeconds;
+        this.usernames = usernames;
+        this.password = password;
+        for (String action : ACTIONS) {
+            statistics.put(action, new ActionStatistics());
+        }
+    }
+
+    /**
+     * run the virtual users for the warm-up then the recorded duration
+     *
+     * @return the report of the recorded duration
+     * @throws InterruptedException if interrupted while waiting for the virtual users
+     */
+    public LoadReport run() throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(virtualUsers);
+        List<Thread> threads = new ArrayList<>(virtualUsers);
+        for (int i = 0; i < virtualUsers; i++) {
+            VirtualUser virtualUser = new VirtualUser(i, usernames.get(i % usernames.size()));
+            Thread thread = new Thread(() -> {
+                try {
+                    virtualUser.run();
+                } finally {
+                    finished.countDown();
+                }
+            }, "virtual-user-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+
+        TimeUnit.SECONDS.sleep(warmUpSeconds);
+        recording = true;
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        recording = false;
+        long elapsedNanos = System.nanoTime() - start;
+        running = false;
+        finished.await(TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS);
+
+        return new LoadReport(baseUrl, virtualUsers, elapsedNanos, statistics);
+    }
+
+
+    /**
+     * one user of the application: its session cookie, its CSRF token, and the loop of the scenario
+     */
+    private class VirtualUser {
+
+        private final String username;
+
+        private final Random random;
+
+        private String sessionCookie;
+
+        private String csrfToken;
+
+        private VirtualUser(int index, String username) {
+            this.username = username;
+            this.random = new Random(index);
+        }
+
+        private void run() {
+            while (running) {
+                try {
+                    if (sessionCookie == null) {
+                        login();
+                    } else {
+                        iteration();
+                    }
+                } catch (IOException | ScenarioException exception) {
+                    /* the next iteration starts again from the login */
+                    sessionCookie = null;
+                }
+            }
+        }
+
+        private void login() throws IOException {
+            Response loginForm = send("login", "GET", "/login", null);
+            Response response = send("login", "POST", "/login",
+                    form("username", username, "password", password, "_csrf", csrf(loginForm)));
+            expectRedirect("login", response);
+            if (response.location.contains("error")) {
+                fail("login");
+            }
+        }
+
+        private void iteration() throws IOException {
+            expectOk("list", send("list", "GET", "/trade/list?page=" + random.nextInt(10) + "&size=20", null));
+
+            String account = "lt-" + tradeSequence.incrementAndGet();
+            Response addForm = expectOk("addForm", send("addForm", "GET", "/trade/add", null));
+            expectRedirect("create", send("create", "POST", "/trade/validate",
+                    form("account", account, "type", "BUY",
+                            "buyQuantity", String.valueOf(1 + random.nextInt(1000)), "_csrf", csrf(addForm))));
+
+            /* the id of the created trade is read from the first page of the list, sorted by descending id */
+            Response list = expectOk("list", send("list", "GET", "/trade/list?sort=tradeId,desc&size=50", null));
+            Matcher idMatcher = Pattern.compile("<span>(\\d+)</span></td>\\s*<td><span>"
+                    + Pattern.quote(account) + "</span>").matcher(list.body);
+            if (!idMatcher.find()) {
+                fail("create");
+            }
+            String tradeId = idMatcher.group(1);
+
+            Response updateForm = expectOk("updateForm", send("updateForm", "GET", "/trade/update/" + tradeId, null));
+            expectRedirect("update", send("update", "POST", "/trade/update/" + tradeId,
+                    form("account", account, "type", "SELL",
+                            "buyQuantity", String.valueOf(1 + random.nextInt(1000)), "_csrf", csrf(updateForm))));
+
+            expectRedirect("delete", send("delete", "GET", "/trade/delete/" + tradeId, null));
+        }
+
+
+        private Response send(String action, String method, String path, String formBody) throws IOException {
+            long start = System.nanoTime();
+            HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+            connection.setInstanceFollowRedirects(false);
+            connection.setConnectTimeout(TIMEOUT_MILLISECONDS);
+            connection.setReadTimeout(TIMEOUT_MILLISECONDS);
+            connection.setRequestMethod(method);
+            if (sessionCookie != null) {
+                connection.setRequestProperty("Cookie", "JSESSIONID=" + sessionCookie);
+            }
+
+            try {
+                if (formBody != null) {
+                    connection.setDoOutput(true);
+                    connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+                    try (OutputStream outputStream = connection.getOutputStream()) {
+                        outputStream.write(formBody.getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+
+                Response response = new Response();
+                response.status = connection.getResponseCode();
+                response.location = connection.getHeaderField("Location");
+                response.body = read(response.status < 400
+                        ? connection.getInputStream() : connection.getErrorStream());
+
+                List<String> setCookies = connection.getHeaderFields().get("Set-Cookie");
+                if (setCookies != null) {
+                    for (String setCookie : setCookies) {
+                        Matcher cookieMatcher = SESSION_COOKIE_PATTERN.matcher(setCookie);
+                        if (cookieMatcher.find()) {
+                            sessionCookie = cookieMatcher.group(1);
+                        }
+                    }
+                }
+
+                statistics.get(action).record(System.nanoTime() - start, recording);
+                return response;
+
+            } catch (IOException exception) {
+                statistics.get(action).error(recording);
+                throw exception;
+            }
+        }
+
+        private Response expectOk(String action, Response response) {
+            if (response.status != HttpURLConnection.HTTP_OK) {
+                fail(action);
+            }
+            return response;
+        }
+
+        /* a redirect to the login page means the session was lost */
+        private void expectRedirect(String action, Response response) {
+            if (response.status != HttpURLConnection.HTTP_MOVED_TEMP || response.location == null
+                    || (!"login".equals(action) && response.location.contains("/login"))) {
+                fail(action);
+            }
+        }
+
+        private String csrf(Response response) {
+            Matcher csrfMatcher = CSRF_PATTERN.matcher(response.body);
+            if (csrfMatcher.find()) {
+                csrfToken = csrfMatcher.group(1);
+            }
+            return csrfToken;
+        }
+
+        private void fail(String action) {
+            statistics.get(action).error(recording);
+            throw new ScenarioException();
+        }
+    }
+
+
+    private static String form(String... namesAndValues) throws UnsupportedEncodingException {
+        StringBuilder form = new StringBuilder();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (form.length() > 0) {
+                form.append('&');
+            }
+            form.append(namesAndValues[i]).append('=')
+                    .append(URLEncoder.encode(namesAndValues[i + 1], StandardCharsets.UTF_8.name()));
+        }
+        return form.toString();
+    }
+
+    private static String read(InputStream inputStream) throws IOException {
+        if (inputStream == null) {
+            return "";
+        }
+        try (InputStream body = inputStream) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = body.read(buffer)) != -1) {
+                content.write(buffer, 0, length);
+            }
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+
+    private static class Response {
+
+        private int status;
+
+        private String location;
+
+        private String body;
+    }
+
+
+    /* unexpected answer of the application, the virtual user logs in again */
+    private static class ScenarioException extends RuntimeException {
+
+        private ScenarioException() {
+            super(null, null, false, false);
+        }
+    }
+
+
+    /**
+     * latencies in microseconds and errors of one action, recorded only after the warm-up
+     */
+    static class ActionStatistics {
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROSECONDS, 3);
+
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long elapsedNanos, boolean recording) {
+            if (recording) {
+                latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+                        HIGHEST_TRACKABLE_MICROSECONDS));
+            }
+        }
+
+        private void error(boolean recording) {
+            if (recording) {
+                errors.increment();
+            }
+        }
+
+        Histogram getLatencies() {
+            return latencies;
+        }
+
+        long getErrors() {
+            return errors.sum();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.nnk.springboot.loadtest;
+
+import com.nnk.springboot.benchmark.BenchmarkContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * runs the load scenario of the trade pages.
+ * Without --poseidon.loadtest.base-url, the application is started on a random port against an embedded H2 database
+ * filled by the DataGenerator (the --poseidon.generator.* arguments set the volumes);
+ * with it, the scenario targets an application already running, e.g. on a local MySQL database filled beforehand
+ * by the DataGenerator, the first generated user being set by --poseidon.loadtest.first-user-id.
+ * The report is printed and written to target/loadtest.
+ * <p>
+ * java -cp &lt;test classpath&gt; com.nnk.springboot.loadtest.LoadTest
+ * --poseidon.loadtest.virtual-users=20 --poseidon.loadtest.duration-seconds=120 --poseidon.generator.trades=1000000
+ */
+public class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        PropertySource<?> arguments = new SimpleCommandLinePropertySource(args);
+        String baseUrl = (String) arguments.getProperty("poseidon.loadtest.base-url");
+        ConfigurableApplicationContext context = null;
+        int users = integer(arguments, "poseidon.generator.users", 100);
+
+        try {
+            if (baseUrl == null) {
+                context = BenchmarkContext.startServer("loadTest", args);
+                Environment environment = context.getEnvironment();
+                new DataGenerator(context.getBean(DataSource.class),
+                        environment.getProperty("poseidon.generator.seed", Long.class, 42L),
+                        environment.getProperty("poseidon.generator.batch-size", Integer.class, 5000))
+                        .generate(DataGenerator.Volumes.of(environment));
+                baseUrl = "http://localhost:" + environment.getProperty("local.server.port");
+            }
+
+            int firstUserId = integer(arguments, "poseidon.loadtest.first-user-id", 1);
+            List<String> usernames = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                usernames.add(DataGenerator.LOAD_TEST_USERNAME_PREFIX + (firstUserId + i));
+            }
+
+            LoadReport loadReport = new LoadScenario(baseUrl,
+                    integer(arguments, "poseidon.loadtest.virtual-users", 10),
+                    integer(arguments, "poseidon.loadtest.warm-up-seconds", 10),
+                    integer(arguments, "poseidon.loadtest.duration-seconds", 60),
+                    usernames, DataGenerator.LOAD_TEST_PASSWORD).run();
+            loadReport.print();
+            System.out.println("Report written to " + loadReport.write(new File("target/loadtest")));
+
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static int integer(PropertySource<?> arguments, String name, int defaultValue) {
+        Object value = arguments.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.toString());
+    }
+}
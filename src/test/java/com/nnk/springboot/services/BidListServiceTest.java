@@ -1,6 +1,9 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.DTO.BidListDTO;
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.constants.ExportFormat;
 import com.nnk.springboot.constants.PoseidonExceptionsConstants;
 import com.nnk.springboot.domain.BidList;
 import com.nnk.springboot.repositories.BidListRepository;
@@ -14,17 +17,33 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -49,12 +68,14 @@ class BidListServiceTest {
         bidListDTOWithValues.setAccount(TestConstants.NEW_BID_LIST_ACCOUNT);
         bidListDTOWithValues.setType(TestConstants.NEW_BID_LIST_TYPE);
         bidListDTOWithValues.setBidQuantity(TestConstants.NEW_BID_LIST_BID_QUANTITY);
+        bidListDTOWithValues.setVersion(0);
 
         bidListInDb = new BidList();
         bidListInDb.setBidListId(bidListDTOWithValues.getBidListId());
         bidListInDb.setAccount(bidListDTOWithValues.getAccount());
         bidListInDb.setType(bidListDTOWithValues.getType());
         bidListInDb.setBidQuantity(bidListDTOWithValues.getBidQuantity());
+        bidListInDb.setVersion(bidListDTOWithValues.getVersion());
     }
 
     @Nested
@@ -90,14 +111,62 @@ class BidListServiceTest {
                 "THEN the returned value is an empty list of bidList")
         void findAllTest_WithNoDataInDB() {
             //GIVEN
-            List<BidList> bidListList = new ArrayList<>();
-            when(bidListRepositoryMock.findAll()).thenReturn(bidListList);
+            List<BidListDTO> bidListList = new ArrayList<>();
+            when(bidListRepositoryMock.findAllForList()).thenReturn(bidListList);
 
             //THEN
             List<BidListDTO> bidListDTOList = bidListService.findAll();
             assertThat(bidListDTOList).isEmpty();
 
-            verify(bidListRepositoryMock, Mockito.times(1)).findAll();
+            verify(bidListRepositoryMock, Mockito.times(1)).findAllForList();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAll with pageable tests")
+    class FindAllPageTest {
+
+        @Test
+        @DisplayName("GIVEN no bidList in DB " +
+                "WHEN getting a page of bidList " +
+                "THEN the returned value is an empty page of bidList")
+        void findAllPageTest_WithNoDataInDB() {
+            //GIVEN
+            Pageable pageable = PageRequest.of(0, 20);
+            when(bidListRepositoryMock.findAllForList(pageable)).thenReturn(Page.empty(pageable));
+
+            //THEN
+            Page<BidListDTO> bidListDTOPage = bidListService.findAll(pageable);
+            assertThat(bidListDTOPage).isEmpty();
+
+            verify(bidListRepositoryMock, Mockito.times(1)).findAllForList(pageable);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAllAfter tests")
+    class FindAllAfterTest {
+
+        @Test
+        @DisplayName("GIVEN a bidList in DB after the given id " +
+                "WHEN getting the bidList following this id " +
+                "THEN the returned value is the list of the following bidList")
+        void findAllAfterTest_WithDataInDB() {
+            //GIVEN
+            List<BidListDTO> bidListList = new ArrayList<>();
+            bidListList.add(bidListDTOWithValues);
+            when(bidListRepositoryMock.findAllForListAfter(anyInt(), any(Pageable.class)))
+                    .thenReturn(bidListList);
+
+            //THEN
+            List<BidListDTO> bidListDTOList = bidListService.findAllAfter(null, 20);
+            assertEquals(1, bidListDTOList.size());
+            assertEquals(bidListInDb.getBidListId(), bidListDTOList.get(0).getBidListId());
+
+            verify(bidListRepositoryMock, Mockito.times(1))
+                    .findAllForListAfter(0, PageRequest.of(0, 20));
         }
     }
 
@@ -136,14 +205,90 @@ class BidListServiceTest {
                 "THEN an exception is thrown")
         void updateTest_WithException() {
             //GIVEN
-            when(bidListRepositoryMock.save(any(BidList.class))).thenThrow(new RuntimeException());
+            when(bidListRepositoryMock.updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any())).thenThrow(new RuntimeException());
 
             //THEN
             assertThrows(RuntimeException.class,
                     () -> bidListService.update(bidListDTOWithValues));
 
             verify(bidListRepositoryMock, Mockito.times(1))
-                    .save(any(BidList.class));
+                    .updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a bidList read with the current version " +
+                "WHEN updating it " +
+                "THEN it is updated with one statement and the returned bidList holds the next version")
+        void updateTest_WithCurrentVersion() {
+            //GIVEN
+            BidListDTO bidListDTOToUpdate = newBidListDTOWithVersion(3);
+            when(bidListRepositoryMock.updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+            //WHEN
+            BidListDTO bidListDTOUpdated = bidListService.update(bidListDTOToUpdate);
+
+            //THEN
+            assertEquals(4, bidListDTOUpdated.getVersion());
+            assertNotNull(bidListDTOUpdated.getRevisionDate());
+
+            verify(bidListRepositoryMock, Mockito.times(1))
+                    .updateIfVersionMatches(eq(TestConstants.EXISTING_BID_LIST_ID), eq(3), any(), any(), any(), any(), any());
+            verify(bidListRepositoryMock, Mockito.never()).findById(anyInt());
+            verify(bidListRepositoryMock, Mockito.never()).save(any(BidList.class));
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a bidList modified since it was read " +
+                "WHEN updating it " +
+                "THEN an OptimisticLockingFailureException is thrown")
+        void updateTest_WithStaleVersion() {
+            //GIVEN
+            when(bidListRepositoryMock.updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+            when(bidListRepositoryMock.existsById(anyInt())).thenReturn(true);
+
+            //THEN
+            Exception exception = assertThrows(OptimisticLockingFailureException.class,
+                    () -> bidListService.update(newBidListDTOWithVersion(3)));
+            assertEquals(PoseidonExceptionsConstants.BID_LIST_VERSION_CONFLICT + TestConstants.EXISTING_BID_LIST_ID,
+                    exception.getMessage());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN no bidList in DB for the specified id " +
+                "WHEN updating a bidList " +
+                "THEN an IllegalArgumentException is thrown")
+        void updateTest_WithNoDataInDb() {
+            //GIVEN
+            when(bidListRepositoryMock.updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+            when(bidListRepositoryMock.existsById(anyInt())).thenReturn(false);
+
+            //THEN
+            Exception exception = assertThrows(IllegalArgumentException.class,
+                    () -> bidListService.update(newBidListDTOWithVersion(3)));
+            assertEquals(PoseidonExceptionsConstants.BID_LIST_ID_NOT_VALID + TestConstants.EXISTING_BID_LIST_ID,
+                    exception.getMessage());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a bidList sent without the version it was read with " +
+                "WHEN updating it " +
+                "THEN an IllegalArgumentException is thrown AND the bidList is not updated")
+        void updateTest_WithoutVersion() {
+            //THEN
+            Exception exception = assertThrows(IllegalArgumentException.class,
+                    () -> bidListService.update(newBidListDTOWithVersion(null)));
+            assertEquals(PoseidonExceptionsConstants.BID_LIST_VERSION_REQUIRED + TestConstants.EXISTING_BID_LIST_ID,
+                    exception.getMessage());
+            verify(bidListRepositoryMock, Mockito.never())
+                    .updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any());
         }
     }
 
@@ -206,4 +351,255 @@ class BidListServiceTest {
                     .delete(any(BidList.class));
         }
     }
+
+
+    @Nested
+    @DisplayName("bulk tests")
+    class BulkTest {
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a list of bidList with a row not valid " +
+                "WHEN creating them in bulk " +
+                "THEN only the valid rows are saved and the invalid one is reported as failed")
+        void createAllTest_WithInvalidRow() {
+            //GIVEN
+            BidListDTO bidListDTONotValid = new BidListDTO();
+            bidListDTONotValid.setAccount(TestConstants.NEW_BID_LIST_ACCOUNT);
+            bidListDTONotValid.setType(TestConstants.NEW_BID_LIST_TYPE_WITH_TOO_LONG_SIZE);
+            when(bidListRepositoryMock.saveAll(anyList())).thenAnswer(invocation -> {
+                List<BidList> bidListList = invocation.getArgument(0);
+                bidListList.forEach(bidList -> bidList.setBidListId(TestConstants.NEW_BID_LIST_ID));
+                return bidListList;
+            });
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList =
+                    bidListService.createAll(Arrays.asList(bidListDTOWithValues, bidListDTONotValid));
+
+            //THEN
+            assertEquals(2, bulkResultList.size());
+            assertTrue(bulkResultList.get(0).isSuccess());
+            assertEquals(TestConstants.NEW_BID_LIST_ID, bulkResultList.get(0).getId());
+            assertFalse(bulkResultList.get(1).isSuccess());
+            assertEquals(1, bulkResultList.get(1).getIndex());
+            verify(bidListRepositoryMock, Mockito.times(1))
+                    .saveAll(anyList());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a row rejected by the database " +
+                "WHEN creating a list of bidList in bulk " +
+                "THEN the chunk is replayed row by row and only the rejected row is reported as failed")
+        void createAllTest_WithChunkError() {
+            //GIVEN
+            BidListDTO bidListDTORejected = new BidListDTO();
+            bidListDTORejected.setAccount(TestConstants.EXISTING_BID_LIST_ACCOUNT);
+            bidListDTORejected.setType(TestConstants.EXISTING_BID_LIST_TYPE);
+            bidListDTORejected.setBidQuantity(TestConstants.EXISTING_BID_LIST_BID_QUANTITY);
+            when(bidListRepositoryMock.saveAll(anyList())).thenAnswer(invocation -> {
+                List<BidList> bidListList = invocation.getArgument(0);
+                bidListList.forEach(bidList -> {
+                    if (bidList.getAccount().equals(TestConstants.EXISTING_BID_LIST_ACCOUNT)) {
+                        throw new RuntimeException();
+                    }
+                    bidList.setBidListId(TestConstants.NEW_BID_LIST_ID);
+                });
+                return bidListList;
+            });
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList =
+                    bidListService.createAll(Arrays.asList(bidListDTOWithValues, bidListDTORejected));
+
+            //THEN
+            assertTrue(bulkResultList.get(0).isSuccess());
+            assertFalse(bulkResultList.get(1).isSuccess());
+            verify(bidListRepositoryMock, Mockito.times(3))
+                    .saveAll(anyList());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a bidList unknown in DB " +
+                "WHEN updating a list of bidList in bulk " +
+                "THEN the unknown bidList is reported as failed")
+        void updateAllTest_WithUnknownId() {
+            //GIVEN
+            BidListDTO bidListDTOUnknown = new BidListDTO();
+            bidListDTOUnknown.setBidListId(TestConstants.UNKNOWN_BID_LIST_ID);
+        bidListDTOUnknown.setVersion(0);
+            bidListDTOUnknown.setAccount(TestConstants.NEW_BID_LIST_ACCOUNT);
+            bidListDTOUnknown.setType(TestConstants.NEW_BID_LIST_TYPE);
+            bidListDTOUnknown.setBidQuantity(TestConstants.NEW_BID_LIST_BID_QUANTITY);
+            when(bidListRepositoryMock.findAllById(anyList())).thenReturn(Collections.singletonList(bidListInDb));
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList =
+                    bidListService.updateAll(Arrays.asList(bidListDTOWithValues, bidListDTOUnknown));
+
+            //THEN
+            assertTrue(bulkResultList.get(0).isSuccess());
+            assertFalse(bulkResultList.get(1).isSuccess());
+            assertEquals(PoseidonExceptionsConstants.BID_LIST_ID_NOT_VALID + TestConstants.UNKNOWN_BID_LIST_ID,
+                    bulkResultList.get(1).getMessage());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a bidList modified since it was read " +
+                "WHEN updating a list of bidList in bulk " +
+                "THEN the bidList is reported as failed and not updated")
+        void updateAllTest_WithStaleVersion() {
+            //GIVEN
+            BidList bidListInDbWithVersion = new BidList();
+            bidListInDbWithVersion.setBidListId(TestConstants.EXISTING_BID_LIST_ID);
+            bidListInDbWithVersion.setVersion(4);
+            when(bidListRepositoryMock.findAllById(anyList())).thenReturn(Collections.singletonList(bidListInDbWithVersion));
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList =
+                    bidListService.updateAll(Collections.singletonList(newBidListDTOWithVersion(3)));
+
+            //THEN
+            assertFalse(bulkResultList.get(0).isSuccess());
+            assertEquals(PoseidonExceptionsConstants.BID_LIST_VERSION_CONFLICT + TestConstants.EXISTING_BID_LIST_ID,
+                    bulkResultList.get(0).getMessage());
+            assertEquals(4, bidListInDbWithVersion.getVersion());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a bidList sent without the version it was read with " +
+                "WHEN updating a list of bidList in bulk " +
+                "THEN the bidList is reported as failed without being read")
+        void updateAllTest_WithoutVersion() {
+            //WHEN
+            List<BulkResultDTO> bulkResultList =
+                    bidListService.updateAll(Collections.singletonList(newBidListDTOWithVersion(null)));
+
+            //THEN
+            assertFalse(bulkResultList.get(0).isSuccess());
+            assertEquals(PoseidonExceptionsConstants.BID_LIST_VERSION_REQUIRED + TestConstants.EXISTING_BID_LIST_ID,
+                    bulkResultList.get(0).getMessage());
+            verify(bidListRepositoryMock, Mockito.never()).findAllById(anyList());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN an unknown id and a null id " +
+                "WHEN deleting a list of bidList in bulk " +
+                "THEN the known bidList are deleted in one batch and the others are reported as failed")
+        void deleteAllTest_WithUnknownAndNullId() {
+            //GIVEN
+            when(bidListRepositoryMock.findAllById(anyList())).thenReturn(Collections.singletonList(bidListInDb));
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList = bidListService.deleteAll(
+                    Arrays.asList(TestConstants.EXISTING_BID_LIST_ID, TestConstants.UNKNOWN_BID_LIST_ID, null));
+
+            //THEN
+            assertTrue(bulkResultList.get(0).isSuccess());
+            assertFalse(bulkResultList.get(1).isSuccess());
+            assertFalse(bulkResultList.get(2).isSuccess());
+            verify(bidListRepositoryMock, Mockito.times(1))
+                    .deleteAllInBatch(anyList());
+        }
+    }
+
+
+    @Nested
+    @DisplayName("exportAll tests")
+    class ExportAllTest {
+
+        @Test
+        @DisplayName("GIVEN bidList in DB " +
+                "WHEN exporting all the bidList as CSV " +
+                "THEN a header line and one line per bidList are written")
+        void exportAllTest_AsCsv() throws IOException {
+            //GIVEN
+            when(bidListRepositoryMock.streamAll()).thenReturn(Stream.of(bidListInDb, bidListInDb));
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            //WHEN
+            long exportedBidListCount = bidListService.exportAll(ExportFormat.CSV, outputStream);
+
+            //THEN
+            String[] lines = outputStream.toString(StandardCharsets.UTF_8.name()).split("\n");
+            assertEquals(2, exportedBidListCount);
+            assertEquals(3, lines.length);
+            assertThat(lines[0]).startsWith("bidListId,version,account,type");
+            assertThat(lines[1]).contains(bidListInDb.getAccount());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN bidList in DB " +
+                "WHEN exporting all the bidList as NDJSON " +
+                "THEN one JSON document per line is written")
+        void exportAllTest_AsNdjson() throws IOException {
+            //GIVEN
+            when(bidListRepositoryMock.streamAll()).thenReturn(Stream.of(bidListInDb, bidListInDb));
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            //WHEN
+            long exportedBidListCount = bidListService.exportAll(ExportFormat.NDJSON, outputStream);
+
+            //THEN
+            String[] lines = outputStream.toString(StandardCharsets.UTF_8.name()).split("\n");
+            assertEquals(2, exportedBidListCount);
+            assertEquals(2, lines.length);
+            assertThat(lines[1]).startsWith("{").endsWith("}")
+                    .contains("\"account\":\"" + bidListInDb.getAccount() + "\"");
+        }
+    }
+
+
+    @Nested
+    @DisplayName("importCsv tests")
+    class ImportCsvTest {
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a CSV file with a valid line, a line not valid and a line not readable " +
+                "WHEN importing it " +
+                "THEN only the valid line is saved and the other lines are reported with their line number")
+        void importCsvTest_WithRejectedLines() throws IOException {
+            //GIVEN
+            String csv = "account,type,bidQuantity\n" +
+                    "Account Test,Type Test,10\n" +
+                    "Account Test,,10\n" +
+                    "Account Test,Type Test,abc\n";
+            when(bidListRepositoryMock.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            //WHEN
+            ImportReportDTO importReport = bidListService.importCsv(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+            //THEN
+            assertEquals(3, importReport.getReadLineCount());
+            assertEquals(1, importReport.getImportedLineCount());
+            assertEquals(2, importReport.getRejectedLineCount());
+            assertEquals(3, importReport.getRejections().get(0).getLine());
+            assertEquals(4, importReport.getRejections().get(1).getLine());
+            verify(bidListRepositoryMock, Mockito.times(1))
+                    .saveAll(anyList());
+        }
+    }
+
+
+    private static BidListDTO newBidListDTOWithVersion(Integer version) {
+        BidListDTO bidListDTO = new BidListDTO();
+        bidListDTO.setBidListId(TestConstants.EXISTING_BID_LIST_ID);
+        bidListDTO.setAccount(TestConstants.NEW_BID_LIST_ACCOUNT);
+        bidListDTO.setType(TestConstants.NEW_BID_LIST_TYPE);
+        bidListDTO.setBidQuantity(TestConstants.NEW_BID_LIST_BID_QUANTITY);
+        bidListDTO.setVersion(version);
+        return bidListDTO;
+    }
 }
@@ -0,0 +1,304 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.CurvePointDTO;
+import com.nnk.springboot.constants.PoseidonExceptionsConstants;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.contracts.ICurveEngine;
+import com.nnk.springboot.services.contracts.ICurvePointService;
+import com.nnk.springboot.services.curve.CurveChangedEvent;
+import com.nnk.springboot.services.curve.CurveKey;
+import com.nnk.springboot.services.curve.InterpolationMethod;
+import com.nnk.springboot.testconstants.TestConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class CurveEngineTest {
+
+    @MockBean
+    private CurvePointRepository curvePointRepositoryMock;
+
+    @Autowired
+    private ICurveEngine curveEngine;
+
+    @Autowired
+    private ICurvePointService curvePointService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /* each test works on its own curve id, the curves being kept by the engine between tests */
+    private static int nextCurveId = 1000;
+
+    private static List<CurvePoint> curvePoints(Integer curveId, double... termsAndValues) {
+        List<CurvePoint> curvePointList = new ArrayList<>();
+        for (int i = 0; i < termsAndValues.length; i += 2) {
+            CurvePoint curvePoint = new CurvePoint();
+            curvePoint.setCurveId(curveId);
+            curvePoint.setTerm(termsAndValues[i]);
+            curvePoint.setValue(termsAndValues[i + 1]);
+            curvePointList.add(curvePoint);
+        }
+        return curvePointList;
+    }
+
+    private Integer givenCurve(double... termsAndValues) {
+        Integer curveId = nextCurveId++;
+        when(curvePointRepositoryMock.findByCurveIdAndAsOfDate(eq(curveId), isNull()))
+                .thenReturn(curvePoints(curveId, termsAndValues));
+        return curveId;
+    }
+
+    @Nested
+    @DisplayName("linear interpolation tests")
+    class LinearTest {
+
+        @Test
+        @DisplayName("GIVEN a curve with unsorted points " +
+                "WHEN asking for the value between two terms " +
+                "THEN the value is interpolated linearly between the surrounding points")
+        void valueAtTest_BetweenTerms() {
+            //GIVEN
+            Integer curveId = givenCurve(4, 40, 1, 10, 2, 20);
+
+            //THEN
+            assertEquals(30, curveEngine.valueAt(curveId, null, 3, InterpolationMethod.LINEAR), 1e-12);
+            assertEquals(15, curveEngine.valueAt(curveId, null, 1.5, InterpolationMethod.LINEAR), 1e-12);
+            assertEquals(20, curveEngine.valueAt(curveId, null, 2, InterpolationMethod.LINEAR), 1e-12);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a curve " +
+                "WHEN asking for the value outside its terms " +
+                "THEN the curve is extrapolated flat")
+        void valueAtTest_OutsideTerms() {
+            //GIVEN
+            Integer curveId = givenCurve(1, 10, 2, 20);
+
+            //THEN
+            assertEquals(10, curveEngine.valueAt(curveId, null, 0.5, InterpolationMethod.LINEAR));
+            assertEquals(20, curveEngine.valueAt(curveId, null, 30, InterpolationMethod.LINEAR));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a curve with two points for the same term and a point without term " +
+                "WHEN building the curve " +
+                "THEN the last point of the term is kept and the point without term is ignored")
+        void findCurveTest_WithDuplicateTermAndNullTerm() {
+            //GIVEN
+            Integer curveId = nextCurveId++;
+            List<CurvePoint> curvePointList = curvePoints(curveId, 1, 10, 1, 11, 2, 20);
+            curvePointList.add(new CurvePoint());
+            when(curvePointRepositoryMock.findByCurveIdAndAsOfDate(eq(curveId), isNull())).thenReturn(curvePointList);
+
+            //THEN
+            assertEquals(2, curveEngine.findCurve(curveId, null).get().size());
+            assertEquals(11, curveEngine.valueAt(curveId, null, 1, InterpolationMethod.LINEAR));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN no point for a curve " +
+                "WHEN asking for a value of this curve " +
+                "THEN an exception is thrown")
+        void valueAtTest_WithUnknownCurve() {
+            //GIVEN
+            Integer curveId = givenCurve();
+
+            //THEN
+            Exception exception = assertThrows(IllegalArgumentException.class,
+                    () -> curveEngine.valueAt(curveId, null, 1, InterpolationMethod.LINEAR));
+            assertEquals(PoseidonExceptionsConstants.CURVE_NOT_FOUND + curveId, exception.getMessage());
+            assertFalse(curveEngine.findCurve(curveId, null).isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("log-linear and cubic spline interpolation tests")
+    class OtherInterpolationTest {
+
+        @Test
+        @DisplayName("GIVEN a curve with positive values " +
+                "WHEN asking for a log-linear interpolated value " +
+                "THEN the logarithm of the value is interpolated linearly")
+        void valueAtTest_LogLinear() {
+            //GIVEN
+            Integer curveId = givenCurve(1, 1, 3, 9);
+
+            //THEN
+            assertEquals(3, curveEngine.valueAt(curveId, null, 2, InterpolationMethod.LOG_LINEAR), 1e-12);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a curve with a negative value " +
+                "WHEN asking for a log-linear interpolated value " +
+                "THEN an exception is thrown")
+        void valueAtTest_LogLinearWithNegativeValue() {
+            //GIVEN
+            Integer curveId = givenCurve(1, -1, 3, 9);
+
+            //THEN
+            assertThrows(IllegalArgumentException.class,
+                    () -> curveEngine.valueAt(curveId, null, 2, InterpolationMethod.LOG_LINEAR));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a curve " +
+                "WHEN asking for a cubic spline interpolated value " +
+                "THEN the value of the natural cubic spline is returned")
+        void valueAtTest_CubicSpline() {
+            //GIVEN the natural spline through these points is 1.5x - 0.5x^3 on [0, 1]
+            Integer curveId = givenCurve(0, 0, 1, 1, 2, 0);
+            Integer linearCurveId = givenCurve(0, 0, 1, 2, 3, 6, 4, 8);
+
+            //THEN
+            assertThat(curveEngine.valueAt(curveId, null, 0.5, InterpolationMethod.CUBIC_SPLINE))
+                    .isCloseTo(0.6875, within(1e-12));
+            assertThat(curveEngine.valueAt(curveId, null, 1, InterpolationMethod.CUBIC_SPLINE))
+                    .isEqualTo(1);
+            assertThat(curveEngine.valueAt(linearCurveId, null, 2.5, InterpolationMethod.CUBIC_SPLINE))
+                    .isCloseTo(5, within(1e-12));
+        }
+    }
+
+    @Nested
+    @DisplayName("rebuild tests")
+    class RebuildTest {
+
+        @Test
+        @DisplayName("GIVEN a curve already built " +
+                "WHEN asking again for it " +
+                "THEN the curve points are not queried again")
+        void findCurveTest_BuiltOnce() {
+            //GIVEN
+            Integer curveId = givenCurve(1, 10, 2, 20);
+
+            //WHEN
+            curveEngine.valueAt(curveId, null, 1.5, InterpolationMethod.LINEAR);
+            curveEngine.valueAt(curveId, null, 1.7, InterpolationMethod.LINEAR);
+
+            //THEN
+            verify(curvePointRepositoryMock, Mockito.times(1))
+                    .findByCurveIdAndAsOfDate(eq(curveId), isNull());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN no point for a curve " +
+                "WHEN asking for it twice " +
+                "THEN the curve points are queried once, in a read-only transaction, and the absence is kept")
+        void findCurveTest_UnknownCurveQueriedOnce() {
+            //GIVEN
+            Integer curveId = nextCurveId++;
+            when(curvePointRepositoryMock.findByCurveIdAndAsOfDate(eq(curveId), isNull())).thenAnswer(invocation -> {
+                assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                return Collections.emptyList();
+            });
+
+            //WHEN
+            curveEngine.findCurve(curveId, null);
+
+            //THEN
+            assertFalse(curveEngine.findCurve(curveId, null).isPresent());
+            verify(curvePointRepositoryMock, Mockito.times(1))
+                    .findByCurveIdAndAsOfDate(eq(curveId), isNull());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a curve engine keeping 10 curves at most " +
+                "WHEN asking for 100 curves without points " +
+                "THEN no more than 10 curves are kept")
+        void findCurveTest_Bounded() {
+            //GIVEN
+            CurveEngine boundedCurveEngine = new CurveEngine(curvePointRepositoryMock, transactionManager, 10);
+
+            //WHEN
+            for (int i = 0; i < 100; i++) {
+                boundedCurveEngine.findCurve(nextCurveId++, null);
+            }
+
+            //THEN
+            assertThat(boundedCurveEngine.cachedCurveCount()).isLessThanOrEqualTo(10);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a curve already built " +
+                "WHEN its points change " +
+                "THEN only this curve is rebuilt")
+        void onCurveChangedTest() {
+            //GIVEN
+            Integer curveId = givenCurve(1, 10, 2, 20);
+            Integer otherCurveId = givenCurve(1, 10, 2, 20);
+            curveEngine.valueAt(curveId, null, 1.5, InterpolationMethod.LINEAR);
+            curveEngine.valueAt(otherCurveId, null, 1.5, InterpolationMethod.LINEAR);
+            when(curvePointRepositoryMock.findByCurveIdAndAsOfDate(eq(curveId), isNull()))
+                    .thenReturn(curvePoints(curveId, 1, 100, 2, 200));
+
+            //WHEN
+            curveEngine.onCurveChanged(new CurveChangedEvent(
+                    Collections.singletonList(new CurveKey(curveId, null))));
+
+            //THEN
+            assertEquals(150, curveEngine.valueAt(curveId, null, 1.5, InterpolationMethod.LINEAR), 1e-12);
+            verify(curvePointRepositoryMock, Mockito.times(2))
+                    .findByCurveIdAndAsOfDate(eq(curveId), isNull());
+            verify(curvePointRepositoryMock, Mockito.times(1))
+                    .findByCurveIdAndAsOfDate(eq(otherCurveId), isNull());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a curve point " +
+                "WHEN creating it through CurvePointService " +
+                "THEN its curve is rebuilt")
+        void onCurveChangedTest_FromCurvePointService() {
+            //GIVEN
+            Integer curveId = givenCurve(1, 10);
+            CurvePointDTO curvePointDTO = new CurvePointDTO(null, curveId, 2D, 20D);
+            CurvePoint curvePointCreated = curvePoints(curveId, 2, 20).get(0);
+            curvePointCreated.setId(TestConstants.NEW_CURVE_POINT_ID);
+            when(curvePointRepositoryMock.save(any(CurvePoint.class))).thenReturn(curvePointCreated);
+            when(curvePointRepositoryMock.findByCurveIdAndAsOfDate(eq(curveId), isNull()))
+                    .thenReturn(curvePoints(curveId, 1, 10, 2, 20));
+
+            //WHEN
+            curvePointService.create(curvePointDTO);
+
+            //THEN
+            assertEquals(2, curveEngine.findCurve(curveId, null).get().size());
+            verify(curvePointRepositoryMock, Mockito.times(1))
+                    .findByCurveIdAndAsOfDate(anyInt(), isNull());
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.DTO.CurvePointDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.constants.PoseidonExceptionsConstants;
 import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.repositories.CurvePointRepository;
 import com.nnk.springboot.services.contracts.ICurvePointService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -14,7 +17,15 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +35,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,6 +49,9 @@ public class CurvePointServiceTest {
     @Autowired
     private ICurvePointService curvePointService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private static CurvePointDTO curvePointDTOWithValues;
 
     private static CurvePoint curvePointInDb;
@@ -56,6 +71,11 @@ public class CurvePointServiceTest {
         curvePointInDb.setValue(curvePointDTOWithValues.getValue());
     }
 
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConstants.CURVE_POINT_CACHE).clear();
+    }
+
     @Nested
     @DisplayName("create tests")
     class CreateTest {
@@ -88,16 +108,16 @@ public class CurvePointServiceTest {
                 "THEN the returned value is the list of curvePoint")
         void findAllTest_WithDataInDB() {
             //GIVEN
-            List<CurvePoint> curvePointList = new ArrayList<>();
-            curvePointList.add(curvePointInDb);
-            when(curvePointRepositoryMock.findAll()).thenReturn(curvePointList);
+            List<CurvePointDTO> curvePointList = new ArrayList<>();
+            curvePointList.add(curvePointDTOWithValues);
+            when(curvePointRepositoryMock.findAllForList()).thenReturn(curvePointList);
 
             //THEN
             List<CurvePointDTO> curvePointDTOList = curvePointService.findAll();
             assertEquals(1, curvePointDTOList.size());
             assertEquals(curvePointInDb.getId(), curvePointDTOList.get(0).getId());
 
-            verify(curvePointRepositoryMock, Mockito.times(1)).findAll();
+            verify(curvePointRepositoryMock, Mockito.times(1)).findAllForList();
         }
 
         @Test
@@ -106,14 +126,62 @@ public class CurvePointServiceTest {
                 "THEN the returned value is an empty list of curvePoint")
         void findAllTest_WithNoDataInDB() {
             //GIVEN
-            List<CurvePoint> curvePointList = new ArrayList<>();
-            when(curvePointRepositoryMock.findAll()).thenReturn(curvePointList);
+            List<CurvePointDTO> curvePointList = new ArrayList<>();
+            when(curvePointRepositoryMock.findAllForList()).thenReturn(curvePointList);
 
             //THEN
             List<CurvePointDTO> curvePointDTOList = curvePointService.findAll();
             assertThat(curvePointDTOList).isEmpty();
 
-            verify(curvePointRepositoryMock, Mockito.times(1)).findAll();
+            verify(curvePointRepositoryMock, Mockito.times(1)).findAllForList();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAll with pageable tests")
+    class FindAllPageTest {
+
+        @Test
+        @DisplayName("GIVEN no curvePoint in DB " +
+                "WHEN getting a page of curvePoint " +
+                "THEN the returned value is an empty page of curvePoint")
+        void findAllPageTest_WithNoDataInDB() {
+            //GIVEN
+            Pageable pageable = PageRequest.of(0, 20);
+            when(curvePointRepositoryMock.findAllForList(pageable)).thenReturn(Page.empty(pageable));
+
+            //THEN
+            Page<CurvePointDTO> curvePointDTOPage = curvePointService.findAll(pageable);
+            assertThat(curvePointDTOPage).isEmpty();
+
+            verify(curvePointRepositoryMock, Mockito.times(1)).findAllForList(pageable);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAllAfter tests")
+    class FindAllAfterTest {
+
+        @Test
+        @DisplayName("GIVEN a curvePoint in DB after the given id " +
+                "WHEN getting the curvePoint following this id " +
+                "THEN the returned value is the list of the following curvePoint")
+        void findAllAfterTest_WithDataInDB() {
+            //GIVEN
+            List<CurvePointDTO> curvePointList = new ArrayList<>();
+            curvePointList.add(curvePointDTOWithValues);
+            when(curvePointRepositoryMock.findAllForListAfter(anyInt(), any(Pageable.class)))
+                    .thenReturn(curvePointList);
+
+            //THEN
+            List<CurvePointDTO> curvePointDTOList = curvePointService.findAllAfter(null, 20);
+            assertEquals(1, curvePointDTOList.size());
+            assertEquals(curvePointInDb.getId(), curvePointDTOList.get(0).getId());
+
+            verify(curvePointRepositoryMock, Mockito.times(1))
+                    .findAllForListAfter(0, PageRequest.of(0, 20));
         }
     }
 
@@ -221,4 +289,99 @@ public class CurvePointServiceTest {
                     .delete(any(CurvePoint.class));
         }
     }
+
+
+    @Nested
+    @DisplayName("importCsv tests")
+    class ImportCsvTest {
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a CSV file with a valid line, a line not valid and a line not readable " +
+                "WHEN importing it " +
+                "THEN only the valid line is saved and the other lines are reported with their line number")
+        void importCsvTest_WithRejectedLines() throws IOException {
+            //GIVEN
+            String csv = "curveId,term,value\n" +
+                    "1,10,20\n" +
+                    ",10,20\n" +
+                    "abc,10,20\n";
+            when(curvePointRepositoryMock.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            //WHEN
+            ImportReportDTO importReport = curvePointService.importCsv(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+            //THEN
+            assertEquals(3, importReport.getReadLineCount());
+            assertEquals(1, importReport.getImportedLineCount());
+            assertEquals(2, importReport.getRejectedLineCount());
+            assertEquals(3, importReport.getRejections().get(0).getLine());
+            assertEquals(4, importReport.getRejections().get(1).getLine());
+            verify(curvePointRepositoryMock, Mockito.times(1))
+                    .saveAll(anyList());
+        }
+    }
+
+
+    @Nested
+    @DisplayName("cache tests")
+    class CacheTest {
+
+        @Test
+        @DisplayName("GIVEN a page of curvePoint already viewed " +
+                "WHEN viewing it again " +
+                "THEN the page is not read again from DB")
+        void findAllPageTest_FromCache() {
+            //GIVEN
+            Pageable pageable = PageRequest.of(0, 20);
+            when(curvePointRepositoryMock.findAllForList(pageable)).thenReturn(Page.empty(pageable));
+            curvePointService.findAll(pageable);
+
+            //WHEN
+            Page<CurvePointDTO> curvePointDTOPage = curvePointService.findAll(pageable);
+
+            //THEN
+            assertThat(curvePointDTOPage).isEmpty();
+            verify(curvePointRepositoryMock, Mockito.times(1)).findAllForList(pageable);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the list of curvePoint already viewed " +
+                "WHEN a curvePoint is created " +
+                "THEN the list is read again from DB")
+        void findAllTest_AfterCreate() {
+            //GIVEN
+            when(curvePointRepositoryMock.findAllForList()).thenReturn(new ArrayList<>());
+            when(curvePointRepositoryMock.save(any(CurvePoint.class))).thenReturn(curvePointInDb);
+            curvePointService.findAll();
+
+            //WHEN
+            curvePointService.create(curvePointDTOWithValues);
+            curvePointService.findAll();
+
+            //THEN
+            verify(curvePointRepositoryMock, Mockito.times(2)).findAllForList();
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the list of curvePoint already viewed " +
+                "WHEN a curvePoint is deleted " +
+                "THEN the list is read again from DB")
+        void findAllTest_AfterDelete() {
+            //GIVEN
+            when(curvePointRepositoryMock.findAllForList()).thenReturn(new ArrayList<>());
+            when(curvePointRepositoryMock.findById(curvePointInDb.getId())).thenReturn(Optional.of(curvePointInDb));
+            curvePointService.findAll();
+
+            //WHEN
+            curvePointService.delete(curvePointInDb.getId());
+            curvePointService.findAll();
+
+            //THEN
+            verify(curvePointRepositoryMock, Mockito.times(2)).findAllForList();
+        }
+    }
 }
@@ -0,0 +1,145 @@
+package com.nnk.springboot.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MessageServiceTest {
+
+    private MessageService messageService;
+
+    @BeforeEach
+    void setUp() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("trade.update.ok", Locale.UK, "Trade {0} updated");
+        messageSource.addMessage("trade.update.ok", Locale.FRANCE, "Transaction {0} mise à jour");
+        messageSource.addMessage("trade.delete.ko", Locale.UK, "Trade ''{0}'' has not been deleted: '{0}' is in use");
+        messageService = new MessageService(messageSource, 32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Nested
+    @DisplayName("formatOutputMessage tests")
+    class FormatOutputMessageTest {
+
+        @Test
+        @DisplayName("GIVEN the messages of the application " +
+                "WHEN formatting a message with a value " +
+                "THEN the value is integrated in the message")
+        void formatOutputMessageTest_WithApplicationMessages() {
+            //GIVEN
+            ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+            messageSource.setBasename("messages");
+            messageSource.setDefaultEncoding("UTF-8");
+            LocaleContextHolder.setLocale(Locale.UK);
+
+            //WHEN
+            String message = new MessageService(messageSource, 32).formatOutputMessage("user.add.ok", "12");
+
+            //THEN
+            assertEquals("User created with id 12", message);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a message defined for several locales " +
+                "WHEN formatting it for requests of these locales " +
+                "THEN the message is formatted in the locale of each request")
+        void formatOutputMessageTest_WithLocaleOfRequest() {
+            //WHEN
+            LocaleContextHolder.setLocale(Locale.UK);
+            String englishMessage = messageService.formatOutputMessage("trade.update.ok", "5");
+            LocaleContextHolder.setLocale(Locale.FRANCE);
+            String frenchMessage = messageService.formatOutputMessage("trade.update.ok", "5");
+
+            //THEN
+            assertEquals("Trade 5 updated", englishMessage);
+            assertEquals("Transaction 5 mise à jour", frenchMessage);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a pattern with quotes " +
+                "WHEN formatting it " +
+                "THEN the quotes are resolved as MessageFormat does")
+        void formatOutputMessageTest_WithQuotes() {
+            //GIVEN
+            LocaleContextHolder.setLocale(Locale.UK);
+
+            //THEN
+            assertEquals("Trade '5' has not been deleted: {0} is in use",
+                    messageService.formatOutputMessage("trade.delete.ko", "5"));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN an unknown pattern code " +
+                "WHEN formatting it " +
+                "THEN a NoSuchMessageException is thrown")
+        void formatOutputMessageTest_WithUnknownPatternCode() {
+            //GIVEN
+            LocaleContextHolder.setLocale(Locale.UK);
+
+            //THEN
+            assertThrows(NoSuchMessageException.class,
+                    () -> messageService.formatOutputMessage("trade.unknown", "5"));
+        }
+    }
+
+
+    @Nested
+    @DisplayName("MessageTemplate tests")
+    class MessageTemplateTest {
+
+        @Test
+        @DisplayName("GIVEN simple placeholders, repeated or without argument " +
+                "WHEN formatting the template " +
+                "THEN the result is the one of MessageFormat")
+        void formatTest_WithSimplePlaceholders() {
+            //GIVEN
+            MessageService.MessageTemplate template =
+                    MessageService.MessageTemplate.compile("{0}{0} and {1}, then {2}", Locale.UK);
+
+            //THEN
+            assertEquals("aa and b, then {2}", template.format("a", "b"));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a placeholder with a number format " +
+                "WHEN formatting the template from several threads " +
+                "THEN each value is formatted with the number format")
+        void formatTest_WithNumberFormat() {
+            //GIVEN
+            MessageService.MessageTemplate template =
+                    MessageService.MessageTemplate.compile("{0,number,#.00} for {1}", Locale.UK);
+
+            //WHEN
+            Set<String> messages = IntStream.range(0, 1000).parallel()
+                    .mapToObj(i -> template.format(1.5, "x"))
+                    .collect(Collectors.toSet());
+
+            //THEN
+            assertThat(messages).containsExactly("1.50 for x");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.ServiceMetricsDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.nnk.springboot.constants.MetricsConstants.EXCEPTION_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.METHOD_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.NONE;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_ERROR;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_SUCCESS;
+import static com.nnk.springboot.constants.MetricsConstants.OUTCOME_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_QUERY_TIMER;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_ROWS_SUMMARY;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_TAG;
+import static com.nnk.springboot.constants.MetricsConstants.SERVICE_TIMER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsServiceTest {
+
+    private MeterRegistry meterRegistry;
+
+    private MetricsService metricsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsService = new MetricsService(meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("findServiceMetrics tests")
+    class FindServiceMetricsTest {
+
+        @Test
+        @DisplayName("GIVEN successful and failed calls to service methods " +
+                "WHEN getting the service metrics " +
+                "THEN the outcomes of each method are summed up " +
+                "AND the methods with the longest total time come first")
+        void findServiceMetricsTest() {
+            //GIVEN
+            Timer.builder(SERVICE_TIMER)
+                    .tags(SERVICE_TAG, "TradeService", METHOD_TAG, "findAll",
+                            OUTCOME_TAG, OUTCOME_SUCCESS, EXCEPTION_TAG, NONE)
+                    .publishPercentiles(0.95)
+                    .register(meterRegistry)
+                    .record(10, TimeUnit.MILLISECONDS);
+            Timer.builder(SERVICE_TIMER)
+                    .tags(SERVICE_TAG, "TradeService", METHOD_TAG, "findAll",
+                            OUTCOME_TAG, OUTCOME_ERROR, EXCEPTION_TAG, "IllegalStateException")
+                    .register(meterRegistry)
+                    .record(30, TimeUnit.MILLISECONDS);
+            meterRegistry.timer(SERVICE_QUERY_TIMER, SERVICE_TAG, "TradeService", METHOD_TAG, "findAll")
+                    .record(6, TimeUnit.MILLISECONDS);
+            meterRegistry.summary(SERVICE_ROWS_SUMMARY, SERVICE_TAG, "TradeService", METHOD_TAG, "findAll")
+                    .record(20);
+            Timer.builder(SERVICE_TIMER)
+                    .tags(SERVICE_TAG, "RatingService", METHOD_TAG, "delete",
+                            OUTCOME_TAG, OUTCOME_SUCCESS, EXCEPTION_TAG, NONE)
+                    .register(meterRegistry)
+                    .record(1, TimeUnit.MILLISECONDS);
+
+            //WHEN
+            List<ServiceMetricsDTO> serviceMetricsDTOList = metricsService.findServiceMetrics();
+
+            //THEN
+            assertEquals(2, serviceMetricsDTOList.size());
+
+            ServiceMetricsDTO tradeFindAllMetrics = serviceMetricsDTOList.get(0);
+            assertEquals("TradeService", tradeFindAllMetrics.getService());
+            assertEquals("findAll", tradeFindAllMetrics.getMethod());
+            assertEquals(2, tradeFindAllMetrics.getCount());
+            assertEquals(1, tradeFindAllMetrics.getErrorCount());
+            assertEquals(40, tradeFindAllMetrics.getTotalMillis(), 0.001);
+            assertEquals(20, tradeFindAllMetrics.getMeanMillis(), 0.001);
+            assertEquals(30, tradeFindAllMetrics.getMaxMillis(), 0.001);
+            assertTrue(tradeFindAllMetrics.getP95Millis() > 0);
+            assertEquals(6, tradeFindAllMetrics.getMeanQueryMillis(), 0.001);
+            assertEquals(20, tradeFindAllMetrics.getMeanRows(), 0.001);
+
+            ServiceMetricsDTO ratingDeleteMetrics = serviceMetricsDTOList.get(1);
+            assertEquals("RatingService", ratingDeleteMetrics.getService());
+            assertNull(ratingDeleteMetrics.getP95Millis());
+            assertNull(ratingDeleteMetrics.getMeanRows());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN no call to any service method " +
+                "WHEN getting the service metrics " +
+                "THEN an empty list is returned")
+        void findServiceMetricsTest_WithNoCall() {
+            //THEN
+            assertTrue(metricsService.findServiceMetrics().isEmpty());
+        }
+    }
+}
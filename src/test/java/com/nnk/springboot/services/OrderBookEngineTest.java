@@ -0,0 +1,343 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.BidListDTO;
+import com.nnk.springboot.DTO.OrderBookDTO;
+import com.nnk.springboot.DTO.TopOfBookDTO;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.services.contracts.IBidListService;
+import com.nnk.springboot.services.contracts.IOrderBookEngine;
+import com.nnk.springboot.services.contracts.ITradeService;
+import com.nnk.springboot.services.orderbook.BidListChangedEvent;
+import com.nnk.springboot.services.orderbook.BidQuote;
+import com.nnk.springboot.services.orderbook.Fill;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class OrderBookEngineTest {
+
+    private static final String ACCOUNT = "Account";
+
+    @MockBean
+    private BidListRepository bidListRepositoryMock;
+
+    @Autowired
+    private IOrderBookEngine orderBookEngine;
+
+    @Autowired
+    private IBidListService bidListService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /* each test works on its own security and bidList ids, the books being kept by the engine between tests */
+    private static int nextSecurity = 1;
+
+    private static int nextBidListId = 1000;
+
+    private static String nextSecurity() {
+        return "OrderBookSecurity" + nextSecurity++;
+    }
+
+    private static BidQuote bid(Integer bidListId, String security, double price, double quantity) {
+        return new BidQuote(bidListId, ACCOUNT, security, price, quantity, null, null);
+    }
+
+    private static BidQuote ask(Integer bidListId, String security, double price, double quantity) {
+        return new BidQuote(bidListId, ACCOUNT, security, null, null, price, quantity);
+    }
+
+    /* the filled quantities are taken off bidList still in the database, unless stubbed otherwise by the test */
+    private OrderBookEngine matchingOrderBookEngine(ITradeService tradeServiceMock) {
+        when(bidListRepositoryMock.reduceBidQuantity(anyInt(), anyDouble())).thenReturn(1);
+        when(bidListRepositoryMock.reduceAskQuantity(anyInt(), anyDouble())).thenReturn(1);
+        return new OrderBookEngine(bidListRepositoryMock, tradeServiceMock, transactionManager, true);
+    }
+
+    @Nested
+    @DisplayName("seed and query tests")
+    class SeedTest {
+
+        @Test
+        @DisplayName("GIVEN bidList in DB " +
+                "WHEN the engine starts " +
+                "THEN the bids and asks are booked per security and price level, crossing ones included")
+        void afterSingletonsInstantiatedTest() {
+            //GIVEN
+            String security = nextSecurity();
+            when(bidListRepositoryMock.streamAllQuotes()).thenReturn(Arrays.asList(
+                    bid(1, security, 99, 10),
+                    bid(2, security, 100, 5),
+                    bid(3, security, 99, 20),
+                    ask(4, security, 101, 7),
+                    new BidQuote(5, ACCOUNT, security, 98D, 0D, 99.5, 3D),
+                    bid(6, null, 100, 5)).stream());
+            OrderBookEngine seededOrderBookEngine = new OrderBookEngine(bidListRepositoryMock,
+                    Mockito.mock(ITradeService.class), transactionManager, false);
+
+            //WHEN
+            seededOrderBookEngine.afterSingletonsInstantiated();
+
+            //THEN
+            TopOfBookDTO topOfBookDTO = seededOrderBookEngine.findTopOfBook(security).get();
+            assertEquals(100, topOfBookDTO.getBid());
+            assertEquals(5, topOfBookDTO.getBidQuantity());
+            assertEquals(99.5, topOfBookDTO.getAsk());
+            assertEquals(3, topOfBookDTO.getAskQuantity());
+
+            OrderBookDTO orderBookDTO = seededOrderBookEngine.findDepth(security, 10).get();
+            assertEquals(2, orderBookDTO.getBids().size());
+            assertEquals(99, orderBookDTO.getBids().get(1).getPrice());
+            assertEquals(30, orderBookDTO.getBids().get(1).getQuantity());
+            assertEquals(2, orderBookDTO.getBids().get(1).getOrderCount());
+            assertEquals(101, orderBookDTO.getAsks().get(1).getPrice());
+            assertEquals(1, seededOrderBookEngine.findDepth(security, 1).get().getBids().size());
+            assertEquals(1, seededOrderBookEngine.findAllTopOfBook().size());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN no bid nor ask for a security " +
+                "WHEN asking for its book " +
+                "THEN no book is returned")
+        void findTopOfBookTest_WithUnknownSecurity() {
+            assertFalse(orderBookEngine.findTopOfBook(nextSecurity()).isPresent());
+            assertFalse(orderBookEngine.findDepth(nextSecurity(), 10).isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("incremental update tests")
+    class IncrementalTest {
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a bidList " +
+                "WHEN creating it through BidListService " +
+                "THEN its bid is booked")
+        void onBidListChangedTest_FromCreate() {
+            //GIVEN
+            String security = nextSecurity();
+            BidListDTO bidListDTO = new BidListDTO();
+            bidListDTO.setAccount(ACCOUNT);
+            bidListDTO.setType("Type");
+            bidListDTO.setBidQuantity(12D);
+            when(bidListRepositoryMock.save(any(BidList.class))).thenAnswer(invocation -> {
+                BidList bidList = invocation.getArgument(0);
+                bidList.setBidListId(nextBidListId++);
+                bidList.setSecurity(security);
+                bidList.setBid(100D);
+                return bidList;
+            });
+
+            //WHEN
+            bidListService.create(bidListDTO);
+            bidListService.create(bidListDTO);
+
+            //THEN
+            TopOfBookDTO topOfBookDTO = orderBookEngine.findTopOfBook(security).get();
+            assertEquals(100, topOfBookDTO.getBid());
+            assertEquals(24, topOfBookDTO.getBidQuantity());
+            assertNull(topOfBookDTO.getAsk());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a booked bid " +
+                "WHEN updating its quantity through BidListService " +
+                "THEN the bidList is read back and its bid replaced")
+        void onBidListChangedTest_FromUpdate() {
+            //GIVEN
+            String security = nextSecurity();
+            Integer bidListId = nextBidListId++;
+            orderBookEngine.onBidListChanged(BidListChangedEvent.saved(Collections.singletonList(
+                    bid(bidListId, security, 100, 10))));
+            BidListDTO bidListDTO = new BidListDTO();
+            bidListDTO.setBidListId(bidListId);
+            bidListDTO.setAccount(ACCOUNT);
+            bidListDTO.setType("Type");
+            bidListDTO.setBidQuantity(4D);
+            bidListDTO.setVersion(0);
+            when(bidListRepositoryMock.updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any()))
+                    .thenReturn(1);
+            when(bidListRepositoryMock.findQuotesByBidListIdIn(Collections.singletonList(bidListId)))
+                    .thenReturn(Collections.singletonList(bid(bidListId, security, 100, 4)));
+
+            //WHEN
+            bidListService.update(bidListDTO);
+
+            //THEN
+            assertEquals(4, orderBookEngine.findTopOfBook(security).get().getBidQuantity());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the last bid of a book " +
+                "WHEN deleting its bidList through BidListService " +
+                "THEN the book is removed")
+        void onBidListChangedTest_FromDelete() {
+            //GIVEN
+            String security = nextSecurity();
+            Integer bidListId = nextBidListId++;
+            orderBookEngine.onBidListChanged(BidListChangedEvent.saved(Collections.singletonList(
+                    bid(bidListId, security, 100, 10))));
+            BidList bidList = new BidList();
+            bidList.setBidListId(bidListId);
+            bidList.setSecurity(security);
+            when(bidListRepositoryMock.findById(bidListId)).thenReturn(Optional.of(bidList));
+
+            //WHEN
+            bidListService.delete(bidListId);
+
+            //THEN
+            assertFalse(orderBookEngine.findTopOfBook(security).isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("matching tests")
+    class MatchingTest {
+
+        @Test
+        @DisplayName("GIVEN bids at two prices " +
+                "WHEN an ask crossing both comes in " +
+                "THEN it is filled best price first then first in, at the resting prices, and its remainder is booked")
+        void onBidListChangedTest_PriceTimePriority() {
+            //GIVEN
+            String security = nextSecurity();
+            ITradeService tradeServiceMock = Mockito.mock(ITradeService.class);
+            OrderBookEngine matchingOrderBookEngine = matchingOrderBookEngine(tradeServiceMock);
+            matchingOrderBookEngine.onBidListChanged(BidListChangedEvent.saved(Arrays.asList(
+                    bid(1, security, 99, 10),
+                    bid(2, security, 100, 5),
+                    bid(3, security, 100, 5),
+                    bid(4, security, 98, 10))));
+
+            //WHEN
+            matchingOrderBookEngine.onBidListChanged(BidListChangedEvent.saved(Collections.singletonList(
+                    ask(5, security, 99, 25))));
+
+            //THEN
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Fill>> fillsCaptor = ArgumentCaptor.forClass(List.class);
+            verify(tradeServiceMock).createFromFills(fillsCaptor.capture());
+            List<Fill> fills = fillsCaptor.getValue();
+            assertEquals(3, fills.size());
+            assertEquals(2, fills.get(0).getBuyBidListId());
+            assertEquals(100, fills.get(0).getPrice());
+            assertEquals(3, fills.get(1).getBuyBidListId());
+            assertEquals(1, fills.get(2).getBuyBidListId());
+            assertEquals(99, fills.get(2).getPrice());
+            assertEquals(10, fills.get(2).getQuantity());
+            assertEquals(5, fills.get(2).getSellBidListId());
+            verify(bidListRepositoryMock).reduceBidQuantity(1, 10D);
+            verify(bidListRepositoryMock).reduceAskQuantity(5, 10D);
+
+            TopOfBookDTO topOfBookDTO = matchingOrderBookEngine.findTopOfBook(security).get();
+            assertEquals(98, topOfBookDTO.getBid());
+            assertEquals(99, topOfBookDTO.getAsk());
+            assertEquals(5, topOfBookDTO.getAskQuantity());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN two bids at the same price " +
+                "WHEN the quantity of the first one is lowered, then an ask crosses them " +
+                "THEN the first one keeps its priority")
+        void onBidListChangedTest_AmendKeepsPriority() {
+            //GIVEN
+            String security = nextSecurity();
+            ITradeService tradeServiceMock = Mockito.mock(ITradeService.class);
+            OrderBookEngine matchingOrderBookEngine = matchingOrderBookEngine(tradeServiceMock);
+            matchingOrderBookEngine.onBidListChanged(BidListChangedEvent.saved(Arrays.asList(
+                    bid(1, security, 100, 10),
+                    bid(2, security, 100, 10))));
+            matchingOrderBookEngine.onBidListChanged(BidListChangedEvent.saved(Collections.singletonList(
+                    bid(1, security, 100, 6))));
+
+            //WHEN
+            matchingOrderBookEngine.onBidListChanged(BidListChangedEvent.saved(Collections.singletonList(
+                    ask(3, security, 100, 6))));
+
+            //THEN
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Fill>> fillsCaptor = ArgumentCaptor.forClass(List.class);
+            verify(tradeServiceMock).createFromFills(fillsCaptor.capture());
+            assertEquals(1, fillsCaptor.getValue().size());
+            assertEquals(1, fillsCaptor.getValue().get(0).getBuyBidListId());
+            assertEquals(10, matchingOrderBookEngine.findTopOfBook(security).get().getBidQuantity());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a bidList whose bid is above its own ask " +
+                "WHEN it comes in " +
+                "THEN it is not matched against itself")
+        void onBidListChangedTest_SelfMatch() {
+            //GIVEN
+            String security = nextSecurity();
+            ITradeService tradeServiceMock = Mockito.mock(ITradeService.class);
+            OrderBookEngine matchingOrderBookEngine = matchingOrderBookEngine(tradeServiceMock);
+
+            //WHEN
+            matchingOrderBookEngine.onBidListChanged(BidListChangedEvent.saved(Collections.singletonList(
+                    new BidQuote(1, ACCOUNT, security, 101D, 10D, 100D, 10D))));
+
+            //THEN
+            verify(tradeServiceMock, never()).createFromFills(anyList());
+            TopOfBookDTO topOfBookDTO = matchingOrderBookEngine.findTopOfBook(security).get();
+            assertEquals(101, topOfBookDTO.getBid());
+            assertEquals(100, topOfBookDTO.getAsk());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a bid placed in the book, then deleted from the database by another node " +
+                "WHEN an ask crossing it comes in " +
+                "THEN its quantity is not reduced AND no trade is booked for the fill")
+        void onBidListChangedTest_BidListGone() {
+            //GIVEN
+            String security = nextSecurity();
+            ITradeService tradeServiceMock = Mockito.mock(ITradeService.class);
+            OrderBookEngine matchingOrderBookEngine = matchingOrderBookEngine(tradeServiceMock);
+            matchingOrderBookEngine.onBidListChanged(BidListChangedEvent.saved(Collections.singletonList(
+                    bid(1, security, 100, 10))));
+            when(bidListRepositoryMock.reduceBidQuantity(1, 10D)).thenReturn(0);
+
+            //WHEN
+            matchingOrderBookEngine.onBidListChanged(BidListChangedEvent.saved(Collections.singletonList(
+                    ask(2, security, 100, 10))));
+
+            //THEN
+            verify(bidListRepositoryMock).reduceBidQuantity(1, 10D);
+            verify(bidListRepositoryMock, never()).reduceAskQuantity(2, 10D);
+            verify(tradeServiceMock, never()).createFromFills(anyList());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.constants.PoseidonExceptionsConstants;
+import com.nnk.springboot.testconstants.TestConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+
+    private static final int TEST_STRENGTH = 4;
+
+    private MeterRegistry meterRegistry;
+
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingService = new PasswordHashingService(meterRegistry, TEST_STRENGTH, 0, 1, 0, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Nested
+    @DisplayName("encode and matches tests")
+    class EncodeTest {
+
+        @Test
+        @DisplayName("WHEN encoding a password " +
+                "THEN a prefixed BCrypt hash matching the password is returned " +
+                "AND the duration of the hashes is measured")
+        void encodeTest() {
+            //WHEN
+            String hash = passwordHashingService.encode(TestConstants.EXISTING_USER_PASSWORD);
+
+            //THEN
+            assertThat(hash).startsWith("{bcrypt}$2a$04$");
+            assertTrue(passwordHashingService.matches(TestConstants.EXISTING_USER_PASSWORD, hash));
+            assertFalse(passwordHashingService.matches(TestConstants.NEW_USER_PASSWORD, hash));
+            assertEquals(1, meterRegistry.get("poseidon.password.hashing")
+                    .tag("operation", "encode").timer().count());
+            assertEquals(2, meterRegistry.get("poseidon.password.hashing")
+                    .tag("operation", "matches").timer().count());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a BCrypt hash stored without prefix " +
+                "WHEN matching the password " +
+                "THEN the hash is matched as a BCrypt hash")
+        void matchesTest_WithHashWithoutPrefix() {
+            //GIVEN
+            String hash = new BCryptPasswordEncoder(TEST_STRENGTH).encode(TestConstants.EXISTING_USER_PASSWORD);
+
+            //THEN
+            assertTrue(passwordHashingService.matches(TestConstants.EXISTING_USER_PASSWORD, hash));
+        }
+
+
+        @Test
+        @DisplayName("WHEN calibrating the cost factor for a very short target " +
+                "THEN the BCrypt default cost factor is returned")
+        void calibrateStrengthTest() {
+            assertEquals(10, PasswordHashingService.calibrateStrength(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("encodeIfChanged tests")
+    class EncodeIfChangedTest {
+
+        @Test
+        @DisplayName("GIVEN a stored hash " +
+                "WHEN the stored hash or its password is given " +
+                "THEN the stored hash is kept")
+        void encodeIfChangedTest_WithUnchangedPassword() {
+            //GIVEN
+            String storedHash = passwordHashingService.encode(TestConstants.EXISTING_USER_PASSWORD);
+
+            //THEN
+            assertEquals(storedHash, passwordHashingService.encodeIfChanged(storedHash, storedHash));
+            assertEquals(storedHash,
+                    passwordHashingService.encodeIfChanged(TestConstants.EXISTING_USER_PASSWORD, storedHash));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a stored hash " +
+                "WHEN another password is given " +
+                "THEN the new password is hashed")
+        void encodeIfChangedTest_WithNewPassword() {
+            //GIVEN
+            String storedHash = passwordHashingService.encode(TestConstants.EXISTING_USER_PASSWORD);
+
+            //WHEN
+            String hash = passwordHashingService.encodeIfChanged(TestConstants.NEW_USER_PASSWORD, storedHash);
+
+            //THEN
+            assertNotEquals(storedHash, hash);
+            assertTrue(passwordHashingService.matches(TestConstants.NEW_USER_PASSWORD, hash));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a hash stored without prefix " +
+                "WHEN its password is given " +
+                "THEN the password is hashed again with the current encoding")
+        void encodeIfChangedTest_WithHashToUpgrade() {
+            //GIVEN
+            String storedHash = new BCryptPasswordEncoder(TEST_STRENGTH).encode(TestConstants.EXISTING_USER_PASSWORD);
+
+            //WHEN
+            String hash = passwordHashingService.encodeIfChanged(TestConstants.EXISTING_USER_PASSWORD, storedHash);
+
+            //THEN
+            assertThat(hash).startsWith("{bcrypt}");
+        }
+    }
+
+    @Nested
+    @DisplayName("back-pressure tests")
+    class BackPressureTest {
+
+        @Test
+        @DisplayName("GIVEN all the hashing slots taken " +
+                "WHEN encoding a password " +
+                "THEN an exception is thrown once the maximum wait is over")
+        void encodeTest_WithAllSlotsTaken() throws Exception {
+            //GIVEN the single hashing thread is busy and no pending hash is allowed
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Object> busyHash = CompletableFuture.supplyAsync(() ->
+                    passwordHashingService.hash(() -> {
+                        started.countDown();
+                        release.await();
+                        return null;
+                    }));
+            started.await();
+
+            //THEN
+            Exception exception = assertThrows(IllegalStateException.class,
+                    () -> passwordHashingService.encode(TestConstants.EXISTING_USER_PASSWORD));
+            assertEquals(PoseidonExceptionsConstants.PASSWORD_HASHING_BUSY, exception.getMessage());
+
+            release.countDown();
+            busyHash.get();
+            assertThat(passwordHashingService.encode(TestConstants.EXISTING_USER_PASSWORD)).isNotNull();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.PnlDTO;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.contracts.ICurveEngine;
+import com.nnk.springboot.services.curve.CurveChangedEvent;
+import com.nnk.springboot.services.curve.CurveKey;
+import com.nnk.springboot.services.pnl.PnlBook;
+import com.nnk.springboot.services.pnl.PnlCalculator;
+import com.nnk.springboot.services.pnl.PricedTrade;
+import com.nnk.springboot.services.position.TradeChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class PnlEngineTest {
+
+    private static final String BOOK = "Book";
+
+    private static final String SECURITY = "Security";
+
+    @MockBean
+    private TradeRepository tradeRepositoryMock;
+
+    @MockBean
+    private CurvePointRepository curvePointRepositoryMock;
+
+    @Autowired
+    private ICurveEngine curveEngine;
+
+    /* the curves are kept by the curve engine between tests, each test marks its trades against its own curve */
+    private static int nextCurveId = 1000;
+
+    private static PricedTrade buy(Integer tradeId, String account, String benchmark, double quantity, double price) {
+        return new PricedTrade(tradeId, account, BOOK, SECURITY, benchmark, quantity, price, null, null);
+    }
+
+    private static PricedTrade sell(Integer tradeId, String account, String benchmark, double quantity, double price) {
+        return new PricedTrade(tradeId, account, BOOK, SECURITY, benchmark, null, null, quantity, price);
+    }
+
+    private static CurvePoint curvePoint(Integer curveId, double term, double value) {
+        CurvePoint curvePoint = new CurvePoint();
+        curvePoint.setCurveId(curveId);
+        curvePoint.setTerm(term);
+        curvePoint.setValue(value);
+        return curvePoint;
+    }
+
+    private PnlEngine newPnlEngine() {
+        return new PnlEngine(tradeRepositoryMock, curvePointRepositoryMock, curveEngine, 2, 2, 1000);
+    }
+
+    private static PnlDTO pnl(PnlEngine pnlEngine, String account) {
+        return pnlEngine.findAll(account, BOOK).get(0);
+    }
+
+    @Nested
+    @DisplayName("full computation tests")
+    class ComputeTest {
+
+        @Test
+        @DisplayName("GIVEN two buys then a sell of a security, marked against a curve " +
+                "WHEN asking for the P&L " +
+                "THEN the sell is matched with the first buy then part of the second, " +
+                "AND the rest of the second buy is marked against the curve")
+        void findAllTest_FifoAndMarked() {
+            //GIVEN
+            int curveId = nextCurveId++;
+            String benchmark = curveId + "/10";
+            when(tradeRepositoryMock.streamAllPriced()).thenReturn(Arrays.asList(
+                    buy(1, "Account", benchmark, 10, 100),
+                    buy(2, "Account", benchmark, 10, 110),
+                    sell(3, "Account", benchmark, 15, 120)).stream());
+            when(curvePointRepositoryMock.findByCurveIdAndAsOfDate(curveId, null))
+                    .thenReturn(Arrays.asList(curvePoint(curveId, 5, 105), curvePoint(curveId, 15, 125)));
+
+            //WHEN
+            List<PnlDTO> pnlDTOList = newPnlEngine().findAll(null, null);
+
+            //THEN 10 x (120 - 100) + 5 x (120 - 110) realised, 5 x (115 - 110) unrealised
+            assertEquals(1, pnlDTOList.size());
+            PnlDTO pnlDTO = pnlDTOList.get(0);
+            assertEquals(3, pnlDTO.getTradeCount());
+            assertEquals(5, pnlDTO.getOpenQuantity(), 1e-9);
+            assertEquals(250, pnlDTO.getRealisedPnl(), 1e-9);
+            assertEquals(25, pnlDTO.getUnrealisedPnl(), 1e-9);
+            assertEquals(275, pnlDTO.getTotalPnl(), 1e-9);
+            assertEquals(0, pnlDTO.getUnmarkedQuantity(), 1e-9);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a short sale partly bought back, with a benchmark that is not a curve " +
+                "WHEN asking for the P&L " +
+                "THEN the buy back is realised AND the short quantity left is reported as not marked")
+        void findAllTest_ShortAndUnmarked() {
+            //GIVEN
+            when(tradeRepositoryMock.streamAllPriced()).thenReturn(Arrays.asList(
+                    sell(1, "Account", "BENCH1", 10, 100),
+                    buy(2, "Account", null, 4, 90),
+                    new PricedTrade(3, "Account", BOOK, SECURITY, null, 50D, null, null, null)).stream());
+
+            //WHEN
+            PnlDTO pnlDTO = pnl(newPnlEngine(), "Account");
+
+            //THEN the buy without price is not matched
+            assertEquals(3, pnlDTO.getTradeCount());
+            assertEquals(-6, pnlDTO.getOpenQuantity(), 1e-9);
+            assertEquals(40, pnlDTO.getRealisedPnl(), 1e-9);
+            assertEquals(0, pnlDTO.getUnrealisedPnl(), 1e-9);
+            assertEquals(6, pnlDTO.getUnmarkedQuantity(), 1e-9);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the first computation of the P&L still reading the trades " +
+                "WHEN asking for the P&L from another thread " +
+                "THEN the request waits for the computation AND gets the P&L computed")
+        void findAllTest_DuringFirstComputation() throws Exception {
+            //GIVEN
+            PnlEngine pnlEngine = newPnlEngine();
+            CountDownLatch reading = new CountDownLatch(1);
+            CountDownLatch read = new CountDownLatch(1);
+            when(tradeRepositoryMock.streamAllPriced()).thenAnswer(invocation -> {
+                reading.countDown();
+                read.await(10, TimeUnit.SECONDS);
+                return Arrays.asList(
+                        buy(1, "Account", null, 10, 100),
+                        sell(2, "Account", null, 10, 110)).stream();
+            });
+            CompletableFuture<List<PnlDTO>> first = CompletableFuture.supplyAsync(() -> pnlEngine.findAll(null, null));
+            assertTrue(reading.await(10, TimeUnit.SECONDS));
+
+            //WHEN
+            CompletableFuture<List<PnlDTO>> second = CompletableFuture.supplyAsync(() -> pnlEngine.findAll(null, null));
+            Thread.sleep(200);
+            boolean secondDoneBeforeRead = second.isDone();
+            read.countDown();
+
+            //THEN
+            assertFalse(secondDoneBeforeRead);
+            assertEquals(100, second.get(10, TimeUnit.SECONDS).get(0).getRealisedPnl(), 1e-9);
+            assertEquals(1, first.get(10, TimeUnit.SECONDS).size());
+            verify(tradeRepositoryMock, times(1)).streamAllPriced();
+        }
+    }
+
+    @Nested
+    @DisplayName("incremental computation tests")
+    class IncrementalTest {
+
+        @Test
+        @DisplayName("GIVEN the P&L computed for two accounts " +
+                "WHEN a trade moves from one account to the other " +
+                "THEN only the two positions are recomputed from the trades of their accounts")
+        void findAllTest_AfterTradeChanged() {
+            //GIVEN
+            PnlEngine pnlEngine = newPnlEngine();
+            when(tradeRepositoryMock.streamAllPriced()).thenReturn(Arrays.asList(
+                    buy(1, "Account1", null, 10, 100),
+                    sell(2, "Account1", null, 10, 110),
+                    buy(3, "Account2", null, 10, 100),
+                    buy(4, "Account3", null, 10, 100)).stream());
+            assertEquals(100, pnl(pnlEngine, "Account1").getRealisedPnl(), 1e-9);
+            when(tradeRepositoryMock.findPricedByTradeIdIn(Collections.singleton(2)))
+                    .thenReturn(Collections.singletonList(sell(2, "Account2", null, 10, 105)));
+            when(tradeRepositoryMock.findPricedByAccountIn(new HashSet<>(Arrays.asList("Account1", "Account2"))))
+                    .thenReturn(Arrays.asList(
+                            buy(1, "Account1", null, 10, 100),
+                            sell(2, "Account2", null, 10, 105),
+                            buy(3, "Account2", null, 10, 100)));
+
+            //WHEN
+            pnlEngine.onTradeChanged(TradeChangedEvent.updated(Collections.singletonList(2)));
+            List<PnlDTO> pnlDTOList = pnlEngine.findAll(null, null);
+
+            //THEN
+            assertEquals(3, pnlDTOList.size());
+            assertEquals(0, pnlDTOList.get(0).getRealisedPnl(), 1e-9);
+            assertEquals(10, pnlDTOList.get(0).getOpenQuantity(), 1e-9);
+            assertEquals(50, pnlDTOList.get(1).getRealisedPnl(), 1e-9);
+            assertEquals(0, pnlDTOList.get(1).getOpenQuantity(), 1e-9);
+            assertEquals(10, pnlDTOList.get(2).getOpenQuantity(), 1e-9);
+            verify(tradeRepositoryMock, times(1)).streamAllPriced();
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the P&L computed for positions marked against two curves " +
+                "WHEN the points of one curve change " +
+                "THEN only the positions marked against it are recomputed")
+        void findAllTest_AfterCurveChanged() {
+            //GIVEN
+            PnlEngine pnlEngine = newPnlEngine();
+            int curveId = nextCurveId++;
+            int otherCurveId = nextCurveId++;
+            when(tradeRepositoryMock.streamAllPriced()).thenReturn(Arrays.asList(
+                    buy(1, "Account1", curveId + "/1", 10, 100),
+                    buy(2, "Account2", otherCurveId + "/1", 10, 100)).stream());
+            when(curvePointRepositoryMock.findByCurveIdAndAsOfDate(curveId, null))
+                    .thenReturn(Collections.singletonList(curvePoint(curveId, 1, 101)));
+            when(curvePointRepositoryMock.findByCurveIdAndAsOfDate(otherCurveId, null))
+                    .thenReturn(Collections.singletonList(curvePoint(otherCurveId, 1, 102)));
+            assertEquals(10, pnl(pnlEngine, "Account1").getUnrealisedPnl(), 1e-9);
+
+            when(curvePointRepositoryMock.findByCurveIdAndAsOfDate(curveId, null))
+                    .thenReturn(Collections.singletonList(curvePoint(curveId, 1, 103)));
+            when(tradeRepositoryMock.findPricedByAccountIn(Collections.singleton("Account1")))
+                    .thenReturn(Collections.singletonList(buy(1, "Account1", curveId + "/1", 10, 100)));
+
+            //WHEN
+            CurveChangedEvent curveChangedEvent = new CurveChangedEvent(
+                    Collections.singletonList(new CurveKey(curveId, null)));
+            curveEngine.onCurveChanged(curveChangedEvent);
+            pnlEngine.onCurveChanged(curveChangedEvent);
+
+            //THEN
+            assertEquals(30, pnl(pnlEngine, "Account1").getUnrealisedPnl(), 1e-9);
+            assertEquals(20, pnl(pnlEngine, "Account2").getUnrealisedPnl(), 1e-9);
+            verify(tradeRepositoryMock, times(1)).streamAllPriced();
+            verify(tradeRepositoryMock, times(1)).findPricedByAccountIn(anyCollection());
+        }
+    }
+
+    @Nested
+    @DisplayName("calculator tests")
+    class CalculatorTest {
+
+        @Test
+        @DisplayName("GIVEN many trades over positions of very different sizes " +
+                "WHEN computing them split across fork/join tasks " +
+                "THEN the P&L are the same as computed by a single task")
+        void computeTest_ParallelAsSequential() {
+            //GIVEN
+            Random random = new Random(42);
+            List<PricedTrade> pricedTrades = new ArrayList<>();
+            for (int tradeId = 0; tradeId < 50_000; tradeId++) {
+                /* a few positions hold most of the trades */
+                String account = "Account" + random.nextInt(40) * random.nextInt(40) / 40;
+                String benchmark = random.nextInt(10) == 0 ? null : "1/" + random.nextInt(30);
+                double quantity = 1 + random.nextInt(100);
+                double price = 90 + random.nextInt(20);
+                pricedTrades.add(random.nextBoolean()
+                        ? buy(tradeId, account, benchmark, quantity, price)
+                        : sell(tradeId, account, benchmark, quantity, price));
+            }
+            ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+            //WHEN
+            PnlBook sequentialPnlBook = new PnlCalculator(forkJoinPool, Integer.MAX_VALUE)
+                    .compute(pricedTrades.stream(), benchmark -> benchmark.hashCode() % 7 + 100);
+            PnlBook parallelPnlBook = new PnlCalculator(forkJoinPool, 100)
+                    .compute(pricedTrades.stream(), benchmark -> benchmark.hashCode() % 7 + 100);
+            forkJoinPool.shutdown();
+
+            //THEN
+            assertEquals(sequentialPnlBook.size(), parallelPnlBook.size());
+            for (int position = 0; position < sequentialPnlBook.size(); position++) {
+                assertEquals(sequentialPnlBook.getPositionKey(position), parallelPnlBook.getPositionKey(position));
+                assertEquals(sequentialPnlBook.getRealisedPnl(position), parallelPnlBook.getRealisedPnl(position));
+                assertEquals(sequentialPnlBook.getUnrealisedPnl(position), parallelPnlBook.getUnrealisedPnl(position));
+                assertEquals(sequentialPnlBook.getOpenQuantity(position), parallelPnlBook.getOpenQuantity(position));
+            }
+            for (int tradeId = 0; tradeId < pricedTrades.size(); tradeId += 997) {
+                assertEquals(pricedTrades.get(tradeId).getPositionKey(), parallelPnlBook.findPositionKey(tradeId));
+            }
+            assertNull(parallelPnlBook.findPositionKey(-1));
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.PositionDTO;
+import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.contracts.IPositionEngine;
+import com.nnk.springboot.services.contracts.ITradeService;
+import com.nnk.springboot.services.position.TradeChangedEvent;
+import com.nnk.springboot.services.position.TradeLeg;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class PositionEngineTest {
+
+    private static final String BOOK = "Book";
+
+    private static final String SECURITY = "Security";
+
+    @MockBean
+    private TradeRepository tradeRepositoryMock;
+
+    @Autowired
+    private IPositionEngine positionEngine;
+
+    @Autowired
+    private ITradeService tradeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /* each test works on its own account and trade ids, the positions being kept by the engine between tests */
+    private static int nextAccount = 1;
+
+    private static int nextTradeId = 1000;
+
+    private static String nextAccount() {
+        return "PositionAccount" + nextAccount++;
+    }
+
+    private static TradeLeg buy(Integer tradeId, String account, double quantity, Double price) {
+        return new TradeLeg(tradeId, account, BOOK, SECURITY, quantity, price, null, null);
+    }
+
+    private static TradeLeg sell(Integer tradeId, String account, double quantity, Double price) {
+        return new TradeLeg(tradeId, account, BOOK, SECURITY, null, null, quantity, price);
+    }
+
+    private PositionDTO position(String account) {
+        return positionEngine.findPosition(account, BOOK, SECURITY).get();
+    }
+
+    @Nested
+    @DisplayName("seed and query tests")
+    class SeedTest {
+
+        @Test
+        @DisplayName("GIVEN trades in DB " +
+                "WHEN the engine starts " +
+                "THEN the positions are aggregated per account, book and security")
+        void afterSingletonsInstantiatedTest() {
+            //GIVEN
+            String account = nextAccount();
+            when(tradeRepositoryMock.streamAllLegs()).thenReturn(Arrays.asList(
+                    buy(nextTradeId++, account, 10, 100D),
+                    buy(nextTradeId++, account, 30, 104D),
+                    sell(nextTradeId++, account, 15, 110D),
+                    new TradeLeg(nextTradeId++, account, "OtherBook", SECURITY, 5D, null, null, null)).stream());
+            PositionEngine seededPositionEngine = new PositionEngine(tradeRepositoryMock, transactionManager);
+
+            //WHEN
+            seededPositionEngine.afterSingletonsInstantiated();
+
+            //THEN
+            PositionDTO positionDTO = seededPositionEngine.findPosition(account, BOOK, SECURITY).get();
+            assertEquals(3, positionDTO.getTradeCount());
+            assertEquals(25, positionDTO.getNetQuantity());
+            assertEquals(103, positionDTO.getAverageBuyPrice(), 1e-12);
+            assertEquals(110, positionDTO.getAverageSellPrice(), 1e-12);
+            assertEquals(103, positionDTO.getAveragePrice(), 1e-12);
+
+            List<PositionDTO> positionDTOList = seededPositionEngine.findPositions(account, null);
+            assertEquals(2, positionDTOList.size());
+            assertEquals(BOOK, positionDTOList.get(0).getBook());
+            assertEquals(5, positionDTOList.get(1).getNetQuantity());
+            assertNull(positionDTOList.get(1).getAveragePrice());
+            assertEquals(1, seededPositionEngine.findPositions(account, "OtherBook").size());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a short position " +
+                "WHEN asking for it " +
+                "THEN its average price is the average sell price")
+        void findPositionTest_Short() {
+            //GIVEN
+            String account = nextAccount();
+            positionEngine.onTradeChanged(TradeChangedEvent.saved(Arrays.asList(
+                    buy(nextTradeId++, account, 10, 100D),
+                    sell(nextTradeId++, account, 20, 99D))));
+
+            //THEN
+            assertEquals(-10, position(account).getNetQuantity());
+            assertEquals(99, position(account).getAveragePrice(), 1e-12);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN no trade for an account " +
+                "WHEN asking for its position " +
+                "THEN no position is returned")
+        void findPositionTest_WithUnknownAccount() {
+            assertFalse(positionEngine.findPosition(nextAccount(), BOOK, SECURITY).isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("incremental update tests")
+    class IncrementalTest {
+
+        @Test
+        @DisplayName("GIVEN fractional priced buys and a sell flattening them, with an unpriced buy " +
+                "WHEN the priced buys are removed " +
+                "THEN the position is flat before AND has no average buy price after, the sums being exact")
+        void onTradeChangedTest_FractionalLegsRemoved() {
+            //GIVEN
+            String account = nextAccount();
+            Integer tradeId = nextTradeId++;
+            Integer otherTradeId = nextTradeId++;
+            positionEngine.onTradeChanged(TradeChangedEvent.saved(Arrays.asList(
+                    buy(nextTradeId++, account, 0.3, null),
+                    buy(tradeId, account, 0.1, 101.3),
+                    buy(otherTradeId, account, 0.2, 99.7),
+                    sell(nextTradeId++, account, 0.6, 100D))));
+            assertEquals(0, position(account).getNetQuantity());
+            assertNull(position(account).getAveragePrice());
+
+            //WHEN
+            positionEngine.onTradeChanged(TradeChangedEvent.deleted(Arrays.asList(tradeId, otherTradeId)));
+
+            //THEN
+            PositionDTO positionDTO = position(account);
+            assertEquals(2, positionDTO.getTradeCount());
+            assertEquals(0.3, positionDTO.getBuyQuantity());
+            assertEquals(-0.3, positionDTO.getNetQuantity());
+            assertNull(positionDTO.getAverageBuyPrice());
+            assertEquals(100, positionDTO.getAveragePrice(), 1e-12);
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a trade " +
+                "WHEN creating it through TradeService " +
+                "THEN it is added to its position")
+        void onTradeChangedTest_FromCreate() {
+            //GIVEN
+            String account = nextAccount();
+            TradeDTO tradeDTO = new TradeDTO();
+            tradeDTO.setAccount(account);
+            tradeDTO.setType("Type");
+            tradeDTO.setBuyQuantity(12D);
+            when(tradeRepositoryMock.save(any(Trade.class))).thenAnswer(invocation -> {
+                Trade trade = invocation.getArgument(0);
+                trade.setTradeId(nextTradeId++);
+                return trade;
+            });
+
+            //WHEN
+            tradeService.create(tradeDTO);
+            tradeService.create(tradeDTO);
+
+            //THEN
+            PositionDTO positionDTO = positionEngine.findPosition(account, null, null).get();
+            assertEquals(2, positionDTO.getTradeCount());
+            assertEquals(24, positionDTO.getNetQuantity());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a trade in a position " +
+                "WHEN updating its account through TradeService " +
+                "THEN its former leg is removed from the former position and its new leg read back and added")
+        void onTradeChangedTest_FromUpdate() {
+            //GIVEN
+            String account = nextAccount();
+            String newAccount = nextAccount();
+            Integer tradeId = nextTradeId++;
+            positionEngine.onTradeChanged(TradeChangedEvent.saved(Arrays.asList(
+                    buy(tradeId, account, 10, 100D), buy(nextTradeId++, account, 10, 200D))));
+            TradeDTO tradeDTO = new TradeDTO();
+            tradeDTO.setTradeId(tradeId);
+            tradeDTO.setAccount(newAccount);
+            tradeDTO.setType("Type");
+            tradeDTO.setBuyQuantity(10D);
+            tradeDTO.setVersion(0);
+            when(tradeRepositoryMock.updateIfVersionMatches(any(), eq(0), any(), any(), any(), any(), any()))
+                    .thenReturn(1);
+            when(tradeRepositoryMock.findLegsByTradeIdIn(Collections.singletonList(tradeId)))
+                    .thenReturn(Collections.singletonList(buy(tradeId, newAccount, 10, 100D)));
+
+            //WHEN
+            tradeService.update(tradeDTO);
+
+            //THEN
+            assertEquals(1, position(account).getTradeCount());
+            assertEquals(200, position(account).getAverageBuyPrice(), 1e-12);
+            assertEquals(10, position(newAccount).getNetQuantity());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the last trade of a position " +
+                "WHEN deleting it through TradeService " +
+                "THEN the position is removed")
+        void onTradeChangedTest_FromDelete() {
+            //GIVEN
+            String account = nextAccount();
+            Integer tradeId = nextTradeId++;
+            positionEngine.onTradeChanged(TradeChangedEvent.saved(Collections.singletonList(
+                    buy(tradeId, account, 10, 100D))));
+            Trade trade = new Trade();
+            trade.setTradeId(tradeId);
+            when(tradeRepositoryMock.findById(tradeId)).thenReturn(Optional.of(trade));
+
+            //WHEN
+            tradeService.delete(tradeId);
+
+            //THEN
+            assertFalse(positionEngine.findPosition(account, BOOK, SECURITY).isPresent());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN trades of a few positions created, updated and deleted by concurrent threads " +
+                "WHEN all the changes are applied " +
+                "THEN each position holds exactly the remaining legs")
+        void onTradeChangedTest_Concurrent() throws Exception {
+            //GIVEN
+            String account = nextAccount();
+            int threadCount = 8;
+            int tradeCountPerThread = 1000;
+            int firstTradeId = nextTradeId;
+            nextTradeId += threadCount * tradeCountPerThread;
+            when(tradeRepositoryMock.findLegsByTradeIdIn(anyCollection())).thenReturn(Collections.emptyList());
+
+            //WHEN each thread buys 1 per trade, then moves every other trade to 2, then deletes every fourth trade
+            ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threadCount; thread++) {
+                int threadFirstTradeId = firstTradeId + thread * tradeCountPerThread;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < tradeCountPerThread; i++) {
+                        positionEngine.onTradeChanged(TradeChangedEvent.saved(Collections.singletonList(
+                                buy(threadFirstTradeId + i, account, 1, 10D))));
+                    }
+                    for (int i = 0; i < tradeCountPerThread; i += 2) {
+                        positionEngine.onTradeChanged(TradeChangedEvent.saved(Collections.singletonList(
+                                buy(threadFirstTradeId + i, account, 2, 10D))));
+                    }
+                    for (int i = 0; i < tradeCountPerThread; i += 4) {
+                        positionEngine.onTradeChanged(TradeChangedEvent.deleted(
+                                Collections.singletonList(threadFirstTradeId + i)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+            //THEN per thread: 250 deleted, 250 moved to 2 and 500 left at 1
+            PositionDTO positionDTO = position(account);
+            assertEquals(threadCount * 750, positionDTO.getTradeCount());
+            assertEquals(threadCount * (250 * 2 + 500), positionDTO.getNetQuantity(), 1e-6);
+            assertEquals(10, positionDTO.getAveragePrice(), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.HibernateStatisticsDTO;
+import com.nnk.springboot.DTO.QueryStatisticsDTO;
+import com.nnk.springboot.DTO.SlowQueryDTO;
+import com.nnk.springboot.config.persistence.QueryStatisticsCollector;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueryStatisticsServiceTest {
+
+    private static final String SELECT_TRADE = "select trade0_.trade_id as trade_id1_5_ from trade trade0_ limit ?";
+
+    private static final String SELECT_BID_LIST = "select bidlist0_.bid_list_id from bid_list bidlist0_ where bidlist0_.bid_list_id=?";
+
+    private QueryStatisticsCollector queryStatisticsCollector;
+
+    private Statistics statisticsMock;
+
+    private QueryStatisticsService queryStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        queryStatisticsCollector = new QueryStatisticsCollector(100, 2, 3);
+        statisticsMock = mock(Statistics.class);
+        SessionFactory sessionFactoryMock = mock(SessionFactory.class);
+        EntityManagerFactory entityManagerFactoryMock = mock(EntityManagerFactory.class);
+        when(entityManagerFactoryMock.unwrap(SessionFactory.class)).thenReturn(sessionFactoryMock);
+        when(sessionFactoryMock.getStatistics()).thenReturn(statisticsMock);
+        queryStatisticsService = new QueryStatisticsService(queryStatisticsCollector, entityManagerFactoryMock);
+    }
+
+    @Nested
+    @DisplayName("findTopQueries tests")
+    class FindTopQueriesTest {
+
+        @Test
+        @DisplayName("GIVEN many fast executions of a statement and one slow execution of another " +
+                "WHEN getting the top queries " +
+                "THEN the executions of each statement are summed up " +
+                "AND the statements with the longest total time come first")
+        void findTopQueriesTest() {
+            //GIVEN
+            for (int i = 0; i < 50; i++) {
+                queryStatisticsCollector.statementExecuted(SELECT_BID_LIST, TimeUnit.MILLISECONDS.toNanos(2),
+                        1, 0, true);
+            }
+            queryStatisticsCollector.statementExecuted(SELECT_TRADE, TimeUnit.MILLISECONDS.toNanos(40), 1, 0, true);
+            queryStatisticsCollector.statementExecuted(SELECT_TRADE, TimeUnit.MILLISECONDS.toNanos(20), 1, 0, false);
+
+            //WHEN
+            List<QueryStatisticsDTO> queryStatisticsDTOList = queryStatisticsService.findTopQueries(10);
+
+            //THEN
+            assertEquals(2, queryStatisticsDTOList.size());
+            QueryStatisticsDTO bidListStatistics = queryStatisticsDTOList.get(0);
+            assertEquals(SELECT_BID_LIST, bidListStatistics.getSql());
+            assertEquals(50, bidListStatistics.getExecutionCount());
+            assertEquals(100, bidListStatistics.getTotalMillis(), 0.001);
+            assertEquals(2, bidListStatistics.getMeanMillis(), 0.001);
+            assertEquals(1, bidListStatistics.getMeanBindCount(), 0.001);
+
+            QueryStatisticsDTO tradeStatistics = queryStatisticsDTOList.get(1);
+            assertEquals(2, tradeStatistics.getExecutionCount());
+            assertEquals(1, tradeStatistics.getErrorCount());
+            assertEquals(40, tradeStatistics.getMaxMillis(), 0.001);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN executions of statements " +
+                "WHEN getting the top 1 query " +
+                "THEN only the statement with the longest total time is returned")
+        void findTopQueriesTest_Limited() {
+            //GIVEN
+            queryStatisticsCollector.statementExecuted(SELECT_BID_LIST, 1000, 1, 0, true);
+            queryStatisticsCollector.statementExecuted(SELECT_TRADE, 2000, 1, 0, true);
+
+            //THEN
+            List<QueryStatisticsDTO> queryStatisticsDTOList = queryStatisticsService.findTopQueries(1);
+            assertEquals(1, queryStatisticsDTOList.size());
+            assertEquals(SELECT_TRADE, queryStatisticsDTOList.get(0).getSql());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN IN clauses with different numbers of values " +
+                "WHEN getting the top queries " +
+                "THEN they are measured as one statement")
+        void findTopQueriesTest_InClauses() {
+            //GIVEN
+            queryStatisticsCollector.statementExecuted("delete from trade where trade_id in (?, ?)", 1000, 2, 0, true);
+            queryStatisticsCollector.statementExecuted("delete from trade where trade_id in (? , ?,?)", 1000, 3, 0, true);
+
+            //THEN
+            List<QueryStatisticsDTO> queryStatisticsDTOList = queryStatisticsService.findTopQueries(10);
+            assertEquals(1, queryStatisticsDTOList.size());
+            assertEquals("delete from trade where trade_id in (?...)", queryStatisticsDTOList.get(0).getSql());
+            assertEquals(2.5, queryStatisticsDTOList.get(0).getMeanBindCount(), 0.001);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN more distinct statements than the maximum " +
+                "WHEN getting the top queries " +
+                "THEN the statements beyond the maximum are measured together")
+        void findTopQueriesTest_MaxDistinctQueries() {
+            //GIVEN
+            for (int i = 0; i < 5; i++) {
+                queryStatisticsCollector.statementExecuted("select " + i, 1000, 0, 0, true);
+            }
+
+            //THEN
+            List<QueryStatisticsDTO> queryStatisticsDTOList = queryStatisticsService.findTopQueries(10);
+            assertEquals(4, queryStatisticsDTOList.size());
+            assertEquals(QueryStatisticsCollector.OTHER_STATEMENTS, queryStatisticsDTOList.get(0).getSql());
+            assertEquals(2, queryStatisticsDTOList.get(0).getExecutionCount());
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findSlowQueries tests")
+    class FindSlowQueriesTest {
+
+        @Test
+        @DisplayName("GIVEN executions faster and slower than the threshold, more slow ones than kept " +
+                "WHEN getting the slow queries " +
+                "THEN only the last slow ones are returned, the most recent first, with their bind count")
+        void findSlowQueriesTest() {
+            //GIVEN
+            queryStatisticsCollector.statementExecuted(SELECT_TRADE, TimeUnit.MILLISECONDS.toNanos(150), 1, 0, true);
+            queryStatisticsCollector.statementExecuted(SELECT_BID_LIST, TimeUnit.MILLISECONDS.toNanos(10), 1, 0, true);
+            queryStatisticsCollector.statementExecuted(SELECT_BID_LIST, TimeUnit.MILLISECONDS.toNanos(200), 1, 0, true);
+            queryStatisticsCollector.statementExecuted("insert into trade (account, type) values (?, ?)",
+                    TimeUnit.MILLISECONDS.toNanos(300), 100, 50, true);
+
+            //WHEN
+            List<SlowQueryDTO> slowQueryDTOList = queryStatisticsService.findSlowQueries();
+
+            //THEN
+            assertEquals(2, slowQueryDTOList.size());
+            assertEquals("insert into trade (account, type) values (?, ?)", slowQueryDTOList.get(0).getSql());
+            assertEquals(100, slowQueryDTOList.get(0).getBindCount());
+            assertEquals(50, slowQueryDTOList.get(0).getBatchSize());
+            assertEquals(300, slowQueryDTOList.get(0).getElapsedMillis(), 0.001);
+            assertEquals(SELECT_BID_LIST, slowQueryDTOList.get(1).getSql());
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findHibernateStatistics and reset tests")
+    class HibernateStatisticsTest {
+
+        @Test
+        @DisplayName("GIVEN enabled Hibernate statistics " +
+                "WHEN getting them " +
+                "THEN their counters are returned")
+        void findHibernateStatisticsTest() {
+            //GIVEN
+            when(statisticsMock.isStatisticsEnabled()).thenReturn(true);
+            when(statisticsMock.getPrepareStatementCount()).thenReturn(12L);
+            when(statisticsMock.getEntityFetchCount()).thenReturn(10L);
+            when(statisticsMock.getQueryExecutionMaxTimeQueryString()).thenReturn("select t from Trade t");
+
+            //WHEN
+            HibernateStatisticsDTO hibernateStatisticsDTO = queryStatisticsService.findHibernateStatistics();
+
+            //THEN
+            assertTrue(hibernateStatisticsDTO.isEnabled());
+            assertEquals(12, hibernateStatisticsDTO.getPrepareStatementCount());
+            assertEquals(10, hibernateStatisticsDTO.getEntityFetchCount());
+            assertEquals("select t from Trade t", hibernateStatisticsDTO.getSlowestQuery());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN measured statements " +
+                "WHEN resetting the statistics " +
+                "THEN the statements, the slow queries and the Hibernate statistics are cleared")
+        void resetTest() {
+            //GIVEN
+            queryStatisticsCollector.statementExecuted(SELECT_TRADE, TimeUnit.MILLISECONDS.toNanos(150), 1, 0, true);
+
+            //WHEN
+            queryStatisticsService.reset();
+
+            //THEN
+            assertTrue(queryStatisticsService.findTopQueries(10).isEmpty());
+            assertTrue(queryStatisticsService.findSlowQueries().isEmpty());
+            verify(statisticsMock, Mockito.times(1)).clear();
+        }
+    }
+}
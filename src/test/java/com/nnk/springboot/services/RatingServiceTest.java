@@ -1,12 +1,14 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.DTO.RatingDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.constants.PoseidonExceptionsConstants;
 import com.nnk.springboot.domain.Rating;
 import com.nnk.springboot.repositories.RatingRepository;
 import com.nnk.springboot.services.contracts.IRatingService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,10 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,6 +43,9 @@ public class RatingServiceTest {
     @Autowired
     private IRatingService ratingService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private static RatingDTO ratingDTOWithValues;
 
     private static Rating ratingInDb;
@@ -58,6 +67,11 @@ public class RatingServiceTest {
         ratingInDb.setOrderNumber(ratingDTOWithValues.getOrderNumber());
     }
 
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConstants.RATING_CACHE).clear();
+    }
+
     @Nested
     @DisplayName("create tests")
     class CreateTest {
@@ -90,14 +104,62 @@ public class RatingServiceTest {
                 "THEN the returned value is an empty list of rating")
         void findAllTest_WithNoDataInDB() {
             //GIVEN
-            List<Rating> ratingList = new ArrayList<>();
-            when(ratingRepositoryMock.findAll()).thenReturn(ratingList);
+            List<RatingDTO> ratingList = new ArrayList<>();
+            when(ratingRepositoryMock.findAllForList()).thenReturn(ratingList);
 
             //THEN
             List<RatingDTO> ratingDTOList = ratingService.findAll();
             assertThat(ratingDTOList).isEmpty();
 
-            verify(ratingRepositoryMock, Mockito.times(1)).findAll();
+            verify(ratingRepositoryMock, Mockito.times(1)).findAllForList();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAll with pageable tests")
+    class FindAllPageTest {
+
+        @Test
+        @DisplayName("GIVEN no rating in DB " +
+                "WHEN getting a page of rating " +
+                "THEN the returned value is an empty page of rating")
+        void findAllPageTest_WithNoDataInDB() {
+            //GIVEN
+            Pageable pageable = PageRequest.of(0, 20);
+            when(ratingRepositoryMock.findAllForList(pageable)).thenReturn(Page.empty(pageable));
+
+            //THEN
+            Page<RatingDTO> ratingDTOPage = ratingService.findAll(pageable);
+            assertThat(ratingDTOPage).isEmpty();
+
+            verify(ratingRepositoryMock, Mockito.times(1)).findAllForList(pageable);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAllAfter tests")
+    class FindAllAfterTest {
+
+        @Test
+        @DisplayName("GIVEN a rating in DB after the given id " +
+                "WHEN getting the rating following this id " +
+                "THEN the returned value is the list of the following rating")
+        void findAllAfterTest_WithDataInDB() {
+            //GIVEN
+            List<RatingDTO> ratingList = new ArrayList<>();
+            ratingList.add(ratingDTOWithValues);
+            when(ratingRepositoryMock.findAllForListAfter(anyInt(), any(Pageable.class)))
+                    .thenReturn(ratingList);
+
+            //THEN
+            List<RatingDTO> ratingDTOList = ratingService.findAllAfter(null, 20);
+            assertEquals(1, ratingDTOList.size());
+            assertEquals(ratingInDb.getId(), ratingDTOList.get(0).getId());
+
+            verify(ratingRepositoryMock, Mockito.times(1))
+                    .findAllForListAfter(0, PageRequest.of(0, 20));
         }
     }
 
@@ -205,4 +267,66 @@ public class RatingServiceTest {
                     .delete(any(Rating.class));
         }
     }
+
+
+    @Nested
+    @DisplayName("cache tests")
+    class CacheTest {
+
+        @Test
+        @DisplayName("GIVEN a page of rating already viewed " +
+                "WHEN viewing it again " +
+                "THEN the page is not read again from DB")
+        void findAllPageTest_FromCache() {
+            //GIVEN
+            Pageable pageable = PageRequest.of(0, 20);
+            when(ratingRepositoryMock.findAllForList(pageable)).thenReturn(Page.empty(pageable));
+            ratingService.findAll(pageable);
+
+            //WHEN
+            Page<RatingDTO> ratingDTOPage = ratingService.findAll(pageable);
+
+            //THEN
+            assertThat(ratingDTOPage).isEmpty();
+            verify(ratingRepositoryMock, Mockito.times(1)).findAllForList(pageable);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the list of rating already viewed " +
+                "WHEN a rating is created " +
+                "THEN the list is read again from DB")
+        void findAllTest_AfterCreate() {
+            //GIVEN
+            when(ratingRepositoryMock.findAllForList()).thenReturn(new ArrayList<>());
+            when(ratingRepositoryMock.save(any(Rating.class))).thenReturn(ratingInDb);
+            ratingService.findAll();
+
+            //WHEN
+            ratingService.create(ratingDTOWithValues);
+            ratingService.findAll();
+
+            //THEN
+            verify(ratingRepositoryMock, Mockito.times(2)).findAllForList();
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the list of rating already viewed " +
+                "WHEN a rating is deleted " +
+                "THEN the list is read again from DB")
+        void findAllTest_AfterDelete() {
+            //GIVEN
+            when(ratingRepositoryMock.findAllForList()).thenReturn(new ArrayList<>());
+            when(ratingRepositoryMock.findById(ratingInDb.getId())).thenReturn(Optional.of(ratingInDb));
+            ratingService.findAll();
+
+            //WHEN
+            ratingService.delete(ratingInDb.getId());
+            ratingService.findAll();
+
+            //THEN
+            verify(ratingRepositoryMock, Mockito.times(2)).findAllForList();
+        }
+    }
 }
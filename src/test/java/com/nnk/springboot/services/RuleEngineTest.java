@@ -0,0 +1,313 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.DTO.RuleEvaluationDTO;
+import com.nnk.springboot.DTO.RuleNameDTO;
+import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.contracts.IRuleEngine;
+import com.nnk.springboot.services.contracts.IRuleNameService;
+import com.nnk.springboot.services.contracts.ITradeService;
+import com.nnk.springboot.services.rule.CompiledRule;
+import com.nnk.springboot.services.rule.RuleDefinition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class RuleEngineTest {
+
+    @MockBean
+    private RuleNameRepository ruleNameRepositoryMock;
+
+    @MockBean
+    private TradeRepository tradeRepositoryMock;
+
+    @Autowired
+    private IRuleEngine ruleEngine;
+
+    @Autowired
+    private IRuleNameService ruleNameService;
+
+    @Autowired
+    private ITradeService tradeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /* each test works on its own ruleName ids, the rules being kept by the engine between tests */
+    private static int nextRuleNameId = 9000;
+
+    private static Trade trade(String account, Double buyQuantity, String book) {
+        Trade trade = new Trade();
+        trade.setAccount(account);
+        trade.setType("Type");
+        trade.setBuyQuantity(buyQuantity);
+        trade.setBook(book);
+        trade.setTradeDate(LocalDateTime.of(2021, 6, 15, 10, 30));
+        return trade;
+    }
+
+    private static BidList bidList(String security, Double bid) {
+        BidList bidList = new BidList();
+        bidList.setAccount("ACC1");
+        bidList.setSecurity(security);
+        bidList.setBid(bid);
+        return bidList;
+    }
+
+    private static CompiledRule compile(String json, String sqlPart) {
+        return CompiledRule.compile(new RuleDefinition(nextRuleNameId++, "Rule", json, sqlPart));
+    }
+
+    private static RuleName ruleName(Integer id, String sqlPart) {
+        RuleName ruleName = new RuleName();
+        ruleName.setId(id);
+        ruleName.setName("Rule " + id);
+        ruleName.setSqlPart(sqlPart);
+        return ruleName;
+    }
+
+    private RuleEvaluationDTO evaluation(Integer ruleNameId) {
+        return ruleEngine.findAllEvaluations().stream()
+                .filter(ruleEvaluationDTO -> ruleEvaluationDTO.getRuleNameId().equals(ruleNameId))
+                .findFirst().orElse(null);
+    }
+
+    @Nested
+    @DisplayName("compile tests")
+    class CompileTest {
+
+        @Test
+        @DisplayName("GIVEN a sqlPart testing fields of the trades " +
+                "WHEN compiling it " +
+                "THEN it applies to the trades only, AND binding tighter than OR")
+        void compileTest_SqlPart() {
+            //WHEN
+            CompiledRule compiledRule = compile(null,
+                    "WHERE t.buyQuantity > 100 AND account IN ('ACC1', 'O''Brien') OR book IS NULL " +
+                            "AND buyQuantity BETWEEN 1 AND 10");
+
+            //THEN
+            assertTrue(compiledRule.isActive());
+            assertTrue(compiledRule.appliesToTrades());
+            assertFalse(compiledRule.appliesToBidLists());
+            assertTrue(compiledRule.getTradePredicate().test(trade("ACC1", 150D, "Book")));
+            assertTrue(compiledRule.getTradePredicate().test(trade("O'Brien", 150D, "Book")));
+            assertFalse(compiledRule.getTradePredicate().test(trade("ACC2", 150D, "Book")));
+            assertTrue(compiledRule.getTradePredicate().test(trade("ACC2", 5D, null)));
+            assertFalse(compiledRule.getTradePredicate().test(trade("ACC2", 50D, null)));
+            assertFalse(compiledRule.getTradePredicate().test(trade("ACC1", null, "Book")));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a json testing fields of the bidList " +
+                "WHEN compiling it " +
+                "THEN it applies to the bidList only")
+        void compileTest_Json() {
+            //WHEN
+            CompiledRule compiledRule = compile("{\"and\": [{\"field\": \"security\", \"op\": \"notIn\", " +
+                    "\"value\": [\"SEC2\", \"SEC3\"]}, {\"not\": {\"field\": \"bid\", \"op\": \"<\", \"value\": 99.5}}]}",
+                    null);
+
+            //THEN
+            assertTrue(compiledRule.isActive());
+            assertFalse(compiledRule.appliesToTrades());
+            assertTrue(compiledRule.getBidListPredicate().test(bidList("SEC1", 99.5)));
+            assertFalse(compiledRule.getBidListPredicate().test(bidList("SEC2", 100D)));
+            assertFalse(compiledRule.getBidListPredicate().test(bidList("SEC1", 99D)));
+            assertFalse(compiledRule.getBidListPredicate().test(bidList(null, 100D)));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a sqlPart testing fields of both entities and a json testing a date " +
+                "WHEN compiling them " +
+                "THEN both must hold, on the trades only since the bidList have no trade date")
+        void compileTest_SqlPartAndJson() {
+            //GIVEN
+            CompiledRule commonCompiledRule = compile("free text", "account LIKE 'AC_1%' AND NOT (account = 'ACC10')");
+
+            //WHEN
+            CompiledRule compiledRule = compile(
+                    "{\"field\": \"tradeDate\", \"op\": \">=\", \"value\": \"2021-06-01\"}", "account LIKE '%1'");
+
+            //THEN
+            assertTrue(commonCompiledRule.appliesToTrades());
+            assertTrue(commonCompiledRule.appliesToBidLists());
+            assertTrue(commonCompiledRule.getBidListPredicate().test(bidList("SEC1", 100D)));
+            assertTrue(commonCompiledRule.getTradePredicate().test(trade("ACC1-X", 1D, null)));
+            assertFalse(commonCompiledRule.getTradePredicate().test(trade("ACC10", 1D, null)));
+
+            assertFalse(compiledRule.appliesToBidLists());
+            assertTrue(compiledRule.getTradePredicate().test(trade("ACC1", 1D, null)));
+            Trade oldTrade = trade("ACC1", 1D, null);
+            oldTrade.setTradeDate(LocalDateTime.of(2021, 5, 31, 23, 59));
+            assertFalse(compiledRule.getTradePredicate().test(oldTrade));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN rules not valid " +
+                "WHEN compiling them " +
+                "THEN they are not active, with the reason why")
+        void compileTest_NotValid() {
+            assertFalse(compile(null, "Existing sqlPart").isActive());
+            assertFalse(compile(null, "buyQuantity > 'high'").isActive());
+            assertFalse(compile(null, "buyQuantity > 1 AND bid > 1").isActive());
+            assertFalse(compile(null, "account = 'unclosed").isActive());
+            assertFalse(compile("{\"field\": \"account\", \"op\": \"~\", \"value\": 1}", null).isActive());
+            assertFalse(compile("free text", " ").isActive());
+            assertNotNull(compile(null, "unknownField = 1").getError());
+        }
+    }
+
+    @Nested
+    @DisplayName("incremental compile and evaluation tests")
+    class IncrementalTest {
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a rule on the trades " +
+                "WHEN trades are created through TradeService, then the rule is renamed, then its predicate changed " +
+                "THEN the created trades are evaluated, the renamed rule keeps its counts, the changed one is recompiled")
+        void onRuleNameChangedTest() {
+            //GIVEN
+            Integer ruleNameId = nextRuleNameId++;
+            when(ruleNameRepositoryMock.save(any(RuleName.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            RuleNameDTO ruleNameDTO = new RuleNameDTO();
+            ruleNameDTO.setId(ruleNameId);
+            ruleNameDTO.setName("Large trades");
+            ruleNameDTO.setSqlPart("buyQuantity >= 1000");
+            ruleNameService.update(ruleNameDTO);
+
+            Trade largeTrade = trade("ACC1", 5000D, null);
+            largeTrade.setTradeId(1);
+            Trade smallTrade = trade("ACC1", 10D, null);
+            smallTrade.setTradeId(2);
+            when(tradeRepositoryMock.save(any(Trade.class))).thenReturn(largeTrade, smallTrade);
+            when(tradeRepositoryMock.findAllById(anyCollection())).thenReturn(
+                    Collections.singletonList(largeTrade), Collections.singletonList(smallTrade));
+            TradeDTO tradeDTO = new TradeDTO();
+            tradeDTO.setAccount("ACC1");
+            tradeDTO.setType("Type");
+
+            //WHEN
+            tradeService.create(tradeDTO);
+            tradeService.create(tradeDTO);
+
+            //THEN
+            RuleEvaluationDTO ruleEvaluationDTO = evaluation(ruleNameId);
+            assertTrue(ruleEvaluationDTO.isActive());
+            assertEquals(2, ruleEvaluationDTO.getEvaluatedTradeCount());
+            assertEquals(1, ruleEvaluationDTO.getMatchedTradeCount());
+            assertTrue(ruleEngine.evaluate(largeTrade).contains(ruleNameId));
+            assertFalse(ruleEngine.evaluate(smallTrade).contains(ruleNameId));
+
+            ruleNameDTO.setName("Renamed");
+            ruleNameService.update(ruleNameDTO);
+            assertEquals("Renamed", evaluation(ruleNameId).getName());
+            assertEquals(1, evaluation(ruleNameId).getMatchedTradeCount());
+
+            ruleNameDTO.setSqlPart("buyQuantity >= 1");
+            ruleNameService.update(ruleNameDTO);
+            assertEquals(0, evaluation(ruleNameId).getEvaluatedTradeCount());
+            assertTrue(ruleEngine.evaluate(smallTrade).contains(ruleNameId));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a rule " +
+                "WHEN deleting it through RuleNameService " +
+                "THEN it is no longer evaluated")
+        void onRuleNameChangedTest_FromDelete() {
+            //GIVEN
+            Integer ruleNameId = nextRuleNameId++;
+            RuleName ruleName = ruleName(ruleNameId, "account = 'ACC1'");
+            when(ruleNameRepositoryMock.save(any(RuleName.class))).thenReturn(ruleName);
+            when(ruleNameRepositoryMock.findById(ruleNameId)).thenReturn(Optional.of(ruleName));
+            ruleNameService.create(new RuleNameDTO());
+            assertTrue(ruleEngine.evaluate(trade("ACC1", 1D, null)).contains(ruleNameId));
+
+            //WHEN
+            ruleNameService.delete(ruleNameId);
+
+            //THEN
+            assertFalse(ruleEngine.evaluate(trade("ACC1", 1D, null)).contains(ruleNameId));
+            assertNull(evaluation(ruleNameId));
+        }
+    }
+
+    @Nested
+    @DisplayName("bulk evaluation tests")
+    class EvaluateAllTest {
+
+        @Test
+        @DisplayName("GIVEN rules on the trades and on the bidList, and rows in DB " +
+                "WHEN evaluating them all, batch by batch " +
+                "THEN each rule counts the rows it matched")
+        void evaluateAllTest() {
+            //GIVEN
+            BidListRepository bidListRepositoryMock = Mockito.mock(BidListRepository.class);
+            when(ruleNameRepositoryMock.findAll()).thenReturn(Arrays.asList(
+                    ruleName(1, "buyQuantity > 100"),
+                    ruleName(2, "account = 'ACC1'"),
+                    ruleName(3, "bid BETWEEN 99 AND 101"),
+                    ruleName(4, "Existing sqlPart")));
+            List<Trade> trades = Arrays.asList(trade("ACC1", 150D, null), trade("ACC2", 50D, null),
+                    trade("ACC1", 10D, null), trade("ACC3", 1000D, null), trade("ACC4", null, null));
+            when(tradeRepositoryMock.streamAll()).thenReturn(trades.stream());
+            when(bidListRepositoryMock.streamAll()).thenReturn(Stream.of(bidList("SEC1", 100D), bidList("SEC1", 98D)));
+            RuleEngine seededRuleEngine = new RuleEngine(ruleNameRepositoryMock, tradeRepositoryMock,
+                    bidListRepositoryMock, entityManager, transactionManager, 2, 2);
+            seededRuleEngine.afterSingletonsInstantiated();
+
+            //WHEN
+            List<RuleEvaluationDTO> ruleEvaluationDTOList = seededRuleEngine.evaluateAll();
+            seededRuleEngine.shutdown();
+
+            //THEN
+            assertEquals(4, ruleEvaluationDTOList.size());
+            assertEquals(5, ruleEvaluationDTOList.get(0).getEvaluatedTradeCount());
+            assertEquals(2, ruleEvaluationDTOList.get(0).getMatchedTradeCount());
+            assertEquals(0, ruleEvaluationDTOList.get(0).getEvaluatedBidListCount());
+            assertEquals(2, ruleEvaluationDTOList.get(1).getMatchedTradeCount());
+            assertEquals(2, ruleEvaluationDTOList.get(1).getMatchedBidListCount());
+            assertEquals(2, ruleEvaluationDTOList.get(2).getEvaluatedBidListCount());
+            assertEquals(1, ruleEvaluationDTOList.get(2).getMatchedBidListCount());
+            assertFalse(ruleEvaluationDTOList.get(3).isActive());
+            assertEquals(0, ruleEvaluationDTOList.get(3).getEvaluatedTradeCount());
+        }
+    }
+}
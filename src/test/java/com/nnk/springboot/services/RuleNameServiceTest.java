@@ -1,12 +1,14 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.DTO.RuleNameDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.constants.PoseidonExceptionsConstants;
 import com.nnk.springboot.domain.RuleName;
 import com.nnk.springboot.repositories.RuleNameRepository;
 import com.nnk.springboot.services.contracts.IRuleNameService;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,10 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,6 +43,9 @@ public class RuleNameServiceTest {
     @Autowired
     private IRuleNameService ruleNameService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private static RuleNameDTO ruleNameDTOWithValues;
 
     private static RuleName ruleNameInDb;
@@ -62,6 +71,11 @@ public class RuleNameServiceTest {
         ruleNameInDb.setSqlPart(ruleNameDTOWithValues.getSqlPart());
     }
 
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConstants.RULE_NAME_CACHE).clear();
+    }
+
     @Nested
     @DisplayName("create tests")
     class CreateTest {
@@ -94,14 +108,62 @@ public class RuleNameServiceTest {
                 "THEN the returned value is an empty list of ruleName")
         void findAllTest_WithNoDataInDB() {
             //GIVEN
-            List<RuleName> ruleNameList = new ArrayList<>();
-            when(ruleNameRepositoryMock.findAll()).thenReturn(ruleNameList);
+            List<RuleNameDTO> ruleNameList = new ArrayList<>();
+            when(ruleNameRepositoryMock.findAllForList()).thenReturn(ruleNameList);
 
             //THEN
             List<RuleNameDTO> ruleNameDTOList = ruleNameService.findAll();
             assertThat(ruleNameDTOList).isEmpty();
 
-            verify(ruleNameRepositoryMock, Mockito.times(1)).findAll();
+            verify(ruleNameRepositoryMock, Mockito.times(1)).findAllForList();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAll with pageable tests")
+    class FindAllPageTest {
+
+        @Test
+        @DisplayName("GIVEN no ruleName in DB " +
+                "WHEN getting a page of ruleName " +
+                "THEN the returned value is an empty page of ruleName")
+        void findAllPageTest_WithNoDataInDB() {
+            //GIVEN
+            Pageable pageable = PageRequest.of(0, 20);
+            when(ruleNameRepositoryMock.findAllForList(pageable)).thenReturn(Page.empty(pageable));
+
+            //THEN
+            Page<RuleNameDTO> ruleNameDTOPage = ruleNameService.findAll(pageable);
+            assertThat(ruleNameDTOPage).isEmpty();
+
+            verify(ruleNameRepositoryMock, Mockito.times(1)).findAllForList(pageable);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAllAfter tests")
+    class FindAllAfterTest {
+
+        @Test
+        @DisplayName("GIVEN a ruleName in DB after the given id " +
+                "WHEN getting the ruleName following this id " +
+                "THEN the returned value is the list of the following ruleName")
+        void findAllAfterTest_WithDataInDB() {
+            //GIVEN
+            List<RuleNameDTO> ruleNameList = new ArrayList<>();
+            ruleNameList.add(ruleNameDTOWithValues);
+            when(ruleNameRepositoryMock.findAllForListAfter(anyInt(), any(Pageable.class)))
+                    .thenReturn(ruleNameList);
+
+            //THEN
+            List<RuleNameDTO> ruleNameDTOList = ruleNameService.findAllAfter(null, 20);
+            assertEquals(1, ruleNameDTOList.size());
+            assertEquals(ruleNameInDb.getId(), ruleNameDTOList.get(0).getId());
+
+            verify(ruleNameRepositoryMock, Mockito.times(1))
+                    .findAllForListAfter(0, PageRequest.of(0, 20));
         }
     }
 
@@ -209,4 +271,66 @@ public class RuleNameServiceTest {
                     .delete(any(RuleName.class));
         }
     }
+
+
+    @Nested
+    @DisplayName("cache tests")
+    class CacheTest {
+
+        @Test
+        @DisplayName("GIVEN a page of ruleName already viewed " +
+                "WHEN viewing it again " +
+                "THEN the page is not read again from DB")
+        void findAllPageTest_FromCache() {
+            //GIVEN
+            Pageable pageable = PageRequest.of(0, 20);
+            when(ruleNameRepositoryMock.findAllForList(pageable)).thenReturn(Page.empty(pageable));
+            ruleNameService.findAll(pageable);
+
+            //WHEN
+            Page<RuleNameDTO> ruleNameDTOPage = ruleNameService.findAll(pageable);
+
+            //THEN
+            assertThat(ruleNameDTOPage).isEmpty();
+            verify(ruleNameRepositoryMock, Mockito.times(1)).findAllForList(pageable);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the list of ruleName already viewed " +
+                "WHEN a ruleName is created " +
+                "THEN the list is read again from DB")
+        void findAllTest_AfterCreate() {
+            //GIVEN
+            when(ruleNameRepositoryMock.findAllForList()).thenReturn(new ArrayList<>());
+            when(ruleNameRepositoryMock.save(any(RuleName.class))).thenReturn(ruleNameInDb);
+            ruleNameService.findAll();
+
+            //WHEN
+            ruleNameService.create(ruleNameDTOWithValues);
+            ruleNameService.findAll();
+
+            //THEN
+            verify(ruleNameRepositoryMock, Mockito.times(2)).findAllForList();
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the list of ruleName already viewed " +
+                "WHEN a ruleName is deleted " +
+                "THEN the list is read again from DB")
+        void findAllTest_AfterDelete() {
+            //GIVEN
+            when(ruleNameRepositoryMock.findAllForList()).thenReturn(new ArrayList<>());
+            when(ruleNameRepositoryMock.findById(ruleNameInDb.getId())).thenReturn(Optional.of(ruleNameInDb));
+            ruleNameService.findAll();
+
+            //WHEN
+            ruleNameService.delete(ruleNameInDb.getId());
+            ruleNameService.findAll();
+
+            //THEN
+            verify(ruleNameRepositoryMock, Mockito.times(2)).findAllForList();
+        }
+    }
 }
@@ -1,30 +1,51 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.DTO.BulkResultDTO;
+import com.nnk.springboot.DTO.ImportReportDTO;
 import com.nnk.springboot.DTO.TradeDTO;
+import com.nnk.springboot.constants.ExportFormat;
 import com.nnk.springboot.constants.PoseidonExceptionsConstants;
 import com.nnk.springboot.domain.Trade;
 import com.nnk.springboot.repositories.TradeRepository;
 import com.nnk.springboot.services.contracts.ITradeService;
+import com.nnk.springboot.services.orderbook.Fill;
 import com.nnk.springboot.testconstants.TestConstants;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -49,12 +70,14 @@ public class TradeServiceTest {
         tradeDTOWithValues.setAccount(TestConstants.NEW_TRADE_ACCOUNT);
         tradeDTOWithValues.setType(TestConstants.NEW_TRADE_TYPE);
         tradeDTOWithValues.setBuyQuantity(TestConstants.NEW_TRADE_BUY_QUANTITY);
+        tradeDTOWithValues.setVersion(0);
 
         tradeInDb = new Trade();
         tradeInDb.setTradeId(tradeDTOWithValues.getTradeId());
         tradeInDb.setAccount(tradeDTOWithValues.getAccount());
         tradeInDb.setType(tradeDTOWithValues.getType());
         tradeInDb.setBuyQuantity(tradeDTOWithValues.getBuyQuantity());
+        tradeInDb.setVersion(tradeDTOWithValues.getVersion());
     }
 
     @Nested
@@ -90,14 +113,62 @@ public class TradeServiceTest {
                 "THEN the returned value is an empty list of trade")
         void findAllTest_WithNoDataInDB() {
             //GIVEN
-            List<Trade> tradeList = new ArrayList<>();
-            when(tradeRepositoryMock.findAll()).thenReturn(tradeList);
+            List<TradeDTO> tradeList = new ArrayList<>();
+            when(tradeRepositoryMock.findAllForList()).thenReturn(tradeList);
 
             //THEN
             List<TradeDTO> tradeDTOList = tradeService.findAll();
             assertThat(tradeDTOList).isEmpty();
 
-            verify(tradeRepositoryMock, Mockito.times(1)).findAll();
+            verify(tradeRepositoryMock, Mockito.times(1)).findAllForList();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAll with pageable tests")
+    class FindAllPageTest {
+
+        @Test
+        @DisplayName("GIVEN no trade in DB " +
+                "WHEN getting a page of trade " +
+                "THEN the returned value is an empty page of trade")
+        void findAllPageTest_WithNoDataInDB() {
+            //GIVEN
+            Pageable pageable = PageRequest.of(0, 20);
+            when(tradeRepositoryMock.findAllForList(pageable)).thenReturn(Page.empty(pageable));
+
+            //THEN
+            Page<TradeDTO> tradeDTOPage = tradeService.findAll(pageable);
+            assertThat(tradeDTOPage).isEmpty();
+
+            verify(tradeRepositoryMock, Mockito.times(1)).findAllForList(pageable);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAllAfter tests")
+    class FindAllAfterTest {
+
+        @Test
+        @DisplayName("GIVEN a trade in DB after the given id " +
+                "WHEN getting the trade following this id " +
+                "THEN the returned value is the list of the following trade")
+        void findAllAfterTest_WithDataInDB() {
+            //GIVEN
+            List<TradeDTO> tradeList = new ArrayList<>();
+            tradeList.add(tradeDTOWithValues);
+            when(tradeRepositoryMock.findAllForListAfter(anyInt(), any(Pageable.class)))
+                    .thenReturn(tradeList);
+
+            //THEN
+            List<TradeDTO> tradeDTOList = tradeService.findAllAfter(null, 20);
+            assertEquals(1, tradeDTOList.size());
+            assertEquals(tradeInDb.getTradeId(), tradeDTOList.get(0).getTradeId());
+
+            verify(tradeRepositoryMock, Mockito.times(1))
+                    .findAllForListAfter(0, PageRequest.of(0, 20));
         }
     }
 
@@ -136,14 +207,90 @@ public class TradeServiceTest {
                 "THEN an exception is thrown")
         void updateTest_WithException() {
             //GIVEN
-            when(tradeRepositoryMock.save(any(Trade.class))).thenThrow(new RuntimeException());
+            when(tradeRepositoryMock.updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any())).thenThrow(new RuntimeException());
 
             //THEN
             assertThrows(RuntimeException.class,
                     () -> tradeService.update(tradeDTOWithValues));
 
             verify(tradeRepositoryMock, Mockito.times(1))
-                    .save(any(Trade.class));
+                    .updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a trade read with the current version " +
+                "WHEN updating it " +
+                "THEN it is updated with one statement and the returned trade holds the next version")
+        void updateTest_WithCurrentVersion() {
+            //GIVEN
+            TradeDTO tradeDTOToUpdate = newTradeDTOWithVersion(3);
+            when(tradeRepositoryMock.updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+            //WHEN
+            TradeDTO tradeDTOUpdated = tradeService.update(tradeDTOToUpdate);
+
+            //THEN
+            assertEquals(4, tradeDTOUpdated.getVersion());
+            assertNotNull(tradeDTOUpdated.getRevisionDate());
+
+            verify(tradeRepositoryMock, Mockito.times(1))
+                    .updateIfVersionMatches(eq(TestConstants.EXISTING_TRADE_ID), eq(3), any(), any(), any(), any(), any());
+            verify(tradeRepositoryMock, Mockito.never()).findById(anyInt());
+            verify(tradeRepositoryMock, Mockito.never()).save(any(Trade.class));
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a trade modified since it was read " +
+                "WHEN updating it " +
+                "THEN an OptimisticLockingFailureException is thrown")
+        void updateTest_WithStaleVersion() {
+            //GIVEN
+            when(tradeRepositoryMock.updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+            when(tradeRepositoryMock.existsById(anyInt())).thenReturn(true);
+
+            //THEN
+            Exception exception = assertThrows(OptimisticLockingFailureException.class,
+                    () -> tradeService.update(newTradeDTOWithVersion(3)));
+            assertEquals(PoseidonExceptionsConstants.TRADE_VERSION_CONFLICT + TestConstants.EXISTING_TRADE_ID,
+                    exception.getMessage());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN no trade in DB for the specified id " +
+                "WHEN updating a trade " +
+                "THEN an IllegalArgumentException is thrown")
+        void updateTest_WithNoDataInDb() {
+            //GIVEN
+            when(tradeRepositoryMock.updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+            when(tradeRepositoryMock.existsById(anyInt())).thenReturn(false);
+
+            //THEN
+            Exception exception = assertThrows(IllegalArgumentException.class,
+                    () -> tradeService.update(newTradeDTOWithVersion(3)));
+            assertEquals(PoseidonExceptionsConstants.TRADE_ID_NOT_VALID + TestConstants.EXISTING_TRADE_ID,
+                    exception.getMessage());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a trade sent without the version it was read with " +
+                "WHEN updating it " +
+                "THEN an IllegalArgumentException is thrown AND the trade is not updated")
+        void updateTest_WithoutVersion() {
+            //THEN
+            Exception exception = assertThrows(IllegalArgumentException.class,
+                    () -> tradeService.update(newTradeDTOWithVersion(null)));
+            assertEquals(PoseidonExceptionsConstants.TRADE_VERSION_REQUIRED + TestConstants.EXISTING_TRADE_ID,
+                    exception.getMessage());
+            verify(tradeRepositoryMock, Mockito.never())
+                    .updateIfVersionMatches(anyInt(), any(), any(), any(), any(), any(), any());
         }
     }
 
@@ -206,4 +353,382 @@ public class TradeServiceTest {
                     .delete(any(Trade.class));
         }
     }
+
+
+    @Nested
+    @DisplayName("bulk tests")
+    class BulkTest {
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a list of trade with a row not valid " +
+                "WHEN creating them in bulk " +
+                "THEN only the valid rows are saved and the invalid one is reported as failed")
+        void createAllTest_WithInvalidRow() {
+            //GIVEN
+            TradeDTO tradeDTONotValid = new TradeDTO();
+            tradeDTONotValid.setAccount(TestConstants.NEW_TRADE_ACCOUNT);
+            tradeDTONotValid.setType(TestConstants.NEW_TRADE_TYPE_WITH_TOO_LONG_SIZE);
+            when(tradeRepositoryMock.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Trade> tradeList = invocation.getArgument(0);
+                tradeList.forEach(trade -> trade.setTradeId(TestConstants.NEW_TRADE_ID));
+                return tradeList;
+            });
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList =
+                    tradeService.createAll(Arrays.asList(tradeDTOWithValues, tradeDTONotValid));
+
+            //THEN
+            assertEquals(2, bulkResultList.size());
+            assertTrue(bulkResultList.get(0).isSuccess());
+            assertEquals(TestConstants.NEW_TRADE_ID, bulkResultList.get(0).getId());
+            assertFalse(bulkResultList.get(1).isSuccess());
+            assertEquals(1, bulkResultList.get(1).getIndex());
+            verify(tradeRepositoryMock, Mockito.times(1))
+                    .saveAll(anyList());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a row rejected by the database " +
+                "WHEN creating a list of trade in bulk " +
+                "THEN the chunk is replayed row by row and only the rejected row is reported as failed")
+        void createAllTest_WithChunkError() {
+            //GIVEN
+            TradeDTO tradeDTORejected = new TradeDTO();
+            tradeDTORejected.setAccount(TestConstants.EXISTING_TRADE_ACCOUNT);
+            tradeDTORejected.setType(TestConstants.EXISTING_TRADE_TYPE);
+            tradeDTORejected.setBuyQuantity(TestConstants.EXISTING_TRADE_BUY_QUANTITY);
+            when(tradeRepositoryMock.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Trade> tradeList = invocation.getArgument(0);
+                tradeList.forEach(trade -> {
+                    if (trade.getAccount().equals(TestConstants.EXISTING_TRADE_ACCOUNT)) {
+                        throw new RuntimeException();
+                    }
+                    trade.setTradeId(TestConstants.NEW_TRADE_ID);
+                });
+                return tradeList;
+            });
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList =
+                    tradeService.createAll(Arrays.asList(tradeDTOWithValues, tradeDTORejected));
+
+            //THEN
+            assertTrue(bulkResultList.get(0).isSuccess());
+            assertFalse(bulkResultList.get(1).isSuccess());
+            verify(tradeRepositoryMock, Mockito.times(3))
+                    .saveAll(anyList());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a trade unknown in DB " +
+                "WHEN updating a list of trade in bulk " +
+                "THEN the unknown trade is reported as failed")
+        void updateAllTest_WithUnknownId() {
+            //GIVEN
+            TradeDTO tradeDTOUnknown = new TradeDTO();
+            tradeDTOUnknown.setTradeId(TestConstants.UNKNOWN_TRADE_ID);
+        tradeDTOUnknown.setVersion(0);
+            tradeDTOUnknown.setAccount(TestConstants.NEW_TRADE_ACCOUNT);
+            tradeDTOUnknown.setType(TestConstants.NEW_TRADE_TYPE);
+            tradeDTOUnknown.setBuyQuantity(TestConstants.NEW_TRADE_BUY_QUANTITY);
+            when(tradeRepositoryMock.findAllById(anyList())).thenReturn(Collections.singletonList(tradeInDb));
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList =
+                    tradeService.updateAll(Arrays.asList(tradeDTOWithValues, tradeDTOUnknown));
+
+            //THEN
+            assertTrue(bulkResultList.get(0).isSuccess());
+            assertFalse(bulkResultList.get(1).isSuccess());
+            assertEquals(PoseidonExceptionsConstants.TRADE_ID_NOT_VALID + TestConstants.UNKNOWN_TRADE_ID,
+                    bulkResultList.get(1).getMessage());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a trade not valid and a trade rejected by the database " +
+                "WHEN updating a list of trade in bulk " +
+                "THEN each failure reports the id of its trade")
+        void updateAllTest_WithFailuresReportingTheirId() {
+            //GIVEN
+            TradeDTO tradeDTONotValid = new TradeDTO();
+            tradeDTONotValid.setTradeId(TestConstants.NEW_TRADE_ID);
+        tradeDTONotValid.setVersion(0);
+            tradeDTONotValid.setAccount(TestConstants.NEW_TRADE_ACCOUNT);
+            tradeDTONotValid.setType(TestConstants.NEW_TRADE_TYPE_WITH_TOO_LONG_SIZE);
+            TradeDTO tradeDTORejected = new TradeDTO();
+            tradeDTORejected.setTradeId(TestConstants.UNKNOWN_TRADE_ID);
+        tradeDTORejected.setVersion(0);
+            tradeDTORejected.setAccount(TestConstants.NEW_TRADE_ACCOUNT);
+            tradeDTORejected.setType(TestConstants.NEW_TRADE_TYPE);
+            when(tradeRepositoryMock.findAllById(anyList())).thenAnswer(invocation -> {
+                List<Integer> tradeIdList = invocation.getArgument(0);
+                if (tradeIdList.contains(TestConstants.UNKNOWN_TRADE_ID)) {
+                    throw new RuntimeException();
+                }
+                return Collections.singletonList(tradeInDb);
+            });
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList = tradeService.updateAll(
+                    Arrays.asList(tradeDTOWithValues, tradeDTONotValid, tradeDTORejected));
+
+            //THEN
+            assertTrue(bulkResultList.get(0).isSuccess());
+            assertFalse(bulkResultList.get(1).isSuccess());
+            assertEquals(TestConstants.NEW_TRADE_ID, bulkResultList.get(1).getId());
+            assertFalse(bulkResultList.get(2).isSuccess());
+            assertEquals(TestConstants.UNKNOWN_TRADE_ID, bulkResultList.get(2).getId());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a trade modified since it was read " +
+                "WHEN updating a list of trade in bulk " +
+                "THEN the trade is reported as failed and not updated")
+        void updateAllTest_WithStaleVersion() {
+            //GIVEN
+            Trade tradeInDbWithVersion = new Trade();
+            tradeInDbWithVersion.setTradeId(TestConstants.EXISTING_TRADE_ID);
+            tradeInDbWithVersion.setVersion(4);
+            when(tradeRepositoryMock.findAllById(anyList())).thenReturn(Collections.singletonList(tradeInDbWithVersion));
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList =
+                    tradeService.updateAll(Collections.singletonList(newTradeDTOWithVersion(3)));
+
+            //THEN
+            assertFalse(bulkResultList.get(0).isSuccess());
+            assertEquals(PoseidonExceptionsConstants.TRADE_VERSION_CONFLICT + TestConstants.EXISTING_TRADE_ID,
+                    bulkResultList.get(0).getMessage());
+            assertEquals(4, tradeInDbWithVersion.getVersion());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a trade sent without the version it was read with " +
+                "WHEN updating a list of trade in bulk " +
+                "THEN the trade is reported as failed without being read")
+        void updateAllTest_WithoutVersion() {
+            //WHEN
+            List<BulkResultDTO> bulkResultList =
+                    tradeService.updateAll(Collections.singletonList(newTradeDTOWithVersion(null)));
+
+            //THEN
+            assertFalse(bulkResultList.get(0).isSuccess());
+            assertEquals(PoseidonExceptionsConstants.TRADE_VERSION_REQUIRED + TestConstants.EXISTING_TRADE_ID,
+                    bulkResultList.get(0).getMessage());
+            verify(tradeRepositoryMock, Mockito.never()).findAllById(anyList());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN an unknown id and a null id " +
+                "WHEN deleting a list of trade in bulk " +
+                "THEN the known trade are deleted in one batch and the others are reported as failed")
+        void deleteAllTest_WithUnknownAndNullId() {
+            //GIVEN
+            when(tradeRepositoryMock.findAllById(anyList())).thenReturn(Collections.singletonList(tradeInDb));
+
+            //WHEN
+            List<BulkResultDTO> bulkResultList = tradeService.deleteAll(
+                    Arrays.asList(TestConstants.EXISTING_TRADE_ID, TestConstants.UNKNOWN_TRADE_ID, null));
+
+            //THEN
+            assertTrue(bulkResultList.get(0).isSuccess());
+            assertFalse(bulkResultList.get(1).isSuccess());
+            assertFalse(bulkResultList.get(2).isSuccess());
+            verify(tradeRepositoryMock, Mockito.times(1))
+                    .deleteAllInBatch(anyList());
+        }
+    }
+
+
+    @Nested
+    @DisplayName("exportAll tests")
+    class ExportAllTest {
+
+        @Test
+        @DisplayName("GIVEN trade in DB " +
+                "WHEN exporting all the trade as CSV " +
+                "THEN a header line and one line per trade are written")
+        void exportAllTest_AsCsv() throws IOException {
+            //GIVEN
+            when(tradeRepositoryMock.streamAll()).thenReturn(Stream.of(tradeInDb, tradeInDb));
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            //WHEN
+            long exportedTradeCount = tradeService.exportAll(ExportFormat.CSV, outputStream);
+
+            //THEN
+            String[] lines = outputStream.toString(StandardCharsets.UTF_8.name()).split("\n");
+            assertEquals(2, exportedTradeCount);
+            assertEquals(3, lines.length);
+            assertThat(lines[0]).startsWith("tradeId,version,account,type");
+            assertThat(lines[1]).contains(tradeInDb.getAccount());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN trade in DB " +
+                "WHEN exporting all the trade as NDJSON " +
+                "THEN one JSON document per line is written")
+        void exportAllTest_AsNdjson() throws IOException {
+            //GIVEN
+            when(tradeRepositoryMock.streamAll()).thenReturn(Stream.of(tradeInDb, tradeInDb));
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            //WHEN
+            long exportedTradeCount = tradeService.exportAll(ExportFormat.NDJSON, outputStream);
+
+            //THEN
+            String[] lines = outputStream.toString(StandardCharsets.UTF_8.name()).split("\n");
+            assertEquals(2, exportedTradeCount);
+            assertEquals(2, lines.length);
+            assertThat(lines[1]).startsWith("{").endsWith("}")
+                    .contains("\"account\":\"" + tradeInDb.getAccount() + "\"");
+        }
+    }
+
+
+    @Nested
+    @DisplayName("importCsv tests")
+    class ImportCsvTest {
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a CSV file with a valid line, a line not valid and a line not readable " +
+                "WHEN importing it " +
+                "THEN only the valid line is saved and the other lines are reported with their line number")
+        void importCsvTest_WithRejectedLines() throws IOException {
+            //GIVEN
+            String csv = "account,type,buyQuantity\n" +
+                    "Account Test,Type Test,10\n" +
+                    "Account Test,,10\n" +
+                    "Account Test,Type Test,abc\n";
+            when(tradeRepositoryMock.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            //WHEN
+            ImportReportDTO importReport = tradeService.importCsv(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+            //THEN
+            assertEquals(3, importReport.getReadLineCount());
+            assertEquals(1, importReport.getImportedLineCount());
+            assertEquals(2, importReport.getRejectedLineCount());
+            assertEquals(3, importReport.getRejections().get(0).getLine());
+            assertEquals(4, importReport.getRejections().get(1).getLine());
+            verify(tradeRepositoryMock, Mockito.times(1))
+                    .saveAll(anyList());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a CSV file with a quoted field spanning several lines and an empty line " +
+                "WHEN importing it " +
+                "THEN the rejected lines are reported with their line number in the file")
+        void importCsvTest_WithMultilineField() throws IOException {
+            //GIVEN
+            String csv = "account,type,buyQuantity\n" +
+                    "Account Test,\"Type\nTest\non three lines\",10\n" +
+                    "\n" +
+                    "Account Test,,10\n";
+            when(tradeRepositoryMock.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            //WHEN
+            ImportReportDTO importReport = tradeService.importCsv(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+            //THEN
+            assertEquals(2, importReport.getReadLineCount());
+            assertEquals(1, importReport.getImportedLineCount());
+            assertEquals(6, importReport.getRejections().get(0).getLine());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a CSV file larger than an import batch " +
+                "WHEN importing it " +
+                "THEN all the lines are imported, chunk by chunk")
+        void importCsvTest_WithSeveralBatches() throws IOException {
+            //GIVEN
+            StringBuilder csv = new StringBuilder("account,type,buyQuantity\n");
+            for (int i = 0; i < 2500; i++) {
+                csv.append("Account Test,Type Test,10\n");
+            }
+            when(tradeRepositoryMock.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            //WHEN
+            ImportReportDTO importReport = tradeService.importCsv(
+                    new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+            //THEN
+            assertEquals(2500, importReport.getReadLineCount());
+            assertEquals(2500, importReport.getImportedLineCount());
+            assertEquals(0, importReport.getRejectedLineCount());
+            verify(tradeRepositoryMock, Mockito.times(5))
+                    .saveAll(anyList());
+        }
+    }
+
+
+    @Nested
+    @DisplayName("createFromFills() tests")
+    class CreateFromFillsTest {
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a fill of a bid and an ask " +
+                "WHEN creating its trades " +
+                "THEN a buy and a sell are created, each referring to its bidList")
+        void createFromFillsTest() {
+            //GIVEN
+            Fill fill = new Fill("Security", 100, 5, 1, "Buyer", 2, "Seller");
+            when(tradeRepositoryMock.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Trade> tradeList = invocation.getArgument(0);
+                tradeList.forEach(trade -> trade.setTradeId(TestConstants.NEW_TRADE_ID));
+                return tradeList;
+            });
+
+            //WHEN
+            List<Integer> tradeIdList = tradeService.createFromFills(Collections.singletonList(fill));
+
+            //THEN
+            assertEquals(2, tradeIdList.size());
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Trade>> tradeListCaptor = ArgumentCaptor.forClass(List.class);
+            verify(tradeRepositoryMock).saveAll(tradeListCaptor.capture());
+            Trade buy = tradeListCaptor.getValue().get(0);
+            assertEquals("Buyer", buy.getAccount());
+            assertEquals(5, buy.getBuyQuantity());
+            assertEquals(100, buy.getBuyPrice());
+            assertEquals("1", buy.getSourceListId());
+            Trade sell = tradeListCaptor.getValue().get(1);
+            assertEquals("Seller", sell.getAccount());
+            assertEquals(5, sell.getSellQuantity());
+            assertEquals("2", sell.getSourceListId());
+        }
+    }
+
+
+    private static TradeDTO newTradeDTOWithVersion(Integer version) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setTradeId(TestConstants.EXISTING_TRADE_ID);
+        tradeDTO.setAccount(TestConstants.NEW_TRADE_ACCOUNT);
+        tradeDTO.setType(TestConstants.NEW_TRADE_TYPE);
+        tradeDTO.setBuyQuantity(TestConstants.NEW_TRADE_BUY_QUANTITY);
+        tradeDTO.setVersion(version);
+        return tradeDTO;
+    }
 }
@@ -1,9 +1,14 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.DTO.UserDTO;
+import com.nnk.springboot.constants.CacheConstants;
 import com.nnk.springboot.constants.PoseidonExceptionsConstants;
 import com.nnk.springboot.domain.User;
 import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.contracts.IUserService;
 import com.nnk.springboot.testconstants.TestConstants;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -11,6 +16,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -21,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +40,29 @@ class UserDetailsServiceImplTest {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private static User userInDb;
+
+    @BeforeAll
+    static void setUp() {
+        userInDb = new User();
+        userInDb.setId(TestConstants.EXISTING_USER_ID);
+        userInDb.setUsername(TestConstants.EXISTING_USER_USERNAME);
+        userInDb.setPassword(TestConstants.EXISTING_USER_PASSWORD);
+        userInDb.setFullname(TestConstants.EXISTING_USER_FULLNAME);
+        userInDb.setRole(TestConstants.USER_ROLE_USER);
+    }
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConstants.USER_DETAILS_CACHE).clear();
+    }
+
 
     @Nested
     @DisplayName("loadUserByUsername tests")
@@ -51,7 +81,7 @@ class UserDetailsServiceImplTest {
             userInDb.setFullname(TestConstants.EXISTING_USER_FULLNAME);
             userInDb.setRole(TestConstants.USER_ROLE_USER);
 
-            when(userRepositoryMock.findByUsernameIgnoreCase(TestConstants.EXISTING_USER_USERNAME))
+            when(userRepositoryMock.findByUsernameLower(TestConstants.EXISTING_USER_USERNAME))
                     .thenReturn(java.util.Optional.of(userInDb));
 
             //WHEN
@@ -69,7 +99,7 @@ class UserDetailsServiceImplTest {
             assertTrue(userDetails.isCredentialsNonExpired());
 
             verify(userRepositoryMock, Mockito.times(1))
-                    .findByUsernameIgnoreCase(TestConstants.EXISTING_USER_USERNAME);
+                    .findByUsernameLower(TestConstants.EXISTING_USER_USERNAME);
         }
 
 
@@ -80,7 +110,7 @@ class UserDetailsServiceImplTest {
         void loadUserByUsernameTest_WithUnknownUser() {
 
             //GIVEN
-            when(userRepositoryMock.findByUsernameIgnoreCase(TestConstants.UNKNOWN_USERNAME))
+            when(userRepositoryMock.findByUsernameLower(User.normalizeUsername(TestConstants.UNKNOWN_USERNAME)))
                     .thenReturn(Optional.ofNullable(null));
 
             //THEN
@@ -89,7 +119,7 @@ class UserDetailsServiceImplTest {
             assertEquals(PoseidonExceptionsConstants.DOES_NOT_EXISTS_USER, exception.getMessage());
 
             verify(userRepositoryMock, Mockito.times(1))
-                    .findByUsernameIgnoreCase(TestConstants.UNKNOWN_USERNAME);
+                    .findByUsernameLower(User.normalizeUsername(TestConstants.UNKNOWN_USERNAME));
         }
 
 
@@ -99,7 +129,7 @@ class UserDetailsServiceImplTest {
                 "THEN an UsernameNotFoundException is thrown")
         void loadUserByUsernameTest_WithMissingInformations() {
             //GIVEN
-            when(userRepositoryMock.findByUsernameIgnoreCase(null))
+            when(userRepositoryMock.findByUsernameLower(null))
                     .thenReturn(Optional.ofNullable(null));
 
             //THEN
@@ -108,7 +138,94 @@ class UserDetailsServiceImplTest {
             assertEquals(PoseidonExceptionsConstants.DOES_NOT_EXISTS_USER, exception.getMessage());
 
             verify(userRepositoryMock, Mockito.times(1))
-                    .findByUsernameIgnoreCase(null);
+                    .findByUsernameLower(null);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("cache tests")
+    class CacheTest {
+
+        @Test
+        @DisplayName("GIVEN a user already loaded " +
+                "WHEN loading it again, whatever the case of the username " +
+                "THEN the user is not read again from DB")
+        void loadUserByUsernameTest_FromCache() {
+            //GIVEN
+            when(userRepositoryMock.findByUsernameLower(TestConstants.EXISTING_USER_USERNAME))
+                    .thenReturn(Optional.of(userInDb));
+            userDetailsService.loadUserByUsername(TestConstants.EXISTING_USER_USERNAME);
+
+            //WHEN
+            UserDetails userDetails = userDetailsService.loadUserByUsername(
+                    TestConstants.EXISTING_USER_USERNAME.toUpperCase());
+
+            //THEN
+            assertEquals(userInDb.getUsername(), userDetails.getUsername());
+            verify(userRepositoryMock, Mockito.times(1)).findByUsernameLower(TestConstants.EXISTING_USER_USERNAME);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN an unknown username already looked up " +
+                "WHEN looking it up again " +
+                "THEN the username is read again from DB")
+        void loadUserByUsernameTest_UnknownUserNotCached() {
+            //GIVEN
+            String unknownUsername = User.normalizeUsername(TestConstants.UNKNOWN_USERNAME);
+            when(userRepositoryMock.findByUsernameLower(unknownUsername)).thenReturn(Optional.empty());
+            assertThrows(UsernameNotFoundException.class,
+                    () -> userDetailsService.loadUserByUsername(TestConstants.UNKNOWN_USERNAME));
+
+            //THEN
+            assertThrows(UsernameNotFoundException.class,
+                    () -> userDetailsService.loadUserByUsername(TestConstants.UNKNOWN_USERNAME));
+            verify(userRepositoryMock, Mockito.times(2)).findByUsernameLower(unknownUsername);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a user already loaded " +
+                "WHEN a user is updated " +
+                "THEN the user is read again from DB on next load")
+        void loadUserByUsernameTest_AfterUpdate() throws Exception {
+            //GIVEN
+            when(userRepositoryMock.findByUsernameLower(TestConstants.EXISTING_USER_USERNAME))
+                    .thenReturn(Optional.of(userInDb));
+            when(userRepositoryMock.save(any(User.class))).thenReturn(userInDb);
+            userDetailsService.loadUserByUsername(TestConstants.EXISTING_USER_USERNAME);
+
+            UserDTO userDTO = new UserDTO(TestConstants.EXISTING_USER_ID, TestConstants.EXISTING_USER_USERNAME,
+                    TestConstants.EXISTING_USER_FULLNAME, TestConstants.USER_ROLE_ADMIN);
+            userDTO.setPassword(TestConstants.EXISTING_USER_PASSWORD);
+
+            //WHEN
+            userService.update(userDTO);
+            userDetailsService.loadUserByUsername(TestConstants.EXISTING_USER_USERNAME);
+
+            //THEN the update itself checks the username once
+            verify(userRepositoryMock, Mockito.times(3)).findByUsernameLower(TestConstants.EXISTING_USER_USERNAME);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a user already loaded " +
+                "WHEN a user is deleted " +
+                "THEN the user is read again from DB on next load")
+        void loadUserByUsernameTest_AfterDelete() {
+            //GIVEN
+            when(userRepositoryMock.findByUsernameLower(TestConstants.EXISTING_USER_USERNAME))
+                    .thenReturn(Optional.of(userInDb));
+            when(userRepositoryMock.findById(TestConstants.EXISTING_USER_ID)).thenReturn(Optional.of(userInDb));
+            userDetailsService.loadUserByUsername(TestConstants.EXISTING_USER_USERNAME);
+
+            //WHEN
+            userService.delete(TestConstants.EXISTING_USER_ID);
+            userDetailsService.loadUserByUsername(TestConstants.EXISTING_USER_USERNAME);
+
+            //THEN
+            verify(userRepositoryMock, Mockito.times(2)).findByUsernameLower(TestConstants.EXISTING_USER_USERNAME);
         }
     }
-}
\ No newline at end of file
+}
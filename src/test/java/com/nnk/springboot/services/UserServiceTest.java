@@ -10,10 +10,14 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.test.context.support.WithMockUser;
 
 import java.util.ArrayList;
@@ -23,6 +27,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
@@ -38,6 +43,9 @@ public class UserServiceTest {
     @Autowired
     private IUserService userService;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     private static UserDTO userDTOWithValues;
 
     private static User userInDb;
@@ -92,14 +100,62 @@ public class UserServiceTest {
                 "THEN the returned value is an empty list of user")
         void findAllTest_WithNoDataInDB() {
             //GIVEN
-            List<User> userList = new ArrayList<>();
-            when(userRepositoryMock.findAll()).thenReturn(userList);
+            List<UserDTO> userList = new ArrayList<>();
+            when(userRepositoryMock.findAllForList()).thenReturn(userList);
 
             //THEN
             List<UserDTO> userDTOList = userService.findAll();
             assertThat(userDTOList).isEmpty();
 
-            verify(userRepositoryMock, Mockito.times(1)).findAll();
+            verify(userRepositoryMock, Mockito.times(1)).findAllForList();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAll with pageable tests")
+    class FindAllPageTest {
+
+        @Test
+        @DisplayName("GIVEN no user in DB " +
+                "WHEN getting a page of user " +
+                "THEN the returned value is an empty page of user")
+        void findAllPageTest_WithNoDataInDB() {
+            //GIVEN
+            Pageable pageable = PageRequest.of(0, 20);
+            when(userRepositoryMock.findAllForList(pageable)).thenReturn(Page.empty(pageable));
+
+            //THEN
+            Page<UserDTO> userDTOPage = userService.findAll(pageable);
+            assertThat(userDTOPage).isEmpty();
+
+            verify(userRepositoryMock, Mockito.times(1)).findAllForList(pageable);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("findAllAfter tests")
+    class FindAllAfterTest {
+
+        @Test
+        @DisplayName("GIVEN a user in DB after the given id " +
+                "WHEN getting the user following this id " +
+                "THEN the returned value is the list of the following user")
+        void findAllAfterTest_WithDataInDB() {
+            //GIVEN
+            List<UserDTO> userList = new ArrayList<>();
+            userList.add(userDTOWithValues);
+            when(userRepositoryMock.findAllForListAfter(anyInt(), any(Pageable.class)))
+                    .thenReturn(userList);
+
+            //THEN
+            List<UserDTO> userDTOList = userService.findAllAfter(null, 20);
+            assertEquals(1, userDTOList.size());
+            assertEquals(userInDb.getId(), userDTOList.get(0).getId());
+
+            verify(userRepositoryMock, Mockito.times(1))
+                    .findAllForListAfter(0, PageRequest.of(0, 20));
         }
     }
 
@@ -147,6 +203,65 @@ public class UserServiceTest {
             verify(userRepositoryMock, Mockito.times(1))
                     .save(any(User.class));
         }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a user whose stored password hash is given back unchanged " +
+                "WHEN updating this user " +
+                "THEN the stored password hash is kept")
+        void updateTest_WithUnchangedPassword() throws Exception {
+            //GIVEN
+            User userWithHash = new User();
+            userWithHash.setId(userDTOWithValues.getId());
+            userWithHash.setPassword(passwordHashingService.encode(userDTOWithValues.getPassword()));
+            when(userRepositoryMock.findById(userDTOWithValues.getId())).thenReturn(Optional.of(userWithHash));
+            when(userRepositoryMock.save(any(User.class))).thenReturn(userInDb);
+
+            UserDTO userDTO = new UserDTO();
+            userDTO.setId(userDTOWithValues.getId());
+            userDTO.setUsername(userDTOWithValues.getUsername());
+            userDTO.setFullname(userDTOWithValues.getFullname());
+            userDTO.setRole(userDTOWithValues.getRole());
+
+            //WHEN the password is either the stored hash or the password itself
+            userDTO.setPassword(userWithHash.getPassword());
+            userService.update(userDTO);
+            userDTO.setPassword(userDTOWithValues.getPassword());
+            userService.update(userDTO);
+
+            //THEN
+            ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+            verify(userRepositoryMock, Mockito.times(2)).save(userCaptor.capture());
+            assertThat(userCaptor.getAllValues())
+                    .extracting(User::getPassword)
+                    .containsOnly(userWithHash.getPassword());
+        }
+
+
+        @WithMockUser
+        @Test
+        @DisplayName("GIVEN a user " +
+                "WHEN updating this user with a new password " +
+                "THEN the new password is hashed")
+        void updateTest_WithNewPassword() throws Exception {
+            //GIVEN
+            User userWithHash = new User();
+            userWithHash.setId(userDTOWithValues.getId());
+            userWithHash.setPassword(passwordHashingService.encode(TestConstants.EXISTING_USER_PASSWORD));
+            when(userRepositoryMock.findById(userDTOWithValues.getId())).thenReturn(Optional.of(userWithHash));
+            when(userRepositoryMock.save(any(User.class))).thenReturn(userInDb);
+
+            //WHEN
+            userService.update(userDTOWithValues);
+
+            //THEN
+            ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+            verify(userRepositoryMock, Mockito.times(1)).save(userCaptor.capture());
+            assertThat(userCaptor.getValue().getPassword()).isNotEqualTo(userWithHash.getPassword());
+            assertTrue(passwordHashingService.matches(userDTOWithValues.getPassword(),
+                    userCaptor.getValue().getPassword()));
+        }
     }
 
 
@@ -1,3 +1,5 @@
+-- schema created by hand before the migrations, as by the former doc/data.sql
+-- (its string literals in single quotes, H2 reading double quotes as identifiers)
 CREATE TABLE BidList
 (
     BidListId    tinyint(4)  NOT NULL AUTO_INCREMENT,
@@ -101,6 +103,6 @@ CREATE TABLE Users
 );
 
 INSERT INTO Users(fullname, username, password, role)
-VALUES ("Administrator", "admin", "$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa", "ADMIN");
+VALUES ('Administrator', 'admin', '$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa', 'ADMIN');
 INSERT INTO Users(fullname, username, password, role)
-VALUES ("User", "user", "$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa", "USER");
\ No newline at end of file
+VALUES ('User', 'user', '$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa', 'USER');